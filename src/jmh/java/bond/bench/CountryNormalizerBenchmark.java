@@ -0,0 +1,41 @@
+package bond.bench;
+
+import bond.scrape.CountryNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CountryNormalizer#normalize} over the raw issuer spellings of a synthetic universe
+ * (one op = one page worth of rows), and the uncached fuzzy lookup
+ * ({@link CountryNormalizer#closest}) of the same spellings with one letter dropped.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CountryNormalizerBenchmark {
+
+    private List<String> issuers;
+    private List<String> typos;
+
+    @Setup
+    public void setup() {
+        issuers = new SyntheticUniverse(7).rows(1000).stream().map(SyntheticUniverse.Row::issuer).toList();
+        typos = issuers.stream().map(s -> s.substring(0, s.length() / 2) + s.substring(s.length() / 2 + 1)).toList();
+    }
+
+    @Benchmark
+    public void normalize(Blackhole bh) {
+        for (String issuer : issuers) bh.consume(CountryNormalizer.normalize(issuer));
+    }
+
+    @Benchmark
+    public void closest(Blackhole bh) {
+        for (String issuer : typos) bh.consume(CountryNormalizer.closest(issuer));
+    }
+}
@@ -0,0 +1,86 @@
+package bond.bench;
+
+import bond.curve.CurveFitter;
+import bond.curve.SpreadEngine;
+import bond.curve.YieldCurve;
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Yield-curve fitting and spreads.
+ * <ul>
+ *   <li>{@code fitIssuer}: one Svensson fit of {@code points} maturities on a reused
+ *   {@link CurveFitter} (the allocation rate should be one {@link YieldCurve} per op);</li>
+ *   <li>{@code calculateSpreads}: {@link SpreadEngine} over a synthetic universe (YTM of every
+ *   bond, one curve per issuer and currency, spread and rich/cheap), sequential and on 4 threads.</li>
+ * </ul>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CurveBenchmark {
+
+    @State(Scope.Thread)
+    public static class IssuerState {
+
+        @Param({"10", "50", "200"})
+        public int points;
+
+        final CurveFitter fitter = new CurveFitter();
+        double[] years;
+        double[] yields;
+
+        @Setup
+        public void setup() {
+            YieldCurve truth = new YieldCurve(3.2, -1.4, 1.1, -0.6, 1.8, 9, 0, 0);
+            years = new double[points];
+            yields = new double[points];
+            for (int i = 0; i < points; i++) {
+                years[i] = 0.25 + 29.75 * i / (points - 1);
+                yields[i] = truth.yieldAt(years[i]) + 0.05 * Math.sin(i * 7.3);
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class UniverseState {
+
+        @Param({"10000", "100000"})
+        public int size;
+
+        @Param({"1", "4"})
+        public int threads;
+
+        List<Bond> bonds;
+        SpreadEngine engine;
+        final LocalDate asOf = LocalDate.of(2026, 1, 15);
+
+        @Setup
+        public void setup() throws Exception {
+            HttpTransports.set(new FixtureTransport());
+            bonds = new SyntheticUniverse(3).bonds(size, FxService.getInstance().loadFxRates());
+            engine = new SpreadEngine(threads);
+        }
+    }
+
+    @Benchmark
+    public YieldCurve fitIssuer(IssuerState s) {
+        s.fitter.reset();
+        for (int i = 0; i < s.points; i++) s.fitter.add(s.years[i], s.yields[i]);
+        return s.fitter.fit();
+    }
+
+    @Benchmark
+    public Map<String, YieldCurve> calculateSpreads(UniverseState s) {
+        return s.engine.calculateSpreads(s.bonds, s.asOf);
+    }
+}
@@ -0,0 +1,65 @@
+package bond.bench;
+
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory transport serving saved fixtures and synthetic pages, so benchmarks never touch
+ * the network. The ECB feed is served from {@code fixtures/eurofxref-daily.xml}; any other
+ * unknown URL (e.g. the ratings page) answers 404, which makes the services use their fallbacks.
+ */
+public class FixtureTransport implements HttpTransport {
+
+    private final Map<String, byte[]> pages = new ConcurrentHashMap<>();
+    private final byte[] ecb = resource("fixtures/eurofxref-daily.xml");
+    private volatile Function<String, String> generator = url -> null;
+
+    public FixtureTransport put(String url, String body) {
+        pages.put(url, body.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * Pages not registered with {@link #put} are generated on demand (and not retained),
+     * so very large synthetic universes never sit in memory as HTML all at once.
+     * The generator returns null for URLs it does not handle.
+     */
+    public FixtureTransport withGenerator(Function<String, String> generator) {
+        this.generator = generator;
+        return this;
+    }
+
+    @Override
+    public HttpResponse get(HttpRequest request) throws IOException {
+        byte[] body = pages.get(request.url());
+        if (body == null) {
+            String generated = generator.apply(request.url());
+            if (generated != null) body = generated.getBytes(StandardCharsets.UTF_8);
+        }
+        if (body == null && request.url().contains("eurofxref")) body = ecb;
+        if (body == null) return new HttpResponse(request.url(), 404, Map.of(), new byte[0]);
+        return new HttpResponse(request.url(), 200, Map.of("Content-Type", "text/html; charset=UTF-8"), body);
+    }
+
+    public static byte[] resource(String name) {
+        try (InputStream in = FixtureTransport.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) throw new IllegalStateException(name + " not found on classpath");
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String resourceAsString(String name) {
+        return new String(resource(name), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,37 @@
+package bond.bench;
+
+import bond.fx.FxService;
+import bond.fx.FxService.FxPhase;
+import bond.http.HttpTransports;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link FxService#fxExpectedMultiplier} for the three phases of one foreign-currency bond
+ * (the per-bond FX cost of scoring).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FxBenchmark {
+
+    @Param({"USD", "TRY", "EUR"})
+    public String currency;
+
+    @Setup
+    public void setup() throws Exception {
+        HttpTransports.set(new FixtureTransport());
+        FxService.getInstance().loadFxRates();
+    }
+
+    @Benchmark
+    public double fxExpectedMultiplier() {
+        return FxService.fxExpectedMultiplier(currency, "EUR", FxPhase.BUY, 12)
+            + FxService.fxExpectedMultiplier(currency, "EUR", FxPhase.COUPON, 12)
+            + FxService.fxExpectedMultiplier(currency, "EUR", FxPhase.MATURITY, 12);
+    }
+}
@@ -0,0 +1,77 @@
+package bond.bench;
+
+import bond.fx.FxHistory;
+import bond.risk.FxCovariance;
+import bond.risk.FxRisk;
+import bond.risk.FxRiskEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio FX risk on a synthetic ECB history (30 currencies, 27 years of daily rates):
+ * one-off engine construction (covariance, Cholesky, scenarios) versus the evaluation that
+ * runs on every portfolio change.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FxRiskBenchmark {
+
+    private static final List<String> CURRENCIES = List.of(
+        "USD", "JPY", "BGN", "CZK", "DKK", "GBP", "HUF", "PLN", "RON", "SEK", "CHF", "ISK", "NOK", "TRY", "AUD",
+        "BRL", "CAD", "CNY", "HKD", "IDR", "ILS", "INR", "KRW", "MXN", "MYR", "NZD", "PHP", "SGD", "THB", "ZAR");
+
+    @Param({"20000", "100000"})
+    public int scenarios;
+
+    private FxHistory history;
+    private FxRiskEngine engine;
+    private Map<String, Double> portfolio;
+
+    @Setup
+    public void setup() {
+        int days = 27 * 255;
+        SplittableRandom random = new SplittableRandom(42);
+        List<LocalDate> dates = new ArrayList<>(days);
+        for (int t = 0; t < days; t++) dates.add(LocalDate.of(1999, 1, 4).plusDays(t));
+
+        // One common factor (USD-like) plus idiosyncratic noise per currency
+        double[] factor = new double[days];
+        for (int t = 1; t < days; t++) factor[t] = factor[t - 1] + 0.005 * random.nextGaussian();
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        for (String ccy : CURRENCIES) {
+            double beta = random.nextDouble(-0.5, 1.2);
+            double level = 0;
+            double[] series = new double[days];
+            for (int t = 0; t < days; t++) {
+                level += 0.003 * random.nextGaussian();
+                series[t] = Math.exp(beta * factor[t] + level);
+            }
+            rates.put(ccy, series);
+        }
+        history = new FxHistory(dates, rates);
+        engine = build();
+
+        portfolio = new HashMap<>();
+        for (String ccy : List.of("EUR", "USD", "GBP", "CHF", "NOK", "PLN", "TRY", "MXN")) {
+            portfolio.put(ccy, 10_000 + random.nextDouble() * 40_000);
+        }
+    }
+
+    @Benchmark
+    public FxRiskEngine build() {
+        FxCovariance cov = FxCovariance.estimate(history, "EUR", CURRENCIES, 750);
+        return new FxRiskEngine(cov, "EUR", 21, scenarios, 42L);
+    }
+
+    @Benchmark
+    public FxRisk evaluate() {
+        return engine.evaluate(portfolio, 0.95);
+    }
+}
@@ -0,0 +1,149 @@
+package bond.bench;
+
+import bond.isin.IsinMap;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ISIN-keyed merge and lookup, {@code LinkedHashMap<String, V>} against {@link IsinMap}.
+ * <ul>
+ *   <li>{@code merge*}: two sources of {@code size} ISINs overlapping by half, merged with
+ *   {@code putIfAbsent} as in the scraper (one op = one merge of 2 × size rows);</li>
+ *   <li>{@code lookup*}: one {@code get} per ISIN of the second source, in random order, in an
+ *   index of the first one, so half of them are absent (one op = size lookups).</li>
+ * </ul>
+ * Keys are fresh String copies for every invocation, as when they come out of a parser or a
+ * holdings CSV: String caches its hash, and reused keys would let the string map skip hashing.
+ * The retained size of both indexes (heap after GC, keys excluded since the bonds hold them
+ * anyway) is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-Xmn1g", "-XX:+UseParallelGC"})
+@State(Scope.Benchmark)
+public class IsinBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<String> first;
+    private List<String> second;
+    private int[] probeOrder;
+    private Map<String, String> stringIndex; // First source only
+    private IsinMap<String> isinIndex;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        first = isins(0, size);
+        second = isins(size / 2, size);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < size; i++) order.add(i);
+        Collections.shuffle(order, new Random(42));
+        probeOrder = order.stream().mapToInt(Integer::intValue).toArray();
+
+        stringIndex = retained("LinkedHashMap<String, V>", () -> {
+            Map<String, String> map = new LinkedHashMap<>();
+            for (String isin : first) map.putIfAbsent(isin, isin);
+            return map;
+        });
+        isinIndex = retained("IsinMap<V>", () -> {
+            IsinMap<String> map = new IsinMap<>();
+            for (String isin : first) map.putIfAbsent(isin, isin);
+            return map;
+        });
+    }
+
+    /** Fresh keys of the current invocation. */
+    @State(Scope.Thread)
+    public static class Keys {
+        List<String> first;
+        List<String> second;
+        List<String> probes;
+
+        @Setup(Level.Invocation)
+        public void copy(IsinBenchmark b) {
+            first = copies(b.first, null);
+            second = copies(b.second, null);
+            probes = copies(b.second, b.probeOrder);
+        }
+
+        /** Copies allocated in reading order, as a parser would. */
+        private static List<String> copies(List<String> isins, int[] order) {
+            List<String> list = new ArrayList<>(isins.size());
+            for (int i = 0; i < isins.size(); i++) {
+                list.add(new String(isins.get(order == null ? i : order[i]).toCharArray()));
+            }
+            return list;
+        }
+    }
+
+    private static List<String> isins(long firstSerial, int count) {
+        String[] countries = {"IT", "DE", "FR", "ES", "XS", "US"};
+        List<String> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long serial = firstSerial + i;
+            list.add(SyntheticUniverse.isin(countries[(int) (serial % countries.length)], serial * 7919));
+        }
+        return list;
+    }
+
+    private <T> T retained(String label, Supplier<T> build) {
+        long before = usedAfterGc();
+        T index = build.get();
+        long bytes = usedAfterGc() - before;
+        System.out.printf("%n%s: %d entries retain %.1f MB (%.1f bytes/entry)%n",
+            label, first.size(), bytes / 1e6, (double) bytes / first.size());
+        return index;
+    }
+
+    private static long usedAfterGc() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    @Benchmark
+    public Map<String, String> mergeStringMap(Keys keys) {
+        Map<String, String> all = new LinkedHashMap<>();
+        for (String isin : keys.first) all.putIfAbsent(isin, isin);
+        for (String isin : keys.second) all.putIfAbsent(isin, isin);
+        return all;
+    }
+
+    @Benchmark
+    public IsinMap<String> mergeIsinMap(Keys keys) {
+        IsinMap<String> all = new IsinMap<>();
+        for (String isin : keys.first) all.putIfAbsent(isin, isin);
+        for (String isin : keys.second) all.putIfAbsent(isin, isin);
+        return all;
+    }
+
+    @Benchmark
+    public IsinMap<String> mergeIsinMapSized(Keys keys) {
+        IsinMap<String> all = new IsinMap<>(keys.first.size() + keys.second.size());
+        for (String isin : keys.first) all.putIfAbsent(isin, isin);
+        for (String isin : keys.second) all.putIfAbsent(isin, isin);
+        return all;
+    }
+
+    @Benchmark
+    public void lookupStringMap(Keys keys, Blackhole bh) {
+        for (String isin : keys.probes) bh.consume(stringIndex.get(isin));
+    }
+
+    @Benchmark
+    public void lookupIsinMap(Keys keys, Blackhole bh) {
+        for (String isin : keys.probes) bh.consume(isinIndex.get(isin));
+    }
+}
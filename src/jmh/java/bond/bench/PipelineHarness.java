@@ -0,0 +1,129 @@
+package bond.bench;
+
+import bond.calc.BondCalculator;
+import bond.export.UniverseExporter;
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.pipeline.BondPipeline;
+import bond.pipeline.BondSink;
+import bond.pipeline.ExportSink;
+import bond.scoring.BondScoreEngine;
+import bond.scrape.BondScraper;
+import bond.source.BondSource;
+import bond.source.BondSources;
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Materialised run vs {@link BondPipeline} on the same synthetic monitor pages
+ * ({@value ScaleHarness#PAGE_ROWS} rows each, served by {@link FixtureTransport}):
+ * <pre>
+ *   batch   BondScraper.scrape → BondScoreEngine → UniverseExporter.export
+ *   stream  BondPipeline → ExportSink
+ * </pre>
+ * both writing CSV, JSON Lines and Arrow into {@code target/pipeline/}. For each run: time until
+ * the first bond is written, total time, and the largest heap left after a GC (live data, read
+ * from GC notifications), which is what bounds the -Xmx a run needs.
+ * <p>
+ * Usage: {@code mvn -Pbench compile exec:exec@pipeline [-Dpipeline.sizes=100000,1000000]}
+ */
+public class PipelineHarness {
+
+    private static final String PAGE_URL = "https://bench.local/monitor?page=";
+
+    /** Largest heap in use after a collection since the last {@link #reset()}. */
+    private static final AtomicLong maxAfterGc = new AtomicLong();
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> sizes = Arrays.stream((args.length > 0 ? args[0] : "100000,1000000").split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .toList();
+        watchGc();
+        HttpTransports.set(new FixtureTransport().withGenerator(PipelineHarness::page));
+        FxService.getInstance().refresh();
+        Map<String, Double> fx = FxService.getInstance().loadFxRates();
+        Path outDir = Path.of("target", "pipeline");
+        Set<UniverseExporter.Format> formats = EnumSet.allOf(UniverseExporter.Format.class);
+
+        for (int size : sizes) {
+            List<String> urls = urls(size);
+
+            reset();
+            long t0 = System.nanoTime();
+            List<Bond> bonds = new BondScraper(new BondCalculator()).scrape(urls, fx);
+            new BondScoreEngine().calculateBondScores(bonds, "EUR", fx, LocalDate.now());
+            // Files are written in one pass once every bond is scored: first row ≈ end of scoring
+            long first = System.nanoTime() - t0;
+            new UniverseExporter().export(bonds, outDir.resolve("batch-" + size), formats);
+            report("batch ", size, bonds.size(), first, System.nanoTime() - t0);
+            bonds = null;
+
+            reset();
+            List<BondSource> sources = urls.stream().map(url -> BondSources.monitor(url, HttpTransports.get())).toList();
+            List<BondSink> sinks = List.of(new ExportSink(outDir.resolve("stream-" + size), formats));
+            BondPipeline.Result r = new BondPipeline(new BondScraper(new BondCalculator()), fx, "EUR", LocalDate.now())
+                .run(sources, sinks);
+            report("stream", size, r.bonds(), r.firstNanos(), r.totalNanos());
+        }
+    }
+
+    private static List<String> urls(int size) {
+        List<String> urls = new ArrayList<>();
+        for (int p = 0; p * ScaleHarness.PAGE_ROWS < size; p++) {
+            urls.add(PAGE_URL + p + "&rows=" + Math.min(ScaleHarness.PAGE_ROWS, size - p * ScaleHarness.PAGE_ROWS));
+        }
+        return urls;
+    }
+
+    /** Same pages as {@link ScaleHarness}. */
+    private static String page(String url) {
+        if (!url.startsWith(PAGE_URL)) return null;
+        String[] parts = url.substring(PAGE_URL.length()).split("&rows=");
+        int p = Integer.parseInt(parts[0]);
+        return SyntheticUniverse.monitorPage(new SyntheticUniverse(1000L + p)
+            .rows(Integer.parseInt(parts[1]), (long) p * ScaleHarness.PAGE_ROWS));
+    }
+
+    private static void report(String mode, int size, int bonds, long firstNanos, long totalNanos) throws InterruptedException {
+        // One more collection so that short runs report their live data too
+        System.gc();
+        Thread.sleep(200);
+        System.out.printf("🌊 %s %,9d rows → %,9d bonds | first row %,7d ms | total %,7d ms | max heap after GC %,6d MB%n",
+            mode, size, bonds, firstNanos / 1_000_000, totalNanos / 1_000_000, maxAfterGc.get() >> 20);
+    }
+
+    private static void reset() throws InterruptedException {
+        System.gc();
+        Thread.sleep(200); // Notifications are delivered asynchronously
+        maxAfterGc.set(0);
+    }
+
+    private static void watchGc() {
+        Set<String> heapPools = new HashSet<>();
+        ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(p -> p.getType() == MemoryType.HEAP)
+            .forEach(p -> heapPools.add(p.getName()));
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) return;
+                GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                long used = info.getGcInfo().getMemoryUsageAfterGc().entrySet().stream()
+                    .filter(e -> heapPools.contains(e.getKey()))
+                    .mapToLong(e -> e.getValue().getUsed())
+                    .sum();
+                maxAfterGc.accumulateAndGet(used, Math::max);
+            }, null, null);
+        }
+    }
+}
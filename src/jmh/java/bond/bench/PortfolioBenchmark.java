@@ -0,0 +1,62 @@
+package bond.bench;
+
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.portfolio.PortfolioCsv;
+import bond.portfolio.PortfolioEngine;
+import bond.portfolio.PortfolioProjection;
+import bond.scoring.BondScoreEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PortfolioEngine#project(java.io.Reader)}: streaming CSV parse, ISIN join, statistics
+ * and cash-flow calendar for a broker-export sized portfolio over a 10k-bond universe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PortfolioBenchmark {
+
+    @Param({"1000", "50000"})
+    public int lines;
+
+    private PortfolioEngine engine;
+    private String csv;
+
+    @Setup
+    public void setup() throws Exception {
+        HttpTransports.set(new FixtureTransport());
+        Map<String, Double> fx = FxService.getInstance().loadFxRates();
+        List<Bond> bonds = new SyntheticUniverse(5).bonds(10_000, fx);
+        new BondScoreEngine().calculateBondScores(bonds, "EUR");
+        engine = new PortfolioEngine(bonds, fx, "EUR", LocalDate.now());
+
+        Random rnd = new Random(5);
+        StringBuilder sb = new StringBuilder(PortfolioCsv.HEADER).append('\n');
+        for (int i = 0; i < lines; i++) {
+            Bond b = bonds.get(rnd.nextInt(bonds.size()));
+            int qty = 1 + rnd.nextInt(50);
+            sb.append(String.format(Locale.ROOT, "%s,\"%s\",%d,%.2f,%s,\"%s\",%s,%s%n",
+                b.getIsin(), b.getIssuer(), qty, qty * b.getPriceEur(), b.getCouponPct(),
+                b.getRating(), b.getCurrency(), b.getMaturity()));
+        }
+        csv = sb.toString();
+    }
+
+    @Benchmark
+    public PortfolioProjection project() throws Exception {
+        return engine.project(new StringReader(csv));
+    }
+}
@@ -0,0 +1,38 @@
+package bond.bench;
+
+import bond.http.HttpTransports;
+import bond.rating.RatingService;
+import bond.scrape.CountryNormalizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RatingService#getRatingForIssuer} for normalised issuers (one op = 1000 lookups).
+ * The ratings page answers 404 from the fixture transport, so the fallback map is used.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RatingBenchmark {
+
+    private List<String> issuers;
+
+    @Setup
+    public void setup() {
+        HttpTransports.set(new FixtureTransport());
+        issuers = new SyntheticUniverse(11).rows(1000).stream()
+            .map(r -> CountryNormalizer.normalize(r.issuer()))
+            .toList();
+    }
+
+    @Benchmark
+    public void getRatingForIssuer(Blackhole bh) {
+        for (String issuer : issuers) bh.consume(RatingService.getRatingForIssuer(issuer));
+    }
+}
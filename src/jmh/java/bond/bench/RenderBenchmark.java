@@ -0,0 +1,43 @@
+package bond.bench;
+
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.report.HtmlReportWriter;
+import bond.scoring.BondScoreEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link HtmlReportWriter} render (template + inlined assets) into a discarding writer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+
+    @Param({"600", "5000"})
+    public int size;
+
+    private List<Bond> bonds;
+    private HtmlReportWriter writer;
+
+    @Setup
+    public void setup() throws Exception {
+        HttpTransports.set(new FixtureTransport());
+        bonds = new SyntheticUniverse(5).bonds(size, FxService.getInstance().loadFxRates());
+        new BondScoreEngine().calculateBondScores(bonds, "EUR");
+        writer = new HtmlReportWriter();
+    }
+
+    @Benchmark
+    public void writeEur() throws Exception {
+        writer.writeEur(bonds, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,218 @@
+package bond.bench;
+
+import bond.calc.BondCalculator;
+import bond.curve.SpreadEngine;
+import bond.export.UniverseExporter;
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.report.HtmlReportWriter;
+import bond.scoring.BondScoreEngine;
+import bond.scrape.BondScraper;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * End-to-end scale and memory-footprint harness.
+ * <p>
+ * For each universe size, runs the same stages as {@link bond.BondApp} fully offline
+ * (synthetic monitor pages of {@value #PAGE_ROWS} rows served by {@link FixtureTransport}):
+ * <pre>
+ *   fx      FxService.loadFxRates (fixture ECB file)
+ *   scrape  BondScraper.scrape: fetch + parse every page, ISIN merge
+ *   score   BondScoreEngine.calculateBondScores + SpreadEngine.calculateSpreads
+ *   render  HtmlReportWriter.writeEur into target/scale/report-&lt;size&gt;.html
+ *   export  UniverseExporter: CSV, JSON Lines and Arrow into target/scale/export-&lt;size&gt;/
+ * </pre>
+ * and records wall time per stage, peak heap, GC count / time and output size.
+ * Results are printed and written to {@code target/scale/scale-report.csv}; the process exits
+ * with status 1 when any budget from {@code scale-budgets.yaml} is exceeded.
+ * <p>
+ * Usage: {@code mvn -Pbench compile exec:exec@scale [-Dscale.sizes=10000,100000]}
+ */
+public class ScaleHarness {
+
+    static final int PAGE_ROWS = 10_000;
+
+    private static final String PAGE_URL = "https://bench.local/monitor?page=";
+    private static final List<String> STAGES = List.of("fx", "scrape", "score", "render", "export");
+
+    /** Measurements of one universe size. */
+    record Run(int size, int bonds, Map<String, Long> stageMillis, long peakHeapBytes,
+               long gcCount, long gcMillis, long outputBytes) {
+
+        long totalMillis() {
+            return stageMillis.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> sizes = Arrays.stream((args.length > 0 ? args[0] : "10000,100000,1000000").split(","))
+            .map(String::trim)
+            .map(Integer::parseInt)
+            .toList();
+        Map<Integer, Map<String, Number>> budgets = loadBudgets();
+
+        Path outDir = Path.of("target", "scale");
+        Files.createDirectories(outDir);
+
+        FixtureTransport transport = new FixtureTransport().withGenerator(ScaleHarness::page);
+        HttpTransports.set(transport);
+
+        List<Run> runs = new ArrayList<>();
+        List<String> violations = new ArrayList<>();
+
+        for (int size : sizes) {
+            Run run = runOnce(size, outDir);
+            runs.add(run);
+            System.out.println(describe(run));
+            violations.addAll(check(run, budgets.get(size)));
+        }
+
+        writeCsv(runs, outDir.resolve("scale-report.csv"));
+
+        if (!violations.isEmpty()) {
+            System.err.println("\n❌ Scale budgets exceeded:");
+            violations.forEach(v -> System.err.println(" - " + v));
+            System.exit(1);
+        }
+        System.out.println("\n✅ All scale budgets met");
+    }
+
+    private static Run runOnce(int size, Path outDir) throws Exception {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(p -> p.getType() == MemoryType.HEAP)
+            .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcCount0 = gcCount();
+        long gcMillis0 = gcMillis();
+
+        Map<String, Long> stageMillis = new LinkedHashMap<>();
+        int pages = (size + PAGE_ROWS - 1) / PAGE_ROWS;
+        List<String> sources = new ArrayList<>();
+        for (int p = 0; p < pages; p++) {
+            int rows = Math.min(PAGE_ROWS, size - p * PAGE_ROWS);
+            sources.add(PAGE_URL + p + "&rows=" + rows);
+        }
+
+        long t = System.nanoTime();
+        FxService.getInstance().refresh();
+        Map<String, Double> fx = FxService.getInstance().loadFxRates();
+        t = lap(stageMillis, "fx", t);
+
+        List<Bond> bonds = new BondScraper(new BondCalculator()).scrape(sources, fx);
+        t = lap(stageMillis, "scrape", t);
+
+        new BondScoreEngine().calculateBondScores(bonds, "EUR");
+        new SpreadEngine().calculateSpreads(bonds, LocalDate.now());
+        t = lap(stageMillis, "score", t);
+
+        Path report = outDir.resolve("report-" + size + ".html");
+        try (Writer w = Files.newBufferedWriter(report)) {
+            new HtmlReportWriter().writeEur(bonds, w);
+        }
+        t = lap(stageMillis, "render", t);
+
+        new UniverseExporter().export(bonds, outDir.resolve("export-" + size), EnumSet.allOf(UniverseExporter.Format.class));
+        lap(stageMillis, "export", t);
+
+        long peakHeap = heapPools.stream().mapToLong(p -> p.getPeakUsage().getUsed()).sum();
+        return new Run(size, bonds.size(), stageMillis, peakHeap,
+            gcCount() - gcCount0, gcMillis() - gcMillis0, Files.size(report));
+    }
+
+    /** Generates page {@code p} on demand from its URL. */
+    private static String page(String url) {
+        if (!url.startsWith(PAGE_URL)) return null;
+        String[] parts = url.substring(PAGE_URL.length()).split("&rows=");
+        int p = Integer.parseInt(parts[0]);
+        int rows = Integer.parseInt(parts[1]);
+        return SyntheticUniverse.monitorPage(new SyntheticUniverse(1000L + p).rows(rows, (long) p * PAGE_ROWS));
+    }
+
+    private static long lap(Map<String, Long> stageMillis, String stage, long start) {
+        long now = System.nanoTime();
+        stageMillis.put(stage, (now - start) / 1_000_000);
+        return now;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+            .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static String describe(Run r) {
+        StringBuilder sb = new StringBuilder(String.format("📏 %,9d rows → %,9d bonds |", r.size(), r.bonds()));
+        r.stageMillis().forEach((stage, ms) -> sb.append(String.format(" %s %,7d ms", stage, ms)));
+        sb.append(String.format(" | total %,7d ms | peak heap %,6d MB | GC %d (%,d ms) | output %,6d KB",
+            r.totalMillis(), r.peakHeapBytes() >> 20, r.gcCount(), r.gcMillis(), r.outputBytes() >> 10));
+        return sb.toString();
+    }
+
+    private static List<String> check(Run r, Map<String, Number> budget) {
+        List<String> violations = new ArrayList<>();
+        if (budget == null) return violations;
+
+        checkBudget(violations, r, "totalMillis", r.totalMillis(), budget);
+        for (String stage : STAGES) {
+            checkBudget(violations, r, stage + "Millis", r.stageMillis().getOrDefault(stage, 0L), budget);
+        }
+        checkBudget(violations, r, "peakHeapMb", r.peakHeapBytes() >> 20, budget);
+        checkBudget(violations, r, "gcMillis", r.gcMillis(), budget);
+        checkBudget(violations, r, "outputMb", r.outputBytes() >> 20, budget);
+        return violations;
+    }
+
+    private static void checkBudget(List<String> violations, Run r, String key, long actual, Map<String, Number> budget) {
+        Number limit = budget.get(key);
+        if (limit != null && actual > limit.longValue()) {
+            violations.add(String.format("%,d rows: %s = %,d > budget %,d", r.size(), key, actual, limit.longValue()));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Map<String, Number>> loadBudgets() throws Exception {
+        try (InputStream in = ScaleHarness.class.getClassLoader().getResourceAsStream("scale-budgets.yaml")) {
+            if (in == null) return Map.of();
+            Map<String, Object> root = new Yaml().load(in);
+            Map<Object, Map<String, Number>> raw = (Map<Object, Map<String, Number>>) root.get("budgets");
+            Map<Integer, Map<String, Number>> budgets = new HashMap<>();
+            raw.forEach((size, b) -> budgets.put(Integer.parseInt(size.toString()), b));
+            return budgets;
+        }
+    }
+
+    private static void writeCsv(List<Run> runs, Path file) throws Exception {
+        try (Writer w = Files.newBufferedWriter(file)) {
+            w.write("size,bonds," + String.join(",", STAGES.stream().map(s -> s + "Millis").toList())
+                + ",totalMillis,peakHeapBytes,gcCount,gcMillis,outputBytes\n");
+            for (Run r : runs) {
+                StringBuilder sb = new StringBuilder().append(r.size()).append(',').append(r.bonds());
+                for (String s : STAGES) sb.append(',').append(r.stageMillis().getOrDefault(s, 0L));
+                sb.append(',').append(r.totalMillis())
+                    .append(',').append(r.peakHeapBytes())
+                    .append(',').append(r.gcCount())
+                    .append(',').append(r.gcMillis())
+                    .append(',').append(r.outputBytes())
+                    .append('\n');
+                w.write(sb.toString());
+            }
+        }
+    }
+}
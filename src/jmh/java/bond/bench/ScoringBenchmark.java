@@ -0,0 +1,46 @@
+package bond.bench;
+
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.scoring.BondScoreEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BondScoreEngine#calculateBondScores} over a synthetic universe, sequential
+ * ({@code threads = 1}) and split across 2 / 4 threads. Scaling is only visible on a machine
+ * with at least that many cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"1", "2", "4"})
+    public int threads;
+
+    private List<Bond> bonds;
+    private BondScoreEngine engine;
+
+    @Setup
+    public void setup() throws Exception {
+        HttpTransports.set(new FixtureTransport());
+        bonds = new SyntheticUniverse(3).bonds(size, FxService.getInstance().loadFxRates());
+        engine = new BondScoreEngine(threads);
+    }
+
+    @Benchmark
+    public List<Bond> calculateBondScores() {
+        engine.calculateBondScores(bonds, "EUR");
+        return bonds;
+    }
+}
@@ -0,0 +1,51 @@
+package bond.bench;
+
+import bond.calc.BondCalculator;
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.scrape.BondScraper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BondScraper#scrapeSingleSource} on saved / synthetic monitor pages served from memory:
+ * HTML parse, column mapping, filtering and Bond construction.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScrapeParseBenchmark {
+
+    private static final String URL = "https://bench.local/monitor";
+
+    /** "fixture" = saved europa page; numbers = synthetic page with that many rows. */
+    @Param({"fixture", "1000", "5000"})
+    public String page;
+
+    private BondScraper scraper;
+    private Map<String, Double> fx;
+
+    @Setup
+    public void setup() throws Exception {
+        String html = page.equals("fixture")
+            ? FixtureTransport.resourceAsString("fixtures/monitor-europa.html")
+            : SyntheticUniverse.monitorPage(new SyntheticUniverse(42).rows(Integer.parseInt(page)));
+
+        FixtureTransport transport = new FixtureTransport().put(URL, html);
+        HttpTransports.set(transport);
+        fx = FxService.getInstance().loadFxRates();
+        scraper = new BondScraper(new BondCalculator(), transport);
+    }
+
+    @Benchmark
+    public List<Bond> scrapeSingleSource() throws Exception {
+        return scraper.scrapeSingleSource(URL, fx);
+    }
+}
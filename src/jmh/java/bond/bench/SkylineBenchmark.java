@@ -0,0 +1,51 @@
+package bond.bench;
+
+import bond.fx.FxService;
+import bond.http.HttpTransports;
+import bond.model.Bond;
+import bond.skyline.SkylineDimension;
+import bond.skyline.SkylineEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SkylineEngine} over a synthetic universe: frontier and depth of every bond, with the
+ * two-dimension path (SAY, maturity) and the default three dimensions (SAY, rating, maturity).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkylineBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class UniverseState {
+
+        @Param({"10000", "100000"})
+        public int size;
+
+        @Param({"SAY,MATURITY", "SAY,RATING,MATURITY"})
+        public String dimensions;
+
+        List<Bond> bonds;
+        SkylineEngine engine;
+        final LocalDate asOf = LocalDate.of(2026, 1, 15);
+
+        @Setup
+        public void setup() throws Exception {
+            HttpTransports.set(new FixtureTransport());
+            bonds = new SyntheticUniverse(3).bonds(size, FxService.getInstance().loadFxRates());
+            engine = new SkylineEngine(Arrays.stream(dimensions.split(",")).map(SkylineDimension::valueOf).toList());
+        }
+    }
+
+    @Benchmark
+    public SkylineEngine.Result calculateDepths(UniverseState s) {
+        return s.engine.calculateDepths(s.bonds, s.asOf);
+    }
+}
@@ -0,0 +1,174 @@
+package bond.bench;
+
+import bond.http.HttpArchiveWriter;
+import bond.http.HttpResponse;
+import bond.source.BondSourcesConfig;
+import bond.source.SourceConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Cold-start harness: wall time of complete {@code BondApp} report runs, each in a new process.
+ * <p>
+ * The runs are offline: an HTTP archive is built from the saved fixtures (every enabled html
+ * source serves {@code fixtures/monitor-europa.html}, the ECB feed serves
+ * {@code fixtures/eurofxref-daily.xml}, the ratings page is missing so the hardcoded ratings
+ * are used) and replayed with {@code -Dbond.http.mode=replay}. The JVM launchers run from jars
+ * (directories on the classpath are packed into one). Launchers compared:
+ * <pre>
+ *   jvm      java -cp ... bond.BondApp
+ *   appcds   same, with a dynamic AppCDS archive created by a first (untimed) run
+ *   native   target/bond-report, when built with mvn -Pnative -DskipTests package
+ * </pre>
+ * Min / median / max per launcher are printed and written to
+ * {@code target/startup/startup-report.csv}.
+ * <p>
+ * Usage: {@code mvn -Pbench compile exec:exec@startup [-Dstartup.runs=10]}
+ */
+public class StartupHarness {
+
+    private static final String ECB_URL = "https://www.ecb.europa.eu/stats/eurofxref/eurofxref-daily.xml";
+
+    record Result(String launcher, long[] millis) {
+
+        long median() {
+            return millis[millis.length / 2];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        Path outDir = Path.of("target", "startup").toAbsolutePath();
+        Path workDir = outDir.resolve("work");
+        Files.createDirectories(workDir.resolve("docs/eur"));
+        Path archive = writeArchive(outDir.resolve("replay.bin"));
+
+        List<String> props = List.of(
+            "-Dbond.http.mode=replay",
+            "-Dbond.http.archive=" + archive);
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = jarClasspath(outDir.resolve("bond-report-classes.jar"));
+
+        Map<String, List<String>> launchers = new LinkedHashMap<>();
+        launchers.put("jvm", command(List.of(java), props, List.of("-cp", classpath, "bond.BondApp")));
+
+        Path jsa = outDir.resolve("bond-report.jsa");
+        Files.deleteIfExists(jsa);
+        System.out.println("🧊 Creating AppCDS archive " + jsa);
+        run(command(List.of(java, "-XX:ArchiveClassesAtExit=" + jsa), props, List.of("-cp", classpath, "bond.BondApp")),
+            workDir, outDir.resolve("appcds-dump.log"));
+        launchers.put("appcds", command(List.of(java, "-XX:SharedArchiveFile=" + jsa), props, List.of("-cp", classpath, "bond.BondApp")));
+
+        Path nativeImage = Path.of("target", "bond-report").toAbsolutePath();
+        if (Files.isExecutable(nativeImage)) {
+            launchers.put("native", command(List.of(nativeImage.toString()), props, List.of()));
+        } else {
+            System.out.println("ℹ️ No native executable at " + nativeImage + " (mvn -Pnative -DskipTests package)");
+        }
+
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, List<String>> e : launchers.entrySet()) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = run(e.getValue(), workDir, outDir.resolve(e.getKey() + ".log"));
+            }
+            Arrays.sort(millis);
+            results.add(new Result(e.getKey(), millis));
+        }
+
+        long baseline = results.get(0).median();
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "⏱ %-7s median %,6d ms | min %,6d ms | max %,6d ms | %.2fx%n",
+                r.launcher(), r.median(), r.millis()[0], r.millis()[runs - 1], (double) baseline / r.median());
+        }
+        writeCsv(results, outDir.resolve("startup-report.csv"));
+    }
+
+    /** Records the fixture responses under the URLs the default configuration fetches. */
+    private static Path writeArchive(Path file) throws IOException {
+        byte[] monitor = FixtureTransport.resource("fixtures/monitor-europa.html");
+        Map<String, String> html = Map.of("Content-Type", "text/html; charset=UTF-8");
+        try (HttpArchiveWriter writer = new HttpArchiveWriter(file)) {
+            for (SourceConfig source : BondSourcesConfig.load().enabled()) {
+                if ("html".equalsIgnoreCase(source.getType())) {
+                    writer.append(new HttpResponse(source.getUrl(), 200, html, monitor));
+                }
+            }
+            writer.append(new HttpResponse(ECB_URL, 200, Map.of("Content-Type", "text/xml"),
+                FixtureTransport.resource("fixtures/eurofxref-daily.xml")));
+        }
+        return file;
+    }
+
+    /**
+     * The harness classpath with its directories packed into one jar: AppCDS only archives
+     * classes loaded from jars.
+     */
+    private static String jarClasspath(Path jar) throws IOException {
+        List<String> entries = new ArrayList<>();
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                Path path = Path.of(entry);
+                if (!Files.isDirectory(path)) {
+                    entries.add(entry);
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(path)) {
+                    files = walk.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path f : files) {
+                    out.putNextEntry(new JarEntry(path.relativize(f).toString().replace(File.separatorChar, '/')));
+                    Files.copy(f, out);
+                    out.closeEntry();
+                }
+            }
+        }
+        entries.add(0, jar.toString());
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static List<String> command(List<String> launcher, List<String> props, List<String> main) {
+        List<String> cmd = new ArrayList<>(launcher);
+        cmd.addAll(props);
+        cmd.addAll(main);
+        return cmd;
+    }
+
+    /** Runs one process to completion; returns its wall time in milliseconds. */
+    private static long run(List<String> command, Path workDir, Path log) throws Exception {
+        File logFile = log.toFile();
+        long t = System.nanoTime();
+        Process p = new ProcessBuilder(command)
+            .directory(workDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(logFile)
+            .start();
+        int status = p.waitFor();
+        long millis = (System.nanoTime() - t) / 1_000_000;
+        if (status != 0) {
+            throw new IllegalStateException(command.get(0) + " exited with " + status + ", see " + log);
+        }
+        return millis;
+    }
+
+    private static void writeCsv(List<Result> results, Path file) throws IOException {
+        try (Writer w = Files.newBufferedWriter(file)) {
+            w.write("launcher,run,millis\n");
+            for (Result r : results) {
+                for (int i = 0; i < r.millis().length; i++) {
+                    w.write(r.launcher() + "," + i + "," + r.millis()[i] + "\n");
+                }
+            }
+        }
+    }
+}
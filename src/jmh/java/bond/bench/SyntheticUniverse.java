@@ -0,0 +1,166 @@
+package bond.bench;
+
+import bond.calc.BondCalculator;
+import bond.model.Bond;
+import bond.scrape.CountryNormalizer;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Deterministic generator of synthetic bond universes, as monitor-page rows, HTML pages
+ * (same markup and Italian headers as the real monitors) or ready-built {@link Bond}s.
+ * <p>
+ * ISINs carry a valid check digit; issuer spellings mix canonical and raw names so that
+ * normalisation and rating lookups do real work.
+ */
+public final class SyntheticUniverse {
+
+    /** Raw issuer spellings as they appear in monitor descriptions, with their ISIN country prefix. */
+    private static final String[][] ISSUERS = {
+        {"BTP", "IT"}, {"BTP ITALIA", "IT"}, {"ITALY", "IT"}, {"REPUBLIC OF ITALY", "IT"},
+        {"GERMANY", "DE"}, {"BUNDESREPUBLIK DEUTSCHLAND", "DE"}, {"FRANCE", "FR"}, {"SPAIN", "ES"},
+        {"PORTUGAL", "PT"}, {"GREECE", "GR"}, {"ROMANIA", "XS"}, {"POLAND", "XS"}, {"HUNGARY", "XS"},
+        {"MEXICO", "US"}, {"AUSTRIA", "AT"}, {"BELGIUM", "BE"}, {"NETHERLANDS", "NL"}, {"IRELAND", "IE"},
+        {"SLOVENIA", "SI"}, {"CROATIA", "XS"}, {"CHILE", "US"}, {"UNITED STATES", "US"},
+        {"TURKEY", "US"}, {"BRAZIL", "US"}, {"SOUTH AFRICA", "US"}, {"FINLAND", "FI"}
+    };
+
+    /** Currencies weighted roughly like the live monitors (EUR dominant). */
+    private static final String[] CURRENCIES = {
+        "EUR", "EUR", "EUR", "EUR", "EUR", "EUR", "USD", "USD", "GBP", "CHF",
+        "PLN", "HUF", "RON", "CZK", "MXN", "TRY", "ZAR", "BRL"
+    };
+
+    /** Headers of the real #YieldTable (only some are used by the scraper). */
+    public static final List<String> HEADERS = List.of(
+        "Descrizione", "Codice ISIN", "Mercato", "Lotto minimo", "Data scadenza",
+        "Divisa", "Prezzo di riferimento", "Rendimento lordo", "Duration");
+
+    /**
+     * One row of a synthetic monitor table.
+     */
+    public record Row(
+        String isin,
+        String description,
+        String issuer,
+        double couponPct,
+        LocalDate maturity,
+        String currency,
+        double price,
+        int lot) {
+    }
+
+    private final long seed;
+
+    public SyntheticUniverse(long seed) {
+        this.seed = seed;
+    }
+
+    public List<Row> rows(int n) {
+        return rows(n, 0);
+    }
+
+    /**
+     * @param n           Number of rows.
+     * @param firstSerial Serial of the first ISIN, so that several pages can be generated
+     *                    without ISIN collisions.
+     */
+    public List<Row> rows(int n, long firstSerial) {
+        Random rnd = new Random(seed);
+        LocalDate today = LocalDate.now();
+        List<Row> rows = new ArrayList<>(n);
+
+        for (int i = 0; i < n; i++) {
+            String[] issuer = ISSUERS[rnd.nextInt(ISSUERS.length)];
+            String ccy = CURRENCIES[rnd.nextInt(CURRENCIES.length)];
+            double coupon = Math.round((0.25 + rnd.nextDouble() * 7.75) * 8) / 8.0;
+            LocalDate maturity = today.plusDays(365 * 2 + rnd.nextInt(365 * 38));
+            double price = Math.round((60 + rnd.nextDouble() * 55) * 100) / 100.0;
+            int lot = rnd.nextInt(20) == 0 ? 100_000 : 1000;
+
+            String description = issuer[0] + " " + format(coupon) + "% " + maturity.getYear();
+            rows.add(new Row(isin(issuer[1], firstSerial + i), description, issuer[0], coupon, maturity, ccy, price, lot));
+        }
+        return rows;
+    }
+
+    /** Renders rows as a monitor page with the same structure as the live site. */
+    public static String monitorPage(List<Row> rows) {
+        StringBuilder sb = new StringBuilder(256 + rows.size() * 260);
+        sb.append("<!DOCTYPE html>\n<html lang=\"it\">\n<head>\n<meta charset=\"UTF-8\">\n")
+            .append("<title>Monitor obbligazioni - synthetic</title>\n")
+            .append("<script>var monitor = \"synthetic\";</script>\n</head>\n<body>\n")
+            .append("<div id=\"header\"><ul class=\"menu\"><li><a href=\"index.php\">Home</a></li></ul></div>\n")
+            .append("<table id=\"YieldTable\" class=\"tablesorter\">\n<thead><tr>");
+        for (String h : HEADERS) sb.append("<th>").append(h).append("</th>");
+        sb.append("</tr></thead>\n<tbody>\n");
+
+        int i = 0;
+        for (Row r : rows) {
+            sb.append("<tr class=\"").append(i++ % 2 == 0 ? "even" : "odd").append("\">")
+                .append("<td class=\"desc\">").append(r.description()).append("</td>")
+                .append("<td><a href=\"scheda.php?isin=").append(r.isin()).append("\">").append(r.isin()).append("</a></td>")
+                .append("<td>MOT</td>")
+                .append("<td>").append(r.lot()).append("</td>")
+                .append("<td>").append(r.maturity()).append("</td>")
+                .append("<td>").append(r.currency()).append("</td>")
+                .append("<td>").append(format(r.price())).append("</td>")
+                .append("<td>").append(format(r.couponPct() * 100 / r.price())).append("</td>")
+                .append("<td>5,00</td>")
+                .append("</tr>\n");
+        }
+        sb.append("</tbody>\n</table>\n</body>\n</html>\n");
+        return sb.toString();
+    }
+
+    /**
+     * Builds scored-ready bonds through {@link BondCalculator} (normalised issuer, rating set).
+     * Rows the scraper would filter out (lot, short maturity) are skipped, so the result may hold
+     * slightly fewer than {@code n} bonds.
+     */
+    public List<Bond> bonds(int n, Map<String, Double> fx) {
+        BondCalculator calculator = new BondCalculator();
+        List<Bond> bonds = new ArrayList<>(n);
+        for (Row r : rows(n)) {
+            if (r.lot() > 5000) continue;
+            double priceEur = r.price() / fx.getOrDefault(r.currency(), 1.0);
+            Bond b = calculator.buildBond(r.isin(), CountryNormalizer.normalize(r.issuer()),
+                r.price(), r.currency(), priceEur, r.couponPct(), r.maturity());
+            if (b != null) bonds.add(b);
+        }
+        return bonds;
+    }
+
+    /**
+     * Builds a valid ISIN: 2-letter prefix, 9 alphanumeric characters derived from
+     * {@code serial}, Luhn check digit.
+     */
+    public static String isin(String country, long serial) {
+        String body = country + String.format("%9s", Long.toString(serial, 36).toUpperCase()).replace(' ', '0');
+        return body + checkDigit(body);
+    }
+
+    static int checkDigit(String body) {
+        StringBuilder digits = new StringBuilder();
+        for (char c : body.toCharArray()) {
+            digits.append(Character.isDigit(c) ? String.valueOf(c - '0') : String.valueOf(c - 'A' + 10));
+        }
+        int sum = 0;
+        boolean dbl = true;
+        for (int i = digits.length() - 1; i >= 0; i--) {
+            int d = digits.charAt(i) - '0';
+            if (dbl) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+            dbl = !dbl;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    private static String format(double v) {
+        return String.format(Locale.ROOT, "%.2f", v).replace('.', ',');
+    }
+}
@@ -0,0 +1,59 @@
+package bond.bench;
+
+import bond.source.BondRow;
+import bond.source.BondSources;
+import bond.source.HtmlMonitorSource;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code #YieldTable} extraction from raw page bytes: Jsoup DOM + selectors versus the
+ * streaming tokenizer of {@link HtmlMonitorSource#parseStreaming}. Both produce the same rows.
+ * Run with {@code -Djmh.args="-prof gc"} to compare allocation per page as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TableExtractBenchmark {
+
+    /** "fixture" = saved europa page; numbers = synthetic page with that many rows. */
+    @Param({"fixture", "1000", "5000", "20000"})
+    public String page;
+
+    private byte[] body;
+    private HtmlMonitorSource source;
+
+    @Setup
+    public void setup() {
+        String html = page.equals("fixture")
+            ? FixtureTransport.resourceAsString("fixtures/monitor-europa.html")
+            : SyntheticUniverse.monitorPage(new SyntheticUniverse(42).rows(Integer.parseInt(page)));
+        body = html.getBytes(StandardCharsets.UTF_8);
+        source = (HtmlMonitorSource) BondSources.monitor("https://bench.local/monitor", null);
+
+        List<BondRow> expected = jsoup();
+        if (!expected.equals(streaming())) throw new IllegalStateException("Streaming and Jsoup rows differ");
+    }
+
+    @Benchmark
+    public List<BondRow> jsoup() {
+        try {
+            return source.parse(Jsoup.parse(new ByteArrayInputStream(body), null, "https://bench.local/monitor"));
+        } catch (java.io.IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public List<BondRow> streaming() {
+        return source.parseStreaming(body);
+    }
+}
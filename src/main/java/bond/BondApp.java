@@ -1,31 +1,171 @@
 package bond;
 
+import bond.backtest.BacktestArchive;
+import bond.backtest.BacktestEngine;
+import bond.backtest.DaySnapshot;
+import bond.backtest.ProfileResult;
 import bond.calc.BondCalculator;
+import bond.config.ProfileRegistry;
+import bond.curve.SpreadEngine;
+import bond.export.UniverseExporter;
+import bond.fx.FxHistory;
 import bond.fx.FxService;
+import bond.log.Log;
 import bond.model.Bond;
+import bond.pipeline.BondPipeline;
+import bond.pipeline.ExportSink;
+import bond.portfolio.PortfolioEngine;
+import bond.portfolio.PortfolioProjection;
 import bond.report.HtmlReportWriter;
+import bond.risk.FxCovariance;
+import bond.risk.FxRisk;
+import bond.risk.FxRiskEngine;
 import bond.scrape.BondScraper;
 import bond.scoring.BondScoreEngine;
+import bond.shared.SharedUniverseWriter;
+import bond.skyline.SkylineEngine;
 
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Main application class.
  * Enhancements:
  * - Loads sovereign spreads for dynamic trust calculation
  * - Generates scoring reports in EUR
- * - Tracks unknown issuers and generates alerts
+ * - Tracks unknown issuers and reports them once per run (see {@link Log})
+ * <p>
+ * Modes (first program argument):
+ * - (none) / report : scrape live data and generate docs/eur/index.html
+ * - backtest &lt;archiveDir&gt; [topN] : replay archived monitor pages and ECB files through the profiles
+ * - portfolio &lt;holdings.csv&gt; [calendar.csv] : project a Portfolio Analyzer CSV on today's universe,
+ *   with its correlated FX VaR / expected shortfall
+ * - watch : report mode, then keep running and regenerate the page from the same scraped
+ *   universe whenever a profile file changes (see {@link ProfileRegistry})
+ * - stream : scrape, score and export row by row with bounded memory (see {@link BondPipeline}),
+ *   without curves and without the HTML report
+ * <p>
+ * In report mode, {@code -Dbond.portfolio=holdings.csv} embeds the projection of that portfolio
+ * (statistics and cash-flow calendar) in the generated page, and {@code -Dbond.export=csv,jsonl,arrow}
+ * also writes the scored universe to {@code docs/eur/bonds.*} (see {@link UniverseExporter}).
+ * Every bond gets its Pareto depth over {@code -Dbond.skyline} (see {@link SkylineEngine}).
+ * {@code -Dbond.shared=universe.bin} publishes it to a memory-mapped file that other local
+ * processes read in place (see {@link SharedUniverseWriter}).
  */
 public class BondApp {
 
     public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "report";
+
+        try {
+            switch (mode) {
+                case "backtest" -> runBacktest(args);
+                case "portfolio" -> runPortfolio(args);
+                case "watch" -> runWatch();
+                case "stream" -> runStream();
+                default -> generateReport();
+            }
+        } finally {
+            Log.endRun();
+        }
+    }
+
+    /**
+     * Generates the report once, then re-renders it from the already scored bonds on every
+     * profile change (no re-scrape) until the process is stopped.
+     */
+    private static void runWatch() throws Exception {
+        Runnable render = generateReport();
+        Log.endRun();
+
+        ProfileRegistry registry = ProfileRegistry.get();
+        registry.addListener(snapshot -> render.run());
+        registry.startWatching();
+        System.out.println("⏳ Waiting for profile changes (Ctrl+C to stop)");
+        Thread.currentThread().join();
+    }
+
+    /** Scrapes, scores and writes the report; returns an action re-rendering the same data. */
+    private static Runnable generateReport() throws Exception {
         System.out.println("🚀 Starting Sovereign Bond Analytics...\n");
 
         // --- Load FX rates ---
         FxService fxService = FxService.getInstance();
         Map<String, Double> fx = fxService.loadFxRates();
 
+        List<Bond> bonds = scoredUniverse(fx);
+
+        // --- Optional precomputed portfolio ---
+        PortfolioProjection projection = null;
+        String portfolioCsv = System.getProperty("bond.portfolio");
+        if (portfolioCsv != null && !portfolioCsv.isBlank()) {
+            projection = project(bonds, fx, Path.of(portfolioCsv));
+        }
+
+        Set<UniverseExporter.Format> exports = UniverseExporter.configuredFormats();
+        if (!exports.isEmpty()) {
+            Log.stage("export");
+            long t0 = System.nanoTime();
+            new UniverseExporter().export(bonds, Path.of("docs/eur"), exports);
+            System.out.printf("💾 Exported %d bonds (%s) to docs/eur in %d ms%n", bonds.size(),
+                exports.stream().map(UniverseExporter.Format::fileName).collect(Collectors.joining(", ")), (System.nanoTime() - t0) / 1_000_000);
+        }
+
+        String shared = System.getProperty("bond.shared");
+        if (shared != null && !shared.isBlank()) {
+            long t0 = System.nanoTime();
+            try (SharedUniverseWriter writer = new SharedUniverseWriter(Path.of(shared))) {
+                long version = writer.publish(bonds);
+                System.out.printf("📡 Published %d bonds to %s (version %d) in %d ms%n", bonds.size(), shared, version,
+                    (System.nanoTime() - t0) / 1_000_000);
+            }
+        }
+
+        PortfolioProjection p = projection;
+        Runnable render = () -> {
+            Log.stage("render");
+            try {
+                new HtmlReportWriter().writeEur(bonds, "docs/eur/index.html", p);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write docs/eur/index.html", e);
+            }
+            System.out.println("\n✅ Reports generated:");
+            System.out.println(" - docs/eur/index.html");
+        };
+        render.run();
+        return render;
+    }
+
+    /**
+     * Streams the configured sources through scoring into the export files of
+     * {@code bond.export} (CSV when not set), without holding the universe in memory.
+     */
+    private static void runStream() throws Exception {
+        System.out.println("🚀 Streaming Sovereign Bond Analytics...\n");
+        Map<String, Double> fx = FxService.getInstance().loadFxRates();
+
+        Set<UniverseExporter.Format> formats = UniverseExporter.configuredFormats();
+        if (formats.isEmpty()) formats = EnumSet.of(UniverseExporter.Format.CSV);
+        ExportSink export = new ExportSink(Path.of("docs/eur"), formats);
+
+        Log.stage("stream");
+        BondPipeline.Result result = new BondPipeline(new BondScraper(new BondCalculator()), fx, "EUR", LocalDate.now())
+            .run(BondScraper.configuredSources(), List.of(export));
+        System.out.printf("🌊 Streamed %d rows → %d bonds (first after %d ms) in %d ms%n", result.rows(), result.bonds(),
+            result.firstNanos() / 1_000_000, result.totalNanos() / 1_000_000);
+        System.out.println("\n✅ Exported to docs/eur: "
+            + formats.stream().map(UniverseExporter.Format::fileName).collect(Collectors.joining(", ")));
+    }
+
+    /** Scrapes the live sources and scores the bonds in EUR. */
+    private static List<Bond> scoredUniverse(Map<String, Double> fx) throws Exception {
         // --- Scrape bonds ---
+        Log.stage("scrape");
         BondCalculator calculator = new BondCalculator();
         BondScraper scraper = new BondScraper(calculator);
         List<Bond> bonds = scraper.scrape(fx);
@@ -33,13 +173,102 @@ public class BondApp {
 
         System.out.println("📊 Loaded " + bonds.size() + " bonds\n");
 
+        Log.stage("score");
         BondScoreEngine engine = new BondScoreEngine();
         engine.calculateBondScores(bonds, "EUR");
+        long t0 = System.nanoTime();
+        int curves = new SpreadEngine().calculateSpreads(bonds, LocalDate.now()).size();
+        System.out.printf("📈 Fitted %d issuer curves in %d ms%n", curves, (System.nanoTime() - t0) / 1_000_000);
+        t0 = System.nanoTime();
+        SkylineEngine skyline = new SkylineEngine();
+        SkylineEngine.Result layers = skyline.calculateDepths(bonds, LocalDate.now());
+        System.out.printf("🏔️ %d of %d bonds on the %s frontier (%d layers) in %d ms%n", layers.frontier(), layers.ranked(),
+            skyline.dimensions(), layers.layers(), (System.nanoTime() - t0) / 1_000_000);
+        return bonds;
+    }
+
+    private static PortfolioProjection project(List<Bond> bonds, Map<String, Double> fx, Path csv) throws Exception {
+        long t0 = System.nanoTime();
+        PortfolioProjection projection;
+        try (Reader in = Files.newBufferedReader(csv)) {
+            projection = new PortfolioEngine(bonds, fx, "EUR", LocalDate.now()).project(in);
+        }
+        System.out.printf("📦 Projected %s in %d ms%n", csv, (System.nanoTime() - t0) / 1_000_000);
+        if (!projection.unmatchedIsins().isEmpty()) {
+            System.out.println("⚠️ Not found in current universe: " + String.join(", ", projection.unmatchedIsins()));
+        }
+        return projection;
+    }
+
+    private static void runPortfolio(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: portfolio <holdings.csv> [calendar.csv]");
+            return;
+        }
+        Path csv = Path.of(args[1]);
+        Path calendarCsv = Path.of(args.length > 2 ? args[2] : "portfolio-cashflows.csv");
+
+        System.out.println("🚀 Projecting portfolio " + csv + "\n");
+
+        Map<String, Double> fx = FxService.getInstance().loadFxRates();
+        PortfolioProjection projection = project(scoredUniverse(fx), fx, csv);
+
+        System.out.println();
+        System.out.print(projection.summary());
+        try {
+            System.out.print(fxRisk(projection).summary());
+        } catch (Exception e) {
+            System.out.println("⚠️ FX risk not available: " + e.getMessage());
+        }
+
+        try (Writer w = Files.newBufferedWriter(calendarCsv)) {
+            projection.writeCalendarCsv(w);
+        }
+        System.out.println("\n✅ Cash-flow calendar written to " + calendarCsv);
+    }
+
+    /**
+     * Correlated FX VaR / ES of the projected holdings: 95%, one month (21 trading days),
+     * covariance of the last 3 years of ECB history.
+     */
+    private static FxRisk fxRisk(PortfolioProjection projection) throws Exception {
+        FxHistory history = FxService.getInstance().loadFxHistory();
+        long t0 = System.nanoTime();
+        Map<String, Double> exposures = projection.currencyBreakdown();
+        FxCovariance covariance = FxCovariance.estimate(history, projection.reportCurrency(), exposures.keySet(), 750);
+        FxRiskEngine engine = new FxRiskEngine(covariance, projection.reportCurrency(), 21, FxRiskEngine.DEFAULT_SCENARIOS, 42L);
+        FxRisk risk = engine.evaluate(exposures, 0.95);
+        System.out.printf("💱 FX risk computed in %d ms (%d daily returns)%n",
+            (System.nanoTime() - t0) / 1_000_000, covariance.observations());
+        return risk;
+    }
+
+    private static void runBacktest(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: backtest <archiveDir> [topN]");
+            return;
+        }
+        Path archiveDir = Path.of(args[1]);
+        int topN = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.out.println("🚀 Backtesting profiles on " + archiveDir + " (top " + topN + " per profile)\n");
+
+        Log.stage("load");
+        long t0 = System.nanoTime();
+        List<DaySnapshot> days = new BacktestArchive(archiveDir, "EUR").loadAll();
+        long t1 = System.nanoTime();
+        System.out.printf("📊 Loaded %d archived days in %d ms%n", days.size(), (t1 - t0) / 1_000_000);
+
+        Log.stage("backtest");
+        List<ProfileResult> results = new BacktestEngine(topN)
+            .run(days, ProfileRegistry.get().profiles());
+        long t2 = System.nanoTime();
+        System.out.printf("📈 Evaluated %d profiles in %d ms%n%n", results.size(), (t2 - t1) / 1_000_000);
 
-        HtmlReportWriter w = new HtmlReportWriter();
-        w.writeEur(bonds, "docs/eur/index.html");
+        results.forEach(r -> System.out.println(r.summary()));
 
-        System.out.println("\n✅ Reports generated:");
-        System.out.println(" - docs/eur/index.html");
+        Path csv = archiveDir.resolve("backtest-equity.csv");
+        BacktestEngine.writeEquityCsv(results, csv);
+        System.out.println("\n✅ Equity curves written to " + csv);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package bond.backtest;
+
+import bond.calc.BondCalculator;
+import bond.fx.FxService;
+import bond.isin.IsinMap;
+import bond.model.Bond;
+import bond.scoring.BondScoreEngine;
+import bond.scrape.BondScraper;
+import bond.source.BondRow;
+import bond.source.RowFilter;
+import org.jsoup.Jsoup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Dataset loader for the backtest: turns a directory of dated archives into scored
+ * {@link DaySnapshot}s. Loading is kept separate from evaluation so the (I/O and parse bound)
+ * load runs once and every profile is evaluated against the same in-memory universe.
+ * <p>
+ * Expected layout (one sub-directory per day, named with the ISO date):
+ * <pre>
+ *   archive/
+ *     2025-01-06/
+ *       europa.html        raw monitor page(s), any name ending in .html / .htm
+ *       43.html
+ *       eurofxref.xml      ECB daily reference rates of that day
+ *     2025-01-07/
+ *       ...
+ * </pre>
+ * Pages are merged by ISIN in file-name order (first occurrence kept), exactly like
+ * {@link BondScraper#scrape(Map)} does with its live sources. The price of every row is also
+ * kept before filtering, so that a holding which left the selectable universe (last year
+ * before maturity) can still be marked.
+ * Days without an ECB file are skipped.
+ */
+public class BacktestArchive {
+
+    private final Path root;
+    private final String reportCurrency;
+    private final BondScoreEngine scoring = new BondScoreEngine(); // One for all days, loaded in parallel
+
+    public BacktestArchive(Path root, String reportCurrency) {
+        this.root = root;
+        this.reportCurrency = reportCurrency;
+    }
+
+    /** Lists the archived days in chronological order. */
+    public List<LocalDate> days() throws IOException {
+        List<LocalDate> days = new ArrayList<>();
+        try (Stream<Path> dirs = Files.list(root)) {
+            dirs.filter(Files::isDirectory).forEach(d -> {
+                try {
+                    days.add(LocalDate.parse(d.getFileName().toString()));
+                } catch (DateTimeParseException ignored) {
+                    // Not a day directory
+                }
+            });
+        }
+        Collections.sort(days);
+        return days;
+    }
+
+    /**
+     * Loads and scores every archived day in parallel.
+     *
+     * @return Snapshots in chronological order (days that could not be loaded are omitted).
+     */
+    public List<DaySnapshot> loadAll() throws IOException {
+        return days().parallelStream()
+            .map(this::loadDayQuietly)
+            .filter(Objects::nonNull)
+            .sorted(Comparator.comparing(DaySnapshot::date))
+            .toList();
+    }
+
+    private DaySnapshot loadDayQuietly(LocalDate day) {
+        try {
+            return loadDay(day);
+        } catch (Exception e) {
+            System.err.println("⚠️ Skipping " + day + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds one day's universe: ECB rates, monitor rows converted through
+     * {@link BondScraper#toBond} with the monitor filters, ISIN merge and scoring as of that day.
+     */
+    public DaySnapshot loadDay(LocalDate day) throws Exception {
+        Path dir = root.resolve(day.toString());
+
+        List<Path> pages = new ArrayList<>();
+        Path ecbFile = null;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : files.sorted().toList()) {
+                String name = f.getFileName().toString().toLowerCase();
+                if (name.endsWith(".html") || name.endsWith(".htm")) pages.add(f);
+                else if (name.endsWith(".xml") && ecbFile == null) ecbFile = f;
+            }
+        }
+        if (ecbFile == null) throw new IOException("no ECB XML file in " + dir);
+
+        Map<String, Double> fx;
+        try (InputStream in = Files.newInputStream(ecbFile)) {
+            fx = FxService.parseEcbXml(in);
+        }
+
+        BondScraper scraper = new BondScraper(new BondCalculator(day));
+        IsinMap<Bond> byIsin = new IsinMap<>();
+        IsinMap<Double> quotes = new IsinMap<>();
+        RowFilter filter = RowFilter.monitorDefaults();
+        for (Path page : pages) {
+            for (BondRow row : scraper.parseRows(Jsoup.parse(page.toFile(), "UTF-8"))) {
+                if (row.isin() == null) continue;
+                quotes.putIfAbsent(row.isin(), row.price());
+                Bond bond = scraper.toBond(row, filter, fx);
+                if (bond != null) byIsin.putIfAbsent(bond.getIsin(), bond);
+            }
+        }
+
+        List<Bond> bonds = new ArrayList<>(byIsin.values());
+        scoring.calculateBondScores(bonds, reportCurrency, fx, day);
+
+        return new DaySnapshot(day, fx, Collections.unmodifiableList(bonds), byIsin, quotes);
+    }
+}
@@ -0,0 +1,151 @@
+package bond.backtest;
+
+import bond.config.BondProfile;
+import bond.config.ProfileMatcher;
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Replays the profile selection rules over archived days and tracks realised P&amp;L.
+ * <p>
+ * Strategy per profile:
+ * 1. On every archived day, select the bonds matching the profile filters, ranked by its
+ *    {@code sortedBy} column, and keep the top N (equal EUR weights)
+ * 2. Hold them until the next archived day and mark them with that day's prices and FX:
+ *    return = (price₁ + coupon accrued) × EUR/CCY₁ / (price₀ × EUR/CCY₀) − 1
+ * 3. Bonds that matured in between are redeemed at 100; the others are marked at the next
+ *    day's quote, even when they no longer pass the filters (e.g. last year before maturity).
+ *    Bonds missing from the next day's pages are kept at their last local price (counted as
+ *    stale marks)
+ * 4. Compound the period returns into an equity curve
+ * <p>
+ * Selections and period returns are independent per day and are computed in parallel;
+ * only the final compounding is sequential.
+ */
+public class BacktestEngine {
+
+    private final int topN;
+
+    public BacktestEngine(int topN) {
+        this.topN = topN;
+    }
+
+    /** Evaluates every profile against the same loaded snapshots. */
+    public List<ProfileResult> run(List<DaySnapshot> days, List<BondProfile> profiles) {
+        return profiles.parallelStream()
+            .map(ProfileMatcher::compile)
+            .map(m -> evaluate(m, days))
+            .toList();
+    }
+
+    ProfileResult evaluate(ProfileMatcher matcher, List<DaySnapshot> days) {
+        int n = days.size();
+        List<List<Bond>> selections = IntStream.range(0, n).parallel()
+            .mapToObj(i -> select(matcher, days.get(i)))
+            .toList();
+
+        AtomicInteger stale = new AtomicInteger();
+        double[] periodReturns = IntStream.range(0, Math.max(0, n - 1)).parallel()
+            .mapToDouble(i -> periodReturn(selections.get(i), days.get(i), days.get(i + 1), stale))
+            .toArray();
+
+        double[] equity = new double[n];
+        double peak = 1.0;
+        double maxDrawdown = 0;
+        if (n > 0) equity[0] = 1.0;
+        for (int i = 1; i < n; i++) {
+            equity[i] = equity[i - 1] * (1 + periodReturns[i - 1]);
+            peak = Math.max(peak, equity[i]);
+            maxDrawdown = Math.max(maxDrawdown, 1 - equity[i] / peak);
+        }
+
+        double totalReturn = n > 0 ? equity[n - 1] - 1 : 0;
+        double years = n > 1 ? ChronoUnit.DAYS.between(days.get(0).date(), days.get(n - 1).date()) / 365.25 : 0;
+        double annualised = years > 0 ? Math.pow(1 + totalReturn, 1 / years) - 1 : 0;
+
+        double volatility = 0;
+        if (periodReturns.length > 1 && years > 0) {
+            double mean = 0;
+            for (double r : periodReturns) mean += r;
+            mean /= periodReturns.length;
+            double var = 0;
+            for (double r : periodReturns) var += (r - mean) * (r - mean);
+            var /= periodReturns.length - 1;
+            volatility = Math.sqrt(var * periodReturns.length / years);
+        }
+
+        double avgHoldings = selections.stream().mapToInt(List::size).average().orElse(0);
+
+        return new ProfileResult(
+            matcher.getProfile().getId(),
+            days.stream().map(DaySnapshot::date).toList(),
+            equity,
+            totalReturn,
+            annualised,
+            volatility,
+            maxDrawdown,
+            avgHoldings,
+            stale.get());
+    }
+
+    private List<Bond> select(ProfileMatcher matcher, DaySnapshot day) {
+        return day.bonds().stream()
+            .filter(b -> matcher.matches(b, day.date()))
+            .sorted(matcher.ranking())
+            .limit(topN)
+            .toList();
+    }
+
+    private static double periodReturn(List<Bond> held, DaySnapshot from, DaySnapshot to, AtomicInteger stale) {
+        if (held.isEmpty()) return 0; // Nothing selected: stay in cash
+
+        double years = ChronoUnit.DAYS.between(from.date(), to.date()) / 365.25;
+        double sum = 0;
+
+        for (Bond b : held) {
+            double value0 = b.getPrice() * from.eurPerUnit(b.getCurrency());
+            double eurPerUnit1 = to.eurPerUnit(b.getCurrency());
+            double value1;
+
+            Double quote = to.quotes().get(b.getIsin());
+            if (!b.getMaturity().isAfter(to.date())) {
+                double yearsToRedemption = ChronoUnit.DAYS.between(from.date(), b.getMaturity()) / 365.25;
+                value1 = (100 + b.getCouponPct() * Math.max(0, yearsToRedemption)) * eurPerUnit1;
+            } else if (quote != null) {
+                value1 = (quote + b.getCouponPct() * years) * eurPerUnit1;
+            } else {
+                stale.incrementAndGet();
+                value1 = (b.getPrice() + b.getCouponPct() * years) * eurPerUnit1;
+            }
+            sum += value1 / value0 - 1;
+        }
+        return sum / held.size();
+    }
+
+    /** Writes the equity curves as CSV: one row per date, one column per profile. */
+    public static void writeEquityCsv(List<ProfileResult> results, Path file) throws IOException {
+        if (results.isEmpty()) return;
+        try (Writer w = Files.newBufferedWriter(file)) {
+            w.write("date");
+            for (ProfileResult r : results) w.write("," + r.profileId());
+            w.write("\n");
+
+            List<LocalDate> dates = results.get(0).dates();
+            for (int i = 0; i < dates.size(); i++) {
+                w.write(dates.get(i).toString());
+                for (ProfileResult r : results) w.write(String.format(Locale.ROOT, ",%.6f", r.equity()[i]));
+                w.write("\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package bond.backtest;
+
+import bond.isin.IsinMap;
+import bond.model.Bond;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scored bond universe rebuilt from one archived day.
+ *
+ * @param date   Archive date (also used as valuation date).
+ * @param fx     ECB rates of that day (1 EUR = X CCY).
+ * @param bonds  Deduplicated, scored bonds.
+ * @param byIsin Same bonds indexed by ISIN (read-only).
+ * @param quotes Local price of every ISIN quoted that day, including the rows filtered out of
+ *               {@code bonds} (e.g. within a year of maturity); used to mark holdings bought on
+ *               the previous day.
+ */
+public record DaySnapshot(
+    LocalDate date,
+    Map<String, Double> fx,
+    List<Bond> bonds,
+    IsinMap<Bond> byIsin,
+    IsinMap<Double> quotes) {
+
+    /** EUR value of one unit of the given currency on this day. */
+    public double eurPerUnit(String currency) {
+        return 1.0 / fx.getOrDefault(currency.toUpperCase(), 1.0);
+    }
+}
@@ -0,0 +1,41 @@
+package bond.backtest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Realised performance of one profile over the archived period.
+ *
+ * @param profileId             Profile id from bond-profiles.yaml.
+ * @param dates                 Rebalance dates (one per archived day).
+ * @param equity                Portfolio value on each date, starting at 1.0.
+ * @param totalReturn           equity[last] − 1.
+ * @param annualisedReturn      Compound annual growth rate over the period.
+ * @param annualisedVolatility  Std-dev of period returns scaled to one year.
+ * @param maxDrawdown           Largest peak-to-trough loss of the equity curve (positive number).
+ * @param avgHoldings           Average number of bonds selected per rebalance.
+ * @param staleMarks            Holdings that were missing from the next day's pages and kept at their last price.
+ */
+public record ProfileResult(
+    String profileId,
+    List<LocalDate> dates,
+    double[] equity,
+    double totalReturn,
+    double annualisedReturn,
+    double annualisedVolatility,
+    double maxDrawdown,
+    double avgHoldings,
+    int staleMarks) {
+
+    /** One-line summary used by the CLI. */
+    public String summary() {
+        return String.format("%-18s total %7.2f%%  ann. %6.2f%%  vol %6.2f%%  maxDD %6.2f%%  avg holdings %5.1f  stale %d",
+            profileId,
+            totalReturn * 100,
+            annualisedReturn * 100,
+            annualisedVolatility * 100,
+            maxDrawdown * 100,
+            avgHoldings,
+            staleMarks);
+    }
+}
@@ -1,6 +1,7 @@
 package bond.calc;
 
 import bond.model.Bond;
+import bond.rating.Rating;
 import bond.rating.RatingService;
 
 import java.time.LocalDate;
@@ -8,6 +9,24 @@ import java.time.temporal.ChronoUnit;
 
 public class BondCalculator {
 
+    private final LocalDate valuationDate;
+
+    public BondCalculator() {
+        this(LocalDate.now());
+    }
+
+    /**
+     * @param valuationDate Date the bonds are valued at (today for live runs,
+     *                      the archive date when replaying history).
+     */
+    public BondCalculator(LocalDate valuationDate) {
+        this.valuationDate = valuationDate;
+    }
+
+    public LocalDate getValuationDate() {
+        return valuationDate;
+    }
+
     public Bond buildBond(
         String isin,
         String issuer,
@@ -17,7 +36,7 @@ public class BondCalculator {
         double couponPct,
         LocalDate maturity) {
 
-        double years = Math.floor(ChronoUnit.DAYS.between(LocalDate.now(), maturity) / 365.25);
+        double years = Math.floor(ChronoUnit.DAYS.between(valuationDate, maturity) / 365.25);
         if (years <= 1) return null;
 
         Bond bond = new Bond(
@@ -31,7 +50,9 @@ public class BondCalculator {
         );
 
         // Set the rating based on issuer
-        bond.setRating(RatingService.getRatingForIssuer(issuer));
+        Rating rating = RatingService.getRating(issuer);
+        bond.setRating(rating.label());
+        bond.setRatingRank(rating.rank());
 
         return bond;
     }
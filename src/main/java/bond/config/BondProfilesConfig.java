@@ -18,6 +18,10 @@ public class BondProfilesConfig {
     public BondProfilesConfig() {
     }
 
+    /**
+     * Parses the built-in bond-profiles.yaml without validation. The running application goes
+     * through {@link ProfileRegistry}, which validates, merges external files and caches.
+     */
     public static BondProfilesConfig load() {
         try (InputStream in = BondProfilesConfig.class
             .getClassLoader()
@@ -26,12 +30,18 @@ public class BondProfilesConfig {
             if (in == null) {
                 throw new IllegalStateException("bond-profiles.yaml not found on classpath");
             }
-
-            LoaderOptions options = new LoaderOptions();
-            return new Yaml(new Constructor(BondProfilesConfig.class, options))
-                .load(in);
+            return parse(in);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load bond-profiles.yaml", e);
         }
     }
+
+    /** Parses a profiles YAML stream (same format as bond-profiles.yaml). */
+    public static BondProfilesConfig parse(InputStream in) {
+        LoaderOptions options = new LoaderOptions();
+        BondProfilesConfig cfg = new Yaml(new Constructor(BondProfilesConfig.class, options)).load(in);
+        if (cfg == null) cfg = new BondProfilesConfig();
+        if (cfg.getProfiles() == null) cfg.setProfiles(List.of());
+        return cfg;
+    }
 }
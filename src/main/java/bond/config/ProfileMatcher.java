@@ -0,0 +1,133 @@
+package bond.config;
+
+import bond.model.Bond;
+import bond.rating.Rating;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Server-side equivalent of the preset filtering done by {@code applyPreset()} / {@code filterTable()}
+ * in bond-report.js.
+ * <p>
+ * A matcher is compiled once from a {@link BondProfile}: the filter map is read into primitive
+ * thresholds (NaN = not set) so that matching a bond does not touch the map again. The minimum
+ * rating is compiled to its {@link Rating#rank()} and compared with {@link Bond#getRatingRank()}.
+ */
+public final class ProfileMatcher {
+
+    /** Numeric filter keys understood by the matcher and by bond-report.js. */
+    public static final Set<String> NUMERIC_FILTERS =
+        Set.of("minPrice", "maxPrice", "minMatYears", "maxMatYears", "minSAY", "minYield", "minCapitalAtMat");
+
+    /** Rating filter key (value: notation such as BBB+). */
+    public static final String RATING_FILTER = "minRating";
+
+    /** Column keys accepted by {@code sortedBy} (same keys as the COL table of bond-report.js). */
+    public static final Set<String> SORT_COLUMNS = Set.of("ISIN", "ISSUER", "PRICE", "CURRENCY", "RATING",
+        "PRICE_R", "COUPON", "MATURITY", "CURR_YIELD", "CAPITAL_AT_MAT", "SAY", "SPREAD", "RICH_CHEAP");
+
+    private final BondProfile profile;
+
+    private final double minPrice;
+    private final double maxPrice;
+    private final double minMatYears;
+    private final double maxMatYears;
+    private final double minSay;
+    private final double minYield;
+    private final double minCapitalAtMat;
+    private final int minRatingRank; // Integer.MIN_VALUE = not set
+
+    private final Comparator<Bond> ranking;
+
+    private ProfileMatcher(BondProfile profile) {
+        this.profile = profile;
+        Map<String, Object> f = profile.getFilters() == null ? Map.of() : profile.getFilters();
+
+        this.minPrice = number(f.get("minPrice"));
+        this.maxPrice = number(f.get("maxPrice"));
+        this.minMatYears = number(f.get("minMatYears"));
+        this.maxMatYears = number(f.get("maxMatYears"));
+        this.minSay = number(f.get("minSAY"));
+        this.minYield = number(f.get("minYield"));
+        this.minCapitalAtMat = number(f.get("minCapitalAtMat"));
+        this.minRatingRank = f.get("minRating") == null
+            ? Integer.MIN_VALUE
+            : Rating.parseOrDefault(f.get("minRating").toString()).rank();
+
+        this.ranking = rankingFor(profile.getSortedBy());
+    }
+
+    public static ProfileMatcher compile(BondProfile profile) {
+        return new ProfileMatcher(profile);
+    }
+
+    public BondProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Returns true if the bond passes every filter of the profile, with maturity bounds
+     * measured from {@code asOf}.
+     */
+    public boolean matches(Bond b, LocalDate asOf) {
+        if (!Double.isNaN(minPrice) && b.getPrice() < minPrice) return false;
+        if (!Double.isNaN(maxPrice) && b.getPrice() > maxPrice) return false;
+        if (!Double.isNaN(minYield) && b.getCurrentYield() < minYield) return false;
+        if (!Double.isNaN(minSay) && b.getSimpleAnnualYield() < minSay) return false;
+        if (!Double.isNaN(minCapitalAtMat) && b.getFinalCapitalToMat() < minCapitalAtMat) return false;
+
+        if (!Double.isNaN(minMatYears) || !Double.isNaN(maxMatYears)) {
+            double years = b.getYearsToMaturity(asOf);
+            if (!Double.isNaN(minMatYears) && years < minMatYears) return false;
+            if (!Double.isNaN(maxMatYears) && years > maxMatYears) return false;
+        }
+
+        return b.getRatingRank() >= minRatingRank;
+    }
+
+    /**
+     * Ordering used by the profile's {@code sortedBy} column (descending, like the initial
+     * preset sort in the browser).
+     */
+    public Comparator<Bond> ranking() {
+        return ranking;
+    }
+
+    private static Comparator<Bond> rankingFor(String sortedBy) {
+        String key = sortedBy == null ? "SAY" : sortedBy;
+        Comparator<Bond> asc = switch (key) {
+            case "CURR_YIELD" -> Comparator.comparingDouble(Bond::getCurrentYield);
+            case "CAPITAL_AT_MAT" -> Comparator.comparingDouble(Bond::getFinalCapitalToMat);
+            case "PRICE" -> Comparator.comparingDouble(Bond::getPrice);
+            case "PRICE_R" -> Comparator.comparingDouble(Bond::getPriceEur);
+            case "COUPON" -> Comparator.comparingDouble(Bond::getCouponPct);
+            case "MATURITY" -> Comparator.comparing(Bond::getMaturity);
+            case "RATING" -> Comparator.comparingInt(Bond::getRatingRank);
+            case "ISIN" -> Comparator.comparing(Bond::getIsin);
+            case "ISSUER" -> Comparator.comparing(Bond::getIssuer);
+            case "CURRENCY" -> Comparator.comparing(Bond::getCurrency);
+            // Bonds without a curve (NaN) rank last
+            case "SPREAD" -> Comparator.comparingDouble(b -> orLowest(b.getSpreadBp()));
+            case "RICH_CHEAP" -> Comparator.comparingDouble(b -> orLowest(b.getRichCheapBp()));
+            default -> Comparator.comparingDouble(Bond::getSimpleAnnualYield);
+        };
+        return asc.reversed();
+    }
+
+    private static double orLowest(double v) {
+        return Double.isNaN(v) ? Double.NEGATIVE_INFINITY : v;
+    }
+
+    private static double number(Object v) {
+        if (v == null) return Double.NaN;
+        if (v instanceof Number n) return n.doubleValue();
+        try {
+            return Double.parseDouble(v.toString().trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
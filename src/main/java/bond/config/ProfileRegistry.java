@@ -0,0 +1,333 @@
+package bond.config;
+
+import bond.rating.Rating;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Validated, precompiled bond profiles, reloaded when their files change.
+ * <p>
+ * Sources, merged in this order:
+ * 1. The built-in bond-profiles.yaml (classpath)
+ * 2. External files listed in {@code bond.profiles} (comma separated, e.g.
+ *    {@code -Dbond.profiles=docs/bond-profiles-custom.yaml}); a profile with an existing id
+ *    replaces it in place, new ids are appended
+ * <p>
+ * Every profile is validated: unknown filter keys (e.g. {@code minSAL}), quoted numbers,
+ * unknown ratings, {@code sortedBy} columns or profile types, and min &gt; max bounds are
+ * reported with the file name instead of being silently ignored. The result is an immutable
+ * {@link Snapshot} holding the profiles and their compiled {@link ProfileMatcher}s.
+ * <p>
+ * {@link #startWatching()} watches the files with a {@link WatchService}: an edit triggers a
+ * reload and notifies the listeners. An edit that fails validation is logged and the
+ * previous snapshot stays active.
+ */
+public final class ProfileRegistry implements Closeable {
+
+    public static final String PROFILES_PROPERTY = "bond.profiles";
+
+    private static final String BUILT_IN = "bond-profiles.yaml";
+    private static final Pattern ID = Pattern.compile("[A-Za-z][A-Za-z0-9]*");
+    private static final Set<String> PROFILE_TYPES = Set.of("SAY", "income");
+
+    /** Editors write a file in several steps: events closer than this are merged. */
+    private static final long DEBOUNCE_MS = 200;
+
+    /**
+     * @param profiles Merged profiles, in display order.
+     * @param matchers Compiled matcher per profile id (same order).
+     * @param version  Incremented on every successful reload.
+     */
+    public record Snapshot(List<BondProfile> profiles, Map<String, ProfileMatcher> matchers, long version) {
+    }
+
+    private static volatile ProfileRegistry instance;
+
+    private final Path builtInFile;       // Non-null when the classpath resource is a plain file
+    private final List<Path> externalFiles;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+    private volatile Snapshot snapshot;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Loads and validates the built-in profiles and the given external files.
+     *
+     * @throws IllegalArgumentException if a file is missing or a profile is invalid
+     */
+    public ProfileRegistry(List<Path> externalFiles) {
+        this.externalFiles = externalFiles.stream().map(p -> p.toAbsolutePath().normalize()).toList();
+        this.builtInFile = builtInFile();
+        this.snapshot = build(0);
+    }
+
+    /** Process-wide registry on the files of {@code bond.profiles}. */
+    public static ProfileRegistry get() {
+        ProfileRegistry r = instance;
+        if (r == null) {
+            synchronized (ProfileRegistry.class) {
+                r = instance;
+                if (r == null) {
+                    List<Path> files = new ArrayList<>();
+                    for (String f : System.getProperty(PROFILES_PROPERTY, "").split(",")) {
+                        if (!f.isBlank()) files.add(Path.of(f.trim()));
+                    }
+                    r = new ProfileRegistry(files);
+                    instance = r;
+                }
+            }
+        }
+        return r;
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public List<BondProfile> profiles() {
+        return snapshot.profiles();
+    }
+
+    /** Compiled matcher of a profile, or null if no profile has this id. */
+    public ProfileMatcher matcher(String id) {
+        return snapshot.matchers().get(id);
+    }
+
+    /** Called with the new snapshot after every successful reload (on the watcher thread). */
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Re-reads every file. On a validation or I/O error the current snapshot is kept.
+     *
+     * @return true if the new profiles are active
+     */
+    public boolean reload() {
+        Snapshot next;
+        try {
+            next = build(snapshot.version() + 1);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Profiles not reloaded, keeping the previous ones:\n" + e.getMessage());
+            return false;
+        }
+        snapshot = next;
+        System.out.println("🔄 Reloaded " + next.profiles().size() + " profiles (version " + next.version() + ")");
+        for (Consumer<Snapshot> l : listeners) {
+            try {
+                l.accept(next);
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Profile listener failed: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /** Starts a daemon thread reloading the profiles whenever one of their files changes. */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) return;
+
+        Set<Path> files = new HashSet<>(externalFiles);
+        if (builtInFile != null) files.add(builtInFile);
+        if (files.isEmpty()) return;
+
+        watchService = FileSystems.getDefault().newWatchService();
+        Set<Path> dirs = new HashSet<>();
+        for (Path f : files) {
+            if (dirs.add(f.getParent())) {
+                f.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+        }
+
+        WatchService ws = watchService;
+        watcher = new Thread(() -> watch(ws, files), "profile-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        System.out.println("👀 Watching " + files.size() + " profile file(s) for changes");
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcher != null) {
+            watcher.interrupt();
+            watchService.close();
+            watcher = null;
+        }
+    }
+
+    private void watch(WatchService ws, Set<Path> files) {
+        try {
+            while (true) {
+                WatchKey key = ws.take();
+                boolean relevant = false;
+                do {
+                    Path dir = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.context() instanceof Path name && files.contains(dir.resolve(name))) {
+                            relevant = true;
+                        }
+                    }
+                    key.reset();
+                    key = ws.poll(DEBOUNCE_MS, java.util.concurrent.TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                if (relevant) reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Registry closed
+        }
+    }
+
+    // ─────────────────────────────────────────────────────────────────────────
+    // Loading and validation
+    // ─────────────────────────────────────────────────────────────────────────
+
+    private Snapshot build(long version) {
+        List<String> errors = new ArrayList<>();
+        Map<String, BondProfile> merged = new LinkedHashMap<>();
+
+        merge(merged, readBuiltIn(), BUILT_IN, errors);
+        for (Path f : externalFiles) {
+            BondProfilesConfig cfg;
+            try (InputStream in = Files.newInputStream(f)) {
+                cfg = BondProfilesConfig.parse(in);
+            } catch (Exception e) {
+                errors.add(f + ": " + e.getMessage());
+                continue;
+            }
+            merge(merged, cfg, f.getFileName().toString(), errors);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid bond profiles:\n - " + String.join("\n - ", errors));
+        }
+
+        Map<String, ProfileMatcher> matchers = new LinkedHashMap<>();
+        for (BondProfile p : merged.values()) matchers.put(p.getId(), ProfileMatcher.compile(p));
+        return new Snapshot(List.copyOf(merged.values()), Collections.unmodifiableMap(matchers), version);
+    }
+
+    private BondProfilesConfig readBuiltIn() {
+        if (builtInFile != null) {
+            try (InputStream in = Files.newInputStream(builtInFile)) {
+                return BondProfilesConfig.parse(in);
+            } catch (IOException e) {
+                throw new IllegalArgumentException(BUILT_IN + ": " + e.getMessage(), e);
+            }
+        }
+        return BondProfilesConfig.load();
+    }
+
+    private static void merge(Map<String, BondProfile> merged, BondProfilesConfig cfg, String source, List<String> errors) {
+        Set<String> seen = new HashSet<>();
+        for (BondProfile p : cfg.getProfiles()) {
+            List<String> problems = validate(p);
+            String name = p.getId() == null ? "(no id)" : p.getId();
+            for (String problem : problems) errors.add(source + " / " + name + ": " + problem);
+            if (!problems.isEmpty()) continue;
+
+            if (!seen.add(p.getId())) {
+                errors.add(source + " / " + name + ": duplicate id");
+                continue;
+            }
+            merged.put(p.getId(), p); // Replaces in place when the id already exists
+        }
+    }
+
+    /** Problems of one profile (empty if valid). */
+    static List<String> validate(BondProfile p) {
+        List<String> problems = new ArrayList<>();
+        if (p.getId() == null || !ID.matcher(p.getId()).matches()) {
+            problems.add("id must be camelCase letters and digits");
+        }
+        if (p.getProfileType() != null && !PROFILE_TYPES.contains(p.getProfileType())) {
+            problems.add("unknown profileType '" + p.getProfileType() + "' (expected SAY or income)");
+        }
+        if (p.getSortedBy() != null && !ProfileMatcher.SORT_COLUMNS.contains(p.getSortedBy())) {
+            problems.add("unknown sortedBy column '" + p.getSortedBy() + "'" + suggestion(p.getSortedBy(), ProfileMatcher.SORT_COLUMNS));
+        }
+
+        Map<String, Object> filters = p.getFilters() == null ? Map.of() : p.getFilters();
+        Set<String> known = new HashSet<>(ProfileMatcher.NUMERIC_FILTERS);
+        known.add(ProfileMatcher.RATING_FILTER);
+        for (Map.Entry<String, Object> e : filters.entrySet()) {
+            String key = e.getKey();
+            Object value = e.getValue();
+            if (ProfileMatcher.NUMERIC_FILTERS.contains(key)) {
+                if (!(value instanceof Number)) {
+                    problems.add(key + " must be a number without quotes, got '" + value + "'");
+                }
+            } else if (key.equals(ProfileMatcher.RATING_FILTER)) {
+                if (value == null || Rating.parse(value.toString()) == null) {
+                    problems.add("unknown rating '" + value + "' for minRating");
+                }
+            } else {
+                problems.add("unknown filter '" + key + "'" + suggestion(key, known));
+            }
+        }
+
+        checkRange(filters, "minPrice", "maxPrice", problems);
+        checkRange(filters, "minMatYears", "maxMatYears", problems);
+        return problems;
+    }
+
+    private static void checkRange(Map<String, Object> filters, String minKey, String maxKey, List<String> problems) {
+        if (filters.get(minKey) instanceof Number min && filters.get(maxKey) instanceof Number max
+            && min.doubleValue() > max.doubleValue()) {
+            problems.add(minKey + " (" + min + ") is greater than " + maxKey + " (" + max + ")");
+        }
+    }
+
+    /** " (did you mean 'x'?)" for the closest known key within 2 edits, else "". */
+    private static String suggestion(String key, Set<String> known) {
+        String best = null;
+        int bestDistance = 3;
+        for (String k : known) {
+            int d = distance(key.toLowerCase(), k.toLowerCase());
+            if (d < bestDistance) {
+                bestDistance = d;
+                best = k;
+            }
+        }
+        return best == null ? "" : " (did you mean '" + best + "'?)";
+    }
+
+    /** Levenshtein distance. */
+    private static int distance(String a, String b) {
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] t = prev;
+            prev = cur;
+            cur = t;
+        }
+        return prev[b.length()];
+    }
+
+    /** The classpath bond-profiles.yaml as a file (exploded classes directory), or null (jar). */
+    private static Path builtInFile() {
+        URL url = ProfileRegistry.class.getClassLoader().getResource(BUILT_IN);
+        if (url == null || !"file".equals(url.getProtocol())) return null;
+        try {
+            return Path.of(url.toURI()).toAbsolutePath().normalize();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
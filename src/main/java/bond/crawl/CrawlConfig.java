@@ -0,0 +1,29 @@
+package bond.crawl;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The {@code crawl} block of a {@code type: crawl} source in bond-sources.yaml.
+ * Rates and concurrency apply per host; robots.txt can only make them stricter.
+ */
+@Getter
+@Setter
+public class CrawlConfig {
+    String linkPattern = "monitor_info\\.php\\?monitor="; // Regex found in the absolute URL of a monitor link
+    int maxPages = 100;                 // Monitor pages fetched at most, in index order
+    double requestsPerSecond = 1.0;     // Sustained rate per host (robots.txt Crawl-delay may lower it)
+    int burst = 2;                      // Requests that may start back to back after a pause
+    int maxConcurrentPerHost = 2;       // Requests in flight per host
+    int maxSeconds = 300;               // Crawl budget: pages not started by then are skipped
+    String userAgent = "BondReport/1.0"; // Sent with every request and matched against robots.txt groups
+
+    public CrawlConfig() {
+    }
+
+    /** Product token of {@link #userAgent} ("BondReport"), the name robots.txt groups use. */
+    public String agentToken() {
+        int end = userAgent.indexOf('/');
+        return (end < 0 ? userAgent : userAgent.substring(0, end)).trim();
+    }
+}
@@ -0,0 +1,142 @@
+package bond.crawl;
+
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+import bond.log.Level;
+import bond.log.Log;
+import bond.source.BondRow;
+import bond.source.BondSource;
+import bond.source.HtmlMonitorSource;
+import bond.source.MonitorCache;
+import bond.source.RowFilter;
+import bond.source.SourceConfig;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Source of type {@code crawl}: the monitor pages linked from an index page ({@code url}).
+ * <p>
+ * Links whose absolute URL matches {@code crawl.linkPattern} are kept in page order, without
+ * duplicates or fragments, up to {@code crawl.maxPages}; the ones robots.txt disallows are
+ * dropped. Each page is then read like an {@code html} source (same columns, filters and
+ * {@link MonitorCache}), several at a time, through a {@link PoliteTransport}. A page that fails
+ * is skipped with a warning; only a failing index page fails the source.
+ * <p>
+ * Rows are returned page by page in link order, so the ISIN merge keeps the bond of the first
+ * page listing it, and sources above this one in bond-sources.yaml still win over it.
+ */
+public class CrawlSource implements BondSource {
+
+    private final SourceConfig config;
+    private final HttpTransport transport;
+    private final MonitorCache cache;
+
+    /**
+     * @param cache Change-detection cache of the monitor pages, or null
+     */
+    public CrawlSource(SourceConfig config, HttpTransport transport, MonitorCache cache) {
+        this.config = config;
+        this.transport = transport;
+        this.cache = cache;
+    }
+
+    @Override
+    public String id() {
+        return config.getId();
+    }
+
+    @Override
+    public RowFilter filter() {
+        return config.getFilters();
+    }
+
+    /**
+     * Crawls the index page, then fetches the monitor pages in the background; the stream
+     * yields each page's rows once it and the pages before it are done.
+     */
+    @Override
+    public Stream<BondRow> rows() throws Exception {
+        CrawlConfig crawl = config.getCrawl();
+        PoliteTransport polite = new PoliteTransport(transport, crawl, System.nanoTime() + crawl.getMaxSeconds() * 1_000_000_000L);
+        List<String> pages = discover(polite);
+        System.out.println("🕸️ Discovered " + pages.size() + " monitor pages from " + config.getUrl());
+        if (pages.isEmpty()) return Stream.empty();
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(pages.size(), crawl.getMaxConcurrentPerHost()), r -> {
+            Thread t = new Thread(r, "bond-crawl");
+            t.setDaemon(true);
+            return t;
+        });
+        List<Future<List<BondRow>>> fetched = new ArrayList<>();
+        for (String page : pages) {
+            fetched.add(pool.submit(() -> fetch(page, polite)));
+        }
+        pool.shutdown();
+        return fetched.stream()
+            .flatMap(f -> await(f).stream())
+            .onClose(pool::shutdownNow);
+    }
+
+    /** Monitor page URLs linked from the index page, in page order. */
+    public List<String> discover(PoliteTransport polite) throws IOException {
+        String index = config.getUrl();
+        HttpResponse response = polite.get(HttpRequest.get(index).withTimeout(30_000)).ensureSuccess();
+        Document doc = Jsoup.parse(response.bodyStream(), null, index);
+
+        Pattern link = Pattern.compile(config.getCrawl().getLinkPattern());
+        Set<String> pages = new LinkedHashSet<>();
+        for (Element a : doc.select("a[href]")) {
+            String url = a.absUrl("href");
+            int fragment = url.indexOf('#');
+            if (fragment >= 0) url = url.substring(0, fragment);
+            if (url.isEmpty() || !link.matcher(url).find() || pages.contains(url)) continue;
+            if (!polite.allowed(url)) {
+                Log.tally(Level.INFO, "Monitor pages disallowed by robots.txt", url);
+                continue;
+            }
+            pages.add(url);
+            if (pages.size() >= config.getCrawl().getMaxPages()) break;
+        }
+        return new ArrayList<>(pages);
+    }
+
+    private List<BondRow> fetch(String url, PoliteTransport polite) {
+        SourceConfig page = new SourceConfig();
+        page.setId(url);
+        page.setType("html");
+        page.setUrl(url);
+        page.setColumns(config.getColumns());
+        page.setFilters(config.getFilters());
+        try (Stream<BondRow> rows = new HtmlMonitorSource(page, polite, cache).rows()) {
+            return rows.toList();
+        } catch (Exception e) {
+            Log.warn("Monitor page skipped", url, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static List<BondRow> await(Future<List<BondRow>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while crawling", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause()); // fetch() catches its own failures
+        }
+    }
+}
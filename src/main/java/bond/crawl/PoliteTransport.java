@@ -0,0 +1,123 @@
+package bond.crawl;
+
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+import bond.log.Log;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transport of a crawl: wraps another transport (live, record or replay) with per-host manners.
+ * <pre>
+ *   robots    robots.txt read once per host, disallowed URLs fail without a request
+ *   rate      one {@link TokenBucket} per host (Crawl-delay lowers the configured rate)
+ *   slots     at most maxConcurrentPerHost requests in flight per host
+ *   budget    a request that could only start after the crawl deadline fails instead of waiting
+ * </pre>
+ * Every request carries the crawler's User-Agent, the one robots.txt groups are matched against.
+ * A robots.txt answering 4xx allows everything; one that cannot be read (5xx, network error)
+ * disallows the whole host, as RFC 9309 asks.
+ */
+public class PoliteTransport implements HttpTransport {
+
+    private final HttpTransport delegate;
+    private final CrawlConfig config;
+    private final long deadline;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * @param deadline {@link System#nanoTime()} after which no request starts
+     */
+    public PoliteTransport(HttpTransport delegate, CrawlConfig config, long deadline) {
+        this.delegate = delegate;
+        this.config = config;
+        this.deadline = deadline;
+    }
+
+    /** Manners of one host; robots.txt is read by the first request to it. */
+    private final class Host {
+        final String origin;
+        final Semaphore slots = new Semaphore(config.getMaxConcurrentPerHost());
+        volatile TokenBucket bucket = new TokenBucket(config.getRequestsPerSecond(), config.getBurst());
+        private RobotsRules robots;
+
+        Host(String origin) {
+            this.origin = origin;
+        }
+
+        synchronized RobotsRules robots() throws IOException {
+            if (robots != null) return robots;
+            String url = origin + "/robots.txt";
+            try {
+                HttpResponse r = fetch(this, HttpRequest.get(url).withTimeout(15_000));
+                if (r.status() >= 500) {
+                    Log.warn("robots.txt unavailable, host skipped", origin, "HTTP " + r.status());
+                    robots = RobotsRules.DISALLOW_ALL;
+                } else {
+                    robots = r.status() >= 400 ? RobotsRules.ALLOW_ALL : RobotsRules.parse(r.bodyAsString(), config.agentToken());
+                }
+            } catch (IOException e) {
+                if (e instanceof BudgetExhausted) throw e;
+                Log.warn("robots.txt unavailable, host skipped", origin, e.getMessage());
+                robots = RobotsRules.DISALLOW_ALL;
+            }
+            if (robots.crawlDelaySeconds() > 0) {
+                double rate = Math.min(config.getRequestsPerSecond(), 1 / robots.crawlDelaySeconds());
+                bucket = new TokenBucket(rate, 1);
+            }
+            return robots;
+        }
+    }
+
+    /** A request that would start after the crawl deadline. */
+    public static class BudgetExhausted extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        BudgetExhausted(String url) {
+            super("Crawl time budget exhausted before " + url);
+        }
+    }
+
+    /** Whether robots.txt lets the crawler fetch {@code url} (reads it on first use of the host). */
+    public boolean allowed(String url) throws IOException {
+        return host(url).robots().allows(url);
+    }
+
+    @Override
+    public HttpResponse get(HttpRequest request) throws IOException {
+        Host host = host(request.url());
+        if (!host.robots().allows(request.url())) {
+            throw new IOException("Disallowed by robots.txt: " + request.url());
+        }
+        return fetch(host, request);
+    }
+
+    private HttpResponse fetch(Host host, HttpRequest request) throws IOException {
+        try {
+            if (!host.slots.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new BudgetExhausted(request.url());
+            }
+            try {
+                if (!host.bucket.acquire(deadline)) throw new BudgetExhausted(request.url());
+                return delegate.get(request.withHeader("User-Agent", config.getUserAgent()));
+            } finally {
+                host.slots.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching " + request.url(), e);
+        }
+    }
+
+    private Host host(String url) {
+        URI uri = URI.create(url);
+        String origin = uri.getScheme() + "://" + uri.getRawAuthority();
+        return hosts.computeIfAbsent(origin.toLowerCase(), k -> new Host(origin));
+    }
+}
@@ -0,0 +1,122 @@
+package bond.crawl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The robots.txt rules that apply to one user agent (RFC 9309).
+ * <p>
+ * The groups naming the agent's product token are used, or the {@code *} groups when none does.
+ * Among the Allow / Disallow rules matching a path, the longest wins, and Allow wins a tie.
+ * Rules may use {@code *} (any characters) and a final {@code $} (end of the URL).
+ * {@code Crawl-delay}, not part of the RFC but common, is read as seconds between requests.
+ */
+public final class RobotsRules {
+
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), 0);
+    public static final RobotsRules DISALLOW_ALL = new RobotsRules(List.of(new Rule("/", false, Pattern.compile("/.*"))), 0);
+
+    private record Rule(String path, boolean allow, Pattern pattern) {
+    }
+
+    private final List<Rule> rules;
+    private final double crawlDelaySeconds;
+
+    private RobotsRules(List<Rule> rules, double crawlDelaySeconds) {
+        this.rules = rules;
+        this.crawlDelaySeconds = crawlDelaySeconds;
+    }
+
+    /**
+     * @param text  Content of robots.txt
+     * @param agent Product token of the crawler, e.g. "BondReport" (case-insensitive)
+     */
+    public static RobotsRules parse(String text, String agent) {
+        String token = agent.toLowerCase(Locale.ROOT);
+        List<Rule> named = new ArrayList<>();
+        List<Rule> wildcard = new ArrayList<>();
+        double namedDelay = 0, wildcardDelay = 0;
+        boolean anyNamed = false;
+
+        // Current group: the user-agent lines read since the last rule
+        boolean inAgents = false, matchesNamed = false, matchesWildcard = false;
+        for (String raw : text.split("\\R")) {
+            int hash = raw.indexOf('#');
+            String line = (hash >= 0 ? raw.substring(0, hash) : raw).trim();
+            int colon = line.indexOf(':');
+            if (colon < 0) continue;
+            String key = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = line.substring(colon + 1).trim();
+
+            if (key.equals("user-agent")) {
+                if (!inAgents) matchesNamed = matchesWildcard = false;
+                inAgents = true;
+                String name = value.toLowerCase(Locale.ROOT).replaceFirst("/.*", "").trim(); // "BondReport/1.0" names BondReport
+                if (name.equals("*")) matchesWildcard = true;
+                else if (name.equals(token)) matchesNamed = anyNamed = true;
+                continue;
+            }
+            inAgents = false;
+            if (!matchesNamed && !matchesWildcard) continue;
+            List<Rule> target = matchesNamed ? named : wildcard;
+
+            switch (key) {
+                case "allow", "disallow" -> {
+                    // An empty Disallow allows everything, i.e. adds no rule
+                    if (!value.isEmpty()) target.add(new Rule(value, key.equals("allow"), compile(value)));
+                }
+                case "crawl-delay" -> {
+                    try {
+                        double delay = Double.parseDouble(value);
+                        if (matchesNamed) namedDelay = Math.max(namedDelay, delay);
+                        else wildcardDelay = Math.max(wildcardDelay, delay);
+                    } catch (NumberFormatException ignored) {
+                        // Malformed delay: no delay
+                    }
+                }
+                default -> {
+                    // Sitemap and other keys are not used
+                }
+            }
+        }
+        return anyNamed ? new RobotsRules(List.copyOf(named), namedDelay) : new RobotsRules(List.copyOf(wildcard), wildcardDelay);
+    }
+
+    /** Whether the agent may fetch {@code url} (absolute, only its path and query are matched). */
+    public boolean allows(String url) {
+        URI uri = URI.create(url);
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) path += "?" + uri.getRawQuery();
+
+        Rule best = null;
+        for (Rule r : rules) {
+            if (!r.pattern().matcher(path).lookingAt()) continue;
+            if (best == null || r.path().length() > best.path().length()
+                || (r.path().length() == best.path().length() && r.allow())) {
+                best = r;
+            }
+        }
+        return best == null || best.allow();
+    }
+
+    /** Seconds to wait between two requests (0 if robots.txt does not say). */
+    public double crawlDelaySeconds() {
+        return crawlDelaySeconds;
+    }
+
+    private static Pattern compile(String path) {
+        boolean anchored = path.endsWith("$");
+        String body = anchored ? path.substring(0, path.length() - 1) : path;
+        StringBuilder regex = new StringBuilder();
+        String[] parts = body.split("\\*", -1);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) regex.append(".*");
+            regex.append(Pattern.quote(parts[i]));
+        }
+        if (anchored) regex.append('$');
+        return Pattern.compile(regex.toString());
+    }
+}
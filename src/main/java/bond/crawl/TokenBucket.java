@@ -0,0 +1,56 @@
+package bond.crawl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request rate limiter: {@code burst} tokens, refilled at {@code perSecond}; each request takes
+ * one. A caller that finds the bucket empty reserves the next token and sleeps until it is due,
+ * outside the lock, so concurrent callers queue up at the configured rate.
+ */
+public class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double perSecond, int burst) {
+        if (perSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate " + perSecond + "/s, burst " + burst);
+        }
+        this.tokensPerNano = perSecond / 1e9;
+        this.capacity = burst;
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /** Takes a token, waiting as long as needed. */
+    public void acquire() throws InterruptedException {
+        take(false, 0);
+    }
+
+    /**
+     * Takes a token, waiting until it is due.
+     *
+     * @param deadline {@link System#nanoTime()} after which the caller would rather give up
+     * @return false, without taking anything, if the token is only due after {@code deadline}
+     */
+    public boolean acquire(long deadline) throws InterruptedException {
+        return take(true, deadline);
+    }
+
+    /** Without a deadline, never gives up: comparing against a far deadline would overflow. */
+    private boolean take(boolean bounded, long deadline) throws InterruptedException {
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            wait = tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / tokensPerNano);
+            if (bounded && wait > 0 && wait > deadline - now) return false;
+            tokens -= 1; // May go negative: the next callers wait for their own token after this one
+        }
+        if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+        return true;
+    }
+}
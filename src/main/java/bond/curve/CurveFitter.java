@@ -0,0 +1,257 @@
+package bond.curve;
+
+import java.util.Arrays;
+
+/**
+ * Least-squares fit of a {@link YieldCurve} to (maturity, yield) points.
+ * <p>
+ * Model by number of points: Svensson from {@value #MIN_SVENSSON}, Nelson–Siegel from
+ * {@value #MIN_NELSON_SIEGEL}, otherwise a flat curve at the mean yield.
+ * <p>
+ * For fixed decays the curve is linear in the betas, so the fit is separable (variable
+ * projection): Levenberg–Marquardt only moves log τ (1 or 2 parameters, forward-difference
+ * Jacobian) and every evaluation solves the betas exactly by linear least squares. This
+ * converges in a handful of iterations where a joint fit of all six parameters crawls along the
+ * flat τ directions. The decays stay in [{@value #MIN_TAU}, {@value #MAX_TAU}] years; a Svensson
+ * fit keeps τ1 below and τ2 above {@value #SPLIT_TAU} years, otherwise both humps can merge into
+ * one and their betas diverge in opposite directions on noisy quotes. For the same reason the
+ * slope and humps carry a small ridge penalty ({@value #RIDGE} · n · β²), negligible on a
+ * well-shaped curve.
+ * <p>
+ * All work arrays belong to the fitter and only grow when a larger issuer is added: once warmed
+ * up, fitting does not allocate apart from the returned curve. A fitter is not thread-safe (use
+ * one per thread).
+ */
+public final class CurveFitter {
+
+    static final int MIN_NELSON_SIEGEL = 4;
+    static final int MIN_SVENSSON = 8;
+    static final double MIN_TAU = 0.25;
+    static final double SPLIT_TAU = 5;
+    static final double MAX_TAU = 30;
+    static final double RIDGE = 1e-6;
+
+    private static final int MAX_BETAS = 4;
+    private static final int MAX_ITERATIONS = 50;
+    private static final double TOLERANCE = 1e-10; // Relative cost decrease that ends the fit
+    private static final double STEP = 1e-6;
+
+    private double[] t = new double[64];
+    private double[] y = new double[64];
+    private double[] basis = new double[64 * MAX_BETAS]; // Row-major n × betas
+    private double[] residuals = new double[64];
+    private double[] trialResiduals = new double[64];
+    private double[] shifted = new double[64 * 2];       // d(residual) / d(log τ), one row per decay
+    private int n;
+
+    private int betas;                                   // 3 (Nelson–Siegel) or 4 (Svensson)
+    private int decays;                                  // 1 or 2
+    private final double[] beta = new double[MAX_BETAS];
+    private final double[] trialBeta = new double[MAX_BETAS];
+    private final double[] scratchBeta = new double[MAX_BETAS];
+    private final double[] logTau = new double[2];
+    private final double[] trialLogTau = new double[2];
+    private final double[] normal = new double[MAX_BETAS * MAX_BETAS];
+    private final double[] rhs = new double[MAX_BETAS];
+
+    /** Removes the points of the previous fit. */
+    public void reset() {
+        n = 0;
+    }
+
+    /** Adds one bond: years to maturity and yield (%). */
+    public void add(double years, double yieldPct) {
+        if (n == t.length) grow();
+        t[n] = years;
+        y[n] = yieldPct;
+        n++;
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /** Fits the points added since {@link #reset()}; null when there are none. */
+    public YieldCurve fit() {
+        if (n == 0) return null;
+
+        if (n < MIN_NELSON_SIEGEL) {
+            double mean = 0;
+            for (int i = 0; i < n; i++) mean += y[i];
+            mean /= n;
+            double sq = 0;
+            for (int i = 0; i < n; i++) sq += (y[i] - mean) * (y[i] - mean);
+            return YieldCurve.flat(mean, n, Math.sqrt(sq / n));
+        }
+
+        boolean svensson = n >= MIN_SVENSSON;
+        betas = svensson ? 4 : 3;
+        decays = svensson ? 2 : 1;
+        logTau[0] = Math.log(2);
+        logTau[1] = Math.log(10);
+
+        double cost = project(logTau, beta, residuals);
+        double lambda = 1e-3;
+
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            for (int d = 0; d < decays; d++) {
+                System.arraycopy(logTau, 0, trialLogTau, 0, 2);
+                trialLogTau[d] += STEP;
+                project(trialLogTau, scratchBeta, trialResiduals);
+                for (int i = 0; i < n; i++) shifted[d * n + i] = (trialResiduals[i] - residuals[i]) / STEP;
+            }
+
+            // Normal equations JᵀJ δ = −Jᵀr, at most 2 × 2
+            double j00 = 0, j01 = 0, j11 = 0, g0 = 0, g1 = 0;
+            for (int i = 0; i < n; i++) {
+                double a = shifted[i];
+                double b = decays == 2 ? shifted[n + i] : 0;
+                j00 += a * a;
+                j01 += a * b;
+                j11 += b * b;
+                g0 -= a * residuals[i];
+                g1 -= b * residuals[i];
+            }
+
+            boolean improved = false;
+            while (lambda < 1e10) {
+                double a00 = j00 * (1 + lambda) + 1e-12;
+                double a11 = j11 * (1 + lambda) + 1e-12;
+                double d0 = g0 / a00;
+                double d1 = 0;
+                if (decays == 2) {
+                    double det = a00 * a11 - j01 * j01;
+                    d0 = (g0 * a11 - g1 * j01) / det;
+                    d1 = (g1 * a00 - g0 * j01) / det;
+                }
+                trialLogTau[0] = logTau[0] + d0;
+                trialLogTau[1] = logTau[1] + d1;
+                clampDecays(trialLogTau);
+
+                double trialCost = project(trialLogTau, trialBeta, trialResiduals);
+                if (trialCost < cost) {
+                    double gain = cost - trialCost;
+                    System.arraycopy(trialLogTau, 0, logTau, 0, 2);
+                    System.arraycopy(trialBeta, 0, beta, 0, betas);
+                    double[] r = residuals;
+                    residuals = trialResiduals;
+                    trialResiduals = r;
+                    cost = trialCost;
+                    lambda = Math.max(lambda / 10, 1e-12);
+                    improved = gain > TOLERANCE * cost;
+                    break;
+                }
+                lambda *= 10;
+            }
+            if (!improved) break;
+        }
+
+        double sq = 0;
+        for (int i = 0; i < n; i++) sq += residuals[i] * residuals[i];
+        return new YieldCurve(beta[0], beta[1], beta[2], svensson ? beta[3] : 0,
+            Math.exp(logTau[0]), svensson ? Math.exp(logTau[1]) : 1, n, Math.sqrt(sq / n));
+    }
+
+    /**
+     * Solves the betas for the given decays (ridge least squares), fills {@code out} with
+     * observed − model and returns half the penalized sum of squares.
+     */
+    private double project(double[] logTaus, double[] b, double[] out) {
+        double tau1 = Math.exp(logTaus[0]);
+        double tau2 = Math.exp(logTaus[1]);
+        int k = betas;
+        for (int i = 0; i < n; i++) {
+            double e1 = Math.exp(-t[i] / tau1);
+            double l1 = loading(t[i] / tau1, e1);
+            int row = i * k;
+            basis[row] = 1;
+            basis[row + 1] = l1;
+            basis[row + 2] = l1 - e1;
+            if (k == 4) {
+                double e2 = Math.exp(-t[i] / tau2);
+                basis[row + 3] = loading(t[i] / tau2, e2) - e2;
+            }
+        }
+
+        for (int a = 0; a < k; a++) {
+            double s = 0;
+            for (int i = 0; i < n; i++) s += basis[i * k + a] * y[i];
+            rhs[a] = s;
+            for (int c = 0; c <= a; c++) {
+                double v = 0;
+                for (int i = 0; i < n; i++) v += basis[i * k + a] * basis[i * k + c];
+                normal[a * k + c] = v;
+                normal[c * k + a] = v;
+            }
+        }
+        for (int a = 1; a < k; a++) normal[a * k + a] += RIDGE * n;
+        solve(k, b);
+
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            double fitted = 0;
+            for (int a = 0; a < k; a++) fitted += basis[i * k + a] * b[a];
+            double r = y[i] - fitted;
+            out[i] = r;
+            sum += r * r;
+        }
+        for (int a = 1; a < k; a++) sum += RIDGE * n * b[a] * b[a];
+        return sum / 2;
+    }
+
+    /** (1 − e^(−x)) / x given e = e^(−x). */
+    private static double loading(double x, double e) {
+        return x < 1e-8 ? 1 - x / 2 : (1 - e) / x;
+    }
+
+    /** Solves normal · out = rhs by Cholesky (the ridge keeps the matrix positive definite). */
+    private void solve(int k, double[] out) {
+        for (int j = 0; j < k; j++) {
+            double d = normal[j * k + j];
+            for (int c = 0; c < j; c++) d -= normal[j * k + c] * normal[j * k + c];
+            double l = Math.sqrt(Math.max(d, 1e-300));
+            normal[j * k + j] = l;
+            for (int i = j + 1; i < k; i++) {
+                double s = normal[i * k + j];
+                for (int c = 0; c < j; c++) s -= normal[i * k + c] * normal[j * k + c];
+                normal[i * k + j] = s / l;
+            }
+        }
+        for (int i = 0; i < k; i++) {
+            double s = rhs[i];
+            for (int c = 0; c < i; c++) s -= normal[i * k + c] * out[c];
+            out[i] = s / normal[i * k + i];
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            double s = out[i];
+            for (int c = i + 1; c < k; c++) s -= normal[c * k + i] * out[c];
+            out[i] = s / normal[i * k + i];
+        }
+    }
+
+    private void clampDecays(double[] p) {
+        double lo = Math.log(MIN_TAU);
+        double split = Math.log(SPLIT_TAU);
+        double hi = Math.log(MAX_TAU);
+        if (decays == 1) {
+            p[0] = clamp(p[0], lo, hi);
+        } else {
+            p[0] = clamp(p[0], lo, split);
+            p[1] = clamp(p[1], split, hi);
+        }
+    }
+
+    private static double clamp(double v, double lo, double hi) {
+        return Math.max(lo, Math.min(hi, v));
+    }
+
+    private void grow() {
+        int size = t.length * 2;
+        t = Arrays.copyOf(t, size);
+        y = Arrays.copyOf(y, size);
+        basis = new double[size * MAX_BETAS];
+        residuals = new double[size];
+        trialResiduals = new double[size];
+        shifted = new double[size * 2];
+    }
+}
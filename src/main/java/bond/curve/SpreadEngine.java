@@ -0,0 +1,155 @@
+package bond.curve;
+
+import bond.model.Bond;
+import bond.scoring.BondScoreEngine;
+
+import lombok.SneakyThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sovereign curves and relative value.
+ * <p>
+ * For every bond the yield to maturity is computed from its price; the bonds of each issuer
+ * (per currency) are then fitted with a {@link YieldCurve}. Two measures are written back:
+ * <ul>
+ *   <li><b>spread</b>: YTM − German curve at the same maturity, in bp (EUR bonds only). Only
+ *   set when the German curve is fitted ({@value CurveFitter#MIN_NELSON_SIEGEL} bonds or more):
+ *   a flat mean of a few bonds is no benchmark;</li>
+ *   <li><b>rich/cheap</b>: YTM − the issuer's own curve, in bp. Positive = cheap (yields more
+ *   than its neighbours), negative = rich. Only set when the issuer has a fitted curve
+ *   ({@value CurveFitter#MIN_NELSON_SIEGEL} bonds or more).</li>
+ * </ul>
+ * Issuers are fitted in parallel with the same {@code bond.scoring.threads} setting as
+ * {@link BondScoreEngine}, each thread reusing one {@link CurveFitter}.
+ */
+public class SpreadEngine {
+
+    /** Issuer (as normalized by the scraper) whose curve is the spread benchmark. */
+    public static final String BENCHMARK_ISSUER = "GERMANIA";
+    public static final String BENCHMARK_CURRENCY = "EUR";
+
+    /** Yields outside ±50% (defaulted or mispriced bonds) are not fitted. */
+    private static final double MAX_ABS_YIELD = 50;
+
+    private static final ThreadLocal<CurveFitter> FITTERS = ThreadLocal.withInitial(CurveFitter::new);
+
+    private final ForkJoinPool pool; // Null: sequential
+
+    public SpreadEngine() {
+        this(Integer.getInteger(BondScoreEngine.THREADS_PROPERTY, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    /**
+     * @param threads Number of fitting threads; 1 or less fits sequentially. Pools are shared
+     *                with the scoring engine (see {@link BondScoreEngine#pool(int)}).
+     */
+    public SpreadEngine(int threads) {
+        this.pool = BondScoreEngine.pool(threads);
+    }
+
+    /**
+     * Computes yield to maturity, spread and rich/cheap of every bond as of {@code asOf}.
+     *
+     * @return Fitted curves by {@link #curveKey(String, String)}.
+     */
+    @SneakyThrows
+    public Map<String, YieldCurve> calculateSpreads(List<Bond> bonds, LocalDate asOf) {
+        Map<String, List<Bond>> byIssuer = new HashMap<>();
+        for (Bond b : bonds) {
+            double years = b.getYearsToMaturity(asOf);
+            double ytm = years > 0 ? yieldToMaturity(b.getPrice(), b.getCouponPct(), years) : Double.NaN;
+            b.setYieldToMat(ytm);
+            b.setSpreadBp(Double.NaN);
+            b.setRichCheapBp(Double.NaN);
+            if (Math.abs(ytm) <= MAX_ABS_YIELD && b.getIssuer() != null) {
+                byIssuer.computeIfAbsent(curveKey(b.getIssuer(), b.getCurrency()), k -> new ArrayList<>()).add(b);
+            }
+        }
+
+        Map<String, YieldCurve> curves = new ConcurrentHashMap<>();
+        List<Map.Entry<String, List<Bond>>> groups = new ArrayList<>(byIssuer.entrySet());
+        if (pool == null) {
+            groups.forEach(g -> fit(g.getKey(), g.getValue(), asOf, curves));
+        } else {
+            pool.submit(() -> groups.parallelStream().forEach(g -> fit(g.getKey(), g.getValue(), asOf, curves))).join();
+        }
+
+        YieldCurve benchmark = curves.get(curveKey(BENCHMARK_ISSUER, BENCHMARK_CURRENCY));
+        if (benchmark != null && benchmark.observations() >= CurveFitter.MIN_NELSON_SIEGEL) {
+            for (Bond b : bonds) {
+                if (BENCHMARK_CURRENCY.equalsIgnoreCase(b.getCurrency()) && Math.abs(b.getYieldToMat()) <= MAX_ABS_YIELD) {
+                    b.setSpreadBp((b.getYieldToMat() - benchmark.yieldAt(b.getYearsToMaturity(asOf))) * 100);
+                }
+            }
+        }
+        return curves;
+    }
+
+    /** Key of an issuer curve, e.g. {@code GERMANIA|EUR}. */
+    public static String curveKey(String issuer, String currency) {
+        return issuer + "|" + (currency == null ? "" : currency.toUpperCase());
+    }
+
+    private static void fit(String key, List<Bond> issuerBonds, LocalDate asOf, Map<String, YieldCurve> curves) {
+        CurveFitter fitter = FITTERS.get();
+        fitter.reset();
+        for (Bond b : issuerBonds) fitter.add(b.getYearsToMaturity(asOf), b.getYieldToMat());
+        YieldCurve curve = fitter.fit();
+        curves.put(key, curve);
+        if (curve.observations() < CurveFitter.MIN_NELSON_SIEGEL) return;
+        for (Bond b : issuerBonds) {
+            b.setRichCheapBp((b.getYieldToMat() - curve.yieldAt(b.getYearsToMaturity(asOf))) * 100);
+        }
+    }
+
+    /**
+     * Yield to maturity (%, annual compounding) of a bond paying annual coupons, the last one at
+     * maturity. The price is used as quoted (clean, per 100 nominal): accrued interest is ignored,
+     * which moves the yield by at most a coupon fraction and equally for bonds of one issuer.
+     *
+     * @return NaN when the price is not positive.
+     */
+    public static double yieldToMaturity(double price, double couponPct, double years) {
+        if (!(price > 0) || !(years > 0)) return Double.NaN;
+
+        // Newton from the simple yield estimate, bisection on [-99%, 1000%] as fallback
+        double y = (couponPct + (100 - price) / years) / ((100 + price) / 2);
+        for (int i = 0; i < 50; i++) {
+            double f = priceAt(y, couponPct, years) - price;
+            double d = priceDerivative(y, couponPct, years);
+            if (!(d < 0) || !(y > -0.99)) break;
+            double next = y - f / d;
+            if (Math.abs(next - y) < 1e-10) return next * 100;
+            y = next;
+        }
+
+        double lo = -0.99;
+        double hi = 10;
+        for (int i = 0; i < 200; i++) {
+            double mid = (lo + hi) / 2;
+            if (priceAt(mid, couponPct, years) > price) lo = mid;
+            else hi = mid;
+        }
+        return (lo + hi) / 2 * 100;
+    }
+
+    /** Price per 100 of the coupons at {@code years}, {@code years − 1}, … (> 0) and the principal. */
+    private static double priceAt(double y, double couponPct, double years) {
+        double v = 0;
+        for (double t = years; t > 0; t -= 1) v += couponPct * Math.pow(1 + y, -t);
+        return v + 100 * Math.pow(1 + y, -years);
+    }
+
+    private static double priceDerivative(double y, double couponPct, double years) {
+        double d = 0;
+        for (double t = years; t > 0; t -= 1) d -= t * couponPct * Math.pow(1 + y, -t - 1);
+        return d - years * 100 * Math.pow(1 + y, -years - 1);
+    }
+}
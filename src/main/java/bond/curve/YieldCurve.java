@@ -0,0 +1,42 @@
+package bond.curve;
+
+/**
+ * Nelson–Siegel–Svensson yield curve, yields in percent, maturities in years:
+ * <pre>
+ *   y(t) = β0 + β1·L(t/τ1) + β2·(L(t/τ1) − e^(−t/τ1)) + β3·(L(t/τ2) − e^(−t/τ2)),   L(x) = (1 − e^(−x)) / x
+ * </pre>
+ * β0 is the long-run level, β1 the slope (short end = β0 + β1), β2 and β3 two humps located by
+ * τ1 and τ2. A Nelson–Siegel curve has β3 = 0; a flat curve has β1 = β2 = β3 = 0.
+ *
+ * @param beta0        Long-run level (%).
+ * @param beta1        Slope (%).
+ * @param beta2        First curvature (%).
+ * @param beta3        Second curvature (%), 0 for Nelson–Siegel.
+ * @param tau1         First decay (years).
+ * @param tau2         Second decay (years).
+ * @param observations Number of bonds the curve was fitted on.
+ * @param rmse         Root mean square fitting error (%).
+ */
+public record YieldCurve(double beta0, double beta1, double beta2, double beta3, double tau1, double tau2,
+                         int observations, double rmse) {
+
+    /** Flat curve at {@code level}. */
+    public static YieldCurve flat(double level, int observations, double rmse) {
+        return new YieldCurve(level, 0, 0, 0, 1, 1, observations, rmse);
+    }
+
+    /** Fitted yield (%) at maturity {@code t} (years). */
+    public double yieldAt(double t) {
+        return beta0 + beta1 * loading(t, tau1) + beta2 * hump(t, tau1) + beta3 * hump(t, tau2);
+    }
+
+    /** (1 − e^(−t/τ)) / (t/τ), 1 at t = 0. */
+    static double loading(double t, double tau) {
+        double x = t / tau;
+        return x < 1e-8 ? 1 - x / 2 : -Math.expm1(-x) / x;
+    }
+
+    static double hump(double t, double tau) {
+        return loading(t, tau) - Math.exp(-t / tau);
+    }
+}
@@ -0,0 +1,257 @@
+package bond.export;
+
+import bond.export.FlatBuffer.Structs;
+import bond.export.FlatBuffer.Table;
+import bond.export.FlatBuffer.Tables;
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming writer of an Arrow IPC file (format version V5, little-endian, no compression).
+ * <p>
+ * Rows are buffered per column and written as one record batch every {@value #BATCH_ROWS} rows,
+ * so memory stays constant whatever the number of bonds: one batch of column buffers plus the
+ * output buffer. Column types: {@link ExportColumn.Type#TEXT} → Utf8,
+ * {@link ExportColumn.Type#NUMBER} → Float64, {@link ExportColumn.Type#DATE} → Date32 (days).
+ * All fields are nullable; a validity bitmap is only written for batches that contain nulls.
+ * <p>
+ * File layout: {@code ARROW1} magic, schema message, record batch messages, end-of-stream
+ * marker, footer (schema and batch locations), footer length, {@code ARROW1}. Readable by
+ * pyarrow ({@code pa.ipc.open_file}), Arrow Java, DuckDB, Polars, etc.
+ */
+public final class ArrowFileWriter implements AutoCloseable {
+
+    /** Rows per record batch. */
+    static final int BATCH_ROWS = 1 << 16;
+
+    private static final byte[] MAGIC = "ARROW1".getBytes(StandardCharsets.US_ASCII);
+    private static final short METADATA_V5 = 4;
+    private static final byte HEADER_SCHEMA = 1;
+    private static final byte HEADER_RECORD_BATCH = 3;
+    private static final byte TYPE_FLOATING_POINT = 3;
+    private static final byte TYPE_UTF8 = 5;
+    private static final byte TYPE_DATE = 8;
+    private static final short PRECISION_DOUBLE = 2;
+    private static final short DATE_UNIT_DAY = 0;
+
+    private final ByteSink out;
+    private final List<ExportColumn> columns;
+    private final ColumnBuffer[] buffers;
+    private ByteBuffer batchBlocks = ByteBuffer.allocate(24 * 64).order(ByteOrder.LITTLE_ENDIAN); // Footer Block structs
+    private int rows;
+
+    public ArrowFileWriter(Path file, List<ExportColumn> columns) throws IOException {
+        this.out = new ByteSink(file);
+        this.columns = columns;
+        this.buffers = new ColumnBuffer[columns.size()];
+        for (int c = 0; c < buffers.length; c++) buffers[c] = new ColumnBuffer(columns.get(c).type());
+
+        out.put(ByteBuffer.wrap(MAGIC)).zeros(2);
+        writeMessage(HEADER_SCHEMA, schema(), 0);
+    }
+
+    public void write(Bond bond) throws IOException {
+        for (int c = 0; c < buffers.length; c++) {
+            ExportColumn column = columns.get(c);
+            ColumnBuffer b = buffers[c];
+            switch (column.type()) {
+                case TEXT -> b.text(rows, column.text().apply(bond));
+                case NUMBER -> b.number(rows, column.number().applyAsDouble(bond));
+                case DATE -> b.date(rows, column.number().applyAsDouble(bond));
+            }
+        }
+        if (++rows == BATCH_ROWS) flushBatch();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (rows > 0) flushBatch();
+            out.putInt(-1).putInt(0); // End of stream
+
+            Table footer = new Table(5)
+                .set(0, METADATA_V5)
+                .set(1, schema())
+                .set(2, new Structs(24, new byte[0]))
+                .set(3, Structs.of(24, batchBlocks));
+            byte[] bytes = FlatBuffer.finish(footer);
+            out.put(ByteBuffer.wrap(bytes)).putInt(bytes.length).put(ByteBuffer.wrap(MAGIC));
+        } finally {
+            out.close();
+        }
+    }
+
+    private Table schema() {
+        List<Table> fields = new ArrayList<>();
+        for (ExportColumn column : columns) {
+            Table type;
+            byte typeId;
+            switch (column.type()) {
+                case TEXT -> {
+                    type = new Table(0);
+                    typeId = TYPE_UTF8;
+                }
+                case NUMBER -> {
+                    type = new Table(1).set(0, PRECISION_DOUBLE);
+                    typeId = TYPE_FLOATING_POINT;
+                }
+                default -> {
+                    type = new Table(1).set(0, DATE_UNIT_DAY);
+                    typeId = TYPE_DATE;
+                }
+            }
+            fields.add(new Table(6)
+                .set(0, column.name())
+                .set(1, true)
+                .set(2, typeId)
+                .set(3, type)
+                .set(5, new Tables(List.of())));
+        }
+        return new Table(2).set(0, (short) 0).set(1, new Tables(fields));
+    }
+
+    private void flushBatch() throws IOException {
+        ByteBuffer nodes = ByteBuffer.allocate(16 * buffers.length).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer locations = ByteBuffer.allocate(16 * 3 * buffers.length).order(ByteOrder.LITTLE_ENDIAN);
+        long body = 0;
+        for (ColumnBuffer b : buffers) {
+            nodes.putLong(rows).putLong(b.nulls);
+            for (ByteBuffer part : b.parts(rows)) {
+                locations.putLong(body).putLong(part.remaining());
+                body += padded(part.remaining());
+            }
+        }
+        Table batch = new Table(3)
+            .set(0, (long) rows)
+            .set(1, Structs.of(16, nodes))
+            .set(2, Structs.of(16, locations));
+
+        long offset = out.position();
+        int metadata = writeMessage(HEADER_RECORD_BATCH, batch, body);
+        for (ColumnBuffer b : buffers) {
+            for (ByteBuffer part : b.parts(rows)) {
+                int length = part.remaining();
+                out.put(part).zeros(padded(length) - length);
+            }
+            b.clear();
+        }
+
+        if (batchBlocks.remaining() < 24) {
+            ByteBuffer bigger = ByteBuffer.allocate(batchBlocks.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+            batchBlocks.flip();
+            batchBlocks = bigger.put(batchBlocks);
+        }
+        batchBlocks.putLong(offset).putInt(metadata).putInt(0).putLong(body);
+        rows = 0;
+    }
+
+    /** Writes an encapsulated message (continuation, length, metadata); returns the prefixed metadata length. */
+    private int writeMessage(byte headerType, Table header, long bodyLength) throws IOException {
+        Table message = new Table(4)
+            .set(0, METADATA_V5)
+            .set(1, headerType)
+            .set(2, header)
+            .set(3, bodyLength);
+        byte[] bytes = FlatBuffer.finish(message);
+        out.putInt(-1).putInt(bytes.length).put(ByteBuffer.wrap(bytes));
+        return 8 + bytes.length;
+    }
+
+    private static int padded(int length) {
+        return (length + 7) & ~7;
+    }
+
+    /** One column of the current batch: validity bitmap, offsets (text) and values. */
+    private static final class ColumnBuffer {
+        private final ByteBuffer validity = ByteBuffer.allocateDirect(BATCH_ROWS / 8);
+        private final ByteBuffer offsets;
+        private ByteBuffer values;
+        private long nulls;
+
+        ColumnBuffer(ExportColumn.Type type) {
+            int width = switch (type) {
+                case TEXT -> 16; // Initial guess per row, grows with the text
+                case NUMBER -> 8;
+                case DATE -> 4;
+            };
+            this.values = ByteBuffer.allocateDirect(BATCH_ROWS * width).order(ByteOrder.LITTLE_ENDIAN);
+            this.offsets = type == ExportColumn.Type.TEXT
+                ? ByteBuffer.allocateDirect((BATCH_ROWS + 1) * 4).order(ByteOrder.LITTLE_ENDIAN)
+                : null;
+            clear();
+        }
+
+        void text(int row, String s) {
+            if (s == null) {
+                setNull(row);
+            } else if (isAscii(s)) {
+                ensure(s.length());
+                for (int i = 0; i < s.length(); i++) values.put((byte) s.charAt(i));
+            } else {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                ensure(bytes.length);
+                values.put(bytes);
+            }
+            offsets.putInt(values.position());
+        }
+
+        void number(int row, double v) {
+            if (!Double.isFinite(v)) setNull(row);
+            values.putDouble(Double.isFinite(v) ? v : 0);
+        }
+
+        void date(int row, double epochDay) {
+            if (!Double.isFinite(epochDay)) setNull(row);
+            values.putInt(Double.isFinite(epochDay) ? (int) epochDay : 0);
+        }
+
+        private void setNull(int row) {
+            if (nulls++ == 0) {
+                // First null of the batch: all previous rows were valid
+                for (int i = 0; i < validity.capacity(); i++) validity.put(i, (byte) 0xFF);
+            }
+            validity.put(row >> 3, (byte) (validity.get(row >> 3) & ~(1 << (row & 7))));
+        }
+
+        /** Buffers of the batch in Arrow order, positioned for reading. */
+        ByteBuffer[] parts(int rows) {
+            ByteBuffer bitmap = validity.duplicate().clear().limit(nulls == 0 ? 0 : (rows + 7) / 8);
+            if (nulls > 0 && (rows & 7) != 0) {
+                // Bits past the last row are zero
+                int last = rows >> 3;
+                bitmap.put(last, (byte) (bitmap.get(last) & ((1 << (rows & 7)) - 1)));
+            }
+            ByteBuffer data = values.duplicate().flip();
+            if (offsets == null) return new ByteBuffer[]{bitmap, data};
+            return new ByteBuffer[]{bitmap, offsets.duplicate().flip(), data};
+        }
+
+        void clear() {
+            values.clear();
+            nulls = 0;
+            if (offsets != null) offsets.clear().putInt(0);
+        }
+
+        private void ensure(int bytes) {
+            if (values.remaining() >= bytes) return;
+            ByteBuffer bigger = ByteBuffer.allocateDirect(Math.max(values.capacity() * 2, values.position() + bytes))
+                .order(ByteOrder.LITTLE_ENDIAN);
+            values.flip();
+            values = bigger.put(values);
+        }
+
+        private static boolean isAscii(String s) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) >= 0x80) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package bond.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file output through one direct buffer, flushed with large channel writes.
+ * <p>
+ * Text, numbers and dates are encoded straight into the buffer (no intermediate strings or
+ * byte arrays), so writing a row does not allocate.
+ */
+final class ByteSink implements AutoCloseable {
+
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private static final double DECIMAL_SCALE = 1e6;
+    private static final int DECIMALS = 6;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    private long written;
+
+    ByteSink(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /** Bytes written so far (flushed or buffered). */
+    long position() {
+        return written + buffer.position();
+    }
+
+    /** Makes room for {@code bytes} more bytes (at most {@link #BUFFER_SIZE}). */
+    void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    ByteSink put(byte b) throws IOException {
+        ensure(1);
+        buffer.put(b);
+        return this;
+    }
+
+    ByteSink putInt(int v) throws IOException {
+        ensure(4);
+        buffer.putInt(v);
+        return this;
+    }
+
+    /** Copies a whole buffer (its position to its limit), passing large ones directly to the channel. */
+    ByteSink put(ByteBuffer src) throws IOException {
+        if (src.remaining() > buffer.remaining()) {
+            flush();
+            if (src.remaining() > BUFFER_SIZE / 2) {
+                written += src.remaining();
+                while (src.hasRemaining()) channel.write(src);
+                return this;
+            }
+        }
+        buffer.put(src);
+        return this;
+    }
+
+    ByteSink zeros(int count) throws IOException {
+        for (int i = 0; i < count; i++) put((byte) 0);
+        return this;
+    }
+
+    /** Characters below 0x80 only (names, keys, punctuation). */
+    ByteSink ascii(String s) throws IOException {
+        ensure(s.length());
+        for (int i = 0; i < s.length(); i++) buffer.put((byte) s.charAt(i));
+        return this;
+    }
+
+    /**
+     * UTF-8 text. With {@code jsonEscape}, quotes, backslashes and control characters are
+     * escaped for a JSON string; otherwise the text is written as is (CSV callers quote it).
+     */
+    ByteSink utf8(String s, boolean jsonEscape) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (!jsonEscape) put((byte) c);
+                else if (c == '"') ascii("\\\"");
+                else if (c == '\\') ascii("\\\\");
+                else if (c == '\n') ascii("\\n");
+                else if (c == '\r') ascii("\\r");
+                else if (c == '\t') ascii("\\t");
+                else if (c < 0x20) ascii(String.format("\\u%04x", (int) c));
+                else put((byte) c);
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                ensure(4);
+                buffer.put((byte) (0xF0 | cp >> 18))
+                    .put((byte) (0x80 | (cp >> 12 & 0x3F)))
+                    .put((byte) (0x80 | (cp >> 6 & 0x3F)))
+                    .put((byte) (0x80 | (cp & 0x3F)));
+            } else {
+                char ch = Character.isSurrogate(c) ? '\uFFFD' : c; // Unpaired surrogate
+                ensure(3);
+                buffer.put((byte) (0xE0 | ch >> 12))
+                    .put((byte) (0x80 | (ch >> 6 & 0x3F)))
+                    .put((byte) (0x80 | (ch & 0x3F)));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Fixed-point text with at most {@value #DECIMALS} decimals, trailing zeros removed
+     * ({@code 101.5}, {@code 4}, {@code -0.012345}). Values beyond ±1e12 use {@link Double#toString}.
+     * NaN and infinities have no CSV or JSON form: callers write them as missing values.
+     */
+    ByteSink decimal(double v) throws IOException {
+        if (!Double.isFinite(v)) throw new IllegalArgumentException("Not a finite number: " + v);
+        if (!(Math.abs(v) < 1e12)) return ascii(Double.toString(v));
+        long scaled = Math.round(v * DECIMAL_SCALE);
+        ensure(24);
+        if (scaled < 0) {
+            buffer.put((byte) '-');
+            scaled = -scaled;
+        }
+        long units = scaled / (long) DECIMAL_SCALE;
+        long fraction = scaled % (long) DECIMAL_SCALE;
+        digits(units, 0);
+        if (fraction != 0) {
+            int decimals = DECIMALS;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                decimals--;
+            }
+            buffer.put((byte) '.');
+            digits(fraction, decimals);
+        }
+        return this;
+    }
+
+    /** ISO date {@code yyyy-MM-dd} (years 0 to 9999). */
+    ByteSink date(int year, int month, int day) throws IOException {
+        ensure(10);
+        digits(year, 4);
+        buffer.put((byte) '-');
+        digits(month, 2);
+        buffer.put((byte) '-');
+        digits(day, 2);
+        return this;
+    }
+
+    /** Non-negative {@code v} with at least {@code width} digits (zero-padded). */
+    private void digits(long v, int width) {
+        int length = 1;
+        for (long p = 10; p <= v && length < 19; p *= 10) length++;
+        int pad = Math.max(0, width - length);
+        for (int i = 0; i < pad; i++) buffer.put((byte) '0');
+        int end = buffer.position() + length;
+        for (int i = end - 1; i >= end - length; i--) {
+            buffer.put(i, (byte) ('0' + v % 10));
+            v /= 10;
+        }
+        buffer.position(end);
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        written += buffer.remaining();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
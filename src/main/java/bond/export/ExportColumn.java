@@ -0,0 +1,62 @@
+package bond.export;
+
+import bond.model.Bond;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One exported field of a {@link Bond}, in the same order in every format.
+ * <p>
+ * Missing values (null text, null maturity, NaN or infinite numbers) are exported as an empty
+ * CSV cell, a JSON {@code null} and an Arrow null.
+ *
+ * @param name   Column name (CSV header, JSON key, Arrow field).
+ * @param type   Value type.
+ * @param text   Accessor of {@link Type#TEXT} columns.
+ * @param number Accessor of {@link Type#NUMBER} columns, and of {@link Type#DATE} columns as an
+ *               epoch day (NaN when missing).
+ */
+public record ExportColumn(String name, Type type, Function<Bond, String> text, ToDoubleFunction<Bond> number) {
+
+    public enum Type {
+        /** UTF-8 string (Arrow Utf8). */
+        TEXT,
+        /** 64-bit float (Arrow FloatingPoint DOUBLE). */
+        NUMBER,
+        /** Calendar date (Arrow Date DAY, ISO yyyy-MM-dd in text formats). */
+        DATE
+    }
+
+    /** Exported columns of the scored universe. */
+    public static final List<ExportColumn> ALL = List.of(
+        text("isin", Bond::getIsin),
+        text("issuer", Bond::getIssuer),
+        text("currency", Bond::getCurrency),
+        number("price", Bond::getPrice),
+        number("priceEur", Bond::getPriceEur),
+        number("couponPct", Bond::getCouponPct),
+        new ExportColumn("maturity", Type.DATE, null, ExportColumn::epochDay),
+        number("currentYield", Bond::getCurrentYield),
+        number("finalCapitalToMat", Bond::getFinalCapitalToMat),
+        number("simpleAnnualYield", Bond::getSimpleAnnualYield),
+        text("rating", Bond::getRating),
+        number("yieldToMat", Bond::getYieldToMat),
+        number("spreadBp", Bond::getSpreadBp),
+        number("richCheapBp", Bond::getRichCheapBp));
+
+    private static ExportColumn text(String name, Function<Bond, String> accessor) {
+        return new ExportColumn(name, Type.TEXT, accessor, null);
+    }
+
+    private static ExportColumn number(String name, ToDoubleFunction<Bond> accessor) {
+        return new ExportColumn(name, Type.NUMBER, null, accessor);
+    }
+
+    private static double epochDay(Bond b) {
+        LocalDate maturity = b.getMaturity();
+        return maturity == null ? Double.NaN : maturity.toEpochDay();
+    }
+}
@@ -0,0 +1,182 @@
+package bond.export;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Minimal FlatBuffers encoder for the few Arrow metadata tables (schema, message, footer).
+ * <p>
+ * Objects are written front to back: a table is followed by the objects it references, so every
+ * offset points forward as the format requires. Each vtable is written just before its table;
+ * tables start on 8 bytes and scalars are aligned to their size, which is what the FlatBuffers
+ * verifier of the Arrow readers checks.
+ * <p>
+ * Values: a table slot holds a scalar ({@link Byte}, {@link Short}, {@link Integer},
+ * {@link Long}, {@link Boolean}), a {@link String}, a {@link Table}, a {@link Tables} vector
+ * or a {@link Structs} vector; null slots are absent (reader default).
+ */
+final class FlatBuffer {
+
+    /** Table under construction; slot numbers are the field ids of the schema (.fbs) file. */
+    static final class Table {
+        private final Object[] slots;
+
+        Table(int slotCount) {
+            this.slots = new Object[slotCount];
+        }
+
+        Table set(int slot, Object value) {
+            slots[slot] = value;
+            return this;
+        }
+    }
+
+    /** Vector of tables. */
+    record Tables(List<Table> items) {
+    }
+
+    /** Vector of structs of {@code size} bytes each (8-byte aligned), already encoded little-endian. */
+    record Structs(int size, byte[] bytes) {
+
+        static Structs of(int size, ByteBuffer encoded) {
+            byte[] bytes = new byte[encoded.position()];
+            encoded.flip().get(bytes);
+            return new Structs(size, bytes);
+        }
+    }
+
+    private ByteBuffer buf = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+
+    private FlatBuffer() {
+    }
+
+    /** Encodes {@code root}; the result length is a multiple of 8. */
+    static byte[] finish(Table root) {
+        FlatBuffer fb = new FlatBuffer();
+        fb.ensure(4);
+        fb.buf.putInt(0);
+        fb.patch(0, fb.write(root));
+        fb.align(8);
+        return Arrays.copyOf(fb.buf.array(), fb.buf.position());
+    }
+
+    private int write(Object value) {
+        if (value instanceof Table t) return writeTable(t);
+        if (value instanceof String s) return writeString(s);
+        if (value instanceof Tables v) return writeTables(v);
+        if (value instanceof Structs v) return writeStructs(v);
+        throw new IllegalArgumentException("Not a reference: " + value);
+    }
+
+    private int writeTable(Table table) {
+        int slotCount = 0;
+        List<Integer> present = new ArrayList<>();
+        for (int i = 0; i < table.slots.length; i++) {
+            if (table.slots[i] != null) {
+                present.add(i);
+                slotCount = i + 1;
+            }
+        }
+
+        // Layout: soffset, then fields by decreasing size, each aligned to its size
+        present.sort(Comparator.comparingInt((Integer i) -> size(table.slots[i])).reversed());
+        int[] fieldOffsets = new int[slotCount];
+        int size = 4;
+        for (int slot : present) {
+            int fieldSize = size(table.slots[slot]);
+            size = (size + fieldSize - 1) / fieldSize * fieldSize;
+            fieldOffsets[slot] = size;
+            size += fieldSize;
+        }
+
+        align(2);
+        int vtable = buf.position();
+        ensure(4 + 2 * slotCount);
+        buf.putShort((short) (4 + 2 * slotCount)).putShort((short) size);
+        for (int i = 0; i < slotCount; i++) buf.putShort((short) fieldOffsets[i]);
+
+        align(8);
+        int start = buf.position();
+        ensure(size);
+        buf.putInt(start - vtable);
+        for (int i = 4; i < size; i++) buf.put((byte) 0);
+
+        List<int[]> references = new ArrayList<>(); // {field position, slot}
+        for (int slot : present) {
+            int at = start + fieldOffsets[slot];
+            Object v = table.slots[slot];
+            if (v instanceof Byte b) buf.put(at, b);
+            else if (v instanceof Boolean b) buf.put(at, (byte) (b ? 1 : 0));
+            else if (v instanceof Short s) buf.putShort(at, s);
+            else if (v instanceof Integer n) buf.putInt(at, n);
+            else if (v instanceof Long n) buf.putLong(at, n);
+            else references.add(new int[]{at, slot});
+        }
+        for (int[] ref : references) patch(ref[0], write(table.slots[ref[1]]));
+        return start;
+    }
+
+    private int writeString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        align(4);
+        int start = buf.position();
+        ensure(4 + bytes.length + 1);
+        buf.putInt(bytes.length).put(bytes).put((byte) 0);
+        return start;
+    }
+
+    private int writeTables(Tables vector) {
+        align(4);
+        int start = buf.position();
+        int count = vector.items().size();
+        ensure(4 + 4 * count);
+        buf.putInt(count);
+        int first = buf.position();
+        for (int i = 0; i < count; i++) buf.putInt(0);
+        for (int i = 0; i < count; i++) patch(first + 4 * i, write(vector.items().get(i)));
+        return start;
+    }
+
+    private int writeStructs(Structs vector) {
+        // Elements on 8 bytes: the length prefix ends on an 8-byte boundary
+        align(8);
+        ensure(4);
+        buf.putInt(0);
+        int start = buf.position();
+        ensure(4 + vector.bytes().length);
+        buf.putInt(vector.bytes().length / vector.size()).put(vector.bytes());
+        return start;
+    }
+
+    /** Stores the forward offset from {@code at} to {@code target}. */
+    private void patch(int at, int target) {
+        buf.putInt(at, target - at);
+    }
+
+    private static int size(Object v) {
+        if (v instanceof Byte || v instanceof Boolean) return 1;
+        if (v instanceof Short) return 2;
+        if (v instanceof Long) return 8;
+        return 4; // Integer or offset
+    }
+
+    private void align(int alignment) {
+        int pad = (alignment - buf.position() % alignment) % alignment;
+        ensure(pad);
+        for (int i = 0; i < pad; i++) buf.put((byte) 0);
+    }
+
+    private void ensure(int bytes) {
+        if (buf.remaining() >= bytes) return;
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(buf.capacity() * 2, buf.position() + bytes))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buf.flip();
+        bigger.put(buf);
+        buf = bigger;
+    }
+}
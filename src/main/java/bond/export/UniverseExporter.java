@@ -0,0 +1,295 @@
+package bond.export;
+
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Machine-readable export of the scored universe, next to the HTML report.
+ * <p>
+ * Every format streams the bonds row by row through a 1 MiB buffer (see {@link ByteSink}),
+ * so memory does not grow with the universe; the columns are {@link ExportColumn#ALL}.
+ * <ul>
+ *   <li>{@code bonds.csv}: RFC 4180, header row, numbers with up to 6 decimals;</li>
+ *   <li>{@code bonds.jsonl}: one JSON object per line;</li>
+ *   <li>{@code bonds.arrow}: Arrow IPC file (see {@link ArrowFileWriter}).</li>
+ * </ul>
+ * Enabled with {@code -Dbond.export=csv,jsonl,arrow} (or {@code all}).
+ */
+public class UniverseExporter {
+
+    /** Comma-separated formats to export after the report ({@code csv}, {@code jsonl}, {@code arrow}, {@code all}). */
+    public static final String EXPORT_PROPERTY = "bond.export";
+
+    public enum Format {
+        CSV("bonds.csv"),
+        JSONL("bonds.jsonl"),
+        ARROW("bonds.arrow");
+
+        private final String fileName;
+
+        Format(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String fileName() {
+            return fileName;
+        }
+    }
+
+    private final List<ExportColumn> columns;
+
+    public UniverseExporter() {
+        this(ExportColumn.ALL);
+    }
+
+    public UniverseExporter(List<ExportColumn> columns) {
+        this.columns = columns;
+    }
+
+    /** Formats listed in {@code bond.export}; empty when the property is not set. */
+    public static Set<Format> configuredFormats() {
+        return parseFormats(System.getProperty(EXPORT_PROPERTY));
+    }
+
+    static Set<Format> parseFormats(String value) {
+        Set<Format> formats = EnumSet.noneOf(Format.class);
+        if (value == null || value.isBlank()) return formats;
+        for (String name : value.split(",")) {
+            String key = name.trim().toUpperCase(Locale.ROOT);
+            if (key.isEmpty()) continue;
+            if (key.equals("ALL")) return EnumSet.allOf(Format.class);
+            try {
+                formats.add(Format.valueOf(key));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown export format '" + name.trim()
+                    + "' in -D" + EXPORT_PROPERTY + " (csv, jsonl, arrow or all)");
+            }
+        }
+        return formats;
+    }
+
+    /** Writes each format to {@code dir/<fileName>}. */
+    public void export(List<Bond> bonds, Path dir, Set<Format> formats) throws IOException {
+        try (RowWriter out = open(dir, formats)) {
+            for (Bond b : bonds) out.write(b);
+        }
+    }
+
+    /**
+     * Opens {@code dir/<fileName>} for each format, to be written one bond at a time (streaming
+     * runs, see {@link bond.pipeline.ExportSink}).
+     */
+    public RowWriter open(Path dir, Set<Format> formats) throws IOException {
+        Files.createDirectories(dir);
+        RowWriter out = new RowWriter();
+        try {
+            for (Format format : formats) out.add(open(format, dir.resolve(format.fileName())));
+        } catch (IOException | RuntimeException e) {
+            out.close();
+            throw e;
+        }
+        return out;
+    }
+
+    public void writeCsv(Iterable<Bond> bonds, Path file) throws IOException {
+        write(bonds, open(Format.CSV, file));
+    }
+
+    public void writeJsonLines(Iterable<Bond> bonds, Path file) throws IOException {
+        write(bonds, open(Format.JSONL, file));
+    }
+
+    public void writeArrow(Iterable<Bond> bonds, Path file) throws IOException {
+        write(bonds, open(Format.ARROW, file));
+    }
+
+    /**
+     * Rows written to several files at once. Closing it closes every file, even if one of them
+     * fails.
+     */
+    public static final class RowWriter implements AutoCloseable {
+
+        private final List<FormatWriter> writers = new ArrayList<>();
+        private long rows;
+
+        private RowWriter() {
+        }
+
+        private void add(FormatWriter writer) {
+            writers.add(writer);
+        }
+
+        public void write(Bond bond) throws IOException {
+            for (FormatWriter w : writers) w.write(bond);
+            rows++;
+        }
+
+        /** Bonds written so far. */
+        public long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (FormatWriter w : writers) {
+                try {
+                    w.close();
+                } catch (IOException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+            }
+            if (failure != null) throw failure;
+        }
+    }
+
+    /** One open file of one format. */
+    private interface FormatWriter extends AutoCloseable {
+        void write(Bond bond) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static void write(Iterable<Bond> bonds, FormatWriter writer) throws IOException {
+        try (writer) {
+            for (Bond b : bonds) writer.write(b);
+        }
+    }
+
+    private FormatWriter open(Format format, Path file) throws IOException {
+        return switch (format) {
+            case CSV -> openCsv(file);
+            case JSONL -> openJsonLines(file);
+            case ARROW -> {
+                ArrowFileWriter out = new ArrowFileWriter(file, columns);
+                yield new FormatWriter() {
+                    @Override
+                    public void write(Bond bond) throws IOException {
+                        out.write(bond);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        out.close();
+                    }
+                };
+            }
+        };
+    }
+
+    private FormatWriter openCsv(Path file) throws IOException {
+        ByteSink out = new ByteSink(file);
+        for (int c = 0; c < columns.size(); c++) {
+            if (c > 0) out.put((byte) ',');
+            out.ascii(columns.get(c).name());
+        }
+        out.put((byte) '\n');
+
+        return new FormatWriter() {
+            @Override
+            public void write(Bond b) throws IOException {
+                for (int c = 0; c < columns.size(); c++) {
+                    if (c > 0) out.put((byte) ',');
+                    ExportColumn column = columns.get(c);
+                    switch (column.type()) {
+                        case TEXT -> csvText(out, column.text().apply(b));
+                        case NUMBER -> {
+                            double v = column.number().applyAsDouble(b);
+                            if (Double.isFinite(v)) out.decimal(v);
+                        }
+                        case DATE -> {
+                            double day = column.number().applyAsDouble(b);
+                            if (Double.isFinite(day)) date(out, (long) day);
+                        }
+                    }
+                }
+                out.put((byte) '\n');
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    private FormatWriter openJsonLines(Path file) throws IOException {
+        ByteSink out = new ByteSink(file);
+        return new FormatWriter() {
+            @Override
+            public void write(Bond b) throws IOException {
+                out.put((byte) '{');
+                for (int c = 0; c < columns.size(); c++) {
+                    ExportColumn column = columns.get(c);
+                    if (c > 0) out.put((byte) ',');
+                    out.put((byte) '"').ascii(column.name()).ascii("\":");
+                    switch (column.type()) {
+                        case TEXT -> {
+                            String s = column.text().apply(b);
+                            if (s == null) out.ascii("null");
+                            else out.put((byte) '"').utf8(s, true).put((byte) '"');
+                        }
+                        case NUMBER -> {
+                            double v = column.number().applyAsDouble(b);
+                            if (Double.isFinite(v)) out.decimal(v);
+                            else out.ascii("null"); // JSON has no NaN or Infinity
+                        }
+                        case DATE -> {
+                            double day = column.number().applyAsDouble(b);
+                            if (Double.isFinite(day)) {
+                                out.put((byte) '"');
+                                date(out, (long) day);
+                                out.put((byte) '"');
+                            } else {
+                                out.ascii("null");
+                            }
+                        }
+                    }
+                }
+                out.ascii("}\n");
+            }
+
+            @Override
+            public void close() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    /** Quoted only when needed (comma, quote or line break), quotes doubled. */
+    private static void csvText(ByteSink out, String s) throws IOException {
+        if (s == null) return;
+        boolean quote = false;
+        for (int i = 0; i < s.length() && !quote; i++) {
+            char c = s.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.utf8(s, false);
+            return;
+        }
+        out.put((byte) '"');
+        int from = 0;
+        for (int i = s.indexOf('"'); i >= 0; i = s.indexOf('"', i + 1)) {
+            out.utf8(s.substring(from, i + 1), false).put((byte) '"');
+            from = i + 1;
+        }
+        out.utf8(s.substring(from), false).put((byte) '"');
+    }
+
+    private static void date(ByteSink out, long epochDay) throws IOException {
+        LocalDate d = LocalDate.ofEpochDay(epochDay);
+        out.date(d.getYear(), d.getMonthValue(), d.getDayOfMonth());
+    }
+}
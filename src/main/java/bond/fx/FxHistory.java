@@ -0,0 +1,102 @@
+package bond.fx;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Daily ECB reference rates (1 EUR = X CCY), oldest day first.
+ * <p>
+ * Source format: {@code eurofxref-hist.zip}, a single CSV with one column per currency,
+ * newest day first and {@code N/A} for days a currency was not quoted:
+ * <pre>
+ *   Date,USD,JPY,BGN,...,
+ *   2025-10-17,1.1681,175.69,1.9558,...,
+ * </pre>
+ * Missing quotes are kept as {@code NaN}.
+ */
+public final class FxHistory {
+
+    private final List<LocalDate> dates;
+    private final Map<String, double[]> rates;
+
+    public FxHistory(List<LocalDate> dates, Map<String, double[]> rates) {
+        this.dates = List.copyOf(dates);
+        this.rates = Collections.unmodifiableMap(new LinkedHashMap<>(rates));
+    }
+
+    public List<LocalDate> dates() {
+        return dates;
+    }
+
+    public Set<String> currencies() {
+        return rates.keySet();
+    }
+
+    /** Rate series of a currency aligned on {@link #dates()} (EUR: constant 1), or null if never quoted. */
+    public double[] series(String currency) {
+        if (currency.equalsIgnoreCase("EUR")) {
+            double[] ones = new double[dates.size()];
+            Arrays.fill(ones, 1.0);
+            return ones;
+        }
+        return rates.get(currency.toUpperCase());
+    }
+
+    /** Reads the CSV of the ECB history zip. */
+    public static FxHistory parseEcbZip(InputStream in) throws IOException {
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (entry.getName().toLowerCase().endsWith(".csv")) {
+                return parseEcbCsv(new InputStreamReader(zip, StandardCharsets.UTF_8));
+            }
+        }
+        throw new IOException("No CSV entry in ECB history archive");
+    }
+
+    /** Reads an ECB history CSV (any day order; the result is sorted oldest first). */
+    public static FxHistory parseEcbCsv(Reader reader) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        String headerLine = in.readLine();
+        if (headerLine == null) throw new IOException("Empty ECB history");
+
+        String[] header = headerLine.split(",");
+        List<String> currencies = new ArrayList<>();
+        for (int i = 1; i < header.length; i++) currencies.add(header[i].trim());
+
+        TreeMap<LocalDate, double[]> byDate = new TreeMap<>();
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            String[] cells = line.split(",");
+            double[] row = new double[currencies.size()];
+            for (int i = 0; i < row.length; i++) {
+                String cell = i + 1 < cells.length ? cells[i + 1].trim() : "";
+                row[i] = cell.isEmpty() || cell.equals("N/A") ? Double.NaN : Double.parseDouble(cell);
+            }
+            byDate.put(LocalDate.parse(cells[0].trim()), row);
+        }
+
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        for (int i = 0; i < currencies.size(); i++) {
+            if (currencies.get(i).isEmpty()) continue; // Trailing comma of the ECB file
+            double[] series = new double[byDate.size()];
+            int t = 0;
+            boolean quoted = false;
+            for (double[] row : byDate.values()) {
+                series[t++] = row[i];
+                quoted |= !Double.isNaN(row[i]);
+            }
+            if (quoted) rates.put(currencies.get(i), series);
+        }
+        return new FxHistory(new ArrayList<>(byDate.keySet()), rates);
+    }
+}
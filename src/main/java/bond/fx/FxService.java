@@ -1,16 +1,21 @@
 package bond.fx;
 
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransports;
 import lombok.SneakyThrows;
 
 import javax.xml.parsers.DocumentBuilderFactory;
-import java.net.URL;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Service to manage Foreign Exchange (FX) rates using the European Central Bank (ECB) as a source.
- * Uses a Singleton pattern and caches results to minimize HTTP requests.
+ * Uses a Singleton pattern and caches results to minimize HTTP requests. The rates are published
+ * as an immutable {@link FxSnapshot} through a volatile reference, so reading them never locks.
  *
  * <h2>Risk Model — VaR 5% with Ornstein-Uhlenbeck mean-reversion</h2>
  * <p>The corrected model uses the <b>Ornstein-Uhlenbeck</b> (OU) variance formula:
@@ -52,6 +57,9 @@ public class FxService {
     private static final String ECB_FX =
         "https://www.ecb.europa.eu/stats/eurofxref/eurofxref-daily.xml";
 
+    private static final String ECB_FX_HISTORY =
+        "https://www.ecb.europa.eu/stats/eurofxref/eurofxref-hist.zip";
+
     /** One-tailed normal quantile at 5% (VaR 95% confidence). */
     private static final double Z_95 = 1.645;
 
@@ -239,7 +247,10 @@ public class FxService {
     // Singleton & Cache
     // ─────────────────────────────────────────────────────────────────────────
 
-    private Map<String, Double> cachedRates;
+    /** Current rates; replaced as a whole, never modified (reads do not lock). */
+    private volatile FxSnapshot snapshot;
+    private long version;
+    private FxHistory cachedHistory;
 
     private FxService() {}
 
@@ -260,21 +271,56 @@ public class FxService {
      *
      * @return Unmodifiable map: ISO code → rate (1 EUR = X CCY).
      */
-    public synchronized Map<String, Double> loadFxRates() throws Exception {
-        if (cachedRates == null) {
-            System.out.println("🌐 Fetching FX rates from ECB...");
-            cachedRates = fetchFromEcb();
+    public Map<String, Double> loadFxRates() throws Exception {
+        return snapshot().rates();
+    }
+
+    /**
+     * Returns the current rate snapshot, fetching it from the ECB on first call.
+     * <p>
+     * Once loaded, this is a single volatile read: concurrent scoring threads never contend.
+     * Only the first fetch is synchronized; a {@link #refresh()} swaps the next snapshot in.
+     */
+    public FxSnapshot snapshot() throws Exception {
+        FxSnapshot s = snapshot;
+        if (s == null) {
+            synchronized (this) {
+                s = snapshot;
+                if (s == null) s = publish();
+            }
         }
-        return cachedRates;
+        return s;
+    }
+
+    /** Fetches the ECB rates and publishes them with the next version; the caller holds the monitor. */
+    private FxSnapshot publish() throws Exception {
+        System.out.println("🌐 Fetching FX rates from ECB...");
+        FxSnapshot s = new FxSnapshot(version + 1, Instant.now(), fetchFromEcb());
+        version = s.version();
+        snapshot = s;
+        return s;
     }
 
     private Map<String, Double> fetchFromEcb() throws Exception {
+        HttpResponse response = HttpTransports.get()
+            .get(HttpRequest.get(ECB_FX))
+            .ensureSuccess();
+        return parseEcbXml(response.bodyStream());
+    }
+
+    /**
+     * Parses an ECB reference-rate XML document (daily feed or an archived copy of it).
+     *
+     * @param in ECB XML stream (not closed by this method).
+     * @return Unmodifiable map: ISO code → rate (1 EUR = X CCY), including EUR → 1.0.
+     */
+    public static Map<String, Double> parseEcbXml(InputStream in) throws Exception {
         Map<String, Double> rates = new HashMap<>();
         rates.put("EUR", 1.0);
 
         var xml = DocumentBuilderFactory.newInstance()
             .newDocumentBuilder()
-            .parse(new URL(ECB_FX).openStream());
+            .parse(in);
 
         var cubes = xml.getElementsByTagName("Cube");
         for (int i = 0; i < cubes.getLength(); i++) {
@@ -289,9 +335,31 @@ public class FxService {
         return Collections.unmodifiableMap(rates);
     }
 
-    /** Clears the cache to force a fresh ECB fetch on the next call. */
-    public synchronized void refresh() {
-        this.cachedRates = null;
+    /**
+     * Returns the cached daily ECB history since 1999 (lazy-loaded on first call), used to
+     * estimate the currency covariance of {@link bond.risk.FxRiskEngine}.
+     */
+    public synchronized FxHistory loadFxHistory() throws Exception {
+        if (cachedHistory == null) {
+            System.out.println("🌐 Fetching FX history from ECB...");
+            HttpResponse response = HttpTransports.get()
+                .get(HttpRequest.get(ECB_FX_HISTORY).withTimeout(60_000))
+                .ensureSuccess();
+            cachedHistory = FxHistory.parseEcbZip(response.bodyStream());
+        }
+        return cachedHistory;
+    }
+
+    /**
+     * Fetches the ECB rates again and publishes them as a new snapshot (version + 1). Readers
+     * keep getting the previous snapshot, without locking, until the new one is swapped in; if
+     * the fetch fails the previous one stays current. Snapshots already handed out stay valid.
+     * The FX history is fetched again on its next use.
+     */
+    public synchronized FxSnapshot refresh() throws Exception {
+        FxSnapshot s = publish();
+        cachedHistory = null;
+        return s;
     }
 
     // ─────────────────────────────────────────────────────────────────────────
@@ -318,7 +386,15 @@ public class FxService {
     @SneakyThrows
     public static double getExchangeRate(String from, String to) {
         if (from.equalsIgnoreCase(to)) return 1.0;
-        Map<String, Double> rates = FxService.getInstance().loadFxRates();
+        return getExchangeRate(FxService.getInstance().snapshot().rates(), from, to);
+    }
+
+    /**
+     * Cross-rate computed from an explicit ECB rate map instead of the live cache
+     * (used when replaying archived FX files).
+     */
+    public static double getExchangeRate(Map<String, Double> rates, String from, String to) {
+        if (from.equalsIgnoreCase(to)) return 1.0;
         double rateFrom = rates.getOrDefault(from.toUpperCase(), 1.0);
         double rateTo   = rates.getOrDefault(to.toUpperCase(), 1.0);
         return rateFrom / rateTo;
@@ -354,7 +430,26 @@ public class FxService {
         // SPOT: how many reportCurrency units per 1 bondCurrency unit
         // e.g. bondCurrency=USD, reportCurrency=EUR → USD→EUR ≈ 0.926
         double spot = getExchangeRate(bondCurrency, reportCurrency);
+        return applyHaircut(spot, bondCurrency, fxPhase, yearsToMaturity);
+    }
+
+    /**
+     * Same as {@link #fxExpectedMultiplier(String, String, FxPhase, int)} but the SPOT rate is
+     * taken from the given ECB rate map rather than the live cache.
+     */
+    public static double fxExpectedMultiplier(
+        Map<String, Double> rates,
+        String bondCurrency,
+        String reportCurrency,
+        FxPhase fxPhase,
+        int yearsToMaturity) {
+
+        if (bondCurrency.equalsIgnoreCase(reportCurrency)) return 1.0;
+        double spot = getExchangeRate(rates, bondCurrency, reportCurrency);
+        return applyHaircut(spot, bondCurrency, fxPhase, yearsToMaturity);
+    }
 
+    private static double applyHaircut(double spot, String bondCurrency, FxPhase fxPhase, int yearsToMaturity) {
         if (fxPhase == FxPhase.BUY) return spot;
 
         CurrencyRiskProfile profile = getRiskProfile(bondCurrency);
@@ -365,4 +460,4 @@ public class FxService {
 
         return spot * (1.0 - haircut);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package bond.fx;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Immutable set of ECB rates published by {@link FxService}.
+ * <p>
+ * A snapshot is never modified: a refresh publishes a new one with a higher version, so a
+ * caller that reads the rates once (e.g. for a whole scoring run) sees consistent values.
+ *
+ * @param version  Incremented on every publication (1 for the first fetch).
+ * @param loadedAt Time of the fetch.
+ * @param rates    Unmodifiable map: ISO code → rate (1 EUR = X CCY), including EUR → 1.0.
+ */
+public record FxSnapshot(long version, Instant loadedAt, Map<String, Double> rates) {
+
+    public FxSnapshot {
+        rates = Map.copyOf(rates);
+    }
+
+    /** Cross-rate between two currencies (see {@link FxService#getExchangeRate(Map, String, String)}). */
+    public double rate(String from, String to) {
+        return FxService.getExchangeRate(rates, from, to);
+    }
+}
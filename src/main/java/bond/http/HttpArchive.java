@@ -0,0 +1,171 @@
+package bond.http;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Read side of the record/replay archive, memory-mapped so that replayed runs do no file I/O
+ * beyond page faults.
+ * <p>
+ * Layout (big-endian, written by {@link HttpArchiveWriter}):
+ * <pre>
+ *   header   : int MAGIC, int VERSION
+ *   entry    : int ENTRY_MAGIC, UTF url, int status,
+ *              int headerCount, (UTF name, UTF value)*,
+ *              int bodyLength, int gzipLength, byte[gzipLength] gzip(body)
+ *   index    : int count, (UTF url, long entryOffset)*
+ *   trailer  : long indexOffset, int INDEX_MAGIC
+ * </pre>
+ * If the trailer is missing (recording process killed), the entries are scanned instead.
+ */
+public class HttpArchive implements Closeable {
+
+    static final int MAGIC = 0x42524841;       // "BRHA"
+    static final int VERSION = 1;
+    static final int ENTRY_MAGIC = 0x454E5452; // "ENTR"
+    static final int INDEX_MAGIC = 0x42524849; // "BRHI"
+
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Map<String, Integer> index;
+
+    private HttpArchive(FileChannel channel, MappedByteBuffer buffer, Map<String, Integer> index) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.index = index;
+    }
+
+    public static HttpArchive open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.limit() < 8 || buf.getInt(0) != MAGIC) throw new IOException("Not an HTTP archive: " + file);
+            if (buf.getInt(4) != VERSION) throw new IOException("Unsupported HTTP archive version in " + file);
+            return new HttpArchive(ch, buf, readIndex(buf));
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    private static Map<String, Integer> readIndex(ByteBuffer buf) throws IOException {
+        Map<String, Integer> index = new HashMap<>();
+        int size = buf.limit();
+
+        if (size >= 8 + TRAILER_SIZE && buf.getInt(size - Integer.BYTES) == INDEX_MAGIC) {
+            int indexOffset = (int) buf.getLong(size - TRAILER_SIZE);
+            DataInputStream in = stream(buf, indexOffset, size - TRAILER_SIZE - indexOffset);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String url = in.readUTF();
+                index.put(url, (int) in.readLong());
+            }
+            return index;
+        }
+
+        // No trailer: walk the entries
+        int pos = 8;
+        while (pos + 4 <= size && buf.getInt(pos) == ENTRY_MAGIC) {
+            DataInputStream in = stream(buf, pos + 4, size - pos - 4);
+            String url = in.readUTF();
+            in.readInt();
+            int headerCount = in.readInt();
+            for (int i = 0; i < headerCount; i++) {
+                in.readUTF();
+                in.readUTF();
+            }
+            in.readInt();
+            int gzLength = in.readInt();
+            int consumed = (size - pos - 4) - in.available();
+            index.put(url, pos);
+            pos += 4 + consumed + gzLength;
+        }
+        return index;
+    }
+
+    public boolean contains(String url) {
+        return index.containsKey(url);
+    }
+
+    public Set<String> urls() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Returns the recorded response for a URL, or empty if it was never recorded.
+     * Safe to call from several threads.
+     */
+    public Optional<HttpResponse> find(String url) throws IOException {
+        Integer offset = index.get(url);
+        if (offset == null) return Optional.empty();
+
+        int remaining = buffer.limit() - offset;
+        DataInputStream in = stream(buffer, offset, remaining);
+        if (in.readInt() != ENTRY_MAGIC) throw new IOException("Corrupt HTTP archive entry for " + url);
+
+        String recordedUrl = in.readUTF();
+        int status = in.readInt();
+        int headerCount = in.readInt();
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 0; i < headerCount; i++) {
+            headers.put(in.readUTF(), in.readUTF());
+        }
+        int bodyLength = in.readInt();
+        int gzLength = in.readInt();
+        int bodyOffset = offset + (remaining - in.available());
+
+        byte[] body;
+        try (GZIPInputStream z = new GZIPInputStream(new ByteBufferInputStream(slice(buffer, bodyOffset, gzLength)))) {
+            body = z.readNBytes(bodyLength);
+        }
+        return Optional.of(new HttpResponse(recordedUrl, status, headers, body));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer slice(ByteBuffer buf, int offset, int length) {
+        return buf.duplicate().position(offset).limit(offset + length).slice();
+    }
+
+    private static DataInputStream stream(ByteBuffer buf, int offset, int length) {
+        return new DataInputStream(new ByteBufferInputStream(slice(buf, offset, length)));
+    }
+
+    /** Zero-copy InputStream view over a (mapped) buffer slice. */
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buf;
+
+        ByteBufferInputStream(ByteBuffer buf) {
+            this.buf = buf;
+        }
+
+        @Override
+        public int read() {
+            return buf.hasRemaining() ? buf.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buf.hasRemaining()) return -1;
+            int n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buf.remaining();
+        }
+    }
+}
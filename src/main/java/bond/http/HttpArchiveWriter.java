@@ -0,0 +1,68 @@
+package bond.http;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends recorded responses to an {@link HttpArchive} file and writes the URL index on close.
+ * <p>
+ * Thread-safe: fetchers running in parallel may record through the same writer.
+ * Archives are limited to 2 GB (single memory mapping on replay).
+ */
+public class HttpArchiveWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    private boolean closed;
+
+    public HttpArchiveWriter(Path file) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(HttpArchive.MAGIC);
+        out.writeInt(HttpArchive.VERSION);
+    }
+
+    public synchronized void append(HttpResponse response) throws IOException {
+        if (closed) throw new IOException("Archive writer already closed");
+
+        ByteArrayOutputStream gz = new ByteArrayOutputStream(Math.max(64, response.body().length / 4));
+        try (GZIPOutputStream z = new GZIPOutputStream(gz)) {
+            z.write(response.body());
+        }
+
+        long offset = out.size();
+        out.writeInt(HttpArchive.ENTRY_MAGIC);
+        out.writeUTF(response.url());
+        out.writeInt(response.status());
+        out.writeInt(response.headers().size());
+        for (Map.Entry<String, String> h : response.headers().entrySet()) {
+            out.writeUTF(h.getKey());
+            out.writeUTF(h.getValue());
+        }
+        out.writeInt(response.body().length);
+        out.writeInt(gz.size());
+        gz.writeTo(out);
+
+        // Latest recording of a URL wins
+        index.put(response.url(), offset);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+
+        long indexOffset = out.size();
+        out.writeInt(index.size());
+        for (Map.Entry<String, Long> e : index.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue());
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(HttpArchive.INDEX_MAGIC);
+        out.close();
+    }
+}
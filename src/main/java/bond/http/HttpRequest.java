@@ -0,0 +1,31 @@
+package bond.http;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable description of an HTTP GET issued by one of the fetchers.
+ *
+ * @param url           Absolute URL (also the key under which a response is recorded).
+ * @param headers       Request headers (User-Agent, Referer, conditional headers, ...).
+ * @param timeoutMillis Overall request timeout.
+ */
+public record HttpRequest(String url, Map<String, String> headers, int timeoutMillis) {
+
+    private static final int DEFAULT_TIMEOUT_MS = 30_000;
+
+    public static HttpRequest get(String url) {
+        return new HttpRequest(url, Map.of(), DEFAULT_TIMEOUT_MS);
+    }
+
+    public HttpRequest withHeader(String name, String value) {
+        Map<String, String> h = new LinkedHashMap<>(headers);
+        h.put(name, value);
+        return new HttpRequest(url, Collections.unmodifiableMap(h), timeoutMillis);
+    }
+
+    public HttpRequest withTimeout(int millis) {
+        return new HttpRequest(url, headers, millis);
+    }
+}
@@ -0,0 +1,50 @@
+package bond.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fully buffered HTTP response. Bodies are always stored decoded (no Content-Encoding).
+ *
+ * @param url     URL the response belongs to.
+ * @param status  HTTP status code.
+ * @param headers Response headers, case-insensitive keys (first value only).
+ * @param body    Decoded response body.
+ */
+public record HttpResponse(String url, int status, Map<String, String> headers, byte[] body) {
+
+    public HttpResponse {
+        Map<String, String> h = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        h.putAll(headers);
+        headers = Collections.unmodifiableMap(h);
+    }
+
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    public InputStream bodyStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Throws if the server answered with an error status (4xx / 5xx).
+     *
+     * @return this response, for chaining
+     */
+    public HttpResponse ensureSuccess() throws IOException {
+        if (status >= 400) {
+            throw new IOException("HTTP " + status + " fetching " + url);
+        }
+        return this;
+    }
+}
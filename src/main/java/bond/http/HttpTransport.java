@@ -0,0 +1,18 @@
+package bond.http;
+
+import java.io.IOException;
+
+/**
+ * Transport used by every fetcher (monitor pages, ECB rates, ratings).
+ * <p>
+ * Implementations:
+ * - {@link PassthroughTransport}: live network
+ * - {@link RecordingTransport}: live network, every response also appended to an {@link HttpArchive}
+ * - {@link ReplayTransport}: served from an {@link HttpArchive}, no network at all
+ * <p>
+ * The active transport is selected by {@link HttpTransports}.
+ */
+public interface HttpTransport {
+
+    HttpResponse get(HttpRequest request) throws IOException;
+}
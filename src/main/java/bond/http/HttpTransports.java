@@ -0,0 +1,78 @@
+package bond.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Holder of the process-wide {@link HttpTransport}.
+ * <p>
+ * The mode is read once from system properties:
+ * - {@code bond.http.mode}    = passthrough (default) | record | replay
+ * - {@code bond.http.archive} = archive file (default {@code http-archive.bin})
+ * <p>
+ * Example: {@code mvn exec:java -Dbond.http.mode=replay -Dbond.http.archive=run.bin}
+ */
+public final class HttpTransports {
+
+    public static final String MODE_PROPERTY = "bond.http.mode";
+    public static final String ARCHIVE_PROPERTY = "bond.http.archive";
+
+    public enum Mode { PASSTHROUGH, RECORD, REPLAY }
+
+    private static volatile HttpTransport instance;
+
+    private HttpTransports() {}
+
+    public static HttpTransport get() {
+        HttpTransport t = instance;
+        if (t == null) {
+            synchronized (HttpTransports.class) {
+                t = instance;
+                if (t == null) {
+                    t = create();
+                    instance = t;
+                }
+            }
+        }
+        return t;
+    }
+
+    /** Overrides the transport (tests, offline harnesses). */
+    public static synchronized void set(HttpTransport transport) {
+        instance = transport;
+    }
+
+    public static Mode mode() {
+        return Mode.valueOf(System.getProperty(MODE_PROPERTY, "passthrough").trim().toUpperCase());
+    }
+
+    private static HttpTransport create() {
+        Path archive = Path.of(System.getProperty(ARCHIVE_PROPERTY, "http-archive.bin"));
+        try {
+            switch (mode()) {
+                case RECORD -> {
+                    HttpArchiveWriter writer = new HttpArchiveWriter(archive);
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                        try {
+                            writer.close();
+                        } catch (IOException e) {
+                            System.err.println("⚠️ Failed to finalize HTTP archive " + archive + ": " + e.getMessage());
+                        }
+                    }));
+                    System.out.println("📼 Recording HTTP responses to " + archive);
+                    return new RecordingTransport(new PassthroughTransport(), writer);
+                }
+                case REPLAY -> {
+                    System.out.println("📼 Replaying HTTP responses from " + archive);
+                    return new ReplayTransport(HttpArchive.open(archive));
+                }
+                default -> {
+                    return new PassthroughTransport();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open HTTP archive " + archive, e);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package bond.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Live transport on top of {@link HttpClient} (redirects followed, gzip bodies decoded).
+ */
+public class PassthroughTransport implements HttpTransport {
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .followRedirects(HttpClient.Redirect.NORMAL)
+        .connectTimeout(Duration.ofSeconds(15))
+        .build();
+
+    @Override
+    public HttpResponse get(HttpRequest request) throws IOException {
+        java.net.http.HttpRequest.Builder b = java.net.http.HttpRequest.newBuilder(URI.create(request.url()))
+            .timeout(Duration.ofMillis(request.timeoutMillis()))
+            .GET();
+        request.headers().forEach(b::header);
+
+        java.net.http.HttpResponse<byte[]> r;
+        try {
+            r = client.send(b.build(), java.net.http.HttpResponse.BodyHandlers.ofByteArray());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted fetching " + request.url(), e);
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> e : r.headers().map().entrySet()) {
+            if (!e.getValue().isEmpty()) headers.put(e.getKey(), e.getValue().get(0));
+        }
+
+        byte[] body = r.body();
+        String encoding = r.headers().firstValue("Content-Encoding").orElse("");
+        if (encoding.equalsIgnoreCase("gzip")) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                body = in.readAllBytes();
+            }
+            headers.keySet().removeIf(k -> k.equalsIgnoreCase("Content-Encoding"));
+        }
+
+        return new HttpResponse(request.url(), r.statusCode(), headers, body);
+    }
+}
@@ -0,0 +1,25 @@
+package bond.http;
+
+import java.io.IOException;
+
+/**
+ * Fetches through a delegate (normally {@link PassthroughTransport}) and appends every raw
+ * response to an archive, so the run can later be replayed offline.
+ */
+public class RecordingTransport implements HttpTransport {
+
+    private final HttpTransport delegate;
+    private final HttpArchiveWriter writer;
+
+    public RecordingTransport(HttpTransport delegate, HttpArchiveWriter writer) {
+        this.delegate = delegate;
+        this.writer = writer;
+    }
+
+    @Override
+    public HttpResponse get(HttpRequest request) throws IOException {
+        HttpResponse response = delegate.get(request);
+        writer.append(response);
+        return response;
+    }
+}
@@ -0,0 +1,22 @@
+package bond.http;
+
+import java.io.IOException;
+
+/**
+ * Serves responses from a memory-mapped {@link HttpArchive}; never touches the network.
+ * A URL that was not recorded fails like an unreachable host would.
+ */
+public class ReplayTransport implements HttpTransport {
+
+    private final HttpArchive archive;
+
+    public ReplayTransport(HttpArchive archive) {
+        this.archive = archive;
+    }
+
+    @Override
+    public HttpResponse get(HttpRequest request) throws IOException {
+        return archive.find(request.url())
+            .orElseThrow(() -> new IOException("Not in HTTP archive (replay mode): " + request.url()));
+    }
+}
@@ -0,0 +1,117 @@
+package bond.isin;
+
+import java.util.Arrays;
+
+/**
+ * Lossless packing of an ISIN into a {@code long}.
+ * <p>
+ * An ISIN is a 2-letter country prefix, 9 alphanumeric characters and a Luhn check digit
+ * (ISO 6166). The first 11 characters are a base-36 number (36¹¹ ≈ 1.3e17), followed by the
+ * check digit as a decimal digit: the code is below 1.4e18, so it fits in 61 bits and is never
+ * negative. Codes keep the order of the ISINs.
+ * <p>
+ * {@link #encode} validates the check digit, {@link #pack} only the shape: a key of
+ * {@link IsinMap} must stay distinct from its mistyped neighbours, and skipping the Luhn sum
+ * keeps a lookup cheaper than hashing the string.
+ */
+public final class IsinCodec {
+
+    /** Result of {@link #encode} and {@link #pack} for a string that is not an ISIN. */
+    public static final long INVALID = -1;
+
+    public static final int LENGTH = 12;
+
+    /** Luhn value of a doubled digit. */
+    private static final int[] DOUBLED = {0, 2, 4, 6, 8, 1, 3, 5, 7, 9};
+
+    private static final long POW36_6 = 36L * 36 * 36 * 36 * 36 * 36;
+
+    /** Base-36 value of an ASCII character, -1 if not in [0-9A-Z]. */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int c = '0'; c <= '9'; c++) VALUES[c] = (byte) (c - '0');
+        for (int c = 'A'; c <= 'Z'; c++) VALUES[c] = (byte) (c - 'A' + 10);
+    }
+
+    private IsinCodec() {
+    }
+
+    /** The code of a valid ISIN (upper case, correct check digit), or {@link #INVALID}. */
+    public static long encode(CharSequence isin) {
+        long code = pack(isin);
+        return code != INVALID && code % 10 == checkDigit(code) ? code : INVALID;
+    }
+
+    public static boolean isValid(CharSequence isin) {
+        return encode(isin) != INVALID;
+    }
+
+    /**
+     * The code of an ISIN-shaped string (2 letters, 9 upper-case alphanumerics, 1 digit) whatever
+     * its check digit, or {@link #INVALID}. Does not allocate.
+     */
+    public static long pack(CharSequence isin) {
+        if (isin == null || isin.length() != LENGTH) return INVALID;
+        // Two independent halves (5 and 6 characters) halve the multiply chain
+        int c0 = value(isin.charAt(0)), c1 = value(isin.charAt(1));
+        int bad = c0 - 10 | c1 - 10;                        // Country prefix: letters only
+        int high = c0 * 36 + c1;
+        long low = 0;
+        for (int i = 2; i < 5; i++) {
+            int v = value(isin.charAt(i));
+            bad |= v;
+            high = high * 36 + v;
+        }
+        for (int i = 5; i < LENGTH - 1; i++) {
+            int v = value(isin.charAt(i));
+            bad |= v;
+            low = low * 36 + v;
+        }
+        int check = isin.charAt(LENGTH - 1) - '0';
+        bad |= check | (9 - check);
+        return bad < 0 ? INVALID : (high * POW36_6 + low) * 10 + check;
+    }
+
+    /** The 12-character ISIN of a code returned by {@link #encode} or {@link #pack}. */
+    public static String decode(long code) {
+        if (code < 0) throw new IllegalArgumentException("Not an ISIN code: " + code);
+        char[] chars = new char[LENGTH];
+        chars[LENGTH - 1] = (char) ('0' + code % 10);
+        long rest = code / 10;
+        for (int i = LENGTH - 2; i >= 0; i--) {
+            int v = (int) (rest % 36);
+            chars[i] = (char) (v < 10 ? '0' + v : 'A' + v - 10);
+            rest /= 36;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Luhn check digit of the first 11 characters of a code: letters count as two digits
+     * (A = 10 … Z = 35), and digits are doubled from the rightmost one.
+     */
+    static int checkDigit(long code) {
+        long rest = code / 10;
+        int sum = 0;
+        boolean dbl = true;
+        for (int i = 0; i < LENGTH - 1; i++) {
+            int v = (int) (rest % 36);
+            rest /= 36;
+            if (v >= 10) {
+                // Units digit at this position, tens digit at the next one
+                sum += dbl ? DOUBLED[v % 10] + v / 10 : v % 10 + DOUBLED[v / 10];
+            } else {
+                sum += dbl ? DOUBLED[v] : v;
+                dbl = !dbl;
+            }
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    /** Base-36 value of a character, negative if not in [0-9A-Z]. */
+    private static int value(char c) {
+        return c < VALUES.length ? VALUES[c] : -1;
+    }
+}
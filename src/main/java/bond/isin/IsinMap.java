@@ -0,0 +1,91 @@
+package bond.isin;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Insertion-ordered map keyed by ISIN, stored as packed {@code long} codes in a {@link LongMap}.
+ * <p>
+ * ISINs are looked up by their {@link IsinCodec#pack packed} code, without hashing the string
+ * (the check digit is part of the code but not verified, so a mistyped ISIN is simply another
+ * key). Other keys (local test codes, lower case) still work: each one gets a negative surrogate
+ * code from a small side map, so the behaviour is the one of a {@code LinkedHashMap<String, V>}
+ * whatever the keys.
+ * <p>
+ * Null keys are ignored by lookups and rejected by insertions; entries cannot be removed.
+ * Not thread-safe.
+ */
+public final class IsinMap<V> {
+
+    private final LongMap<V> entries;
+    private Map<String, Long> surrogates; // Non-ISIN keys, created on first use
+
+    public IsinMap() {
+        this(16);
+    }
+
+    public IsinMap(int expectedSize) {
+        this.entries = new LongMap<>(expectedSize);
+    }
+
+    /** Indexes {@code items} by their key, keeping the first item of each key (null keys are skipped). */
+    public static <V> IsinMap<V> index(List<V> items, Function<V, String> isin) {
+        IsinMap<V> map = new IsinMap<>(items.size());
+        for (V item : items) {
+            String key = isin.apply(item);
+            if (key != null) map.putIfAbsent(key, item);
+        }
+        return map;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public V get(String isin) {
+        long code = lookup(isin);
+        return code == IsinCodec.INVALID ? null : entries.get(code);
+    }
+
+    public boolean containsKey(String isin) {
+        long code = lookup(isin);
+        return code != IsinCodec.INVALID && entries.containsKey(code);
+    }
+
+    /** Associates {@code value} with {@code isin}; returns the previous value, or null. */
+    public V put(String isin, V value) {
+        return entries.put(code(isin), value);
+    }
+
+    /** Keeps the existing value if {@code isin} is present (and returns it), otherwise adds {@code value}. */
+    public V putIfAbsent(String isin, V value) {
+        return entries.putIfAbsent(code(isin), value);
+    }
+
+    /** Read-only view of the values, in insertion order. */
+    public List<V> values() {
+        return entries.values();
+    }
+
+    /** Code of an existing or new key. */
+    private long code(String isin) {
+        long code = IsinCodec.pack(isin);
+        if (code != IsinCodec.INVALID) return code;
+        if (isin == null) throw new NullPointerException("null ISIN");
+        if (surrogates == null) surrogates = new HashMap<>();
+        return surrogates.computeIfAbsent(isin, k -> -2L - surrogates.size());
+    }
+
+    /** Code of a key for a lookup; {@link IsinCodec#INVALID} when it cannot be present. */
+    private long lookup(String isin) {
+        long code = IsinCodec.pack(isin);
+        if (code != IsinCodec.INVALID || isin == null || surrogates == null) return code;
+        return surrogates.getOrDefault(isin, IsinCodec.INVALID);
+    }
+}
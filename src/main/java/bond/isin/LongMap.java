@@ -0,0 +1,178 @@
+package bond.isin;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Insertion-ordered map from primitive {@code long} keys to values, with open addressing.
+ * <p>
+ * Keys and values sit in two parallel slot arrays, probed linearly on the keys only (a free slot
+ * holds {@link Long#MIN_VALUE}; that key itself is kept aside) and at most three quarters full:
+ * a miss usually reads one cache line of keys, a hit one more reference. A third array lists
+ * the occupied slots in insertion order, for iteration. An entry costs 16 to 36 bytes (key and
+ * reference slots, one order index), against about 46 bytes for a {@code LinkedHashMap} entry,
+ * and lookups compare longs instead of hashing and comparing strings.
+ * <p>
+ * Entries cannot be removed (merges and indexes are built once, then read). Null values are not
+ * allowed. Not thread-safe.
+ */
+public final class LongMap<V> {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int FREE_KEY_SLOT = -1; // Order entry of the FREE key
+
+    private long[] keys;
+    private Object[] values;
+    private int[] order;        // Slots in insertion order
+    private int size;
+    private Object freeKeyValue; // Value of the key equal to FREE, if any
+
+    public LongMap() {
+        this(16);
+    }
+
+    /** @param expectedSize Number of entries that fit without resizing. */
+    public LongMap(int expectedSize) {
+        int slots = tableSize(Math.max(4, expectedSize) + 1);
+        keys = new long[slots];
+        Arrays.fill(keys, FREE);
+        values = new Object[slots];
+        order = new int[maxSize(slots)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /** The value of {@code key}, or null. */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == FREE) return (V) freeKeyValue;
+        return (V) values[slot(key)];
+    }
+
+    /** Associates {@code value} with {@code key}; returns the previous value, or null. */
+    public V put(long key, V value) {
+        return put(key, value, true);
+    }
+
+    /** Keeps the existing value if {@code key} is present (and returns it), otherwise adds {@code value}. */
+    public V putIfAbsent(long key, V value) {
+        return put(key, value, false);
+    }
+
+    /** Key of the {@code index}-th inserted entry. */
+    public long keyAt(int index) {
+        int slot = order[index];
+        return slot == FREE_KEY_SLOT ? FREE : keys[slot];
+    }
+
+    /** Value of the {@code index}-th inserted entry. */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        int slot = order[index];
+        return (V) (slot == FREE_KEY_SLOT ? freeKeyValue : values[slot]);
+    }
+
+    /** Read-only view of the values, in insertion order. */
+    public List<V> values() {
+        return new AbstractList<>() {
+            @Override
+            public V get(int index) {
+                if (index >= size) throw new IndexOutOfBoundsException(index);
+                return valueAt(index);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long key, V value, boolean replace) {
+        if (value == null) throw new NullPointerException("null value for key " + key);
+        if (key == FREE) {
+            V previous = (V) freeKeyValue;
+            if (previous == null) append(FREE_KEY_SLOT);
+            if (previous == null || replace) freeKeyValue = value;
+            return previous;
+        }
+        int slot = slot(key);
+        V previous = (V) values[slot];
+        if (previous == null) {
+            keys[slot] = key;
+            values[slot] = value;
+            append(slot);
+        } else if (replace) {
+            values[slot] = value;
+        }
+        return previous;
+    }
+
+    private void append(int slot) {
+        order[size++] = slot;
+        if (size == order.length) rehash(keys.length * 2);
+    }
+
+    /** Slot holding {@code key}, or the free slot where it would be inserted. */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (long k; (k = keys[slot]) != key && k != FREE; ) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void rehash(int slots) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] indexOfSlot = new int[oldKeys.length];
+        for (int i = 0; i < size; i++) {
+            if (order[i] != FREE_KEY_SLOT) indexOfSlot[order[i]] = i;
+        }
+
+        keys = new long[slots];
+        Arrays.fill(keys, FREE);
+        values = new Object[slots];
+        order = Arrays.copyOf(order, maxSize(slots));
+        int mask = slots - 1;
+        // Old slots in table order: the new home of a key is its old one or one old length
+        // further, so both tables are walked almost sequentially
+        for (int old = 0; old < oldKeys.length; old++) {
+            long key = oldKeys[old];
+            if (key == FREE) continue;
+            int slot = hash(key) & mask;
+            while (keys[slot] != FREE) slot = (slot + 1) & mask;
+            keys[slot] = key;
+            values[slot] = oldValues[old];
+            order[indexOfSlot[old]] = slot;
+        }
+    }
+
+    /** Entries that trigger a resize: three quarters of the slots. */
+    private static int maxSize(int slots) {
+        return slots - (slots >> 2);
+    }
+
+    /** Power of two with more than {@code capacity} / 0.75 slots. */
+    private static int tableSize(int capacity) {
+        return Integer.highestOneBit((capacity * 4 / 3 + 1) * 2 - 1);
+    }
+
+    /** Stafford mix 13 of the key (packed ISINs share their high digits). */
+    private static int hash(long key) {
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return (int) (key ^ (key >>> 31));
+    }
+}
@@ -0,0 +1,193 @@
+package bond.log;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplicating, rate-limited event log over a {@link RingAppender}.
+ * <p>
+ * An event is a fixed message plus a subject ({@code "Unparsable row skipped"},
+ * {@code "NumberFormatException"}). Within a stage, only the first occurrence of an event is
+ * printed; repeats are counted and reported as one {@code ×count} line when the stage ends.
+ * First occurrences go through a per-level token bucket ({@link Level#linesPerSecond()}); the
+ * ones over the limit are counted, and still appear in the stage summary.
+ * <p>
+ * Tallied events ({@link #tally}) are never printed as they happen: they are grouped by message
+ * and reported once, at the end of the run (e.g. the unknown issuers of the rating lookup).
+ * <p>
+ * Logging is thread-safe and never blocks: a repeat costs one map lookup and a counter
+ * increment, and console output happens on the appender thread.
+ */
+public final class EventLog {
+
+    /** Distinct events listed per stage summary; the rest are counted on one line. */
+    static final int MAX_SUMMARY_LINES = 20;
+
+    private static final long FLUSH_TIMEOUT_MILLIS = 2000;
+
+    private final RingAppender appender;
+    private final Level threshold;
+    private final LongSupplier nanoClock;
+    private final TokenBucket[] buckets = new TokenBucket[Level.values().length];
+    private final Map<Event, LongAdder> tallies = new ConcurrentHashMap<>();
+    private volatile Stage stage = new Stage("main", 0);
+
+    public EventLog(PrintStream out, Level threshold) {
+        this(new RingAppender(out, RingAppender.DEFAULT_CAPACITY), threshold, System::nanoTime);
+    }
+
+    EventLog(RingAppender appender, Level threshold, LongSupplier nanoClock) {
+        this.appender = appender;
+        this.threshold = threshold;
+        this.nanoClock = nanoClock;
+        for (Level level : Level.values()) {
+            buckets[level.ordinal()] = new TokenBucket(level.linesPerSecond(), nanoClock.getAsLong());
+        }
+    }
+
+    public boolean enabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Logs an event of the current stage: printed the first time (rate limit permitting),
+     * counted afterwards.
+     *
+     * @param detail Extra text of the first occurrence only (e.g. an exception message), or null
+     */
+    public void log(Level level, String message, Object subject, Object detail) {
+        if (!enabled(level)) return;
+        Stage s = stage;
+        Event event = new Event(level, message, String.valueOf(subject));
+        Occurrences seen = s.events.get(event);
+        if (seen == null) {
+            Occurrences fresh = new Occurrences();
+            seen = s.events.putIfAbsent(event, fresh);
+            if (seen == null) {
+                fresh.count.increment();
+                if (buckets[level.ordinal()].tryAcquire(nanoClock.getAsLong())) {
+                    fresh.printed = true;
+                    String line = level.prefix() + " [" + s.name + "] " + message + ": " + event.subject();
+                    appender.offer(detail == null ? line : line + " (" + detail + ")");
+                } else {
+                    s.limited[level.ordinal()].increment();
+                }
+                return;
+            }
+        }
+        seen.count.increment();
+    }
+
+    /** Counts an event for the end-of-run summary, without printing anything now. */
+    public void tally(Level level, String message, Object subject) {
+        if (!enabled(level)) return;
+        tallies.computeIfAbsent(new Event(level, message, String.valueOf(subject)), e -> new LongAdder()).increment();
+    }
+
+    /** Ends the current stage (printing its summary) and starts {@code name}. */
+    public void stage(String name) {
+        Stage previous = stage;
+        stage = new Stage(name, appender.dropped());
+        summarize(previous);
+    }
+
+    /** Ends the current stage, prints the tallied events once and waits for the console. */
+    public void endRun() {
+        stage("main");
+        Map<Event, Long> counts = new LinkedHashMap<>();
+        for (Map.Entry<Event, LongAdder> e : tallies.entrySet()) counts.put(e.getKey(), e.getValue().sumThenReset());
+        tallies.clear();
+
+        Map<String, List<Map.Entry<Event, Long>>> byMessage = counts.entrySet().stream()
+            .sorted(Map.Entry.<Event, Long>comparingByValue().reversed())
+            .collect(Collectors.groupingBy(e -> e.getKey().level().prefix() + " " + e.getKey().message(),
+                LinkedHashMap::new, Collectors.toList()));
+        byMessage.forEach((header, events) -> appender.offer(header + ": " + events.stream()
+            .map(e -> e.getKey().subject() + " ×" + e.getValue())
+            .collect(Collectors.joining(", "))));
+        flush();
+    }
+
+    /** Waits (bounded) until the queued lines are on the console. */
+    public boolean flush() {
+        return appender.flush(FLUSH_TIMEOUT_MILLIS);
+    }
+
+    private void summarize(Stage s) {
+        List<Map.Entry<Event, Occurrences>> repeated = new ArrayList<>();
+        for (Map.Entry<Event, Occurrences> e : s.events.entrySet()) {
+            if (e.getValue().count.sum() > 1 || !e.getValue().printed) repeated.add(e);
+        }
+        repeated.sort(Comparator.comparing((Map.Entry<Event, Occurrences> e) -> e.getKey().level()).reversed()
+            .thenComparing(e -> -e.getValue().count.sum()));
+
+        for (int i = 0; i < repeated.size() && i < MAX_SUMMARY_LINES; i++) {
+            Event event = repeated.get(i).getKey();
+            appender.offer(event.level().prefix() + " [" + s.name + "] " + event.message() + ": "
+                + event.subject() + " ×" + repeated.get(i).getValue().count.sum());
+        }
+        if (repeated.size() > MAX_SUMMARY_LINES) {
+            appender.offer("🔇 [" + s.name + "] … and " + (repeated.size() - MAX_SUMMARY_LINES) + " more repeated events");
+        }
+        for (Level level : Level.values()) {
+            long limited = s.limited[level.ordinal()].sum();
+            if (limited > 0) {
+                appender.offer("🔇 [" + s.name + "] " + limited + " " + level + " lines over "
+                    + level.linesPerSecond() + "/s not printed (counted above)");
+            }
+        }
+        long dropped = appender.dropped() - s.droppedAtStart;
+        if (dropped > 0) appender.offer("🔇 [" + s.name + "] " + dropped + " log lines dropped (console too slow)");
+    }
+
+    private record Event(Level level, String message, String subject) {
+    }
+
+    private static final class Occurrences {
+        final LongAdder count = new LongAdder();
+        volatile boolean printed;
+    }
+
+    private static final class Stage {
+        final String name;
+        final long droppedAtStart;
+        final Map<Event, Occurrences> events = new ConcurrentHashMap<>();
+        final LongAdder[] limited = new LongAdder[Level.values().length];
+
+        Stage(String name, long droppedAtStart) {
+            this.name = name;
+            this.droppedAtStart = droppedAtStart;
+            for (int i = 0; i < limited.length; i++) limited[i] = new LongAdder();
+        }
+    }
+
+    /** Token bucket refilled continuously at {@code rate} per second, holding at most {@code rate} tokens. */
+    private static final class TokenBucket {
+        private final double rate;
+        private double tokens;
+        private long last;
+
+        TokenBucket(int rate, long now) {
+            this.rate = rate;
+            this.tokens = rate;
+            this.last = now;
+        }
+
+        synchronized boolean tryAcquire(long now) {
+            tokens = Math.min(rate, tokens + (now - last) * rate / TimeUnit.SECONDS.toNanos(1));
+            last = now;
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package bond.log;
+
+/**
+ * Severity of a log event, with its console prefix and rate limit.
+ * <p>
+ * Each level has its own token bucket: at most {@link #linesPerSecond()} first occurrences per
+ * second reach the console, with bursts of the same size. Repeats are never printed one by one
+ * (see {@link EventLog}), so the limit only matters when many distinct events arrive at once.
+ */
+public enum Level {
+    DEBUG("🔍", 10),
+    INFO("ℹ️", 20),
+    WARN("⚠️", 20),
+    ERROR("❌", 50);
+
+    private final String prefix;
+    private final int linesPerSecond;
+
+    Level(String prefix, int linesPerSecond) {
+        this.prefix = prefix;
+        this.linesPerSecond = linesPerSecond;
+    }
+
+    public String prefix() {
+        return prefix;
+    }
+
+    public int linesPerSecond() {
+        return linesPerSecond;
+    }
+
+    /** Parses a level name, case-insensitive; {@code fallback} when null or unknown. */
+    public static Level parse(String name, Level fallback) {
+        if (name == null) return fallback;
+        for (Level level : values()) {
+            if (level.name().equalsIgnoreCase(name.trim())) return level;
+        }
+        return fallback;
+    }
+}
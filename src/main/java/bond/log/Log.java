@@ -0,0 +1,72 @@
+package bond.log;
+
+/**
+ * Application-wide {@link EventLog} on the console, for per-bond and per-row warnings.
+ * <p>
+ * The minimum level is read from {@code -Dbond.log.level=debug|info|warn|error} (default info).
+ * Progress messages of the pipeline stay plain {@code System.out} lines; this log is for events
+ * that can repeat once per bond, which are deduplicated per stage and summarised once:
+ * <pre>
+ * Log.stage("score");                                         // Summarises the previous stage
+ * Log.warn("Unparsable row skipped", e.getClass().getSimpleName(), e.getMessage());
+ * Log.tally(Level.WARN, "Unknown issuers defaulted to BBB", issuer); // Reported by endRun()
+ * Log.endRun();
+ * </pre>
+ * Lines still queued when the JVM exits are flushed by a shutdown hook.
+ */
+public final class Log {
+
+    public static final String LEVEL_PROPERTY = "bond.log.level";
+
+    private static final EventLog LOG = new EventLog(System.out, Level.parse(System.getProperty(LEVEL_PROPERTY), Level.INFO));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LOG::flush, "bond-log-flush"));
+    }
+
+    private Log() {
+    }
+
+    public static EventLog get() {
+        return LOG;
+    }
+
+    public static boolean enabled(Level level) {
+        return LOG.enabled(level);
+    }
+
+    public static void debug(String message, Object subject) {
+        LOG.log(Level.DEBUG, message, subject, null);
+    }
+
+    public static void info(String message, Object subject) {
+        LOG.log(Level.INFO, message, subject, null);
+    }
+
+    public static void warn(String message, Object subject) {
+        LOG.log(Level.WARN, message, subject, null);
+    }
+
+    public static void warn(String message, Object subject, Object detail) {
+        LOG.log(Level.WARN, message, subject, detail);
+    }
+
+    public static void error(String message, Object subject, Object detail) {
+        LOG.log(Level.ERROR, message, subject, detail);
+    }
+
+    /** See {@link EventLog#tally}. */
+    public static void tally(Level level, String message, Object subject) {
+        LOG.tally(level, message, subject);
+    }
+
+    /** See {@link EventLog#stage}. */
+    public static void stage(String name) {
+        LOG.stage(name);
+    }
+
+    /** See {@link EventLog#endRun}. */
+    public static void endRun() {
+        LOG.endRun();
+    }
+}
@@ -0,0 +1,121 @@
+package bond.log;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous console appender: a bounded lock-free ring buffer drained by one daemon thread.
+ * <p>
+ * Producers claim a slot with a CAS on the tail and publish the line through the slot's sequence
+ * number (bounded multi-producer queue); a full ring drops the line and counts it instead of
+ * waiting. Only the writer thread touches the {@link PrintStream}, so a slow or blocked console
+ * never stalls the scraping and scoring threads.
+ */
+final class RingAppender {
+
+    static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int MAX_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final PrintStream out;
+    private final int mask;
+    private final AtomicReferenceArray<String> lines;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writer;
+    private long head;             // Writer thread only
+    private volatile long written; // Lines handed to the stream
+
+    /** @param capacity Number of slots, rounded up to a power of two. */
+    RingAppender(PrintStream out, int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.out = out;
+        this.mask = size - 1;
+        this.lines = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+
+        this.writer = new Thread(this::drain, "bond-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Queues one line; returns false (and counts a drop) when the ring is full. Never blocks. */
+    boolean offer(String line) {
+        long pos = tail.get();
+        while (true) {
+            int slot = (int) pos & mask;
+            long diff = sequences.get(slot) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    lines.lazySet(slot, line);
+                    sequences.set(slot, pos + 1);
+                    LockSupport.unpark(writer);
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                dropped.increment();
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /** Lines dropped since creation because the ring was full. */
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * Waits until every queued line has been written, at most {@code timeoutMillis};
+     * returns false on timeout (the console is blocked).
+     */
+    boolean flush(long timeoutMillis) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written < target) {
+            if (System.nanoTime() > deadline) return false;
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return true;
+    }
+
+    private String poll() {
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) return null;
+        String line = lines.get(slot);
+        lines.lazySet(slot, null);
+        sequences.set(slot, head + mask + 1);
+        head++;
+        return line;
+    }
+
+    private void drain() {
+        StringBuilder batch = new StringBuilder(4096);
+        String eol = System.lineSeparator();
+        while (true) {
+            int count = 0;
+            for (String line; count < MAX_BATCH && (line = poll()) != null; count++) {
+                batch.append(line).append(eol);
+            }
+            if (count == 0) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            out.print(batch);
+            out.flush();
+            batch.setLength(0);
+            written = written + count; // Single writer
+        }
+    }
+}
@@ -19,6 +19,11 @@ public class Bond {
     double finalCapitalToMat;
     double simpleAnnualYield;
     String rating;  // Rating based on issuer
+    int ratingRank; // Rating.rank() of the rating above (AAA = 10, BBB = 2)
+    double yieldToMat = Double.NaN;  // Yield to maturity (%) from the price, see SpreadEngine
+    double spreadBp = Double.NaN;    // YTM - German curve (bp), EUR bonds only
+    double richCheapBp = Double.NaN; // YTM - own issuer curve (bp), > 0 = cheap
+    int skylineDepth = -1;           // Pareto layer, 0 = on the frontier, -1 = not ranked (see SkylineEngine)
 
     public Bond(String isin, String issuer, double price, String currency,
                 double priceEur, double couponPct,
@@ -34,8 +39,13 @@ public class Bond {
     }
 
     public double getYearsToMaturity() {
+        return getYearsToMaturity(LocalDate.now());
+    }
+
+    /** Years to maturity measured from the given valuation date (used when replaying history). */
+    public double getYearsToMaturity(LocalDate asOf) {
         if (maturity == null) return -1;
-        long days = ChronoUnit.DAYS.between(LocalDate.now(), maturity);
+        long days = ChronoUnit.DAYS.between(asOf, maturity);
         return Math.max(0.1, days / 365.25);
     }
 }
\ No newline at end of file
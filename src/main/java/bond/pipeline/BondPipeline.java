@@ -0,0 +1,217 @@
+package bond.pipeline;
+
+import bond.isin.IsinMap;
+import bond.model.Bond;
+import bond.scoring.BondScoreEngine;
+import bond.scrape.BondScraper;
+import bond.source.BondRow;
+import bond.source.BondSource;
+import bond.source.MonitorCache;
+import bond.source.RowFilter;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Row-level streaming run of scrape → score → sinks on {@link java.util.concurrent.Flow}.
+ * <pre>
+ *   read     rows of each source, in priority order         (calling thread)
+ *     ↓ bounded buffer
+ *   build    BondScraper.toBond: row filters, issuer normalisation, rating, EUR price
+ *   dedupe   first source wins, by packed ISIN               (one pipeline thread)
+ *   score    BondScoreEngine.score
+ *     ↓ bounded buffer per sink
+ *   sinks    export files, ...                                (one thread per sink)
+ * </pre>
+ * Each arrow is a {@link SubmissionPublisher} holding at most {@code buffer} items per
+ * subscriber: when a stage falls behind, {@code submit} blocks the stage before it, down to the
+ * reader. A bond reaches the sinks as soon as its row is parsed, and the run holds the buffers,
+ * the ISIN index (about 50 bytes per distinct bond) and the sources being read, not the
+ * universe: monitor pages download and parse whole before streaming, CSV and JSON files stream
+ * lazily. The next {@value #PREFETCH} sources are fetched while one is read.
+ * <p>
+ * Issuer curves and spreads are fitted on the whole universe, and the HTML report sorts all of
+ * it, so both stay on the materialised path ({@link bond.BondApp} report mode).
+ */
+public class BondPipeline {
+
+    public static final int DEFAULT_BUFFER = 1024;
+
+    /** Sources fetched ahead of the one being read. */
+    static final int PREFETCH = 2;
+
+    /** A source row with the filters of its source. */
+    private record SourceRow(BondRow row, RowFilter filter) {
+    }
+
+    /**
+     * Outcome of a run.
+     *
+     * @param rows        rows read from the sources
+     * @param bonds       distinct bonds passed to the sinks
+     * @param index       ISIN → position of the bond in the sinks' order (row of the export files)
+     * @param firstNanos  time from the start to the first bond leaving the score stage, or -1
+     * @param totalNanos  time until every sink completed
+     */
+    public record Result(long rows, int bonds, IsinMap<Integer> index, long firstNanos, long totalNanos) {
+    }
+
+    private final BondScraper scraper;
+    private final Map<String, Double> fx;
+    private final String reportCurrency;
+    private final LocalDate asOf;
+    private final int buffer;
+
+    public BondPipeline(BondScraper scraper, Map<String, Double> fx, String reportCurrency, LocalDate asOf) {
+        this(scraper, fx, reportCurrency, asOf, DEFAULT_BUFFER);
+    }
+
+    /**
+     * @param fx     ECB rates (1 EUR = X CCY), for EUR prices and scoring
+     * @param buffer Items a stage may hold for each subscriber before blocking its producer
+     */
+    public BondPipeline(BondScraper scraper, Map<String, Double> fx, String reportCurrency, LocalDate asOf, int buffer) {
+        this.scraper = scraper;
+        this.fx = fx;
+        this.reportCurrency = reportCurrency;
+        this.asOf = asOf;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Streams the rows of {@code sources} (priority order) into {@code sinks}; returns when every
+     * sink has completed.
+     *
+     * @throws Exception the first failure of a source, of a stage or of a sink
+     */
+    public Result run(List<BondSource> sources, List<? extends BondSink> sinks) throws Exception {
+        ExecutorService executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "bond-pipeline");
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        try {
+            BondStage stage = new BondStage(executor);
+            long rows;
+            try (SubmissionPublisher<SourceRow> reader = new SubmissionPublisher<>(executor, buffer)) {
+                reader.subscribe(stage);
+                sinks.forEach(stage::subscribe);
+                try {
+                    rows = read(sources, reader, executor);
+                } catch (Exception e) {
+                    reader.closeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            await(stage.finished);
+            for (BondSink sink : sinks) await(sink.done());
+            long first = stage.firstNanos == 0 ? -1 : stage.firstNanos - start;
+            return new Result(rows, stage.index.size(), stage.index, first, System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+            MonitorCache.flushShared();
+        }
+    }
+
+    /** Submits every row, source after source; blocks whenever the build stage is a buffer behind. */
+    private long read(List<BondSource> sources, SubmissionPublisher<SourceRow> reader, ExecutorService executor) throws Exception {
+        Deque<Future<Stream<BondRow>>> fetched = new ArrayDeque<>();
+        int next = 0;
+        long rows = 0;
+        try {
+            for (BondSource source : sources) {
+                while (next < sources.size() && fetched.size() <= PREFETCH) {
+                    BondSource ahead = sources.get(next++);
+                    fetched.add(executor.submit(() -> {
+                        System.out.println("🌐 Scraping: " + ahead.id());
+                        return ahead.rows();
+                    }));
+                }
+                RowFilter filter = source.filter();
+                try (Stream<BondRow> stream = await(fetched.poll())) {
+                    for (Iterator<BondRow> it = stream.iterator(); it.hasNext(); rows++) {
+                        // No subscriber left: the build stage failed, run() reports why
+                        if (reader.getNumberOfSubscribers() == 0) return rows;
+                        reader.submit(new SourceRow(it.next(), filter));
+                    }
+                }
+            }
+            return rows;
+        } finally {
+            for (Future<Stream<BondRow>> f : fetched) {
+                f.cancel(true);
+                if (f.isDone() && !f.isCancelled()) {
+                    try {
+                        f.get().close();
+                    } catch (Exception ignored) {
+                        // Not read anyway
+                    }
+                }
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    /** build → dedupe → score, publishing each new bond to the sinks. */
+    private final class BondStage extends SubmissionPublisher<Bond> implements Flow.Processor<SourceRow, Bond> {
+
+        final IsinMap<Integer> index = new IsinMap<>();
+        final CompletableFuture<Void> finished = new CompletableFuture<>();
+        volatile long firstNanos;
+        private Flow.Subscription subscription;
+
+        BondStage(Executor executor) {
+            super(executor, buffer);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(buffer);
+        }
+
+        @Override
+        public void onNext(SourceRow item) {
+            try {
+                Bond bond = scraper.toBond(item.row(), item.filter(), fx);
+                // putIfAbsent keeps the first version found (source order = priority)
+                if (bond != null && bond.getIsin() != null && index.putIfAbsent(bond.getIsin(), index.size()) == null) {
+                    BondScoreEngine.score(bond, reportCurrency, fx, asOf);
+                    if (firstNanos == 0) firstNanos = System.nanoTime();
+                    submit(bond); // Blocks while a sink is a full buffer behind
+                }
+                subscription.request(1);
+            } catch (RuntimeException e) {
+                subscription.cancel();
+                onError(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            closeExceptionally(error);
+            finished.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            close();
+            finished.complete(null);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package bond.pipeline;
+
+import bond.model.Bond;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * End of a {@link BondPipeline}: receives the scored bonds one by one, on its own thread.
+ * <p>
+ * Demand is requested in batches of {@code batch} bonds, and the publisher never holds more
+ * than its buffer for a sink, so a slow sink (disk, network) slows the parser down instead of
+ * letting bonds pile up in memory. A failing sink cancels its subscription; the pipeline reports
+ * the failure once the other sinks are done.
+ */
+public abstract class BondSink implements Flow.Subscriber<Bond> {
+
+    private final CompletableFuture<Void> done = new CompletableFuture<>();
+    private final int batch;
+    private Flow.Subscription subscription;
+    private int remaining; // Bonds still to receive from the last request
+
+    protected BondSink() {
+        this(256);
+    }
+
+    protected BondSink(int batch) {
+        this.batch = batch;
+    }
+
+    /** Handles one bond. */
+    protected abstract void accept(Bond bond) throws Exception;
+
+    /** Called once after the last bond (flush, close). */
+    protected void complete() throws Exception {
+    }
+
+    /** Called instead of {@link #complete()} when the pipeline or this sink failed (release resources). */
+    protected void abort() {
+    }
+
+    /** Completes when the sink has received every bond, exceptionally if the run failed. */
+    public CompletableFuture<Void> done() {
+        return done;
+    }
+
+    @Override
+    public final void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        remaining = batch;
+        subscription.request(batch);
+    }
+
+    @Override
+    public final void onNext(Bond bond) {
+        if (done.isDone()) return;
+        try {
+            accept(bond);
+        } catch (Exception e) {
+            subscription.cancel();
+            fail(e);
+            return;
+        }
+        if (--remaining == 0) {
+            remaining = batch;
+            subscription.request(batch);
+        }
+    }
+
+    @Override
+    public final void onError(Throwable error) {
+        fail(error);
+    }
+
+    @Override
+    public final void onComplete() {
+        if (done.isDone()) return;
+        try {
+            complete();
+            done.complete(null);
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    private void fail(Throwable error) {
+        if (done.isDone()) return;
+        abort();
+        done.completeExceptionally(error);
+    }
+}
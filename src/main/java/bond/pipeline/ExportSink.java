@@ -0,0 +1,45 @@
+package bond.pipeline;
+
+import bond.export.UniverseExporter;
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Writes the streamed bonds to the export files (CSV, JSON Lines, Arrow) as they arrive, through
+ * {@link UniverseExporter#open}. Spread columns are empty: curves need the whole universe.
+ */
+public class ExportSink extends BondSink {
+
+    private final UniverseExporter.RowWriter out;
+
+    public ExportSink(Path dir, Set<UniverseExporter.Format> formats) throws IOException {
+        this.out = new UniverseExporter().open(dir, formats);
+    }
+
+    /** Bonds written so far. */
+    public long rows() {
+        return out.rows();
+    }
+
+    @Override
+    protected void accept(Bond bond) throws IOException {
+        out.write(bond);
+    }
+
+    @Override
+    protected void complete() throws IOException {
+        out.close();
+    }
+
+    @Override
+    protected void abort() {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // The run already failed; its error is the one reported
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package bond.portfolio;
+
+/**
+ * Projected cash flows of one calendar year, in the report currency, after the FX haircuts
+ * used by {@link bond.scoring.BondScoreEngine} (COUPON phase for coupons, MATURITY phase for
+ * redemptions).
+ */
+public record CashFlowYear(int year, double couponsEur, double redemptionsEur) {
+
+    public double totalEur() {
+        return couponsEur + redemptionsEur;
+    }
+}
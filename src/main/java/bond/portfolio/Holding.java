@@ -0,0 +1,12 @@
+package bond.portfolio;
+
+/**
+ * One line of a portfolio CSV (same format as the export of the browser Portfolio Analyzer).
+ *
+ * @param isin        Bond ISIN, used to join the scored universe.
+ * @param issuer      Issuer as written in the file (informational only).
+ * @param quantity    Number of bonds held (100 nominal each, like the report prices).
+ * @param investedEur Amount paid, in EUR (0 if unknown).
+ */
+public record Holding(String isin, String issuer, double quantity, double investedEur) {
+}
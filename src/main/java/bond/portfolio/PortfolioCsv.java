@@ -0,0 +1,228 @@
+package bond.portfolio;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Streaming reader / writer for the portfolio CSV format of the Portfolio Analyzer:
+ * <pre>
+ *   ISIN,Issuer,Quantity,Investment EUR,Coupon %,Rating,Currency,Maturity
+ *   IT0005580094,"ITALIA",10,10250.00,4.0,"BBB+",EUR,2031-02-15
+ * </pre>
+ * Columns are located by header name (case-insensitive), so broker exports with extra or
+ * reordered columns are accepted as long as they contain ISIN and Quantity. Only ISIN,
+ * Issuer, Quantity and Investment EUR are read: market data always comes from the current
+ * scored universe, exactly like the browser import.
+ * <p>
+ * The file is scanned character by character with one reusable field buffer, and each
+ * holding is handed to the consumer as soon as its line ends, so arbitrarily large files
+ * are processed in constant memory.
+ */
+public final class PortfolioCsv {
+
+    public static final String HEADER = "ISIN,Issuer,Quantity,Investment EUR,Coupon %,Rating,Currency,Maturity";
+
+    private PortfolioCsv() {
+    }
+
+    /** Reads all holdings of a file into a list. */
+    public static List<Holding> read(Path file) throws IOException {
+        List<Holding> holdings = new ArrayList<>();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            read(in, holdings::add);
+        }
+        return holdings;
+    }
+
+    /**
+     * Streams the holdings of a CSV to {@code sink}. Lines without an ISIN or with an
+     * unparseable quantity are skipped.
+     *
+     * @return Number of holdings emitted.
+     */
+    public static int read(Reader in, Consumer<Holding> sink) throws IOException {
+        char[] buf = new char[64 * 1024];
+        StringBuilder field = new StringBuilder(32);
+        List<String> row = new ArrayList<>(8);
+        int[] columns = null;     // Indices of isin, issuer, quantity, invested
+        boolean[] wanted = null;  // Columns worth materialising as String (others are skipped)
+        int emitted = 0;
+
+        boolean quoted = false;     // Inside a quoted field
+        boolean quoteSeen = false;  // Previous char was a quote inside a quoted field
+        boolean first = true;
+
+        int n;
+        while ((n = in.read(buf)) != -1 || !field.isEmpty() || !row.isEmpty()) {
+            // n == -1: end of input with a last line not terminated by '\n'
+            int len = n == -1 ? 1 : n;
+            for (int i = 0; i < len; i++) {
+                char c = n == -1 ? '\n' : buf[i];
+                if (first) {
+                    first = false;
+                    if (c == '\uFEFF') continue; // UTF-8 BOM written by spreadsheet exports
+                }
+
+                if (quoted) {
+                    if (quoteSeen) {
+                        quoteSeen = false;
+                        if (c == '"') {
+                            field.append('"'); // Escaped quote
+                            continue;
+                        }
+                        quoted = false;  // Closing quote: c is handled below
+                    } else if (c == '"') {
+                        quoteSeen = true;
+                        continue;
+                    } else if (n == -1) {
+                        quoted = false;  // Unterminated quote at end of input
+                    } else {
+                        field.append(c);
+                        continue;
+                    }
+                }
+
+                if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    int col = row.size();
+                    row.add(wanted == null || (col < wanted.length && wanted[col]) ? field.toString() : "");
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    if (!field.isEmpty() || !row.isEmpty()) {
+                        row.add(trimCr(field));
+                        field.setLength(0);
+
+                        if (columns == null) {
+                            columns = resolveColumns(row);
+                            wanted = new boolean[Math.max(row.size(), 4)];
+                            for (int col : columns) if (col >= 0) wanted[col] = true;
+                        } else {
+                            Holding h = toHolding(row, columns);
+                            if (h != null) {
+                                sink.accept(h);
+                                emitted++;
+                            }
+                        }
+                        row.clear();
+                    }
+                } else {
+                    field.append(c);
+                }
+            }
+            if (n == -1) break;
+        }
+        return emitted;
+    }
+
+    /** Writes positions back in the Portfolio Analyzer export format. */
+    public static void write(List<Position> positions, Writer out) throws IOException {
+        out.write(HEADER);
+        out.write('\n');
+        for (Position p : positions) {
+            out.write(String.format(Locale.ROOT, "%s,\"%s\",%s,%.2f,%s,\"%s\",%s,%s%n",
+                p.bond().getIsin(),
+                p.bond().getIssuer().replace("\"", "\"\""),
+                number(p.holding().quantity()),
+                p.holding().investedEur(),
+                number(p.bond().getCouponPct()),
+                p.bond().getRating(),
+                p.bond().getCurrency(),
+                p.bond().getMaturity()));
+        }
+    }
+
+    private static int[] resolveColumns(List<String> header) {
+        int[] columns = {-1, -1, -1, -1};
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+            if (name.equals("isin")) columns[0] = i;
+            else if (name.equals("issuer")) columns[1] = i;
+            else if (name.equals("quantity")) columns[2] = i;
+            else if (name.startsWith("investment")) columns[3] = i;
+        }
+        // Header-less files: assume the exported column order
+        if (columns[0] < 0 && columns[2] < 0) return new int[]{0, 1, 2, 3};
+        return columns;
+    }
+
+    private static Holding toHolding(List<String> row, int[] columns) {
+        String isin = cell(row, columns[0]).trim();
+        if (isin.isEmpty()) return null;
+
+        double quantity = amount(cell(row, columns[2]));
+        if (Double.isNaN(quantity)) return null;
+
+        double invested = amount(cell(row, columns[3]));
+        return new Holding(isin, cell(row, columns[1]).trim(), quantity, Double.isNaN(invested) ? 0 : invested);
+    }
+
+    private static String cell(List<String> row, int index) {
+        return index >= 0 && index < row.size() ? row.get(index) : "";
+    }
+
+    private static final double[] POW10 = {1, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+    /** Parses "10250.00", "€10250", " 10 " (anything but digits, '.' and '-' is ignored). */
+    static double amount(String s) {
+        // Fast path for plain "123" / "-123.45": exact when mantissa < 2^53 and scale ≤ 15
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean negative = false;
+        boolean plain = !s.isEmpty();
+        for (int i = 0; i < s.length() && plain; i++) {
+            char ch = s.charAt(i);
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + (ch - '0');
+                if (++digits > 15) plain = false;
+                if (scale >= 0) scale++;
+            } else if (ch == '.' && scale < 0) {
+                scale = 0;
+            } else if (ch == '-' && i == 0) {
+                negative = true;
+            } else {
+                plain = false;
+            }
+        }
+        if (plain && digits > 0) {
+            double v = scale > 0 ? mantissa / POW10[scale] : mantissa;
+            return negative ? -v : v;
+        }
+
+        StringBuilder sb = null;
+        for (int i = 0; i < s.length(); i++) {
+            char ch = s.charAt(i);
+            if ((ch < '0' || ch > '9') && ch != '.' && ch != '-') {
+                if (sb == null) sb = new StringBuilder(s.length()).append(s, 0, i);
+            } else if (sb != null) {
+                sb.append(ch);
+            }
+        }
+        String clean = sb == null ? s : sb.toString();
+        if (clean.isEmpty()) return Double.NaN;
+        try {
+            return Double.parseDouble(clean);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String trimCr(StringBuilder field) {
+        int len = field.length();
+        if (len > 0 && field.charAt(len - 1) == '\r') field.setLength(len - 1);
+        return field.toString();
+    }
+
+    private static String number(double v) {
+        return v == Math.rint(v) ? Long.toString((long) v) : Double.toString(v);
+    }
+}
@@ -0,0 +1,180 @@
+package bond.portfolio;
+
+import bond.fx.FxService;
+import bond.fx.FxService.FxPhase;
+import bond.isin.IsinMap;
+import bond.model.Bond;
+import bond.rating.Rating;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Server-side portfolio projection: the statistics of the browser Portfolio Analyzer plus a
+ * year-by-year cash-flow calendar.
+ * <p>
+ * Strategy:
+ * 1. Holdings are streamed from the CSV and joined to the scored universe by ISIN
+ *    (one hash lookup per line; unknown ISINs are reported, not fatal)
+ * 2. Quantities are summed per ISIN; since every statistic is linear in the quantity,
+ *    statistics and calendar are then computed once per distinct bond, not per line
+ * 3. Calendar:
+ *    an annual coupon on each maturity anniversary after {@code asOf}, and 100 × quantity
+ *    redeemed in the maturity year
+ * 4. Amounts are converted at today's spot, reduced by the haircut of the COUPON phase
+ *    (coupons) or MATURITY phase (redemptions) of {@link FxService#fxExpectedMultiplier},
+ *    with the same horizon as {@link bond.scoring.BondScoreEngine}, so the calendar is
+ *    stressed like the capital the SAY is based on
+ */
+public class PortfolioEngine {
+
+    private final IsinMap<Bond> universe;
+    private final Map<String, Double> fx;
+    private final String reportCurrency;
+    private final LocalDate asOf;
+
+    /**
+     * @param bonds          Scored universe (bonds without ISIN are ignored).
+     * @param fx             ECB rates (1 EUR = X CCY) used for spot and haircut multipliers.
+     * @param reportCurrency Currency of the projection (e.g. EUR).
+     * @param asOf           Valuation date.
+     */
+    public PortfolioEngine(List<Bond> bonds, Map<String, Double> fx, String reportCurrency, LocalDate asOf) {
+        this.universe = IsinMap.index(bonds, Bond::getIsin);
+        this.fx = fx;
+        this.reportCurrency = reportCurrency;
+        this.asOf = asOf;
+    }
+
+    /** Streams a portfolio CSV (Portfolio Analyzer format) straight into the projection. */
+    public PortfolioProjection project(Reader csv) throws IOException {
+        Accumulator acc = new Accumulator();
+        PortfolioCsv.read(csv, acc::add);
+        return acc.build();
+    }
+
+    public PortfolioProjection project(Iterable<Holding> holdings) {
+        Accumulator acc = new Accumulator();
+        holdings.forEach(acc::add);
+        return acc.build();
+    }
+
+    /** Running totals of one projection (not thread-safe; one per call). */
+    private final class Accumulator {
+        final List<Position> positions = new ArrayList<>();
+        final Set<String> unmatched = new LinkedHashSet<>();
+        final IsinMap<Line> byIsin = new IsinMap<>();
+        double invested;
+
+        /** Quantity held per distinct bond: every statistic is linear in it. */
+        final class Line {
+            final Bond bond;
+            double quantity;
+
+            Line(Bond bond) {
+                this.bond = bond;
+            }
+        }
+
+        void add(Holding h) {
+            Line line = byIsin.get(h.isin());
+            if (line == null) {
+                Bond b = universe.get(h.isin());
+                if (b == null) {
+                    unmatched.add(h.isin());
+                    return;
+                }
+                line = new Line(b);
+                byIsin.put(b.getIsin(), line);
+            }
+
+            line.quantity += h.quantity();
+            invested += h.investedEur();
+            positions.add(new Position(h, line.bond, line.bond.getPriceEur() * h.quantity()));
+        }
+
+        PortfolioProjection build() {
+            Map<String, Double> spotByCurrency = new HashMap<>();
+            Map<String, Double> currencyBreakdown = new TreeMap<>();
+            double marketValue = 0, annualCoupon = 0;
+            double saySum = 0, yieldSum = 0, couponSum = 0, yearsSum = 0, rankSum = 0;
+
+            int baseYear = asOf.getYear();
+            double[] coupons = new double[64];
+            double[] redemptions = new double[64];
+            int lastYear = baseYear - 1;
+
+            for (Line line : byIsin.values()) {
+                Bond b = line.bond;
+                double q = line.quantity;
+                double years = b.getYearsToMaturity(asOf);
+
+                // Report-currency value of one unit of the bond currency (ECB map: 1 EUR = X CCY)
+                double spot = spotByCurrency.computeIfAbsent(b.getCurrency(),
+                    c -> FxService.getExchangeRate(fx, reportCurrency, c));
+
+                // --- Statistics (market-value weighted) ---
+                double mv = b.getPriceEur() * q;
+                marketValue += mv;
+                annualCoupon += b.getCouponPct() * q * spot;
+                saySum += b.getSimpleAnnualYield() * mv;
+                yieldSum += b.getCurrentYield() * mv;
+                couponSum += b.getCouponPct() * mv;
+                yearsSum += Math.max(0, years) * mv;
+                rankSum += b.getRatingRank() * mv;
+                currencyBreakdown.merge(b.getCurrency(), mv, Double::sum);
+
+                // --- Cash-flow calendar ---
+                LocalDate maturity = b.getMaturity();
+                if (maturity == null || !maturity.isAfter(asOf)) continue; // Already redeemed
+
+                // Same multipliers as the scoring; only their ratio to the BUY multiplier
+                // (1 − haircut) is applied on top of today's spot value
+                int horizon = (int) years;
+                double fxInitial = FxService.fxExpectedMultiplier(fx, b.getCurrency(), reportCurrency, FxPhase.BUY, horizon);
+                double fxCoupon = spot * FxService.fxExpectedMultiplier(fx, b.getCurrency(), reportCurrency, FxPhase.COUPON, horizon) / fxInitial;
+                double fxFuture = spot * FxService.fxExpectedMultiplier(fx, b.getCurrency(), reportCurrency, FxPhase.MATURITY, horizon) / fxInitial;
+
+                int maturityYear = maturity.getYear();
+                int size = maturityYear - baseYear + 1;
+                if (size > coupons.length) {
+                    int grown = Math.max(size, coupons.length * 2);
+                    coupons = Arrays.copyOf(coupons, grown);
+                    redemptions = Arrays.copyOf(redemptions, grown);
+                }
+                lastYear = Math.max(lastYear, maturityYear);
+
+                int firstYear = maturity.withYear(baseYear).isAfter(asOf) ? baseYear : baseYear + 1;
+                double coupon = b.getCouponPct() * q * fxCoupon;
+                for (int y = firstYear; y <= maturityYear; y++) {
+                    coupons[y - baseYear] += coupon;
+                }
+                redemptions[maturityYear - baseYear] += 100 * q * fxFuture;
+            }
+
+            List<CashFlowYear> calendar = new ArrayList<>(Math.max(0, lastYear - baseYear + 1));
+            for (int y = baseYear; y <= lastYear; y++) {
+                calendar.add(new CashFlowYear(y, coupons[y - baseYear], redemptions[y - baseYear]));
+            }
+
+            double mv = marketValue;
+            return new PortfolioProjection(
+                asOf,
+                reportCurrency,
+                Collections.unmodifiableList(positions),
+                List.copyOf(unmatched),
+                invested,
+                mv,
+                annualCoupon,
+                mv > 0 ? saySum / mv : 0,
+                mv > 0 ? yieldSum / mv : 0,
+                mv > 0 ? couponSum / mv : 0,
+                mv > 0 ? yearsSum / mv : 0,
+                mv > 0 ? Rating.ofRank((int) Math.round(rankSum / mv)) : null,
+                Collections.unmodifiableMap(currencyBreakdown),
+                calendar);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package bond.portfolio;
+
+import bond.rating.Rating;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aggregate statistics and cash-flow calendar of a portfolio, as computed by
+ * {@link PortfolioEngine}. Weighted figures use the current market value as weight,
+ * like the statistics panel of the browser Portfolio Analyzer.
+ *
+ * @param asOf                 Valuation date.
+ * @param reportCurrency       Currency of every amount (e.g. EUR).
+ * @param positions            Holdings found in the universe, in file order.
+ * @param unmatchedIsins       ISINs of the file that are not in the current universe.
+ * @param investedEur          Sum of the "Investment EUR" column.
+ * @param marketValueEur       Sum of EUR price × quantity.
+ * @param annualCouponEur      Coupons of one year at today's spot rate (no haircut).
+ * @param weightedSay          Market-value weighted SAY (%).
+ * @param weightedCurrentYield Market-value weighted current yield (%).
+ * @param weightedCoupon       Market-value weighted coupon (%).
+ * @param weightedYears        Market-value weighted years to maturity.
+ * @param weightedRating       Rating of the market-value weighted average rank.
+ * @param currencyBreakdown    Market value per bond currency.
+ * @param calendar             Year-by-year coupons and redemptions, FX haircut applied.
+ */
+public record PortfolioProjection(
+    LocalDate asOf,
+    String reportCurrency,
+    List<Position> positions,
+    List<String> unmatchedIsins,
+    double investedEur,
+    double marketValueEur,
+    double annualCouponEur,
+    double weightedSay,
+    double weightedCurrentYield,
+    double weightedCoupon,
+    double weightedYears,
+    Rating weightedRating,
+    Map<String, Double> currencyBreakdown,
+    List<CashFlowYear> calendar) {
+
+    public double profitEur() {
+        return marketValueEur - investedEur;
+    }
+
+    /** Sum of every projected coupon and redemption. */
+    public double totalCashFlowEur() {
+        return calendar.stream().mapToDouble(CashFlowYear::totalEur).sum();
+    }
+
+    /** Multi-line summary used by the CLI. */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "📦 %d positions (%d ISINs not in the current universe)%n",
+            positions.size(), unmatchedIsins.size()));
+        sb.append(String.format(Locale.ROOT, "💶 Invested %,.2f %s | market value %,.2f | profit %,.2f%n",
+            investedEur, reportCurrency, marketValueEur, profitEur()));
+        sb.append(String.format(Locale.ROOT, "📈 SAY %.2f%% | current yield %.2f%% | coupon %.2f%% | %.2f yrs | rating %s%n",
+            weightedSay, weightedCurrentYield, weightedCoupon, weightedYears,
+            weightedRating == null ? "-" : weightedRating.label()));
+        sb.append(String.format(Locale.ROOT, "💰 Annual coupon income %,.2f | projected cash flows %,.2f%n",
+            annualCouponEur, totalCashFlowEur()));
+        currencyBreakdown.forEach((ccy, value) -> sb.append(String.format(Locale.ROOT, "   %s %5.1f%%%n",
+            ccy, marketValueEur > 0 ? value * 100 / marketValueEur : 0)));
+        return sb.toString();
+    }
+
+    /** Writes the cash-flow calendar as CSV: year, coupons, redemptions, total. */
+    public void writeCalendarCsv(Writer out) throws IOException {
+        out.write("year,coupons" + reportCurrency + ",redemptions" + reportCurrency + ",total" + reportCurrency + "\n");
+        for (CashFlowYear y : calendar) {
+            out.write(String.format(Locale.ROOT, "%d,%.2f,%.2f,%.2f%n",
+                y.year(), y.couponsEur(), y.redemptionsEur(), y.totalEur()));
+        }
+    }
+}
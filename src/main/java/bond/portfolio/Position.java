@@ -0,0 +1,13 @@
+package bond.portfolio;
+
+import bond.model.Bond;
+
+/**
+ * A holding joined to its bond in the current scored universe.
+ *
+ * @param holding       The CSV line.
+ * @param bond          Current market data and scores for the ISIN.
+ * @param marketValueEur Current value: EUR price × quantity.
+ */
+public record Position(Holding holding, Bond bond, double marketValueEur) {
+}
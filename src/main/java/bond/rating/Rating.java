@@ -0,0 +1,111 @@
+package bond.rating;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sovereign credit rating on the S&amp;P / Fitch scale, with an integer rank
+ * (higher = better quality, AAA = 10, BBB = 2, D = -9).
+ * <p>
+ * Parsing accepts the S&amp;P / Fitch notation ("AA-", "BBB+") as well as Moody's
+ * ("Aa3", "Baa1"), mapped to the equivalent notch. Sub-CCC notches are collapsed
+ * into CCC / CC / C, defaults (D, SD, RD) into D.
+ */
+public enum Rating {
+    AAA("AAA", 10),
+    AA_PLUS("AA+", 9),
+    AA("AA", 8),
+    AA_MINUS("AA-", 7),
+    A_PLUS("A+", 6),
+    A("A", 5),
+    A_MINUS("A-", 4),
+    BBB_PLUS("BBB+", 3),
+    BBB("BBB", 2),
+    BBB_MINUS("BBB-", 1),
+    BB_PLUS("BB+", 0),
+    BB("BB", -1),
+    BB_MINUS("BB-", -2),
+    B_PLUS("B+", -3),
+    B("B", -4),
+    B_MINUS("B-", -5),
+    CCC("CCC", -6),
+    CC("CC", -7),
+    C("C", -8),
+    D("D", -9);
+
+    /** Rating assumed when an issuer or a notation is unknown. */
+    public static final Rating DEFAULT = BBB;
+
+    private static final Map<String, Rating> BY_NOTATION = new HashMap<>();
+
+    static {
+        for (Rating r : values()) BY_NOTATION.put(r.label, r);
+
+        // Moody's scale
+        String[][] moodys = {
+            {"AAA", "AAA"}, {"AA1", "AA+"}, {"AA2", "AA"}, {"AA3", "AA-"},
+            {"A1", "A+"}, {"A2", "A"}, {"A3", "A-"},
+            {"BAA1", "BBB+"}, {"BAA2", "BBB"}, {"BAA3", "BBB-"},
+            {"BA1", "BB+"}, {"BA2", "BB"}, {"BA3", "BB-"},
+            {"B1", "B+"}, {"B2", "B"}, {"B3", "B-"},
+            {"CAA1", "CCC"}, {"CAA2", "CCC"}, {"CAA3", "CCC"}, {"CA", "CC"}
+        };
+        for (String[] m : moodys) BY_NOTATION.put(m[0], BY_NOTATION.get(m[1]));
+
+        // S&P / Fitch variants
+        BY_NOTATION.put("CCC+", CCC);
+        BY_NOTATION.put("CCC-", CCC);
+        BY_NOTATION.put("SD", D);
+        BY_NOTATION.put("RD", D);
+        BY_NOTATION.put("DDD", D);
+    }
+
+    private final String label;
+    private final int rank;
+
+    Rating(String label, int rank) {
+        this.label = label;
+        this.rank = rank;
+    }
+
+    /** S&amp;P-style notation, as displayed in the report ("AA-"). */
+    public String label() {
+        return label;
+    }
+
+    public int rank() {
+        return rank;
+    }
+
+    public boolean isAtLeast(Rating minimum) {
+        return rank >= minimum.rank;
+    }
+
+    /**
+     * Parses an agency notation.
+     *
+     * @param notation e.g. "AA-", "Baa2", "(P)A1", "BBB+ *-"
+     * @return the rating, or null if empty / not rated / not recognised
+     */
+    public static Rating parse(String notation) {
+        if (notation == null) return null;
+        String s = notation.trim().toUpperCase();
+        if (s.startsWith("(P)")) s = s.substring(3);
+        int space = s.indexOf(' ');
+        if (space > 0) s = s.substring(0, space);
+        return BY_NOTATION.get(s);
+    }
+
+    /** Rating with the given rank, clamped to the AAA..D range (used for weighted averages). */
+    public static Rating ofRank(int rank) {
+        Rating[] all = values();
+        int index = AAA.rank - rank; // Ranks are contiguous, AAA first
+        return all[Math.max(0, Math.min(all.length - 1, index))];
+    }
+
+    /** Same as {@link #parse(String)} but falls back to {@link #DEFAULT}. */
+    public static Rating parseOrDefault(String notation) {
+        Rating r = parse(notation);
+        return r != null ? r : DEFAULT;
+    }
+}
@@ -0,0 +1,42 @@
+package bond.rating;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * How the S&amp;P, Moody's and Fitch ratings of an issuer are combined into one rating.
+ * Selected with the system property {@code bond.rating.composite} (default MEDIAN).
+ */
+public enum RatingComposite {
+    /** Lowest of the available agency ratings. */
+    WORST_OF,
+    /** Middle rating; with two ratings the lower one (index-provider convention). */
+    MEDIAN,
+    /** Highest of the available agency ratings. */
+    BEST_OF;
+
+    public static final String PROPERTY = "bond.rating.composite";
+
+    public static RatingComposite configured() {
+        return valueOf(System.getProperty(PROPERTY, MEDIAN.name()).trim().toUpperCase().replace('-', '_'));
+    }
+
+    /**
+     * Combines agency ratings; null entries (not rated by that agency) are ignored.
+     *
+     * @return the composite, or null if no agency rates the issuer
+     */
+    public Rating combine(List<Rating> agencyRatings) {
+        Rating[] r = agencyRatings.stream().filter(Objects::nonNull).toArray(Rating[]::new);
+        if (r.length == 0) return null;
+
+        // Enum order is best → worst, so a descending-rank sort is the natural order
+        Arrays.sort(r);
+        return switch (this) {
+            case BEST_OF -> r[0];
+            case WORST_OF -> r[r.length - 1];
+            case MEDIAN -> r[r.length / 2];
+        };
+    }
+}
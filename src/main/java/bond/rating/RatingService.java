@@ -1,5 +1,10 @@
 package bond.rating;
 
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransports;
+import bond.log.Level;
+import bond.log.Log;
 import bond.scrape.CountryNormalizer;
 import org.jsoup.nodes.Document;
 import org.jsoup.Jsoup;
@@ -7,7 +12,9 @@ import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -15,9 +22,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * Service to map COUNTRIES to sovereign ratings.
  * <p>
  * Strategy:
- * 1. Normalize the country name using CountryNormalizer.normalize()
+ * 1. Normalize the country name using CountryNormalizer.normalize() (aliases, then closest known name)
  * 2. Look up the normalized name in COUNTRY_TO_RATING
- * 3. If not found, return "BBB" by default
+ * 3. If not found, return "BBB" by default (unknown issuers are listed once at the end of the run, see {@link Log})
+ * <p>
+ * Every rated country is registered with {@link CountryNormalizer#addKnownNames}, so that a
+ * misspelt issuer resolves to it rather than to a neighbouring name or to the default.
+ * <p>
+ * The hardcoded ratings are available as soon as the class is loaded; the web ratings are
+ * downloaded on the first lookup (or by an explicit {@link #refreshRatings()}).
  * <p>
  * Example:
  * issuer = "ITALY" → normalize() → "ITALIA" → "BBB"
@@ -28,11 +41,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * Sovereign ratings are sourced from providers such as Trading Economics,
  * Moody's, S&P, and Fitch (data updated as of February 2026).
+ * <p>
+ * Ratings are held as {@link Rating} values: every comparison is an int comparison on
+ * {@link Rating#rank()}. The S&amp;P, Moody's and Fitch columns are combined per issuer
+ * with the configured {@link RatingComposite} (worst-of, median or best-of).
  */
 public class RatingService {
 
     private static final String RATINGS_URL = "https://tradingeconomics.com/country-list/rating";
-    private static final Map<String, String> COUNTRY_TO_RATING = new ConcurrentHashMap<>();
+    private static final Map<String, Rating> COUNTRY_TO_RATING = new ConcurrentHashMap<>();
     private static final Map<String, String> FALLBACK_MAP = new HashMap<>();
 
     static {
@@ -112,46 +129,75 @@ public class RatingService {
         // CCC
         FALLBACK_MAP.put("ARGENTINA", "CCC");     // Argentina
 
-        // Initialize with fallback first
-        COUNTRY_TO_RATING.putAll(FALLBACK_MAP);
+        // Initialize with fallback first; the web refresh happens on the first lookup
+        FALLBACK_MAP.forEach((country, rating) -> COUNTRY_TO_RATING.put(country, Rating.parseOrDefault(rating)));
+        CountryNormalizer.addKnownNames(FALLBACK_MAP.keySet());
+    }
 
-        // --- STEP 2: TRY INITIAL REFRESH FROM WEB ---
-        try {
-            refreshRatings();
-        } catch (Exception e) {
-            // Log as ERROR or WARNING, but do NOT throw a RuntimeException
-            System.err.println("[CRITICAL FALLBACK] Failed to sync ratings from Trading Economics: " + e.getMessage());
-            System.err.println("[CRITICAL FALLBACK] The system will continue using hardcoded 2026-02-03 data.");
+    /** Set once the web ratings have been requested (successfully or not). */
+    private static volatile boolean webRatingsRequested;
+
+    /**
+     * Downloads the web ratings once, before the first lookup.
+     * <p>
+     * Kept out of the class initialiser: loading the class (tests, rank comparisons, a native
+     * image built with build-time initialisation) never does network I/O, and a slow or failing
+     * download cannot leave the class unusable.
+     */
+    private static void ensureWebRatings() {
+        if (webRatingsRequested) return;
+        synchronized (RatingService.class) {
+            if (webRatingsRequested) return;
+            try {
+                refreshRatings();
+            } catch (Exception e) {
+                // Log as ERROR or WARNING, but do NOT throw a RuntimeException
+                System.err.println("[CRITICAL FALLBACK] Failed to sync ratings from Trading Economics: " + e.getMessage());
+                System.err.println("[CRITICAL FALLBACK] The system will continue using hardcoded 2026-02-03 data.");
+            } finally {
+                webRatingsRequested = true; // Concurrent lookups wait on the lock until here
+            }
         }
     }
 
     /**
      * Scrapes Trading Economics to update the ratings map.
-     * Uses S&P ratings as the standard column from the table.
+     * Reads the S&P, Moody's and Fitch columns and combines them with the
+     * configured {@link RatingComposite}.
      */
     public static void refreshRatings() throws Exception {
         try {
             System.out.printf("🌐 Fetching ratings from %s...\n", RATINGS_URL);
 
-            Map<String, String> webRatings = new HashMap<>();
+            RatingComposite composite = RatingComposite.configured();
+            Map<String, Rating> webRatings = new HashMap<>();
 
             // 1. Scrape the website
-            Document doc = Jsoup.connect(RATINGS_URL)
-                .userAgent("Mozilla/5.0")
-                .timeout(15000)
-                .get();
+            HttpResponse response = HttpTransports.get()
+                .get(HttpRequest.get(RATINGS_URL)
+                    .withHeader("User-Agent", "Mozilla/5.0")
+                    .withTimeout(15000))
+                .ensureSuccess();
+            Document doc = Jsoup.parse(response.bodyStream(), null, RATINGS_URL);
 
             Element table = doc.select("table").first();
             if (table == null) throw new IOException("Table not found");
 
+            // Columns: Country | S&P | Moody's | Fitch | DBRS | TE
             for (Element row : table.select("tr")) {
                 Elements cols = row.select("td");
                 if (cols.size() >= 2) {
                     String rawCountry = cols.get(0).text().trim();
-                    String rating = cols.get(1).text().trim();
 
-                    if (!rating.isEmpty() && !rating.equalsIgnoreCase("n.a.")) {
-                        String normalized = CountryNormalizer.normalize(rawCountry);
+                    List<Rating> agencies = new ArrayList<>(3);
+                    for (int c = 1; c <= 3 && c < cols.size(); c++) {
+                        agencies.add(Rating.parse(cols.get(c).text()));
+                    }
+                    Rating rating = composite.combine(agencies);
+
+                    if (rating != null) {
+                        // Exact only: the table lists countries unknown so far, they must not be fuzzy-matched
+                        String normalized = CountryNormalizer.normalizeExact(rawCountry);
                         if (!normalized.isEmpty()) {
                             webRatings.put(normalized, rating);
                         }
@@ -159,18 +205,19 @@ public class RatingService {
                 }
             }
 
-            System.out.printf("✅ Loaded %d sovereign S&P ratings \n", webRatings.size());
+            System.out.printf("✅ Loaded %d sovereign ratings (%s of S&P, Moody's, Fitch)\n", webRatings.size(), composite);
 
             // 2. Identify missing countries from your Fallback Map
             for (String fallbackCountry : FALLBACK_MAP.keySet()) {
                 if (!webRatings.containsKey(fallbackCountry)) {
-                    System.out.println("ℹ️ [INFO] " + fallbackCountry + " missing from website. Keeping fallback: " + FALLBACK_MAP.get(fallbackCountry));
+                    Log.info("Missing from website, keeping fallback rating", fallbackCountry + " " + FALLBACK_MAP.get(fallbackCountry));
                 }
             }
 
             // 3. Merge: Web data overwrites fallback, but missing countries stay as fallback
             if (!webRatings.isEmpty()) {
                 COUNTRY_TO_RATING.putAll(webRatings);
+                CountryNormalizer.addKnownNames(webRatings.keySet());
                 System.out.println("✅ Ratings updated. Total coverage: " + COUNTRY_TO_RATING.size() + " countries.");
             }
 
@@ -178,13 +225,14 @@ public class RatingService {
             System.err.println("⚠️ [FALLBACK] Failed to download ratings from " + RATINGS_URL + ": " + e.getMessage());
             System.err.println("⚠️ [FALLBACK] Using local hardcoded rating map.");
         }
+        webRatingsRequested = true;
     }
 
     /**
      * Retrieves the sovereign rating for a given country/issuer.
      * <p>
      * Strategy:
-     * 1. Normalize country name with CountryNormalizer
+     * 1. Normalize country name with CountryNormalizer (a close misspelling resolves to the known name)
      * 2. Search in COUNTRY_TO_RATING HashMap
      * 3. If not found, return "BBB" as default
      *
@@ -192,26 +240,37 @@ public class RatingService {
      * @return The rating (e.g. "AAA", "AA", "BBB") or "BBB" if not found
      */
     public static String getRatingForIssuer(String issuer) {
+        return getRating(issuer).label();
+    }
+
+    /**
+     * Same lookup as {@link #getRatingForIssuer(String)}, returning the enum value.
+     *
+     * @return The issuer's composite rating, or {@link Rating#DEFAULT} (BBB) if not found
+     */
+    public static Rating getRating(String issuer) {
         if (issuer == null || issuer.isEmpty()) {
-            return "BBB";  // Default: investment grade
+            return Rating.DEFAULT;  // Default: investment grade
         }
 
+        ensureWebRatings();
+
         // STEP 1: Normalize country name using CountryNormalizer
         String normalizedCountry = CountryNormalizer.normalize(issuer);
 
-        // If normalization fails (returns ""), log warning and return BBB
+        // If normalization fails (returns ""), count the issuer (reported once per run) and return BBB
         if (normalizedCountry.isEmpty()) {
-            System.out.println("⚠️ WARNING: Country name not recognized for issuer: " + issuer + " → defaulting to BBB");
-            return "BBB";
+            Log.tally(Level.WARN, "Issuers not recognized, defaulted to BBB", issuer);
+            return Rating.DEFAULT;
         }
 
         // STEP 2: Search HashMap using the normalized name
-        String rating = COUNTRY_TO_RATING.get(normalizedCountry);
+        Rating rating = COUNTRY_TO_RATING.get(normalizedCountry);
         if (rating != null) return rating;
 
-        // If normalization succeeded but no rating is mapped, log warning and return BBB
-        System.out.println("⚠️ WARNING: Rating not found for country: " + normalizedCountry + " → defaulting to BBB");
-        return "BBB";
+        // If normalization succeeded but no rating is mapped, count the country and return BBB
+        Log.tally(Level.WARN, "Countries without rating, defaulted to BBB", normalizedCountry);
+        return Rating.DEFAULT;
     }
 
     /**
@@ -235,44 +294,15 @@ public class RatingService {
      * < 0 if rating1 < rating2 in quality
      */
     public static int compareRatings(String rating1, String rating2) {
-        int rank1 = getRatingRank(rating1);
-        int rank2 = getRatingRank(rating2);
-        return rank1 - rank2; // Positive result means rating1 is higher quality
+        return getRatingRank(rating1) - getRatingRank(rating2); // Positive result means rating1 is higher quality
     }
 
     /**
      * Maps ratings to a numerical rank for comparison.
-     * Higher value = Higher quality (AAA is the highest).
+     * Higher value = Higher quality (AAA is the highest, 10).
+     * Unknown or empty ratings rank as BBB (2).
      */
-    private static int getRatingRank(String rating) {
-        if (rating == null || rating.isEmpty()) {
-            return 2; // Default to BBB rank
-        }
-
-        String r = rating.toUpperCase().trim();
-
-        return switch (r) {
-            case "AAA" -> 10;
-            case "AA+" -> 9;
-            case "AA" -> 8;
-            case "AA-" -> 7;
-            case "A+" -> 6;
-            case "A" -> 5;
-            case "A-" -> 4;
-            case "BBB+" -> 3;
-            case "BBB" -> 2;
-            case "BBB-" -> 1;
-            case "BB+" -> 0;
-            case "BB" -> -1;
-            case "BB-" -> -2;
-            case "B+" -> -3;
-            case "B" -> -4;
-            case "B-" -> -5;
-            case "CCC" -> -6;
-            case "CC" -> -7;
-            case "C" -> -8;
-            case "D" -> -9;
-            default -> 2; // Default to BBB rank
-        };
+    public static int getRatingRank(String rating) {
+        return Rating.parseOrDefault(rating).rank();
     }
-}
\ No newline at end of file
+}
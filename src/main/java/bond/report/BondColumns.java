@@ -0,0 +1,141 @@
+package bond.report;
+
+import bond.model.Bond;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * The bonds of the report as column arrays, for the portfolio analyzer.
+ * <p>
+ * All columns share one little-endian buffer, embedded in the page as base64: the analyzer
+ * decodes it once and hands it to its Web Worker (transferred, not copied), which wraps each
+ * column in a typed array view. Nothing has to be parsed back out of the table cells.
+ * <p>
+ * Layout for {@code n} rows, widest types first so that every view is aligned:
+ * <pre>
+ * Float32 × n  price, priceEur, coupon, currentYield, capitalAtMat, say
+ * Int32 × n    maturity (epoch day, {@link #NO_MATURITY} if unknown), issuer (dictionary index)
+ * Uint16 × n   currency, rating (dictionary indices)
+ * Int8 × n     ratingRank
+ * Uint8 × n·w  ISIN, ASCII, zero-padded to w = isinWidth (12 for real ISINs)
+ * </pre>
+ * Floats keep 7 significant digits, more than the 2 decimals the table shows. Text columns
+ * with few distinct values are indices into string dictionaries.
+ */
+final class BondColumns {
+
+    static final int NO_MATURITY = Integer.MIN_VALUE;
+
+    private static final List<String> FLOATS = List.of("price", "priceEur", "coupon", "currentYield", "capitalAtMat", "say");
+
+    private BondColumns() {
+    }
+
+    /**
+     * JavaScript literal {@code {count: n, isinWidth: w, offsets: {...}, issuers: [...],
+     * currencies: [...], ratings: [...], data: "<base64>"}}; {@code offsets} gives the byte
+     * offset of every column in the decoded buffer.
+     */
+    static String toJs(List<Bond> bonds) {
+        int n = bonds.size();
+        int isinWidth = 12;
+        for (Bond b : bonds) isinWidth = Math.max(isinWidth, text(b.getIsin()).length());
+
+        Map<String, Integer> offsets = new LinkedHashMap<>();
+        int offset = 0;
+        for (String column : FLOATS) offset = put(offsets, column, offset, 4 * n);
+        offset = put(offsets, "maturity", offset, 4 * n);
+        offset = put(offsets, "issuer", offset, 4 * n);
+        offset = put(offsets, "currency", offset, 2 * n);
+        offset = put(offsets, "rating", offset, 2 * n);
+        offset = put(offsets, "ratingRank", offset, n);
+        offset = put(offsets, "isin", offset, isinWidth * n);
+
+        ByteBuffer buf = ByteBuffer.allocate(offset).order(ByteOrder.LITTLE_ENDIAN);
+        floats(buf, bonds, Bond::getPrice);
+        floats(buf, bonds, Bond::getPriceEur);
+        floats(buf, bonds, Bond::getCouponPct);
+        floats(buf, bonds, Bond::getCurrentYield);
+        floats(buf, bonds, Bond::getFinalCapitalToMat);
+        floats(buf, bonds, Bond::getSimpleAnnualYield);
+        for (Bond b : bonds) buf.putInt(b.getMaturity() == null ? NO_MATURITY : (int) b.getMaturity().toEpochDay());
+        List<String> issuers = dictionary(buf, bonds, Bond::getIssuer, false);
+        List<String> currencies = dictionary(buf, bonds, Bond::getCurrency, true);
+        List<String> ratings = dictionary(buf, bonds, Bond::getRating, true);
+        for (Bond b : bonds) buf.put((byte) b.getRatingRank());
+        for (Bond b : bonds) {
+            String isin = text(b.getIsin());
+            for (int i = 0; i < isinWidth; i++) {
+                char c = i < isin.length() ? isin.charAt(i) : 0;
+                buf.put((byte) (c < 0x80 ? c : '?'));
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(256 + offset * 4 / 3 + issuers.size() * 24);
+        sb.append("{count: ").append(n).append(", isinWidth: ").append(isinWidth).append(", offsets: {");
+        offsets.forEach((column, start) -> sb.append(column).append(": ").append(start).append(", "));
+        sb.setLength(sb.length() - 2);
+        sb.append("},\n        issuers: ");
+        strings(sb, issuers);
+        sb.append(",\n        currencies: ");
+        strings(sb, currencies);
+        sb.append(", ratings: ");
+        strings(sb, ratings);
+        sb.append(",\n        data: \"").append(Base64.getEncoder().encodeToString(buf.array())).append("\"}");
+        return sb.toString();
+    }
+
+    private static int put(Map<String, Integer> offsets, String column, int offset, int bytes) {
+        offsets.put(column, offset);
+        return offset + bytes;
+    }
+
+    private static void floats(ByteBuffer buf, List<Bond> bonds, ToDoubleFunction<Bond> value) {
+        for (Bond b : bonds) buf.putFloat((float) value.applyAsDouble(b));
+    }
+
+    /** Writes one index per row (Int32, or Uint16 when {@code narrow}); returns the dictionary. */
+    private static List<String> dictionary(ByteBuffer buf, List<Bond> bonds, Function<Bond, String> key, boolean narrow) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> values = new ArrayList<>();
+        for (Bond b : bonds) {
+            String v = text(key.apply(b));
+            Integer i = index.get(v);
+            if (i == null) {
+                i = values.size();
+                if (narrow && i > 0xFFFF) throw new IllegalStateException("More than 65,536 distinct values: " + v);
+                index.put(v, i);
+                values.add(v);
+            }
+            if (narrow) buf.putShort((short) (int) i);
+            else buf.putInt(i);
+        }
+        return values;
+    }
+
+    /** JSON string array; '<' is escaped so that no value can close the script element. */
+    private static void strings(StringBuilder sb, List<String> values) {
+        sb.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append('"');
+            String s = values.get(i);
+            for (int j = 0; j < s.length(); j++) {
+                char c = s.charAt(j);
+                if (c == '"' || c == '\\') sb.append('\\').append(c);
+                else if (c < 0x20 || c == '<' || c == '\u2028' || c == '\u2029') sb.append(String.format("\\u%04x", (int) c));
+                else sb.append(c);
+            }
+            sb.append('"');
+        }
+        sb.append(']');
+    }
+
+    private static String text(String s) {
+        return s == null ? "" : s.trim();
+    }
+}
@@ -1,18 +1,32 @@
 package bond.report;
 
-import bond.config.BondProfilesConfig;
+import bond.config.ProfileRegistry;
 import bond.model.Bond;
+import bond.portfolio.PortfolioProjection;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 
-import java.io.FileWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Renders the report through FreeMarker (ftl/bond-report.ftl).
+ * <p>
+ * Asset modes, selected with {@code -Dbond.report.assets}:
+ * - inline (default) : CSS and JS are embedded in the page (single self-contained file)
+ * - external : CSS and JS are published once as minified, content-hashed files under
+ *   {@code assets/} (see {@link ReportAssets}) and linked from the page; the page and the
+ *   assets also get precompressed {@code .gz} siblings
+ */
 public class HtmlReportWriter {
 
+    public static final String ASSETS_PROPERTY = "bond.report.assets";
+
     private final Configuration cfg;
 
     public HtmlReportWriter() {
@@ -22,15 +36,44 @@ public class HtmlReportWriter {
     }
 
     public void writeEur(List<Bond> bonds, String file) throws Exception {
-        write(bonds, file, "EUR");
+        writeEur(bonds, file, null);
+    }
+
+    /**
+     * Same as {@link #writeEur(List, String)}, embedding a precomputed portfolio projection
+     * (statistics and cash-flow calendar) when {@code portfolio} is not null.
+     */
+    public void writeEur(List<Bond> bonds, String file, PortfolioProjection portfolio) throws Exception {
+        Path report = Path.of(file).toAbsolutePath();
+        boolean external = "external".equalsIgnoreCase(System.getProperty(ASSETS_PROPERTY, "inline"));
+
+        Map<String, String> assets = external ? ReportAssets.publish(report.getParent()) : null;
+        try (Writer w = Files.newBufferedWriter(report)) {
+            write(bonds, w, "EUR", assets, portfolio);
+        }
+        if (external) {
+            ReportAssets.gzip(report);
+        }
     }
 
-    private void write(List<Bond> bonds, String file, String reportCurrency) throws Exception {
+    /** Renders the EUR report to an arbitrary writer (benchmarks, in-memory rendering). */
+    public void writeEur(List<Bond> bonds, Writer out) throws Exception {
+        write(bonds, out, "EUR", null, null);
+    }
+
+    /**
+     * @param assets    hashed asset hrefs from {@link ReportAssets#publish}, or null to inline them
+     * @param portfolio precomputed portfolio projection, or null
+     */
+    private void write(List<Bond> bonds, Writer out, String reportCurrency, Map<String, String> assets,
+                       PortfolioProjection portfolio) throws Exception {
         Template t = cfg.getTemplate("ftl/bond-report.ftl");
 
         Map<String, Object> model = new HashMap<>();
         model.put("bonds", bonds);
         model.put("reportCurrency", reportCurrency);
+        if (assets != null) model.put("assets", assets);
+        if (portfolio != null) model.put("portfolio", portfolio);
         model.put("generatedAt",
             java.time.LocalDateTime.now(ZoneId.of("Europe/Zurich"))
                 .format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")));
@@ -43,12 +86,15 @@ public class HtmlReportWriter {
             .toList();
         model.put("currencies", currencies);
 
-        // Load profiles
-        BondProfilesConfig cfg = BondProfilesConfig.load();
-        model.put("presets", cfg.getProfiles());
+        // Profiles: validated and cached by the registry (reloaded when their files change)
+        model.put("presets", ProfileRegistry.get().profiles());
 
-        try (FileWriter w = new FileWriter(file)) {
-            t.process(model, w);
-        }
+        // Row order of every sortable column, so that header clicks do not compare rows
+        model.put("sortOrders", SortOrders.toJs(bonds));
+
+        // Column buffer of the bonds, searched by the portfolio analyzer's worker
+        model.put("bondData", BondColumns.toJs(bonds));
+
+        t.process(model, out);
     }
 }
\ No newline at end of file
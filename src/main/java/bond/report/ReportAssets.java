@@ -0,0 +1,253 @@
+package bond.report;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Publishes the report's static CSS / JS as immutable, content-hashed files.
+ * <p>
+ * Used by {@link HtmlReportWriter} in external-asset mode: instead of inlining ~75 KB of
+ * unchanged code into every generated page, each asset is minified and written once as
+ * {@code assets/<name>.<hash>.<ext>} next to the report, with a gzip sibling. A data refresh
+ * then only changes the HTML; the hashed URLs can be served with a far-future cache header.
+ * <p>
+ * Previous versions of the same asset (same name, other hash) are removed.
+ */
+public final class ReportAssets {
+
+    /** Classpath resources, in the order the template links them. */
+    static final List<String> RESOURCES = List.of(
+        "css/bond-report.css",
+        "css/porfolio-analyzer.css",
+        "css/bond-report-mobile.css",
+        "js/bond-report.js",
+        "js/portfolio-worker.js",
+        "js/portfolio-analyzer.js",
+        "js/bond-report-mobile-adapter.js");
+
+    static final String DIR = "assets";
+
+    private static final int HASH_CHARS = 10;
+
+    private ReportAssets() {
+    }
+
+    /**
+     * Minifies, hashes and writes every asset into {@code <reportDir>/assets}.
+     *
+     * @return resource path (e.g. "js/bond-report.js") → href relative to the report
+     * (e.g. "assets/bond-report.3fa94c0b1e.js")
+     */
+    public static Map<String, String> publish(Path reportDir) throws IOException {
+        Path dir = reportDir.resolve(DIR);
+        Files.createDirectories(dir);
+
+        Map<String, String> hrefs = new LinkedHashMap<>();
+        for (String resource : RESOURCES) {
+            String source = load(resource);
+            String minified = resource.endsWith(".css") ? minifyCss(source) : minifyJs(source);
+            byte[] bytes = minified.getBytes(StandardCharsets.UTF_8);
+
+            String fileName = resource.substring(resource.lastIndexOf('/') + 1);
+            int dot = fileName.lastIndexOf('.');
+            String base = fileName.substring(0, dot);
+            String ext = fileName.substring(dot + 1);
+            String hashed = base + "." + hash(bytes) + "." + ext;
+
+            Path target = dir.resolve(hashed);
+            if (!Files.exists(target)) {
+                Files.write(target, bytes);
+                gzip(target);
+            }
+            removeStale(dir, base, ext, hashed);
+            hrefs.put(resource, DIR + "/" + hashed);
+        }
+        return hrefs;
+    }
+
+    /** Writes {@code file.gz} next to {@code file} (maximum compression). */
+    public static void gzip(Path file) throws IOException {
+        Path gz = file.resolveSibling(file.getFileName() + ".gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz), 64 * 1024) {
+            {
+                def.setLevel(java.util.zip.Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            Files.copy(file, out);
+        }
+    }
+
+    static String hash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest).substring(0, HASH_CHARS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void removeStale(Path dir, String base, String ext, String current) throws IOException {
+        Pattern versioned = Pattern.compile(Pattern.quote(base) + "\\.[0-9a-f]{" + HASH_CHARS + "}\\." + Pattern.quote(ext) + "(\\.gz)?");
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path f : files.toList()) {
+                String name = f.getFileName().toString();
+                if (versioned.matcher(name).matches() && !name.startsWith(current)) {
+                    Files.deleteIfExists(f);
+                }
+            }
+        }
+    }
+
+    private static String load(String resource) throws IOException {
+        try (InputStream in = ReportAssets.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) throw new IOException("Missing report asset: " + resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Conservative CSS minifier: drops comments and collapses whitespace. Spaces before ':'
+     * are kept (descendant pseudo-class selectors), spaces inside calc() expressions too.
+     */
+    static String minifyCss(String css) {
+        String s = css.replaceAll("(?s)/\\*.*?\\*/", "");
+        s = s.replaceAll("\\s+", " ");
+        s = s.replaceAll("\\s*([{};,>])\\s*", "$1");
+        s = s.replaceAll(":\\s+", ":");
+        s = s.replace(";}", "}");
+        return s.trim();
+    }
+
+    /**
+     * Conservative JS minifier: removes comments, indentation, blank lines and repeated
+     * spaces, but keeps line breaks so automatic semicolon insertion is unaffected.
+     * String, template and regex literals are copied verbatim.
+     */
+    static String minifyJs(String js) {
+        StringBuilder out = new StringBuilder(js.length());
+        int n = js.length();
+        int i = 0;
+        int templateDepth = 0;            // Nesting of `...${ ... }...` being scanned as code
+        int[] braceDepth = new int[64];   // Open braces per template substitution level
+
+        while (i < n) {
+            char c = js.charAt(i);
+            char next = i + 1 < n ? js.charAt(i + 1) : '\0';
+
+            if (c == '/' && next == '/') {
+                while (i < n && js.charAt(i) != '\n') i++;
+            } else if (c == '/' && next == '*') {
+                int end = js.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+                appendSpace(out);
+            } else if (c == '"' || c == '\'') {
+                i = copyQuoted(js, i, c, out);
+            } else if (c == '`') {
+                out.append(c);
+                i = copyTemplate(js, i + 1, out);
+                if (i > 0 && js.charAt(i - 1) == '{') braceDepth[++templateDepth] = 0;
+            } else if (c == '}' && templateDepth > 0 && braceDepth[templateDepth] == 0) {
+                out.append(c);
+                templateDepth--;
+                i = copyTemplate(js, i + 1, out);
+                if (js.charAt(i - 1) == '{') braceDepth[++templateDepth] = 0;
+            } else if (c == '/' && regexAllowed(out)) {
+                i = copyRegex(js, i, out);
+            } else if (c == '\n' || c == '\r') {
+                trimTrailing(out);
+                if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') out.append('\n');
+                i++;
+            } else if (c == ' ' || c == '\t') {
+                appendSpace(out);
+                i++;
+            } else {
+                if (templateDepth > 0) {
+                    if (c == '{') braceDepth[templateDepth]++;
+                    else if (c == '}') braceDepth[templateDepth]--;
+                }
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString().strip();
+    }
+
+    private static void appendSpace(StringBuilder out) {
+        int len = out.length();
+        if (len > 0 && out.charAt(len - 1) != ' ' && out.charAt(len - 1) != '\n') out.append(' ');
+    }
+
+    private static void trimTrailing(StringBuilder out) {
+        while (out.length() > 0 && out.charAt(out.length() - 1) == ' ') out.setLength(out.length() - 1);
+    }
+
+    private static int copyQuoted(String js, int i, char quote, StringBuilder out) {
+        out.append(quote);
+        i++;
+        while (i < js.length()) {
+            char c = js.charAt(i++);
+            out.append(c);
+            if (c == '\\' && i < js.length()) out.append(js.charAt(i++));
+            else if (c == quote) break;
+        }
+        return i;
+    }
+
+    /**
+     * Copies template literal text up to (and including) the closing backtick or the next
+     * {@code ${}; returns the index after it.
+     */
+    private static int copyTemplate(String js, int i, StringBuilder out) {
+        while (i < js.length()) {
+            char c = js.charAt(i++);
+            out.append(c);
+            if (c == '\\' && i < js.length()) out.append(js.charAt(i++));
+            else if (c == '`') break;
+            else if (c == '$' && i < js.length() && js.charAt(i) == '{') {
+                out.append('{');
+                return i + 1;
+            }
+        }
+        return i;
+    }
+
+    private static int copyRegex(String js, int i, StringBuilder out) {
+        boolean inClass = false;
+        out.append(js.charAt(i++));
+        while (i < js.length()) {
+            char c = js.charAt(i++);
+            out.append(c);
+            if (c == '\\' && i < js.length()) out.append(js.charAt(i++));
+            else if (c == '[') inClass = true;
+            else if (c == ']') inClass = false;
+            else if (c == '/' && !inClass) break;
+            else if (c == '\n') break; // Not a regex after all: division at end of line
+        }
+        return i;
+    }
+
+    /** A '/' starts a regex literal when it cannot be a division operator. */
+    private static boolean regexAllowed(StringBuilder out) {
+        int k = out.length() - 1;
+        while (k >= 0 && (out.charAt(k) == ' ' || out.charAt(k) == '\n')) k--;
+        if (k < 0) return true;
+        char p = out.charAt(k);
+        if ("(,=:[!&|?{};+-*%<>~^".indexOf(p) >= 0) return true;
+        int end = k + 1;
+        while (k >= 0 && Character.isLetter(out.charAt(k))) k--;
+        String word = out.substring(k + 1, end);
+        return word.equals("return") || word.equals("typeof") || word.equals("case");
+    }
+}
@@ -0,0 +1,143 @@
+package bond.report;
+
+import bond.model.Bond;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.text.Collator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sort permutations of the report table, computed once at generation time.
+ * <p>
+ * For every sortable column (same indices as the {@code COL} table of bond-report.js), the
+ * ascending order of the rendered rows is stored as an array of row indices; descending is the
+ * same array read backwards. The arrays are embedded in the page as base64 little-endian
+ * unsigned integers (2 bytes per row up to 65,536 rows, 4 bytes above), so a header click in
+ * the browser only re-appends the rows in a known order, without any comparison.
+ * <p>
+ * Keys are the exact values rather than the rounded cell texts. Each column is reduced to an
+ * int rank per row, then {@code rank << 32 | row} is sorted as a primitive long array, which
+ * keeps ties in rendering order without boxing or comparators.
+ */
+final class SortOrders {
+
+    /** Number of columns of the COL table (ISIN ... DEPTH). */
+    static final int COLUMNS = 14;
+
+    private SortOrders() {
+    }
+
+    /**
+     * JavaScript literal {@code {width: 2, columns: ["<base64>", ...]}} with one permutation per
+     * column index.
+     */
+    static String toJs(List<Bond> bonds) {
+        int width = bonds.size() <= 0x10000 ? 2 : 4;
+        StringBuilder sb = new StringBuilder(64 + bonds.size() * width * 15);
+        sb.append("{width: ").append(width).append(", columns: [");
+        for (int c = 0; c < COLUMNS; c++) {
+            if (c > 0) sb.append(',');
+            sb.append('"').append(encode(permutation(ranks(bonds, c)), width)).append('"');
+        }
+        return sb.append("]}").toString();
+    }
+
+    /** Rank of every row for a column index (equal values share a rank). */
+    static int[] ranks(List<Bond> bonds, int column) {
+        return switch (column) {
+            case 0 -> textRanks(bonds, Bond::getIsin);
+            case 1 -> textRanks(bonds, Bond::getIssuer);
+            case 2 -> numberRanks(bonds, Bond::getPrice);
+            case 3 -> textRanks(bonds, Bond::getCurrency);
+            case 4 -> numberRanks(bonds, Bond::getRatingRank);
+            case 5 -> numberRanks(bonds, Bond::getPriceEur);
+            case 6 -> numberRanks(bonds, Bond::getCouponPct);
+            case 7 -> numberRanks(bonds, b -> b.getMaturity() == null ? Double.NEGATIVE_INFINITY : b.getMaturity().toEpochDay());
+            case 8 -> numberRanks(bonds, Bond::getCurrentYield);
+            case 9 -> numberRanks(bonds, Bond::getFinalCapitalToMat);
+            case 10 -> numberRanks(bonds, Bond::getSimpleAnnualYield);
+            case 11 -> numberRanks(bonds, b -> orLowest(b.getSpreadBp()));
+            case 12 -> numberRanks(bonds, b -> orLowest(b.getRichCheapBp()));
+            // Not ranked (-1) sorts after every layer, like a dominated bond
+            case 13 -> numberRanks(bonds, b -> b.getSkylineDepth() < 0 ? Double.POSITIVE_INFINITY : b.getSkylineDepth());
+            default -> throw new IllegalArgumentException("Unknown column " + column);
+        };
+    }
+
+    /** Row indices in ascending rank order, ties in row order. */
+    static int[] permutation(int[] ranks) {
+        long[] packed = new long[ranks.length];
+        for (int i = 0; i < ranks.length; i++) packed[i] = ((long) ranks[i] << 32) | i;
+        Arrays.sort(packed);
+
+        int[] order = new int[ranks.length];
+        for (int i = 0; i < order.length; i++) order[i] = (int) packed[i];
+        return order;
+    }
+
+    static String encode(int[] permutation, int width) {
+        ByteBuffer buf = ByteBuffer.allocate(permutation.length * width).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i : permutation) {
+            if (width == 2) buf.putShort((short) i);
+            else buf.putInt(i);
+        }
+        return Base64.getEncoder().encodeToString(buf.array());
+    }
+
+    private static int[] numberRanks(List<Bond> bonds, ToDoubleFunction<Bond> key) {
+        double[] keys = new double[bonds.size()];
+        for (int i = 0; i < keys.length; i++) keys[i] = key.applyAsDouble(bonds.get(i));
+
+        // Equal keys share a rank: the index of the key among the distinct sorted keys
+        double[] distinct = keys.clone();
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (count == 0 || Double.compare(distinct[count - 1], distinct[i]) != 0) distinct[count++] = distinct[i];
+        }
+        int[] ranks = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) ranks[i] = Arrays.binarySearch(distinct, 0, count, keys[i]);
+        return ranks;
+    }
+
+    /**
+     * Distinct values are sorted once. Plain codes (upper-case letters, digits, spaces) use
+     * code-point order, which is what {@code localeCompare} gives for them; anything else uses a
+     * root-locale collator.
+     */
+    private static int[] textRanks(List<Bond> bonds, Function<Bond, String> key) {
+        Map<String, Integer> distinct = new HashMap<>();
+        boolean plain = true;
+        for (Bond b : bonds) {
+            String v = Objects.requireNonNullElse(key.apply(b), "");
+            if (distinct.putIfAbsent(v, 0) == null) plain &= isPlain(v);
+        }
+
+        List<String> values = new ArrayList<>(distinct.keySet());
+        if (plain) Collections.sort(values);
+        else values.sort(Collator.getInstance(Locale.ROOT));
+        for (int r = 0; r < values.size(); r++) distinct.put(values.get(r), r);
+
+        int[] ranks = new int[bonds.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = distinct.get(Objects.requireNonNullElse(key.apply(bonds.get(i)), ""));
+        }
+        return ranks;
+    }
+
+    /** Missing values (no curve) sort below every number, like the "-" they render as. */
+    private static double orLowest(double v) {
+        return Double.isNaN(v) ? Double.NEGATIVE_INFINITY : v;
+    }
+
+    private static boolean isPlain(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (!(c >= 'A' && c <= 'Z') && !(c >= '0' && c <= '9') && c != ' ') return false;
+        }
+        return true;
+    }
+}
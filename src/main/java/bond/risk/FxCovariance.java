@@ -0,0 +1,173 @@
+package bond.risk;
+
+import bond.fx.FxHistory;
+import bond.fx.FxService;
+
+import java.util.*;
+
+/**
+ * Daily covariance of currency returns seen from a report currency, estimated on the ECB
+ * history, with its Cholesky factor cached.
+ * <p>
+ * The return of currency i on day t is the log-change of the report-currency value of one
+ * unit of i: {@code ln(v_t / v_t-1)} with {@code v = rate(report) / rate(i)} in the ECB
+ * convention (1 EUR = X CCY). Only days where every modelled currency is quoted are used, so
+ * the matrix is a proper (positive semi-definite) sample covariance.
+ * <p>
+ * Currencies without a full quote history in the window fall back to the annual volatility of
+ * their {@link FxService.CurrencyRiskProfile}, uncorrelated with the others.
+ */
+public final class FxCovariance {
+
+    /** Trading days per year, used to convert the profile volatilities. */
+    static final int TRADING_DAYS = 252;
+
+    private final List<String> currencies;
+    private final Map<String, Integer> index;
+    private final double[][] covariance;
+    private final int observations;
+    private volatile double[][] cholesky;
+
+    /**
+     * @param currencies   Modelled currencies (index order of the matrix).
+     * @param covariance   Daily covariance matrix, symmetric positive semi-definite.
+     * @param observations Number of daily returns used for the estimate (0 if none).
+     */
+    public FxCovariance(List<String> currencies, double[][] covariance, int observations) {
+        this.currencies = List.copyOf(currencies);
+        this.covariance = covariance;
+        this.observations = observations;
+        Map<String, Integer> idx = new HashMap<>();
+        for (int i = 0; i < this.currencies.size(); i++) idx.put(this.currencies.get(i), i);
+        this.index = Collections.unmodifiableMap(idx);
+    }
+
+    /**
+     * Estimates the covariance of {@code currencies} on the last {@code lookbackDays} returns
+     * of the history. The report currency itself carries no FX risk and is left out.
+     */
+    public static FxCovariance estimate(FxHistory history, String reportCurrency,
+                                        Collection<String> currencies, int lookbackDays) {
+        List<String> modelled = new ArrayList<>();
+        for (String c : new TreeSet<>(currencies)) {
+            if (!c.equalsIgnoreCase(reportCurrency)) modelled.add(c.toUpperCase());
+        }
+
+        int days = history.dates().size();
+        int from = Math.max(0, days - lookbackDays - 1);
+        double[] report = history.series(reportCurrency);
+
+        // Currencies with a complete window are estimated jointly, the others use their profile
+        List<Integer> historized = new ArrayList<>();
+        List<double[]> series = new ArrayList<>();
+        for (int i = 0; i < modelled.size(); i++) {
+            double[] s = history.series(modelled.get(i));
+            if (report != null && s != null && days - from > 2 && complete(s, from, days) && complete(report, from, days)) {
+                historized.add(i);
+                series.add(s);
+            }
+        }
+
+        int n = Math.max(0, days - from - 1); // No return without two days of history
+        int k = historized.size();
+        double[][] returns = new double[k][n];
+        for (int j = 0; j < k; j++) {
+            double[] s = series.get(j);
+            for (int t = 0; t < n; t++) {
+                int d = from + t + 1;
+                returns[j][t] = Math.log((report[d] / s[d]) / (report[d - 1] / s[d - 1]));
+            }
+        }
+
+        double[][] cov = new double[modelled.size()][modelled.size()];
+        for (int a = 0; a < k; a++) {
+            double meanA = mean(returns[a]);
+            for (int b = a; b < k; b++) {
+                double meanB = mean(returns[b]);
+                double sum = 0;
+                for (int t = 0; t < n; t++) sum += (returns[a][t] - meanA) * (returns[b][t] - meanB);
+                double c = sum / (n - 1);
+                cov[historized.get(a)][historized.get(b)] = c;
+                cov[historized.get(b)][historized.get(a)] = c;
+            }
+        }
+        for (int i = 0; i < modelled.size(); i++) {
+            if (!historized.contains(i)) {
+                double vol = FxService.getRiskProfile(modelled.get(i)).annualVol();
+                cov[i][i] = vol * vol / TRADING_DAYS;
+            }
+        }
+        return new FxCovariance(modelled, cov, k > 0 ? n : 0);
+    }
+
+    public List<String> currencies() {
+        return currencies;
+    }
+
+    /** Index of a currency in the matrix, or -1 if not modelled. */
+    public int indexOf(String currency) {
+        return index.getOrDefault(currency.toUpperCase(), -1);
+    }
+
+    public int observations() {
+        return observations;
+    }
+
+    /** Daily covariance between two modelled currencies. */
+    public double covariance(int i, int j) {
+        return covariance[i][j];
+    }
+
+    /** Annualised volatility of one modelled currency. */
+    public double annualVol(int i) {
+        return Math.sqrt(covariance[i][i] * TRADING_DAYS);
+    }
+
+    /**
+     * Lower-triangular L with {@code L·Lᵀ = Σ}, computed once. Pegged currencies make Σ
+     * (nearly) singular: pivots below a relative tolerance get a zero column instead of failing.
+     */
+    public double[][] cholesky() {
+        double[][] l = cholesky;
+        if (l == null) {
+            l = decompose(covariance);
+            cholesky = l;
+        }
+        return l;
+    }
+
+    static double[][] decompose(double[][] a) {
+        int n = a.length;
+        double maxDiag = 0;
+        for (int i = 0; i < n; i++) maxDiag = Math.max(maxDiag, a[i][i]);
+        double tolerance = maxDiag * 1e-12;
+
+        double[][] l = new double[n][n];
+        for (int j = 0; j < n; j++) {
+            double d = a[j][j];
+            for (int k = 0; k < j; k++) d -= l[j][k] * l[j][k];
+            if (d <= tolerance) continue; // Column is a combination of the previous ones
+            double pivot = Math.sqrt(d);
+            l[j][j] = pivot;
+            for (int i = j + 1; i < n; i++) {
+                double s = a[i][j];
+                for (int k = 0; k < j; k++) s -= l[i][k] * l[j][k];
+                l[i][j] = s / pivot;
+            }
+        }
+        return l;
+    }
+
+    private static boolean complete(double[] s, int from, int to) {
+        for (int t = from; t < to; t++) {
+            if (Double.isNaN(s[t]) || s[t] <= 0) return false;
+        }
+        return true;
+    }
+
+    private static double mean(double[] x) {
+        double sum = 0;
+        for (double v : x) sum += v;
+        return sum / x.length;
+    }
+}
@@ -0,0 +1,46 @@
+package bond.risk;
+
+import java.util.Locale;
+
+/**
+ * Portfolio FX risk computed by {@link FxRiskEngine}. Losses are positive amounts in the
+ * report currency.
+ *
+ * @param reportCurrency Currency of every amount (e.g. EUR).
+ * @param confidence     VaR / ES confidence level (e.g. 0.95).
+ * @param horizonDays    Holding period in trading days.
+ * @param exposure       Market value held in foreign currencies.
+ * @param standaloneVar  Sum of the per-currency VaRs: the risk if nothing offsets.
+ * @param parametricVar  Variance-covariance VaR (normal returns).
+ * @param parametricEs   Variance-covariance expected shortfall.
+ * @param simulatedVar   Monte Carlo VaR (correlated lognormal scenarios, full revaluation).
+ * @param simulatedEs    Monte Carlo expected shortfall (mean loss beyond the VaR).
+ */
+public record FxRisk(
+    String reportCurrency,
+    double confidence,
+    int horizonDays,
+    double exposure,
+    double standaloneVar,
+    double parametricVar,
+    double parametricEs,
+    double simulatedVar,
+    double simulatedEs) {
+
+    /** Share of the standalone VaR removed by correlations (0 = none, 1 = fully hedged). */
+    public double diversification() {
+        return standaloneVar > 0 ? 1 - parametricVar / standaloneVar : 0;
+    }
+
+    /** Multi-line summary used by the CLI. */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "💱 FX exposure %,.2f %s | VaR/ES %.0f%% over %d trading days%n",
+            exposure, reportCurrency, confidence * 100, horizonDays));
+        sb.append(String.format(Locale.ROOT, "   Parametric  VaR %,.2f | ES %,.2f%n", parametricVar, parametricEs));
+        sb.append(String.format(Locale.ROOT, "   Monte Carlo VaR %,.2f | ES %,.2f%n", simulatedVar, simulatedEs));
+        sb.append(String.format(Locale.ROOT, "   Sum of per-currency VaRs %,.2f (diversification %.1f%%)%n",
+            standaloneVar, diversification() * 100));
+        return sb.toString();
+    }
+}
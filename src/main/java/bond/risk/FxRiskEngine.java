@@ -0,0 +1,201 @@
+package bond.risk;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Portfolio-level FX VaR and expected shortfall, with correlations between currencies.
+ * <p>
+ * Unlike the per-currency haircuts of {@link bond.fx.FxService}, exposures are aggregated
+ * through the covariance matrix, so currencies that move against each other offset.
+ * <p>
+ * Strategy:
+ * 1. Parametric: {@code σ_p = ‖Lᵀw‖ × √h}, VaR = z × σ_p, ES = σ_p × φ(z) / (1 − c)
+ * 2. Monte Carlo: correlated returns {@code √h × L·z} with z ~ N(0, I), revalued exactly
+ *    ({@code w × (e^r − 1)}); the scenarios are drawn once, in parallel chunks with their own
+ *    deterministic random stream, and stored per currency
+ * 3. Evaluating a portfolio only multiplies its exposures with the stored scenarios
+ *    (scenarios × held currencies), so it can be re-run on every portfolio change
+ */
+public final class FxRiskEngine {
+
+    public static final int DEFAULT_SCENARIOS = 100_000;
+
+    private static final int CHUNK = 4096;
+
+    // Coefficients of the normal quantile approximation
+    private static final double LOW = 0.02425;
+    private static final double[] A = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+        1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+    private static final double[] B = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+        6.680131188771972e+01, -1.328068155288572e+01};
+    private static final double[] C = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+        -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+    private static final double[] D = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+        3.754408661907416e+00};
+
+    private final FxCovariance covariance;
+    private final String reportCurrency;
+    private final int horizonDays;
+    private final int scenarios;
+    private final double[][] simpleReturns; // [currency][scenario]
+
+    /**
+     * @param covariance     Daily covariance of the currencies that can be held.
+     * @param reportCurrency Currency of the exposures (excluded from the covariance).
+     * @param horizonDays    Holding period in trading days (square-root-of-time scaling).
+     * @param scenarios      Number of Monte Carlo scenarios.
+     * @param seed           Seed of the scenarios (results are reproducible for a given seed).
+     */
+    public FxRiskEngine(FxCovariance covariance, String reportCurrency, int horizonDays, int scenarios, long seed) {
+        this.covariance = covariance;
+        this.reportCurrency = reportCurrency;
+        this.horizonDays = horizonDays;
+        this.scenarios = scenarios;
+
+        int k = covariance.currencies().size();
+        double[][] l = covariance.cholesky();
+        double scale = Math.sqrt(horizonDays);
+        this.simpleReturns = new double[k][scenarios];
+
+        int chunks = (scenarios + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            SplittableRandom random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+            double[] z = new double[k];
+            int end = Math.min(scenarios, (chunk + 1) * CHUNK);
+            for (int s = chunk * CHUNK; s < end; s++) {
+                for (int j = 0; j < k; j++) z[j] = random.nextGaussian();
+                for (int i = 0; i < k; i++) {
+                    double r = 0;
+                    for (int j = 0; j <= i; j++) r += l[i][j] * z[j];
+                    simpleReturns[i][s] = Math.expm1(scale * r);
+                }
+            }
+        });
+    }
+
+    public FxCovariance covariance() {
+        return covariance;
+    }
+
+    /**
+     * Risk of a set of holdings.
+     *
+     * @param exposures  Market value per currency, in the report currency (report-currency
+     *                   holdings carry no FX risk and are ignored).
+     * @param confidence Confidence level in (0, 1), e.g. 0.95.
+     * @throws IllegalArgumentException if a held currency is not part of the covariance
+     */
+    public FxRisk evaluate(Map<String, Double> exposures, double confidence) {
+        int k = covariance.currencies().size();
+        double[] w = new double[k];
+        double exposure = 0;
+        for (Map.Entry<String, Double> e : exposures.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(reportCurrency) || e.getValue() == 0) continue;
+            int i = covariance.indexOf(e.getKey());
+            if (i < 0) throw new IllegalArgumentException("No FX risk model for " + e.getKey());
+            w[i] += e.getValue();
+            exposure += e.getValue();
+        }
+
+        double z = normalQuantile(confidence);
+        double scale = Math.sqrt(horizonDays);
+
+        // --- Parametric: ‖Lᵀw‖ is the portfolio standard deviation ---
+        double[][] l = covariance.cholesky();
+        double variance = 0;
+        double standalone = 0;
+        for (int j = 0; j < k; j++) {
+            double b = 0;
+            for (int i = j; i < k; i++) b += l[i][j] * w[i];
+            variance += b * b;
+            standalone += Math.abs(w[j]) * Math.sqrt(covariance.covariance(j, j)) * scale * z;
+        }
+        double sigma = Math.sqrt(variance) * scale;
+        double density = Math.exp(-z * z / 2) / Math.sqrt(2 * Math.PI);
+
+        // --- Monte Carlo on the stored scenarios ---
+        int held = 0;
+        int[] heldIndex = new int[k];
+        for (int i = 0; i < k; i++) if (w[i] != 0) heldIndex[held++] = i;
+        int heldCount = held;
+
+        double[] pnl = new double[scenarios];
+        int chunks = (scenarios + CHUNK - 1) / CHUNK;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            int from = chunk * CHUNK;
+            int to = Math.min(scenarios, from + CHUNK);
+            for (int h = 0; h < heldCount; h++) {
+                int i = heldIndex[h];
+                double wi = w[i];
+                double[] r = simpleReturns[i];
+                for (int s = from; s < to; s++) pnl[s] += wi * r[s];
+            }
+        });
+
+        int tail = Math.max(1, (int) Math.ceil(scenarios * (1 - confidence)));
+        selectSmallest(pnl, tail);
+        double tailSum = 0;
+        double quantile = Double.NEGATIVE_INFINITY;
+        for (int s = 0; s < tail; s++) {
+            tailSum += pnl[s];
+            quantile = Math.max(quantile, pnl[s]);
+        }
+
+        return new FxRisk(
+            reportCurrency,
+            confidence,
+            horizonDays,
+            exposure,
+            standalone,
+            z * sigma,
+            sigma * density / (1 - confidence),
+            Math.max(0, -quantile),
+            Math.max(0, -tailSum / tail));
+    }
+
+    /** Moves the {@code m} smallest values to {@code a[0..m)} (quickselect, in place). */
+    static void selectSmallest(double[] a, int m) {
+        int lo = 0;
+        int hi = a.length - 1;
+        int target = m - 1;
+        while (lo < hi) {
+            double pivot = a[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) i++;
+                while (a[j] > pivot) j--;
+                if (i <= j) {
+                    double t = a[i];
+                    a[i++] = a[j];
+                    a[j--] = t;
+                }
+            }
+            if (target <= j) hi = j;
+            else if (target >= i) lo = i;
+            else return;
+        }
+    }
+
+    /** Inverse of the standard normal CDF (Acklam's rational approximation, |error| &lt; 1.2e-9). */
+    static double normalQuantile(double p) {
+        if (p <= 0 || p >= 1) throw new IllegalArgumentException("Probability must be in (0, 1): " + p);
+
+        if (p < LOW) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+                / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        if (p > 1 - LOW) {
+            double q = Math.sqrt(-2 * Math.log(1 - p));
+            return -(((((C[0] * q + C[1]) * q + C[2]) * q + C[3]) * q + C[4]) * q + C[5])
+                / ((((D[0] * q + D[1]) * q + D[2]) * q + D[3]) * q + 1);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((A[0] * r + A[1]) * r + A[2]) * r + A[3]) * r + A[4]) * r + A[5]) * q
+            / (((((B[0] * r + B[1]) * r + B[2]) * r + B[3]) * r + B[4]) * r + 1);
+    }
+}
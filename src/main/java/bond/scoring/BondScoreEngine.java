@@ -4,50 +4,143 @@ import bond.fx.FxService;
 import bond.fx.FxService.FxPhase;
 import bond.model.Bond;
 
+import lombok.SneakyThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /**
  * Engine for calculating bond performance scores.
  * Computes final capital and simple annual yield (SAY) considering
  * a degraded foreign exchange (FX) risk scenario.
+ * <p>
+ * Bonds are independent of each other: large universes are split into chunks scored in
+ * parallel. The FX rates are read once per run (one {@link bond.fx.FxSnapshot}), so the
+ * threads share no lock and a concurrent FX refresh cannot mix two rate sets in one run.
  */
 public class BondScoreEngine {
 
+    /** Number of scoring threads ({@code -Dbond.scoring.threads=1} scores sequentially). */
+    public static final String THREADS_PROPERTY = "bond.scoring.threads";
+
     /**
      * Theoretical amount invested to normalize final capital calculations.
      */
     private static final double INIT_INVESTMENT_EUR = 1000.0;
 
+    /** Bonds per parallel task; smaller universes are scored on the calling thread. */
+    private static final int CHUNK = 2048;
+
+    /** Pools other than the common one, by parallelism: shared by every engine of the process. */
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    private final ForkJoinPool pool; // Null: sequential
+
+    /**
+     * Engine using {@code bond.scoring.threads} threads, or the common fork-join pool when the
+     * property is not set.
+     */
+    public BondScoreEngine() {
+        this(Integer.getInteger(THREADS_PROPERTY, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    /**
+     * @param threads Number of scoring threads; 1 or less scores sequentially (see {@link #pool(int)}).
+     */
+    public BondScoreEngine(int threads) {
+        this.pool = pool(threads);
+    }
+
+    /**
+     * Fork-join pool with the given parallelism, or null for 1 or less: the common pool when it
+     * has this parallelism, otherwise one pool per parallelism created on first use and shared
+     * by all engines, so that engines built per run (e.g. per backtest day) add no threads.
+     */
+    public static ForkJoinPool pool(int threads) {
+        if (threads <= 1) return null;
+        if (threads == ForkJoinPool.getCommonPoolParallelism()) return ForkJoinPool.commonPool();
+        return POOLS.computeIfAbsent(threads, ForkJoinPool::new);
+    }
+
     /**
      * Calculates and updates scores (Final Capital and SAY) for each bond.
      *
      * @param bonds          The list of bonds to process.
      * @param reportCurrency The investor's reference currency (e.g., EUR).
      */
+    @SneakyThrows
     public void calculateBondScores(List<Bond> bonds, String reportCurrency) {
-        for (Bond bond : bonds) {
-            double yearsToMaturity = bond.getYearsToMaturity();
+        // Rates are only fetched when a bond needs them
+        boolean foreign = bonds.stream().anyMatch(b -> !b.getCurrency().equalsIgnoreCase(reportCurrency));
+        Map<String, Double> fx = foreign ? FxService.getInstance().snapshot().rates() : Map.of();
+        calculateBondScores(bonds, reportCurrency, fx, LocalDate.now());
+    }
 
-            // --- 1. Determine FX rates with safety margins ---
-            double fxInitial = FxService.fxExpectedMultiplier(bond.getCurrency(), reportCurrency, FxPhase.BUY, (int) yearsToMaturity);
-            double fxCoupon = FxService.fxExpectedMultiplier(bond.getCurrency(), reportCurrency, FxPhase.COUPON, (int) yearsToMaturity);
-            double fxFuture = FxService.fxExpectedMultiplier(bond.getCurrency(), reportCurrency, FxPhase.MATURITY, (int) yearsToMaturity);
+    /**
+     * Same as {@link #calculateBondScores(List, String)} but values the bonds as of a given date
+     * and with an explicit ECB rate map, so that archived days can be re-scored.
+     *
+     * @param bonds          The list of bonds to process.
+     * @param reportCurrency The investor's reference currency (e.g., EUR).
+     * @param fx             ECB rates valid on {@code asOf} (1 EUR = X CCY).
+     * @param asOf           Valuation date.
+     */
+    public void calculateBondScores(List<Bond> bonds, String reportCurrency, Map<String, Double> fx, LocalDate asOf) {
+        List<Bond> list = bonds instanceof RandomAccess ? bonds : new ArrayList<>(bonds);
+        int chunks = (list.size() + CHUNK - 1) / CHUNK;
+        if (pool == null || chunks < 2) {
+            score(list, 0, list.size(), reportCurrency, fx, asOf);
+            return;
+        }
+
+        // Tasks of a parallel stream run in the pool that starts the terminal operation
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk ->
+            score(list, chunk * CHUNK, Math.min(list.size(), (chunk + 1) * CHUNK), reportCurrency, fx, asOf)
+        )).join();
+    }
+
+    private static void score(List<Bond> bonds, int from, int to, String reportCurrency, Map<String, Double> fx, LocalDate asOf) {
+        for (int i = from; i < to; i++) {
+            score(bonds.get(i), reportCurrency, fx, asOf);
+        }
+    }
 
-            // --- 2. Calculate projected final capital ---
-            // Calculate how many securities are bought with 1000€ (Price * Initial Exchange Rate)
-            double bondNbr = INIT_INVESTMENT_EUR / (fxInitial * bond.getPrice());
+    /**
+     * Scores one bond (Final Capital and SAY): bonds are independent, so streaming callers
+     * (see {@link bond.pipeline.BondPipeline}) score them one at a time as they arrive.
+     */
+    public static void score(Bond bond, String reportCurrency, Map<String, Double> fx, LocalDate asOf) {
+        double yearsToMaturity = bond.getYearsToMaturity(asOf);
 
-            // Cumulative coupon income converted to EUR with a moderate FX penalty
-            double capitalFromBondNbrEUR = bondNbr * bond.getCouponPct() * (int) bond.getYearsToMaturity() * fxCoupon;
+        // --- 1. Determine FX rates with safety margins ---
+        double fxInitial = FxService.fxExpectedMultiplier(fx, bond.getCurrency(), reportCurrency, FxPhase.BUY, (int) yearsToMaturity);
+        double fxCoupon = FxService.fxExpectedMultiplier(fx, bond.getCurrency(), reportCurrency, FxPhase.COUPON, (int) yearsToMaturity);
+        double fxFuture = FxService.fxExpectedMultiplier(fx, bond.getCurrency(), reportCurrency, FxPhase.MATURITY, (int) yearsToMaturity);
 
-            // Redemption value (assuming 100 par) converted to EUR with a strong FX penalty
-            double capitalGainEUR = 100 * bondNbr * fxFuture;
+        applyScores(bond, yearsToMaturity, fxInitial, fxCoupon, fxFuture);
+    }
 
-            bond.setFinalCapitalToMat(capitalFromBondNbrEUR + capitalGainEUR);
+    private static void applyScores(Bond bond, double yearsToMaturity, double fxInitial, double fxCoupon, double fxFuture) {
+        // --- 2. Calculate projected final capital ---
+        // Calculate how many securities are bought with 1000€ (Price * Initial Exchange Rate)
+        double bondNbr = INIT_INVESTMENT_EUR / (fxInitial * bond.getPrice());
 
-            // --- 3. Calculate Simple Annual Yield (SAY %) ---
-            double simpleAnnualYield = (bond.getFinalCapitalToMat() - 1000) / (10 * yearsToMaturity);
-            bond.setSimpleAnnualYield(simpleAnnualYield);
-        }
+        // Cumulative coupon income converted to EUR with a moderate FX penalty
+        double capitalFromBondNbrEUR = bondNbr * bond.getCouponPct() * (int) yearsToMaturity * fxCoupon;
+
+        // Redemption value (assuming 100 par) converted to EUR with a strong FX penalty
+        double capitalGainEUR = 100 * bondNbr * fxFuture;
+
+        bond.setFinalCapitalToMat(capitalFromBondNbrEUR + capitalGainEUR);
+
+        // --- 3. Calculate Simple Annual Yield (SAY %) ---
+        double simpleAnnualYield = (bond.getFinalCapitalToMat() - 1000) / (10 * yearsToMaturity);
+        bond.setSimpleAnnualYield(simpleAnnualYield);
     }
-}
\ No newline at end of file
+}
@@ -1,93 +1,160 @@
 package bond.scrape;
 
 import bond.calc.BondCalculator;
+import bond.http.HttpTransport;
+import bond.http.HttpTransports;
+import bond.isin.IsinMap;
+import bond.log.Log;
 import bond.model.Bond;
-import org.jsoup.Jsoup;
+import bond.source.BondRow;
+import bond.source.BondSource;
+import bond.source.BondSources;
+import bond.source.BondSourcesConfig;
+import bond.source.HtmlMonitorSource;
+import bond.source.MonitorCache;
+import bond.source.RowFilter;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 
-import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 /**
- * Scraper service that retrieves sovereign bond data from multiple
- * SimpleToolsForInvestors monitoring pages.
+ * Scraper service that retrieves sovereign bond data from the sources configured in
+ * bond-sources.yaml (SimpleToolsForInvestors monitoring pages by default, local CSV / JSON
+ * universes, or any registered {@link bond.source.BondSourceFactory} type).
  * <p>
  * Responsibilities:
- * - Connect to several monitoring URLs
- * - Parse HTML yield tables
+ * - Read every source in its own parallel task
+ * - Apply the source's row filters (lot size, currency, coupon, etc.)
  * - Transform raw rows into Bond domain objects
  * - Convert prices to EUR using provided FX rates
- * - Apply filtering rules (lot size, currency, coupon, etc.)
- * - Merge duplicate bonds by ISIN across sources
+ * - Merge duplicate bonds by ISIN across sources (source order = priority)
  */
 public class BondScraper {
 
-    /**
-     * Monitoring pages containing sovereign bond yield tables.
-     * Each page may contain overlapping instruments.
-     */
-    private static final List<String> SOURCES = List.of(
-        "https://www.simpletoolsforinvestors.eu/monitor_info.php?monitor=europa&yieldtype=G&timescale=DUR",
-        "https://www.simpletoolsforinvestors.eu/monitor_info.php?monitor=43&yieldtype=G&timescale=DUR",
-        "https://www.simpletoolsforinvestors.eu/monitor_info.php?monitor=58&yieldtype=G&timescale=DUR"
-    );
-
     private final BondCalculator calculator;
+    private final HttpTransport transport;
 
     public BondScraper(BondCalculator calculator) {
+        this(calculator, HttpTransports.get());
+    }
+
+    public BondScraper(BondCalculator calculator, HttpTransport transport) {
         this.calculator = calculator;
+        this.transport = transport;
     }
 
     /**
-     * Scrapes all configured monitoring sources and aggregates the results.
+     * Scrapes all enabled sources of bond-sources.yaml and aggregates the results.
      * <p>
      * Processing steps:
-     * 1. Fetch each monitoring page
-     * 2. Parse its yield table into Bond objects
-     * 3. Merge all results into a single collection
-     * 4. Remove duplicate bonds based on ISIN (first occurrence kept)
+     * 1. Read each source in parallel and turn its rows into Bond objects
+     * 2. Merge all results into a single collection, in configuration order
+     * 3. Remove duplicate bonds based on ISIN (first source wins)
      *
      * @param fx Map of FX rates (currency → EUR conversion factor)
      * @return Deduplicated list of bonds from all sources
-     * @throws Exception if any HTTP request or parsing operation fails
+     * @throws Exception if any source cannot be read
      */
     public List<Bond> scrape(Map<String, Double> fx) throws Exception {
-        Map<String, Bond> all = new HashMap<>();
+        return scrapeSources(configuredSources(), fx);
+    }
+
+    /** The enabled sources of bond-sources.yaml, in priority order. */
+    public static List<BondSource> configuredSources() throws Exception {
+        return BondSourcesConfig.load().enabled().stream()
+            .map(BondSources::create)
+            .toList();
+    }
 
-        for (String source : SOURCES) {
-            System.out.println("🌐 Scraping: " + source);
-            List<Bond> sourceBonds = scrapeSingleSource(source, fx);
+    /**
+     * Same as {@link #scrape(Map)} on an explicit list of monitoring pages
+     * (extra monitors, offline harnesses), with the historical monitor filters.
+     *
+     * @param sources Monitoring page URLs, in priority order
+     * @param fx      Map of FX rates (currency → EUR conversion factor)
+     * @return Deduplicated list of bonds from all sources
+     * @throws Exception if any HTTP request or parsing operation fails
+     */
+    public List<Bond> scrape(List<String> sources, Map<String, Double> fx) throws Exception {
+        return scrapeSources(sources.stream().map(url -> BondSources.monitor(url, transport)).toList(), fx);
+    }
+
+    /**
+     * Reads each source in its own task and merges the results by ISIN.
+     * The merge follows the list order, not completion order, so the result is deterministic.
+     *
+     * @param sources Sources in priority order
+     * @param fx      Map of FX rates (currency → EUR conversion factor)
+     * @return Deduplicated list of bonds from all sources
+     * @throws Exception the first failure of a source (the others are still awaited)
+     */
+    public List<Bond> scrapeSources(List<BondSource> sources, Map<String, Double> fx) throws Exception {
+        if (sources.isEmpty()) return new ArrayList<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(sources.size(), r -> {
+            Thread t = new Thread(r, "bond-source");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<Future<List<Bond>>> tasks = new ArrayList<>();
+            for (BondSource source : sources) {
+                tasks.add(pool.submit(() -> readSource(source, fx)));
+            }
 
-            for (Bond bond : sourceBonds) {
-                // putIfAbsent keeps the first version found.
-                // Use .put() if you prefer the latest version (overwriting previous ones).
-                if (bond.getIsin() != null) {
-                    all.putIfAbsent(bond.getIsin(), bond);
+            List<List<Bond>> results = new ArrayList<>();
+            int total = 0;
+            for (Future<List<Bond>> task : tasks) {
+                try {
+                    results.add(task.get());
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : e;
                 }
+                total += results.get(results.size() - 1).size();
             }
 
+            // Sized for all rows: the merge never rehashes
+            IsinMap<Bond> all = new IsinMap<>(total);
+            for (List<Bond> sourceBonds : results) {
+                for (Bond bond : sourceBonds) {
+                    // putIfAbsent keeps the first version found.
+                    // Use .put() if you prefer the latest version (overwriting previous ones).
+                    if (bond.getIsin() != null) {
+                        all.putIfAbsent(bond.getIsin(), bond);
+                    }
+                }
+            }
+            return new ArrayList<>(all.values());
+        } finally {
+            pool.shutdownNow();
+            MonitorCache.flushShared();
         }
+    }
 
-        return new ArrayList<>(all.values());
+    private List<Bond> readSource(BondSource source, Map<String, Double> fx) throws Exception {
+        System.out.println("🌐 Scraping: " + source.id());
+        RowFilter filter = source.filter();
+        try (Stream<BondRow> rows = source.rows()) {
+            List<Bond> list = new ArrayList<>();
+            rows.forEach(row -> {
+                Bond bond = toBond(row, filter, fx);
+                if (bond != null) list.add(bond);
+            });
+            return list;
+        }
     }
 
     /**
-     * Scrapes a single monitoring page and converts its table rows into Bond objects.
-     * <p>
-     * Processing includes:
-     * - HTTP fetch with browser-like headers
-     * - Dynamic column mapping using table headers
-     * - Business filtering rules:
+     * Scrapes a single monitoring page and converts its table rows into Bond objects,
+     * with the historical monitor filters ({@link RowFilter#monitorDefaults()}):
      * • minimum lot size <= 5000
      * • non-zero coupon only
      * • exclude NOK and SEK bonds
-     * - Price conversion to EUR using provided FX rates
-     * - Normalisation of issuer names
-     * <p>
-     * Invalid or unparsable rows are skipped silently.
      *
      * @param source Monitoring page URL
      * @param fx     FX rates used for EUR price conversion
@@ -95,86 +162,83 @@ public class BondScraper {
      * @throws Exception if the page cannot be fetched or parsed
      */
     public List<Bond> scrapeSingleSource(String source, Map<String, Double> fx) throws Exception {
-        List<Bond> list = new ArrayList<>();
-
-        Document doc = Jsoup.connect(source)
-            .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64)")
-            .referrer("https://google.com")
-            .timeout(30_000)
-            .get();
-
-        Element table = doc.select("#YieldTable").first();
-        if (table == null) return list;
-
-        Elements rows = table.select("tr");
-        // Extract headers to map column names to indices dynamically
-        List<String> headers = rows.get(0).select("th").eachText();
-
-        for (int i = 1; i < rows.size(); i++) {
-            Elements td = rows.get(i).select("td");
-            if (td.size() != headers.size()) continue;
-
-            // Map cell values to their header names for easier access
-            Map<String, String> r = new HashMap<>();
-            for (int j = 0; j < headers.size(); j++) {
-                r.put(headers.get(j), td.get(j).text());
-            }
-
-            try {
-                String d = r.get("Descrizione");
-                String isin = r.get("Codice ISIN");
+        return readSource(BondSources.monitor(source, transport), fx);
+    }
 
-                // Avoid buy constraints of high quantities
-                int lottoMinimo = Integer.parseInt(r.get("Lotto minimo"));
-                if (lottoMinimo > 5000) continue;
+    /**
+     * Parses an already loaded monitoring page (live or archived) into Bond objects.
+     * Applies the same filtering rules as {@link #scrapeSingleSource(String, Map)}.
+     *
+     * @param doc Monitoring page containing a {@code #YieldTable}
+     * @param fx  FX rates used for EUR price conversion
+     * @return List of valid bonds found on this page
+     */
+    public List<Bond> parseYieldTable(Document doc, Map<String, Double> fx) {
+        List<Bond> list = new ArrayList<>();
+        RowFilter filter = RowFilter.monitorDefaults();
+        for (BondRow row : parseRows(doc)) {
+            Bond bond = toBond(row, filter, fx);
+            if (bond != null) list.add(bond);
+        }
+        return list;
+    }
 
-                // Clean Issuer: Extract text before the first digit (usually the date/coupon start)
-                // Example: "ITALY 4.5% 2026" -> "ITALY"
-                String issuer = d.split("\\d", 2)[0].trim();
-                issuer = CountryNormalizer.normalize(issuer);
+    /** Raw rows of a monitor page, before any filter (see {@link #toBond}). */
+    public List<BondRow> parseRows(Document doc) {
+        HtmlMonitorSource source = (HtmlMonitorSource) BondSources.monitor(doc.location(), transport);
+        return source.parse(doc);
+    }
 
-                // Parse Coupon: Find the '%' and look back to find the numeric value
+    /**
+     * Converts a raw row into a Bond, or null if the row is filtered out or unparsable.
+     * <p>
+     * Processing includes:
+     * - Issuer and coupon derived from the description when the source has no such columns
+     * - Business filtering rules of the source
+     * - Price conversion to EUR using provided FX rates
+     * - Normalisation of issuer names
+     * <p>
+     * Also the row stage of {@link bond.pipeline.BondPipeline}.
+     */
+    public Bond toBond(BondRow row, RowFilter filter, Map<String, Double> fx) {
+        try {
+            // Avoid buy constraints of high quantities
+            if (!filter.acceptsLot(row.minLot())) return null;
+
+            String d = row.description();
+
+            // Clean Issuer: Extract text before the first digit (usually the date/coupon start)
+            // Example: "ITALY 4.5% 2026" -> "ITALY"
+            String issuer = row.issuer() != null ? row.issuer() : d.split("\\d", 2)[0].trim();
+            issuer = CountryNormalizer.normalize(issuer);
+
+            // Parse Coupon: Find the '%' and look back to find the numeric value
+            double coupon;
+            if (row.couponPct() != null) {
+                coupon = row.couponPct();
+            } else {
                 int pct = d.indexOf('%');
-                double coupon = Double.parseDouble(
+                coupon = Double.parseDouble(
                     d.substring(d.lastIndexOf(' ', pct) + 1, pct).replace(',', '.')
                 );
+            }
 
-                // Skip zero-coupon bonds as they follow different yield logic
-                if (coupon == 0) continue;
-
-                LocalDate maturity = LocalDate.parse(r.get("Data scadenza"));
-
-                // Filter: Skip specific Nordic currencies if not relevant for current analysis
-                String ccy = r.get("Divisa");
-                if (ccy.equals("NOK") || ccy.equals("SEK")) continue;
+            // Skip zero-coupon bonds as they follow different yield logic
+            if (!filter.acceptsCoupon(coupon)) return null;
 
-                double price = parse(r.get("Prezzo di riferimento"));
+            // Filter: Skip currencies excluded for this source (e.g. Nordic currencies)
+            String ccy = row.currency();
+            if (!filter.acceptsCurrency(ccy)) return null;
 
-                // Convert Price to EUR using the provided FX rates
-                double priceEur = price / fx.getOrDefault(ccy, 1.0);
+            // Convert Price to EUR using the provided FX rates
+            double priceEur = row.price() / fx.getOrDefault(ccy, 1.0);
 
-                // Build and add the bond using the calculator helper
-                Bond bond = calculator.buildBond(isin, issuer, price, ccy, priceEur, coupon, maturity);
-                if (bond != null) list.add(bond);
-            } catch (Exception ignored) {
-                // Ignore individual row failures to continue processing the rest of the table
-            }
+            // Build the bond using the calculator helper
+            return calculator.buildBond(row.isin(), issuer, row.price(), ccy, priceEur, coupon, row.maturity());
+        } catch (Exception e) {
+            // Skip the row and continue with the rest of the source; repeats are summarised per stage
+            Log.warn("Unparsable row skipped", e.getClass().getSimpleName(), row.isin() + ": " + e.getMessage());
+            return null;
         }
-        return list;
-    }
-
-    /**
-     * Converts a numeric string extracted from the HTML table into a double.
-     * <p>
-     * Normalisation rules:
-     * - comma → decimal point
-     * - remove currency symbols
-     * - trim whitespace
-     *
-     * @param s Raw numeric value (example: "102,45 €")
-     * @return Parsed numeric value
-     */
-    private static double parse(String s) {
-        return Double.parseDouble(s.replace(",", ".").replace("€", "").trim());
     }
 }
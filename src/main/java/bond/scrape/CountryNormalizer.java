@@ -1,60 +1,188 @@
 package bond.scrape;
 
+import bond.log.Level;
+import bond.log.Log;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Maps raw issuer spellings (English, Italian, instrument names) to one canonical issuer name,
+ * the key of the rating tables.
+ * <p>
+ * Known spellings are looked up in an alias map. A spelling that is not in it, such as a typo
+ * or a new variant, goes to an {@link IssuerResolver} over every known spelling. Words such as
+ * REPUBLIC or KINGDOM OF are ignored on both sides. The closest spelling is used when its
+ * similarity reaches {@code -Dbond.issuer.similarity} (default 0.6).
+ * Results are cached per spelling. Fuzzy matches are listed once at the end of the run (see
+ * {@link Log}); those below {@value #CONFIDENT} are reported as warnings. Names with no close
+ * match are kept as they are.
+ */
 public final class CountryNormalizer {
 
+    public static final String SIMILARITY_PROPERTY = "bond.issuer.similarity";
+
+    /** Similarity above which a fuzzy match is not reported as a warning. */
+    static final double CONFIDENT = 0.75;
+
+    private static final Pattern ITALIA = Pattern.compile("\\b(BTP\\s+ITALIA|BTPI|BTP)\\b");
+    private static final Pattern NOISE = Pattern.compile("\\b(GREEN|BOND|FUTURA|VALORE)\\b");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+    /** Words shared by many sovereign names ("REPUBLIC OF ..."), ignored by the fuzzy match. */
+    private static final Pattern QUALIFIERS = Pattern.compile("\\b(THE|OF|REPUBLIC|REP|REPUBBLICA|KINGDOM|FEDERAL|DEMOCRATIC)\\b");
+
+    /**
+     * Known spellings and their index, replaced as a whole when names are added.
+     *
+     * @param aliases  Known spelling → canonical name; every canonical name maps to itself
+     * @param resolver Index of the spellings without {@link #QUALIFIERS}
+     * @param resolved Result of every spelling missing from {@code aliases}, fuzzy match or not
+     */
+    private record Known(Map<String, String> aliases, IssuerResolver resolver, Map<String, String> resolved) {
+
+        Known(Map<String, String> aliases) {
+            this(Map.copyOf(aliases), new IssuerResolver(cores(aliases)), new ConcurrentHashMap<>());
+        }
+
+        private static Map<String, String> cores(Map<String, String> aliases) {
+            Map<String, String> cores = new LinkedHashMap<>();
+            aliases.forEach((spelling, canonical) -> {
+                String core = core(spelling);
+                if (!core.isEmpty()) cores.putIfAbsent(core, canonical);
+            });
+            return cores;
+        }
+    }
+
+    private static final Map<String, String> ALIASES = new LinkedHashMap<>();
+
+    static {
+        alias("ITALIA", "ITALY", "REPUBLIC OF ITALY", "REPUBBLICA ITALIANA", "ITALYI", "ITALY ITALIA");
+        alias("SVIZZERA", "SWITZERLAND");
+        alias("LUSSEMBURGO", "LUXEMBOURG");
+        alias("GERMANIA", "GERMANY", "DEUTSCHLAND", "BUNDESREPUBLIK DEUTSCHLAND");
+        alias("FRANCIA", "FRANCE");
+        alias("SPAGNA", "SPAIN", "ESPANA");
+        alias("PORTOGALLO", "PORTUGAL");
+        alias("GRECIA", "GREECE", "ELLAS", "REPUBBLICA GRECA");
+        alias("REPUBBLICA CECA", "CZECH REPUBLIC");
+        alias("SLOVACCHIA", "SLOVAKIA");
+        alias("IRLANDA", "IRELAND");
+        alias("OLANDA", "NETHERLANDS", "HOLLAND", "PAESI BASSI");
+        alias("BELGIO", "BELGIUM");
+        alias("AUSTRIA");
+        alias("FINLANDIA", "FINLAND");
+        alias("DANIMARCA", "DENMARK");
+        alias("SVEZIA", "SWEDEN");
+        alias("NORVEGIA", "NORWAY");
+        alias("REGNO UNITO", "UNITED KINGDOM", "UK", "GREAT BRITAIN", "GRAN BRETAGNA");
+        alias("ROMANIA", "RUMANIA");
+        alias("POLONIA", "POLAND");
+        alias("UNGHERIA", "HUNGARY");
+        alias("BULGARIA");
+        alias("CROAZIA", "CROATIA");
+        alias("SLOVENIA");
+        alias("ESTONIA");
+        alias("LETTONIA", "LATVIA");
+        alias("LITUANIA", "LITHUANIA");
+        alias("CILE", "CHILE");
+        alias("MESSICO", "MEXICO", "MEXICAN STATES");
+        alias("CIPRO", "CYPRUS");
+        alias("TURCHIA", "TURKEY", "TÜRKIYE");
+        alias("BRASILE", "BRAZIL");
+        alias("USA", "UNITED STATES");
+        alias("GIAPPONE", "JAPAN");
+        alias("SUDAFRICA", "SOUTH AFRICA");
+        // Rated issuers without other spellings: exact matches, and never fuzzy-matched to a neighbour
+        alias("AUSTRALIA");
+        alias("CANADA");
+        alias("INDIA");
+        alias("RUSSIA");
+        alias("ARGENTINA");
+    }
+
+    private static volatile Known known = new Known(ALIASES);
+
     private CountryNormalizer() {}
 
+    /**
+     * Canonical issuer name of a raw spelling: alias map first, then the closest known spelling.
+     *
+     * @return the canonical name, the cleaned upper-case spelling if nothing is close enough,
+     *         or "" for null
+     */
     public static String normalize(String country) {
         if (country == null) return "";
+        String upper = clean(country);
+        Known k = known;
+        String canonical = k.aliases().get(upper);
+        if (canonical != null || upper.isEmpty()) return canonical != null ? canonical : upper;
+        return k.resolved().computeIfAbsent(upper, name -> resolve(k.resolver(), name));
+    }
 
-        String upper = country.toUpperCase()
-            // normalize all "Italia" instruments first
-            .replaceAll("\\b(BTP\\s+ITALIA|BTPI|BTP)\\b", "ITALIA")
-            // remove unwanted keywords
-            .replaceAll("\\b(GREEN|BOND|FUTURA|VALORE)\\b", "")
-            .replace(" PIU'", "")
-            // normalize spaces
-            .replaceAll("\\s+", " ")
-            .trim();
-
-        return switch (upper) {
-            case "ITALY", "ITALIA", "REPUBLIC OF ITALY", "REPUBBLICA ITALIANA", "ITALYI", "ITALY ITALIA" -> "ITALIA";
-            case "SWITZERLAND" -> "SVIZZERA";
-            case "LUXEMBOURG" -> "LUSSEMBURGO";
-            case "GERMANY", "DEUTSCHLAND", "BUNDESREPUBLIK DEUTSCHLAND", "GERMANIA" -> "GERMANIA";
-            case "FRANCE", "FRANCIA" -> "FRANCIA";
-            case "SPAIN", "ESPANA", "SPAGNA" -> "SPAGNA";
-            case "PORTUGAL", "PORTOGALLO" -> "PORTOGALLO";
-            case "GREECE", "ELLAS", "GRECIA", "REPUBBLICA GRECA" -> "GRECIA";
-            case "CZECH REPUBLIC" -> "REPUBBLICA CECA";
-            case "SLOVAKIA" -> "SLOVACCHIA";
-            case "IRELAND", "IRLANDA" -> "IRLANDA";
-            case "NETHERLANDS", "HOLLAND", "PAESI BASSI", "OLANDA" -> "OLANDA";
-            case "BELGIUM", "BELGIO" -> "BELGIO";
-            case "AUSTRIA" -> "AUSTRIA";
-            case "FINLAND", "FINLANDIA" -> "FINLANDIA";
-            case "DENMARK" -> "DANIMARCA";
-            case "SWEDEN", "SVEZIA" -> "SVEZIA";
-            case "NORWAY", "NORVEGIA" -> "NORVEGIA";
-            case "UNITED KINGDOM", "UK", "GREAT BRITAIN", "REGNO UNITO", "GRAN BRETAGNA" -> "REGNO UNITO";
-            case "ROMANIA", "RUMANIA" -> "ROMANIA";
-            case "POLAND", "POLONIA" -> "POLONIA";
-            case "HUNGARY", "UNGHERIA" -> "UNGHERIA";
-            case "BULGARIA" -> "BULGARIA";
-            case "CROATIA", "CROAZIA" -> "CROAZIA";
-            case "SLOVENIA" -> "SLOVENIA";
-            case "ESTONIA" -> "ESTONIA";
-            case "LATVIA", "LETTONIA" -> "LETTONIA";
-            case "LITHUANIA", "LITUANIA" -> "LITUANIA";
-            case "CHILE", "CILE" -> "CILE";
-            case "MEXICO", "MEXICAN STATES" -> "MESSICO";
-            case "CYPRUS", "CIPRO" -> "CIPRO";
-            case "TURKEY", "TURCHIA", "TÜRKIYE" -> "TURCHIA";
-            case "BRAZIL" -> "BRASILE";
-            case "UNITED STATES" -> "USA";
-            case "JAPAN" -> "GIAPPONE";
-            case "SOUTH AFRICA" -> "SUDAFRICA";
-            default -> upper;
-        };
-    }
-}
\ No newline at end of file
+    /**
+     * Alias map only, without fuzzy matching: for lists of countries that legitimately contain
+     * issuers not known yet (the web rating table).
+     */
+    public static String normalizeExact(String country) {
+        if (country == null) return "";
+        String upper = clean(country);
+        return known.aliases().getOrDefault(upper, upper);
+    }
+
+    /**
+     * Closest known spelling of a raw name by similarity alone (no alias lookup, no cache, no
+     * threshold), e.g. to check what a new spelling would resolve to.
+     *
+     * @return the match, or null if no known spelling shares a trigram with the name
+     */
+    public static IssuerResolver.Match closest(String country) {
+        return country == null ? null : known.resolver().best(core(clean(country)));
+    }
+
+    /**
+     * Adds canonical names (e.g. the countries of the rating tables) to the known spellings,
+     * so they match exactly and serve as fuzzy targets. Clears the cached fuzzy results.
+     */
+    public static synchronized void addKnownNames(Collection<String> names) {
+        int before = ALIASES.size();
+        for (String name : names) {
+            if (name != null && !name.isEmpty()) ALIASES.putIfAbsent(name, name);
+        }
+        if (ALIASES.size() > before) known = new Known(ALIASES);
+    }
+
+    private static String resolve(IssuerResolver resolver, String upper) {
+        IssuerResolver.Match match = resolver.best(core(upper));
+        double threshold = Double.parseDouble(System.getProperty(SIMILARITY_PROPERTY, "0.6"));
+        if (match == null || match.score() < threshold) return upper;
+
+        String detail = String.format("%s → %s (%.2f)", upper, match.canonical(), match.score());
+        if (match.score() < CONFIDENT) Log.tally(Level.WARN, "Issuer names matched with low confidence", detail);
+        else Log.tally(Level.INFO, "Issuer names matched by similarity", detail);
+        return match.canonical();
+    }
+
+    private static String clean(String country) {
+        String upper = country.toUpperCase();
+        // normalize all "Italia" instruments first
+        upper = ITALIA.matcher(upper).replaceAll("ITALIA");
+        // remove unwanted keywords
+        upper = NOISE.matcher(upper).replaceAll("").replace(" PIU'", "");
+        // normalize spaces
+        return SPACES.matcher(upper).replaceAll(" ").trim();
+    }
+
+    /** Spelling without qualifiers: "KINGDOM OF SPAIN" and "SPAIN" compare as equal. */
+    private static String core(String upper) {
+        return SPACES.matcher(QUALIFIERS.matcher(upper).replaceAll(" ")).replaceAll(" ").trim();
+    }
+
+    private static void alias(String canonical, String... spellings) {
+        ALIASES.put(canonical, canonical);
+        for (String s : spellings) ALIASES.put(s, canonical);
+    }
+}
@@ -0,0 +1,118 @@
+package bond.scrape;
+
+import bond.isin.LongMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fuzzy lookup of issuer spellings: character trigram index over every known spelling
+ * (canonical names and aliases).
+ * <p>
+ * A name is padded with one space on each side and cut into its distinct trigrams
+ * ("ITALY" → " IT", "ITA", "TAL", "ALY", "LY "). Each trigram, packed into a long, points to the
+ * spellings containing it, so a query only touches the spellings sharing a trigram with it.
+ * Similarity is the Dice coefficient {@code 2·common / (|a| + |b|)} of the two trigram sets:
+ * 1 for identical sets, about 0.6 to 0.75 for one or two typos in a short name.
+ * <p>
+ * Immutable once built, so safe to share between threads.
+ */
+public final class IssuerResolver {
+
+    /**
+     * A resolved spelling.
+     *
+     * @param canonical Canonical issuer name
+     * @param spelling  Known spelling that matched (canonical name or alias)
+     * @param score     Dice similarity, in [0, 1]
+     */
+    public record Match(String canonical, String spelling, double score) {
+    }
+
+    private final String[] spellings;
+    private final String[] canonicals;
+    private final int[] gramCounts;                 // Distinct trigrams per spelling
+    private final LongMap<int[]> postings = new LongMap<>(); // Trigram → spellings containing it
+
+    /**
+     * @param names Known spelling → canonical name (canonical names map to themselves)
+     */
+    public IssuerResolver(Map<String, String> names) {
+        int n = names.size();
+        spellings = new String[n];
+        canonicals = new String[n];
+        gramCounts = new int[n];
+
+        LongMap<List<Integer>> lists = new LongMap<>();
+        int i = 0;
+        for (Map.Entry<String, String> e : names.entrySet()) {
+            spellings[i] = e.getKey();
+            canonicals[i] = e.getValue();
+            long[] grams = trigrams(e.getKey());
+            gramCounts[i] = grams.length;
+            for (long g : grams) {
+                List<Integer> list = lists.get(g);
+                if (list == null) lists.put(g, list = new ArrayList<>());
+                list.add(i);
+            }
+            i++;
+        }
+        for (int k = 0; k < lists.size(); k++) {
+            postings.put(lists.keyAt(k), lists.valueAt(k).stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /** Number of indexed spellings. */
+    public int size() {
+        return spellings.length;
+    }
+
+    /**
+     * Best-scoring known spelling; ties go to the spelling indexed first.
+     *
+     * @param name Cleaned, upper-case issuer name
+     * @return the best match, or null if no spelling shares a trigram with {@code name}
+     */
+    public Match best(String name) {
+        long[] grams = trigrams(name);
+        if (grams.length == 0) return null;
+
+        int[] common = new int[spellings.length];
+        for (long g : grams) {
+            int[] list = postings.get(g);
+            if (list == null) continue;
+            for (int s : list) common[s]++;
+        }
+
+        int best = -1;
+        double bestScore = 0;
+        for (int s = 0; s < common.length; s++) {
+            if (common[s] == 0) continue;
+            double score = 2.0 * common[s] / (grams.length + gramCounts[s]);
+            if (score > bestScore) {
+                best = s;
+                bestScore = score;
+            }
+        }
+        return best < 0 ? null : new Match(canonicals[best], spellings[best], bestScore);
+    }
+
+    /** Distinct trigrams of " " + name + " ", each packed as three 16-bit chars. */
+    static long[] trigrams(String name) {
+        String padded = " " + name + " ";
+        int n = padded.length() - 2;
+        if (n <= 0 || name.isBlank()) return new long[0];
+        long[] grams = new long[n];
+        for (int i = 0; i < n; i++) {
+            grams[i] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) grams[distinct++] = grams[i];
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+}
@@ -0,0 +1,132 @@
+package bond.shared;
+
+import bond.isin.IsinCodec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary layout of the shared universe file (little-endian, every field at its natural alignment).
+ * <pre>
+ *   header   64 bytes
+ *     0  int   magic "BNDU"
+ *     4  int   layout version
+ *     8  long  sequence: odd while the writer is publishing, +2 per publication
+ *     16 int   capacity (record slots)
+ *     20 int   count (records in use)
+ *     24 int   index slots (power of two)
+ *     28 int   status: 0 live, 1 retired (the file was replaced, map the path again)
+ *     32 long  publication time (epoch millis)
+ *     40 int   record size
+ *   records  capacity × {@value #RECORD_SIZE} bytes, in universe order
+ *   index    index slots × 16 bytes: ISIN key (long), row + 1 (int, 0 = free), unused int
+ * </pre>
+ * Record fields are at the {@code F_*} offsets; text fields are zero-padded UTF-8, cut at a
+ * character boundary when too long. The index is an open-addressing table probed
+ * linearly from the key's hash; keys are {@link IsinCodec#pack packed} ISINs (never negative),
+ * or for other strings a negative hash, whose matches are confirmed against the record's ISIN.
+ */
+final class SharedLayout {
+
+    static final int MAGIC = 0x55444E42; // "BNDU" read as little-endian
+    static final int VERSION = 1;
+
+    static final int H_MAGIC = 0;
+    static final int H_VERSION = 4;
+    static final int H_SEQUENCE = 8;
+    static final int H_CAPACITY = 16;
+    static final int H_COUNT = 20;
+    static final int H_INDEX_SLOTS = 24;
+    static final int H_STATUS = 28;
+    static final int H_PUBLISHED = 32;
+    static final int H_RECORD_SIZE = 40;
+    static final int HEADER_SIZE = 64;
+
+    static final int STATUS_LIVE = 0;
+    static final int STATUS_RETIRED = 1;
+
+    // Record fields
+    static final int F_PRICE = 0;
+    static final int F_PRICE_EUR = 8;
+    static final int F_COUPON = 16;
+    static final int F_CURRENT_YIELD = 24;
+    static final int F_FINAL_CAPITAL = 32;
+    static final int F_SAY = 40;
+    static final int F_YTM = 48;
+    static final int F_SPREAD = 56;
+    static final int F_RICH_CHEAP = 64;
+    static final int F_MATURITY = 72;     // int epoch day, NO_MATURITY if unknown
+    static final int F_RATING_RANK = 76;  // byte
+    static final int F_RATING = 80;       // 4 bytes
+    static final int F_CURRENCY = 84;     // 4 bytes
+    static final int F_ISIN = 88;         // 16 bytes
+    static final int F_ISSUER = 104;      // 32 bytes
+    static final int ISIN_BYTES = 16;
+    static final int RATING_BYTES = 4;
+    static final int CURRENCY_BYTES = 4;
+    static final int ISSUER_BYTES = 32;
+    static final int RECORD_SIZE = 136;
+
+    static final int SLOT_SIZE = 16;
+    static final int NO_MATURITY = Integer.MIN_VALUE;
+
+    /** Sequence word, with acquire / release access on the mapped buffer. */
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private SharedLayout() {
+    }
+
+    static long recordOffset(int row) {
+        return HEADER_SIZE + (long) row * RECORD_SIZE;
+    }
+
+    static long indexOffset(int capacity) {
+        return recordOffset(capacity);
+    }
+
+    static long fileSize(int capacity, int indexSlots) {
+        return indexOffset(capacity) + (long) indexSlots * SLOT_SIZE;
+    }
+
+    /** Index slots for a capacity: at most half full. */
+    static int indexSlots(int capacity) {
+        return Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+    }
+
+    /** Index key of an ISIN (see class comment); never 0. */
+    static long key(String isin) {
+        long packed = IsinCodec.pack(isin);
+        if (packed != IsinCodec.INVALID) return packed;
+        long h = 0xcbf29ce484222325L; // FNV-1a
+        for (int i = 0; i < isin.length(); i++) {
+            h = (h ^ isin.charAt(i)) * 0x100000001b3L;
+        }
+        return h | Long.MIN_VALUE;
+    }
+
+    static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** Writes {@code text} zero-padded into {@code width} bytes. */
+    static void putText(ByteBuffer buf, long at, String text, int width) {
+        byte[] bytes = text == null ? new byte[0] : text.getBytes(StandardCharsets.UTF_8);
+        int n = Math.min(bytes.length, width);
+        while (n > 0 && n < bytes.length && (bytes[n] & 0xC0) == 0x80) n--; // Not inside a character
+        int base = Math.toIntExact(at);
+        for (int i = 0; i < width; i++) buf.put(base + i, i < n ? bytes[i] : 0);
+    }
+
+    static String getText(ByteBuffer buf, long at, int width) {
+        int base = Math.toIntExact(at);
+        int n = 0;
+        while (n < width && buf.get(base + n) != 0) n++;
+        byte[] bytes = new byte[n];
+        buf.get(base, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
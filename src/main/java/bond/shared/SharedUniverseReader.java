@@ -0,0 +1,316 @@
+package bond.shared;
+
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+import static bond.shared.SharedLayout.*;
+
+/**
+ * Reads the universe published by a {@link SharedUniverseWriter}, possibly in another process,
+ * straight from the memory-mapped file: no copy, no parsing, nothing allocated for numeric
+ * fields.
+ * <p>
+ * Every access goes through {@link #read}: the query sees one consistent publication, and is
+ * run again if the writer published while it ran (seqlock). Queries should therefore be short
+ * and free of side effects, and must not keep the {@link Snapshot}. When the writer replaced
+ * the file (larger universe), the path is mapped again transparently.
+ * <p>
+ * Thread-safe; each thread may also open its own reader.
+ */
+public final class SharedUniverseReader implements AutoCloseable {
+
+    /** One mapped file; replaced as a whole when the writer retires it. */
+    private record Mapping(ByteBuffer buf, int capacity, int slots) {
+    }
+
+    /** Default longest wait for a publication in progress; a publication of 100k bonds takes ~30 ms. */
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(2);
+
+    private static final int SPINS = 1_000;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Path path;
+    private final long maxWaitNanos;
+    private volatile Mapping mapping;
+
+    private SharedUniverseReader(Path path, Duration maxWait) throws IOException {
+        this.path = path;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.mapping = map(path);
+    }
+
+    /** Maps a published file; reads wait at most {@link #DEFAULT_MAX_WAIT} for a publication in progress. */
+    public static SharedUniverseReader open(Path path) throws IOException {
+        return open(path, DEFAULT_MAX_WAIT);
+    }
+
+    /**
+     * Maps a published file.
+     *
+     * @param maxWait longest wait for a publication in progress before {@link #read} gives up
+     *                (a writer that died mid-publish leaves the file in that state until the
+     *                next writer opens it)
+     */
+    public static SharedUniverseReader open(Path path, Duration maxWait) throws IOException {
+        return new SharedUniverseReader(path, maxWait);
+    }
+
+    /**
+     * Runs {@code query} on a consistent view of the latest publication.
+     * <p>
+     * A query that throws because the data changed under it is retried; other exceptions are
+     * rethrown. While a publication is in progress the reader spins, then backs off.
+     *
+     * @throws IllegalStateException if one publication stays in progress for longer than the
+     *                               reader's maximum wait
+     */
+    public <T> T read(Function<Snapshot, T> query) {
+        int waits = 0;
+        long waitStart = 0;
+        long waitingOn = -1;
+        while (true) {
+            Mapping m = mapping;
+            long before = (long) LONGS.getAcquire(m.buf(), H_SEQUENCE);
+            if ((before & 1) != 0) {
+                // Publication in progress: the clock restarts whenever the writer moves on
+                if (before != waitingOn) {
+                    waitingOn = before;
+                    waits = 0;
+                    waitStart = System.nanoTime();
+                } else if (System.nanoTime() - waitStart > maxWaitNanos) {
+                    throw new IllegalStateException("publication in progress for > "
+                        + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms in " + path + " (writer dead?)");
+                }
+                backOff(waits++);
+                continue;
+            }
+            if (m.buf().getInt(H_STATUS) == STATUS_RETIRED) {
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getAcquire(m.buf(), H_SEQUENCE) == before) remap(m);
+                continue;
+            }
+
+            T result;
+            try {
+                result = query.apply(new Snapshot(m, before));
+            } catch (RuntimeException e) {
+                VarHandle.loadLoadFence();
+                if ((long) LONGS.getAcquire(m.buf(), H_SEQUENCE) != before) continue; // Torn read
+                throw e;
+            }
+            VarHandle.loadLoadFence(); // Data reads complete before the sequence is read again
+            if ((long) LONGS.getAcquire(m.buf(), H_SEQUENCE) == before) return result;
+        }
+    }
+
+    /** Busy-spins first (publications are short), then yields, then parks up to 1 ms. */
+    private static void backOff(int waits) {
+        if (waits < SPINS) {
+            Thread.onSpinWait();
+        } else if (waits < 2 * SPINS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(Math.min(1_000L << Math.min(waits - 2 * SPINS, 10), MAX_PARK_NANOS));
+        }
+    }
+
+    /** Version of the latest complete publication (see {@link SharedUniverseWriter#publish}). */
+    public long version() {
+        return read(Snapshot::version);
+    }
+
+    /** Path of the published file. */
+    public Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() {
+        // Mappings are released by the garbage collector; nothing to close after map()
+    }
+
+    private synchronized void remap(Mapping retired) {
+        if (mapping != retired) return;
+        try {
+            mapping = map(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot map " + path + " again", e);
+        }
+    }
+
+    private static Mapping map(Path path) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (buf.capacity() < HEADER_SIZE || buf.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException(path + " is not a shared universe file");
+        }
+        if (buf.getInt(H_VERSION) != VERSION || buf.getInt(H_RECORD_SIZE) != RECORD_SIZE) {
+            throw new IOException(path + ": unsupported layout version " + buf.getInt(H_VERSION));
+        }
+        // Fixed for the life of a file
+        int capacity = buf.getInt(H_CAPACITY);
+        int slots = buf.getInt(H_INDEX_SLOTS);
+        if (buf.capacity() != fileSize(capacity, slots)) throw new IOException(path + " is truncated");
+        return new Mapping(buf, capacity, slots);
+    }
+
+    /**
+     * One publication, valid only inside {@link #read}. Rows are numbered from 0 in universe
+     * order; getters read the mapped record directly.
+     */
+    public static final class Snapshot {
+
+        private final ByteBuffer buf;
+        private final int count;
+        private final int index;
+        private final int slots;
+        private final long sequence;
+
+        private Snapshot(Mapping m, long sequence) {
+            this.buf = m.buf();
+            this.count = Math.min(Math.max(buf.getInt(H_COUNT), 0), m.capacity()); // Bounded even if torn
+            this.index = Math.toIntExact(indexOffset(m.capacity()));
+            this.slots = m.slots();
+            this.sequence = sequence;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        /** Publication version. */
+        public long version() {
+            return sequence >>> 1;
+        }
+
+        /** Publication time (epoch millis). */
+        public long publishedMillis() {
+            return buf.getLong(H_PUBLISHED);
+        }
+
+        /**
+         * Row of an ISIN through the mapped index.
+         *
+         * @return the row, or -1 if the ISIN is not published
+         */
+        public int row(String isin) {
+            long key = key(isin);
+            int mask = slots - 1;
+            int s = slot(key, mask);
+            for (int probes = 0; probes < slots; probes++) {
+                int at = index + s * SLOT_SIZE;
+                int stored = buf.getInt(at + 8);
+                if (stored == 0 || stored > count) return -1;
+                if (buf.getLong(at) == key && (key >= 0 || isin.equals(isin(stored - 1)))) return stored - 1;
+                s = (s + 1) & mask;
+            }
+            return -1;
+        }
+
+        public String isin(int row) {
+            return getText(buf, at(row) + F_ISIN, ISIN_BYTES);
+        }
+
+        public String issuer(int row) {
+            return getText(buf, at(row) + F_ISSUER, ISSUER_BYTES);
+        }
+
+        public String currency(int row) {
+            return getText(buf, at(row) + F_CURRENCY, CURRENCY_BYTES);
+        }
+
+        public String rating(int row) {
+            return getText(buf, at(row) + F_RATING, RATING_BYTES);
+        }
+
+        public int ratingRank(int row) {
+            return buf.get(at(row) + F_RATING_RANK);
+        }
+
+        public double price(int row) {
+            return buf.getDouble(at(row) + F_PRICE);
+        }
+
+        public double priceEur(int row) {
+            return buf.getDouble(at(row) + F_PRICE_EUR);
+        }
+
+        public double couponPct(int row) {
+            return buf.getDouble(at(row) + F_COUPON);
+        }
+
+        public double currentYield(int row) {
+            return buf.getDouble(at(row) + F_CURRENT_YIELD);
+        }
+
+        public double finalCapitalToMat(int row) {
+            return buf.getDouble(at(row) + F_FINAL_CAPITAL);
+        }
+
+        public double simpleAnnualYield(int row) {
+            return buf.getDouble(at(row) + F_SAY);
+        }
+
+        public double yieldToMat(int row) {
+            return buf.getDouble(at(row) + F_YTM);
+        }
+
+        public double spreadBp(int row) {
+            return buf.getDouble(at(row) + F_SPREAD);
+        }
+
+        public double richCheapBp(int row) {
+            return buf.getDouble(at(row) + F_RICH_CHEAP);
+        }
+
+        /** Maturity as epoch day, {@link Integer#MIN_VALUE} if unknown. */
+        public int maturityEpochDay(int row) {
+            return buf.getInt(at(row) + F_MATURITY);
+        }
+
+        public LocalDate maturity(int row) {
+            int day = maturityEpochDay(row);
+            return day == NO_MATURITY ? null : LocalDate.ofEpochDay(day);
+        }
+
+        /** Copy of a row as a {@link Bond} (issuer, rating and currency as stored, possibly cut). */
+        public Bond bond(int row) {
+            Bond b = new Bond();
+            b.setIsin(isin(row));
+            b.setIssuer(issuer(row));
+            b.setCurrency(currency(row));
+            b.setRating(rating(row));
+            b.setRatingRank(ratingRank(row));
+            b.setMaturity(maturity(row));
+            b.setPrice(price(row));
+            b.setPriceEur(priceEur(row));
+            b.setCouponPct(couponPct(row));
+            b.setCurrentYield(currentYield(row));
+            b.setFinalCapitalToMat(finalCapitalToMat(row));
+            b.setSimpleAnnualYield(simpleAnnualYield(row));
+            b.setYieldToMat(yieldToMat(row));
+            b.setSpreadBp(spreadBp(row));
+            b.setRichCheapBp(richCheapBp(row));
+            return b;
+        }
+
+        private int at(int row) {
+            if (row < 0 || row >= count) throw new IndexOutOfBoundsException("row " + row + " of " + count);
+            return Math.toIntExact(recordOffset(row));
+        }
+    }
+}
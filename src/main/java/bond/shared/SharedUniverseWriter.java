@@ -0,0 +1,233 @@
+package bond.shared;
+
+import bond.model.Bond;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static bond.shared.SharedLayout.*;
+
+/**
+ * Publishes the scored universe to a memory-mapped file that other local processes read
+ * without copying or parsing it (see {@link SharedUniverseReader} and {@link SharedLayout}).
+ * <p>
+ * A publication rewrites the records and the ISIN index in place inside a seqlock: the header
+ * sequence is odd while the data changes, and readers retry a read that overlapped it. When the
+ * universe outgrows the file, a larger file is written next to it and renamed over the path,
+ * then the old file is marked retired so readers map the path again. The sequence keeps
+ * increasing across files.
+ * <p>
+ * Only one writer per file: a lock on {@code <file>.lock} is held until {@link #close()}.
+ * Not thread-safe.
+ */
+public final class SharedUniverseWriter implements AutoCloseable {
+
+    /** Record slots of a new file, and minimum growth. */
+    static final int MIN_CAPACITY = 1024;
+
+    private final Path path;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private MappedByteBuffer buf;
+    private int capacity;
+    private int slots;
+
+    public SharedUniverseWriter(Path path) throws IOException {
+        this.path = path;
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        lockChannel = FileChannel.open(path.resolveSibling(path.getFileName() + ".lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock l;
+        try {
+            l = lockChannel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            l = null;
+        }
+        if (l == null) {
+            lockChannel.close();
+            throw new IOException("Another writer is publishing to " + path);
+        }
+        lock = l;
+
+        if (!reuse()) {
+            long sequence = 0;
+            if (buf != null) sequence = retire(); // Left half-written by a writer that died
+            create(MIN_CAPACITY, List.of(), sequence);
+        }
+    }
+
+    /**
+     * Replaces the published universe; rows keep the list order.
+     *
+     * @return the new version (one per publication, never reused for the same path)
+     */
+    public long publish(List<Bond> bonds) throws IOException {
+        if (bonds.size() > capacity) {
+            long sequence = sequence() + 2;
+            create(Math.max(bonds.size() + bonds.size() / 2, MIN_CAPACITY), bonds, sequence);
+            return sequence >>> 1;
+        }
+
+        long s = sequence();
+        LONGS.setOpaque(buf, H_SEQUENCE, s + 1);
+        VarHandle.storeStoreFence(); // Odd sequence visible before any data
+        write(bonds);
+        LONGS.setRelease(buf, H_SEQUENCE, s + 2);
+        return (s + 2) >>> 1;
+    }
+
+    /** Path of the published file. */
+    public Path path() {
+        return path;
+    }
+
+    /** Record slots of the current file. */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buf != null) buf.force();
+        buf = null;
+        try {
+            lock.release();
+        } finally {
+            lockChannel.close();
+        }
+    }
+
+    /** Maps an existing, consistent file of this layout; false if it must be replaced. */
+    private boolean reuse() throws IOException {
+        if (!Files.isRegularFile(path) || Files.size(path) < HEADER_SIZE) return false;
+        map(path);
+        if (buf.getInt(H_MAGIC) != MAGIC || buf.getInt(H_VERSION) != VERSION
+            || buf.getInt(H_RECORD_SIZE) != RECORD_SIZE || buf.getInt(H_STATUS) != STATUS_LIVE) {
+            buf = null;
+            return false;
+        }
+        capacity = buf.getInt(H_CAPACITY);
+        slots = buf.getInt(H_INDEX_SLOTS);
+        return buf.capacity() == fileSize(capacity, slots) && (sequence() & 1) == 0;
+    }
+
+    /** Writes a complete file under a temporary name, renames it over the path, retires the old one. */
+    private void create(int newCapacity, List<Bond> bonds, long sequence) throws IOException {
+        int newSlots = indexSlots(newCapacity);
+        long size = fileSize(newCapacity, newSlots);
+        if (size > Integer.MAX_VALUE) throw new IOException("Universe too large for " + path + ": " + bonds.size() + " bonds");
+
+        MappedByteBuffer old = buf;
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+        capacity = newCapacity;
+        slots = newSlots;
+        buf.putInt(H_MAGIC, MAGIC);
+        buf.putInt(H_VERSION, VERSION);
+        buf.putLong(H_SEQUENCE, sequence);
+        buf.putInt(H_CAPACITY, capacity);
+        buf.putInt(H_INDEX_SLOTS, slots);
+        buf.putInt(H_STATUS, STATUS_LIVE);
+        buf.putInt(H_RECORD_SIZE, RECORD_SIZE);
+        write(bonds);
+        buf.force();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (old != null) {
+            MappedByteBuffer current = buf;
+            buf = old;
+            retire();
+            buf = current;
+        }
+    }
+
+    /** Marks the mapped file retired, ending any half-done publication; returns its last sequence. */
+    private long retire() {
+        long s = sequence();
+        long next = (s | 1) + 1;
+        if ((s & 1) == 0) {
+            LONGS.setOpaque(buf, H_SEQUENCE, s + 1);
+            VarHandle.storeStoreFence();
+        }
+        buf.putInt(H_STATUS, STATUS_RETIRED);
+        LONGS.setRelease(buf, H_SEQUENCE, next);
+        return next;
+    }
+
+    private void map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size());
+        }
+        buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private long sequence() {
+        return (long) LONGS.getAcquire(buf, H_SEQUENCE);
+    }
+
+    /** Records, index and count; the caller handles the sequence. */
+    private void write(List<Bond> bonds) {
+        for (int row = 0; row < bonds.size(); row++) {
+            putRecord(Math.toIntExact(recordOffset(row)), bonds.get(row));
+        }
+
+        int index = Math.toIntExact(indexOffset(capacity));
+        for (int i = 0; i < slots * SLOT_SIZE; i += 8) buf.putLong(index + i, 0);
+        int mask = slots - 1;
+        for (int row = 0; row < bonds.size(); row++) {
+            String isin = bonds.get(row).getIsin();
+            if (isin == null) continue;
+            long key = key(isin);
+            int s = slot(key, mask);
+            while (true) {
+                int at = index + s * SLOT_SIZE;
+                int stored = buf.getInt(at + 8);
+                if (stored == 0) {
+                    buf.putLong(at, key);
+                    buf.putInt(at + 8, row + 1);
+                    break;
+                }
+                if (buf.getLong(at) == key && (key >= 0 || isin.equals(getText(buf, recordOffset(stored - 1) + F_ISIN, ISIN_BYTES)))) {
+                    break; // Duplicate ISIN: the first row wins
+                }
+                s = (s + 1) & mask;
+            }
+        }
+
+        buf.putInt(H_COUNT, bonds.size());
+        buf.putLong(H_PUBLISHED, System.currentTimeMillis());
+    }
+
+    private void putRecord(int at, Bond b) {
+        buf.putDouble(at + F_PRICE, b.getPrice());
+        buf.putDouble(at + F_PRICE_EUR, b.getPriceEur());
+        buf.putDouble(at + F_COUPON, b.getCouponPct());
+        buf.putDouble(at + F_CURRENT_YIELD, b.getCurrentYield());
+        buf.putDouble(at + F_FINAL_CAPITAL, b.getFinalCapitalToMat());
+        buf.putDouble(at + F_SAY, b.getSimpleAnnualYield());
+        buf.putDouble(at + F_YTM, b.getYieldToMat());
+        buf.putDouble(at + F_SPREAD, b.getSpreadBp());
+        buf.putDouble(at + F_RICH_CHEAP, b.getRichCheapBp());
+        buf.putInt(at + F_MATURITY, b.getMaturity() == null ? NO_MATURITY : Math.toIntExact(b.getMaturity().toEpochDay()));
+        buf.put(at + F_RATING_RANK, (byte) b.getRatingRank());
+        putText(buf, at + F_RATING, b.getRating(), RATING_BYTES);
+        putText(buf, at + F_CURRENCY, b.getCurrency(), CURRENCY_BYTES);
+        putText(buf, at + F_ISIN, b.getIsin(), ISIN_BYTES);
+        putText(buf, at + F_ISSUER, b.getIssuer(), ISSUER_BYTES);
+    }
+}
@@ -0,0 +1,48 @@
+package bond.skyline;
+
+import bond.model.Bond;
+
+import java.time.LocalDate;
+
+/**
+ * A criterion of the Pareto frontier, with its preferred direction.
+ */
+public enum SkylineDimension {
+    /** Simple annual yield, higher is better. */
+    SAY(true),
+    /** Current yield, higher is better. */
+    CURRENT_YIELD(true),
+    /** Rating rank (AAA = 10, BBB = 2), higher is better. */
+    RATING(true),
+    /** Years to maturity, shorter is better. */
+    MATURITY(false),
+    /** Price in EUR, lower is better. */
+    PRICE(false);
+
+    private final boolean higherIsBetter;
+
+    SkylineDimension(boolean higherIsBetter) {
+        this.higherIsBetter = higherIsBetter;
+    }
+
+    public boolean higherIsBetter() {
+        return higherIsBetter;
+    }
+
+    /** Raw value of a bond; NaN when unknown (no maturity, unpriced). */
+    public double value(Bond b, LocalDate asOf) {
+        return switch (this) {
+            case SAY -> b.getSimpleAnnualYield();
+            case CURRENT_YIELD -> b.getCurrentYield();
+            case RATING -> b.getRatingRank();
+            case MATURITY -> b.getMaturity() == null ? Double.NaN : b.getYearsToMaturity(asOf);
+            case PRICE -> b.getPriceEur() > 0 ? b.getPriceEur() : Double.NaN;
+        };
+    }
+
+    /** Value oriented so that higher is always better. */
+    double score(Bond b, LocalDate asOf) {
+        double v = value(b, asOf);
+        return higherIsBetter ? v : -v;
+    }
+}
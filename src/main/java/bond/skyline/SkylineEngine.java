@@ -0,0 +1,208 @@
+package bond.skyline;
+
+import bond.model.Bond;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Pareto frontier (skyline) of the universe, and the dominance depth of every bond.
+ * <p>
+ * A bond dominates another when it is at least as good on every {@link SkylineDimension} and
+ * strictly better on one. The frontier is the set of bonds no other bond dominates (depth 0).
+ * Removing it leaves a new frontier (depth 1), and so on: a bond's depth is the length of the
+ * longest chain of bonds dominating it. Bonds with an unknown value in a dimension are not
+ * ranked (depth -1).
+ * <p>
+ * Sort-filter-skyline with layers: bonds are sorted lexicographically, best first, so every
+ * bond comes after all the bonds that dominate it. Each bond then goes to the first layer
+ * that holds none of its dominators. That predicate is monotone (a dominator in layer k means
+ * one in every layer before it), so the layer is found by binary search. With two dimensions
+ * each layer is summarized by its best second value and the whole run is O(n log n). With
+ * more, a layer is tested against its members, O(n log L · w) for L layers of width w.
+ */
+public class SkylineEngine {
+
+    public static final String DIMENSIONS_PROPERTY = "bond.skyline";
+
+    /** Default dimensions: yield, credit quality and maturity. */
+    public static final List<SkylineDimension> DEFAULT_DIMENSIONS =
+        List.of(SkylineDimension.SAY, SkylineDimension.RATING, SkylineDimension.MATURITY);
+
+    /**
+     * Outcome of a run.
+     *
+     * @param ranked   Bonds with every dimension known
+     * @param frontier Bonds of depth 0
+     * @param layers   Number of depths (0 if nothing was ranked)
+     */
+    public record Result(int ranked, int frontier, int layers) {
+    }
+
+    private final List<SkylineDimension> dimensions;
+
+    /** Engine over the {@code -Dbond.skyline} dimensions, {@link #DEFAULT_DIMENSIONS} when not set. */
+    public SkylineEngine() {
+        this(parseDimensions(System.getProperty(DIMENSIONS_PROPERTY)));
+    }
+
+    public SkylineEngine(List<SkylineDimension> dimensions) {
+        if (dimensions.isEmpty()) throw new IllegalArgumentException("No skyline dimension");
+        this.dimensions = List.copyOf(dimensions);
+    }
+
+    public List<SkylineDimension> dimensions() {
+        return dimensions;
+    }
+
+    /** Sets {@link Bond#getSkylineDepth()} of every bond as of {@code asOf}. */
+    public Result calculateDepths(List<Bond> bonds, LocalDate asOf) {
+        int d = dimensions.size();
+        int n = bonds.size();
+        double[] points = new double[n * d]; // Row-major, oriented higher = better
+        int[] rows = new int[n];
+        int ranked = 0;
+        for (int i = 0; i < n; i++) {
+            Bond b = bonds.get(i);
+            b.setSkylineDepth(-1);
+            boolean known = true;
+            for (int k = 0; k < d && known; k++) {
+                double v = dimensions.get(k).score(b, asOf);
+                known = Double.isFinite(v);
+                points[ranked * d + k] = v + 0.0; // -0.0 and 0.0 compare equal below
+            }
+            if (known) rows[ranked++] = i;
+        }
+
+        Integer[] order = new Integer[ranked];
+        for (int p = 0; p < ranked; p++) order[p] = p;
+        Arrays.sort(order, (p, q) -> {
+            for (int k = 0; k < d; k++) {
+                int c = Double.compare(points[q * d + k], points[p * d + k]);
+                if (c != 0) return c;
+            }
+            return 0;
+        });
+
+        int[] depths = d == 2 ? layers2(points, order) : layers(points, order, d);
+        int frontier = 0;
+        int layers = 0;
+        for (int p = 0; p < ranked; p++) {
+            bonds.get(rows[p]).setSkylineDepth(depths[p]);
+            if (depths[p] == 0) frontier++;
+            layers = Math.max(layers, depths[p] + 1);
+        }
+        return new Result(ranked, frontier, layers);
+    }
+
+    /**
+     * Two dimensions. Points arrive by x descending: a point of a layer dominates p iff its y is
+     * higher, or equal with a higher x. Per layer, the best y and the x of its first point
+     * (the highest x with that y) decide.
+     */
+    private static int[] layers2(double[] points, Integer[] order) {
+        int n = order.length;
+        double[] bestY = new double[n];
+        double[] xAtBestY = new double[n];
+        int[] depths = new int[n];
+        int layers = 0;
+        for (int p : order) {
+            double x = points[2 * p];
+            double y = points[2 * p + 1];
+            int lo = 0;
+            int hi = layers; // First layer not dominating p, in [lo, hi]
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (bestY[mid] > y || (bestY[mid] == y && xAtBestY[mid] > x)) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == layers) {
+                bestY[layers++] = y;
+                xAtBestY[lo] = x;
+            } else if (y > bestY[lo]) {
+                bestY[lo] = y;
+                xAtBestY[lo] = x;
+            }
+            depths[p] = lo;
+        }
+        return depths;
+    }
+
+    /** Any number of dimensions: layers keep their points, in the sort order. */
+    private static int[] layers(double[] points, Integer[] order, int d) {
+        List<Layer> layers = new ArrayList<>();
+        int[] depths = new int[order.length];
+        for (int p : order) {
+            int lo = 0;
+            int hi = layers.size();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (layers.get(mid).dominates(points, p, d)) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == layers.size()) layers.add(new Layer(d));
+            layers.get(lo).add(points, p, d);
+            depths[p] = lo;
+        }
+        return depths;
+    }
+
+    /** Points of one depth, copied contiguously. */
+    private static final class Layer {
+
+        private double[] values;
+        private int size;
+
+        Layer(int d) {
+            values = new double[8 * d];
+        }
+
+        void add(double[] points, int p, int d) {
+            if ((size + 1) * d > values.length) values = Arrays.copyOf(values, values.length * 2);
+            System.arraycopy(points, p * d, values, size * d, d);
+            size++;
+        }
+
+        /** True if a point of this layer dominates p; members all come before p in the sort order. */
+        boolean dominates(double[] points, int p, int d) {
+            int base = p * d;
+            for (int m = 0, at = 0; m < size; m++, at += d) {
+                boolean geq = true;
+                boolean gt = false;
+                for (int k = 0; k < d; k++) {
+                    double a = values[at + k];
+                    double b = points[base + k];
+                    if (a < b) {
+                        geq = false;
+                        break;
+                    }
+                    if (a > b) gt = true;
+                }
+                if (geq && gt) return true;
+            }
+            return false;
+        }
+    }
+
+    static List<SkylineDimension> parseDimensions(String value) {
+        if (value == null || value.isBlank()) return DEFAULT_DIMENSIONS;
+        Set<SkylineDimension> dims = EnumSet.noneOf(SkylineDimension.class);
+        List<SkylineDimension> ordered = new ArrayList<>();
+        for (String name : value.split(",")) {
+            String key = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            if (key.isEmpty()) continue;
+            try {
+                if (dims.add(SkylineDimension.valueOf(key))) ordered.add(SkylineDimension.valueOf(key));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown skyline dimension '" + name.trim()
+                    + "' in -D" + DIMENSIONS_PROPERTY + " (say, current_yield, rating, maturity, price)");
+            }
+        }
+        return ordered.isEmpty() ? DEFAULT_DIMENSIONS : ordered;
+    }
+}
@@ -0,0 +1,27 @@
+package bond.source;
+
+import java.time.LocalDate;
+
+/**
+ * One raw instrument as read from a {@link BondSource}, before filtering and scoring.
+ *
+ * @param isin        ISIN code.
+ * @param description Instrument description (e.g. "ITALY 4.5% 2026"); used to derive the
+ *                    issuer and coupon when the source has no dedicated columns.
+ * @param issuer      Issuer, or null to derive it from the description.
+ * @param couponPct   Annual coupon in %, or null to derive it from the description.
+ * @param maturity    Maturity date.
+ * @param currency    ISO currency code.
+ * @param price       Price per 100 nominal, in {@code currency}.
+ * @param minLot      Minimum tradable lot, or null if unknown.
+ */
+public record BondRow(
+    String isin,
+    String description,
+    String issuer,
+    Double couponPct,
+    LocalDate maturity,
+    String currency,
+    double price,
+    Integer minLot) {
+}
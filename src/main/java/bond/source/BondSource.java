@@ -0,0 +1,26 @@
+package bond.source;
+
+import java.util.stream.Stream;
+
+/**
+ * A feed of bond rows (monitor page, local file, ...), created from a {@link SourceConfig}
+ * by a {@link BondSourceFactory}.
+ * <p>
+ * Implementations are used from one task each, so they do not need to be thread-safe.
+ */
+public interface BondSource {
+
+    /** Identifier from bond-sources.yaml, used in logs. */
+    String id();
+
+    /** Row filters of this source. */
+    RowFilter filter();
+
+    /**
+     * Reads the rows of the source. File-based sources stream lazily; the caller must
+     * close the returned stream.
+     *
+     * @throws Exception if the source cannot be fetched or opened
+     */
+    Stream<BondRow> rows() throws Exception;
+}
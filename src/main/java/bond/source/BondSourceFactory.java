@@ -0,0 +1,16 @@
+package bond.source;
+
+/**
+ * Service-provider interface for source types.
+ * <p>
+ * The built-in types (html, crawl, csv, json) are registered by {@link BondSources}; further types
+ * are discovered with {@link java.util.ServiceLoader} from
+ * {@code META-INF/services/bond.source.BondSourceFactory} entries on the classpath.
+ */
+public interface BondSourceFactory {
+
+    /** Value of the {@code type} key in bond-sources.yaml (e.g. "csv"). */
+    String type();
+
+    BondSource create(SourceConfig config);
+}
@@ -0,0 +1,72 @@
+package bond.source;
+
+import bond.crawl.CrawlSource;
+import bond.http.HttpTransport;
+import bond.http.HttpTransports;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registry of source types: built-in adapters (html, crawl, csv, json) plus {@link BondSourceFactory} implementations
+ * found with {@link ServiceLoader}.
+ */
+public final class BondSources {
+
+    private static final Map<String, BondSourceFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    static {
+        register(factory("html", c -> new HtmlMonitorSource(c, HttpTransports.get(), c.isCache() ? MonitorCache.shared() : null)));
+        register(factory("crawl", c -> new CrawlSource(c, HttpTransports.get(), c.isCache() ? MonitorCache.shared() : null)));
+        register(factory("csv", CsvFileSource::new));
+        register(factory("json", JsonFileSource::new));
+        ServiceLoader.load(BondSourceFactory.class).forEach(BondSources::register);
+    }
+
+    private BondSources() {
+    }
+
+    public static void register(BondSourceFactory factory) {
+        FACTORIES.put(factory.type().toLowerCase(), factory);
+    }
+
+    /**
+     * Creates the source described by {@code config}.
+     *
+     * @throws IllegalArgumentException if no factory handles its type
+     */
+    public static BondSource create(SourceConfig config) {
+        String type = config.getType() == null ? "html" : config.getType().toLowerCase();
+        BondSourceFactory factory = FACTORIES.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown source type '" + config.getType() + "' for source " + config.getId());
+        }
+        return factory.create(config);
+    }
+
+    /** HTML monitor source on an explicit URL and transport, with the historical monitor filters. */
+    public static BondSource monitor(String url, HttpTransport transport) {
+        SourceConfig config = new SourceConfig();
+        config.setId(url);
+        config.setType("html");
+        config.setUrl(url);
+        config.setFilters(RowFilter.monitorDefaults());
+        return new HtmlMonitorSource(config, transport);
+    }
+
+    private static BondSourceFactory factory(String type, Function<SourceConfig, BondSource> constructor) {
+        return new BondSourceFactory() {
+            @Override
+            public String type() {
+                return type;
+            }
+
+            @Override
+            public BondSource create(SourceConfig config) {
+                return constructor.apply(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package bond.source;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.Constructor;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Source list from bond-sources.yaml (classpath), or from the file given with
+ * {@code -Dbond.sources=path/to/bond-sources.yaml}.
+ * Order matters: when an ISIN appears in several sources, the first source wins.
+ */
+@Getter
+@Setter
+public class BondSourcesConfig {
+
+    public static final String PROPERTY = "bond.sources";
+
+    private List<SourceConfig> sources;
+
+    public BondSourcesConfig() {
+    }
+
+    public static BondSourcesConfig load() {
+        String external = System.getProperty(PROPERTY);
+        try (InputStream in = external != null
+            ? Files.newInputStream(Path.of(external))
+            : BondSourcesConfig.class.getClassLoader().getResourceAsStream("bond-sources.yaml")) {
+
+            if (in == null) {
+                throw new IllegalStateException("bond-sources.yaml not found on classpath");
+            }
+
+            LoaderOptions options = new LoaderOptions();
+            return new Yaml(new Constructor(BondSourcesConfig.class, options))
+                .load(in);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load " + (external != null ? external : "bond-sources.yaml"), e);
+        }
+    }
+
+    /** Enabled sources, in priority order. */
+    public List<SourceConfig> enabled() {
+        return sources == null ? List.of() : sources.stream().filter(SourceConfig::isEnabled).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package bond.source;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the logical fields of a {@link BondRow} to the header names of one source.
+ */
+final class ColumnMapping {
+
+    /** Headers of the simpletoolsforinvestors monitor tables. */
+    static final Map<String, String> MONITOR = Map.of(
+        "isin", "Codice ISIN",
+        "description", "Descrizione",
+        "maturity", "Data scadenza",
+        "currency", "Divisa",
+        "price", "Prezzo di riferimento",
+        "minLot", "Lotto minimo");
+
+    /** Default headers of local CSV / JSON files. */
+    static final Map<String, String> FILE = Map.of(
+        "isin", "isin",
+        "description", "description",
+        "issuer", "issuer",
+        "coupon", "coupon",
+        "maturity", "maturity",
+        "currency", "currency",
+        "price", "price",
+        "minLot", "minLot");
+
+    final String isin;
+    final String description;
+    final String issuer;
+    final String coupon;
+    final String maturity;
+    final String currency;
+    final String price;
+    final String minLot;
+    /** A blank minimum lot rejects the row (monitor pages always show one) instead of meaning "unknown". */
+    final boolean lotRequired;
+
+    /** Integer with '.', ',', ''' or space thousands separators ("10.000", "1 000"). */
+    private static final Pattern GROUPED = Pattern.compile("\\d{1,3}([.,' ]\\d{3})+");
+
+    ColumnMapping(SourceConfig config, Map<String, String> defaults, boolean lotRequired) {
+        this.lotRequired = lotRequired;
+        this.isin = config.column("isin", defaults.get("isin"));
+        this.description = config.column("description", defaults.get("description"));
+        this.issuer = config.column("issuer", defaults.get("issuer"));
+        this.coupon = config.column("coupon", defaults.get("coupon"));
+        this.maturity = config.column("maturity", defaults.get("maturity"));
+        this.currency = config.column("currency", defaults.get("currency"));
+        this.price = config.column("price", defaults.get("price"));
+        this.minLot = config.column("minLot", defaults.get("minLot"));
+    }
+
+    /**
+     * Builds a row from a cell accessor (header name → raw text, null if absent).
+     *
+     * @throws RuntimeException if a mandatory cell is missing or unparsable
+     */
+    BondRow toRow(Function<String, String> cell) {
+        String couponText = get(cell, coupon);
+        return new BondRow(
+            get(cell, isin).trim(),
+            get(cell, description),
+            blankToNull(get(cell, issuer)),
+            couponText == null || couponText.isBlank() ? null : number(couponText),
+            LocalDate.parse(get(cell, maturity).trim()),
+            get(cell, currency).trim(),
+            number(get(cell, price)),
+            lot(get(cell, minLot)));
+    }
+
+    private Integer lot(String text) {
+        if (text == null || text.isBlank()) {
+            if (lotRequired) throw new IllegalArgumentException("Missing minimum lot");
+            return null;
+        }
+        return parseLot(text);
+    }
+
+    /**
+     * Minimum lot as an integer: thousands separators are removed, anything else (decimals,
+     * text) is rejected.
+     */
+    static int parseLot(String s) {
+        String t = s.replace('\u00A0', ' ').trim();
+        if (GROUPED.matcher(t).matches()) t = t.replaceAll("[.,' ]", "");
+        return Integer.parseInt(t);
+    }
+
+    private static String get(Function<String, String> cell, String header) {
+        return header == null ? null : cell.apply(header);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+
+    /**
+     * Converts a numeric cell into a double.
+     * <p>
+     * Normalisation rules:
+     * - comma → decimal point
+     * - remove currency symbols
+     * - trim whitespace
+     *
+     * @param s Raw numeric value (example: "102,45 €")
+     */
+    static double number(String s) {
+        return Double.parseDouble(s.replace(",", ".").replace("€", "").trim());
+    }
+}
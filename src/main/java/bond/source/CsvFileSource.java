@@ -0,0 +1,115 @@
+package bond.source;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Local CSV universe: first line is the header, one instrument per line.
+ * <p>
+ * Lines are split with a single left-to-right scan (double quotes protect delimiters) and
+ * mapped lazily as the stream is consumed, so large files load at disk speed in constant
+ * memory. Unparsable lines are skipped.
+ */
+public class CsvFileSource implements BondSource {
+
+    private final SourceConfig config;
+    private final ColumnMapping mapping;
+    private final char delimiter;
+
+    public CsvFileSource(SourceConfig config) {
+        this.config = config;
+        this.mapping = new ColumnMapping(config, ColumnMapping.FILE, false);
+        String d = config.getDelimiter();
+        this.delimiter = d == null || d.isEmpty() ? ',' : (d.equals("\\t") ? '\t' : d.charAt(0));
+    }
+
+    @Override
+    public String id() {
+        return config.getId();
+    }
+
+    @Override
+    public RowFilter filter() {
+        return config.getFilters();
+    }
+
+    @Override
+    public Stream<BondRow> rows() throws IOException {
+        BufferedReader in = Files.newBufferedReader(Path.of(config.getPath()), StandardCharsets.UTF_8);
+        try {
+            String headerLine = in.readLine();
+            if (headerLine == null) {
+                in.close();
+                return Stream.empty();
+            }
+            Map<String, Integer> index = new HashMap<>();
+            List<String> headers = split(stripBom(headerLine), delimiter);
+            for (int i = 0; i < headers.size(); i++) index.put(headers.get(i).trim(), i);
+
+            return in.lines()
+                .map(line -> toRow(line, index))
+                .filter(Objects::nonNull)
+                .onClose(() -> {
+                    try {
+                        in.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private BondRow toRow(String line, Map<String, Integer> index) {
+        if (line.isBlank()) return null;
+        List<String> cells = split(line, delimiter);
+        try {
+            return mapping.toRow(header -> {
+                Integer i = index.get(header);
+                return i == null || i >= cells.size() ? null : cells.get(i);
+            });
+        } catch (Exception e) {
+            return null; // Unparsable line
+        }
+    }
+
+    static List<String> split(String line, char delimiter) {
+        List<String> cells = new ArrayList<>(10);
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (quoted && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (c == delimiter && !quoted) {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private static String stripBom(String s) {
+        return !s.isEmpty() && s.charAt(0) == '\uFEFF' ? s.substring(1) : s;
+    }
+}
@@ -0,0 +1,196 @@
+package bond.source;
+
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+import bond.log.Log;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Monitor page with a {@code #YieldTable} (simpletoolsforinvestors layout by default).
+ * Columns are located by header text, so reordered or extra columns are tolerated.
+ * <p>
+ * With a {@link MonitorCache}, the page is requested conditionally (If-None-Match /
+ * If-Modified-Since) and its parsed rows are reused when the server answers 304 or when
+ * the {@code #YieldTable} markup is byte-identical to the previous download.
+ * <p>
+ * Downloaded pages are read with a streaming tokenizer that only looks at the table
+ * ({@link #parseStreaming}); pages it does not handle go through Jsoup ({@link #parse}).
+ */
+public class HtmlMonitorSource implements BondSource {
+
+    private final SourceConfig config;
+    private final HttpTransport transport;
+    private final ColumnMapping mapping;
+    private final MonitorCache cache;
+
+    public HtmlMonitorSource(SourceConfig config, HttpTransport transport) {
+        this(config, transport, null);
+    }
+
+    /**
+     * @param cache Change-detection cache, or null to always download and parse the page.
+     */
+    public HtmlMonitorSource(SourceConfig config, HttpTransport transport, MonitorCache cache) {
+        this.config = config;
+        this.transport = transport;
+        this.mapping = new ColumnMapping(config, ColumnMapping.MONITOR, true);
+        this.cache = cache;
+    }
+
+    @Override
+    public String id() {
+        return config.getId();
+    }
+
+    @Override
+    public RowFilter filter() {
+        return config.getFilters();
+    }
+
+    /**
+     * Fetches the page (browser-like headers, gzip) through the configured transport and
+     * parses it, unless the cache shows it has not changed.
+     */
+    @Override
+    public Stream<BondRow> rows() throws Exception {
+        String url = config.getUrl();
+        MonitorCache.Entry cached = cache == null ? null : cache.get(url);
+
+        HttpRequest request = HttpRequest.get(url)
+            .withHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)")
+            .withHeader("Referer", "https://google.com")
+            .withHeader("Accept-Encoding", "gzip")
+            .withTimeout(30_000);
+        if (cached != null) {
+            if (cached.etag() != null) request = request.withHeader("If-None-Match", cached.etag());
+            if (cached.lastModified() != null) request = request.withHeader("If-Modified-Since", cached.lastModified());
+        }
+
+        HttpResponse response = transport.get(request).ensureSuccess();
+        if (response.status() == 304 && cached != null) {
+            System.out.println("♻️ Not modified (304): " + id() + " (" + cached.rows().size() + " cached rows)");
+            return cached.rows().stream();
+        }
+
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        String hash = cache == null ? null : MonitorCache.tableHash(response.body());
+        if (cached != null && cached.tableHash().equals(hash)) {
+            System.out.println("♻️ Unchanged table: " + id() + " (" + cached.rows().size() + " cached rows)");
+            cache.put(url, new MonitorCache.Entry(etag, lastModified, hash, cached.rows()));
+            return cached.rows().stream();
+        }
+
+        List<BondRow> rows = parseStreaming(response.body());
+        if (rows == null) {
+            // Charset detected from the page itself (meta tag / BOM), like Jsoup.connect() does
+            rows = parse(Jsoup.parse(response.bodyStream(), null, url));
+        }
+        if (cache != null) cache.put(url, new MonitorCache.Entry(etag, lastModified, hash, List.copyOf(rows)));
+        return rows.stream();
+    }
+
+    /**
+     * Reads the {@code #YieldTable} of a raw page without building a DOM: cells are streamed
+     * row by row into the column mapping. Same rows as {@link #parse} on the same page.
+     *
+     * @return the rows, or null if the page needs the Jsoup path (table not found,
+     *         markup outside what the tokenizer handles)
+     */
+    public List<BondRow> parseStreaming(byte[] body) {
+        MappingSink sink = new MappingSink();
+        try {
+            Reader reader = new InputStreamReader(new ByteArrayInputStream(body), YieldTableTokenizer.detectCharset(body));
+            if (!new YieldTableTokenizer(reader).read("YieldTable", sink)) return null;
+            sink.skipped.forEach(Runnable::run); // Only once the Jsoup path is ruled out, to warn once per row
+            return sink.rows;
+        } catch (YieldTableTokenizer.Unsupported | IOException e) {
+            System.out.println("⚠️ Streaming parse not possible for " + id() + " (" + e.getMessage() + "), using Jsoup");
+            return null;
+        }
+    }
+
+    /** Maps each streamed row through the column mapping, by header name like {@link #parse}. */
+    private final class MappingSink implements YieldTableTokenizer.RowSink {
+        final List<BondRow> rows = new ArrayList<>();
+        final List<Runnable> skipped = new ArrayList<>();
+        final Map<String, Integer> index = new HashMap<>();
+        int columns = -1;
+        List<String> cells;
+        final Function<String, String> cell = name -> {
+            Integer i = index.get(name);
+            return i == null ? null : cells.get(i);
+        };
+
+        @Override
+        public void header(List<String> names) {
+            for (int j = 0; j < names.size(); j++) index.put(names.get(j), j);
+            columns = names.size();
+        }
+
+        @Override
+        public void row(List<String> row) {
+            if (row.size() != columns) return;
+            cells = row;
+            try {
+                rows.add(mapping.toRow(cell));
+            } catch (Exception e) {
+                String isin = cell.apply(mapping.isin);
+                skipped.add(() -> skipped(isin, e));
+            }
+        }
+    }
+
+    /**
+     * Reads the {@code #YieldTable} of an already loaded page (live or archived).
+     * Rows whose cell count does not match the header, or that cannot be parsed, are skipped.
+     */
+    public List<BondRow> parse(Document doc) {
+        List<BondRow> list = new ArrayList<>();
+
+        Element table = doc.select("#YieldTable").first();
+        if (table == null) return list;
+
+        Elements rows = table.select("tr");
+        // Extract headers to map column names to indices dynamically
+        List<String> headers = rows.get(0).select("th").eachText();
+
+        for (int i = 1; i < rows.size(); i++) {
+            Elements td = rows.get(i).select("td");
+            if (td.size() != headers.size()) continue;
+
+            // Map cell values to their header names for easier access
+            Map<String, String> r = new HashMap<>();
+            for (int j = 0; j < headers.size(); j++) {
+                r.put(headers.get(j), td.get(j).text());
+            }
+
+            try {
+                list.add(mapping.toRow(r::get));
+            } catch (Exception e) {
+                skipped(r.get(mapping.isin), e);
+            }
+        }
+        return list;
+    }
+
+    /** Skips the row and continues with the rest of the table; repeats are summarised per stage. */
+    private static void skipped(String isin, Exception e) {
+        Log.warn("Unparsable row skipped", e.getClass().getSimpleName(), isin + ": " + e.getMessage());
+    }
+}
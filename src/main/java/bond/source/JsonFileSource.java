@@ -0,0 +1,71 @@
+package bond.source;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Local JSON universe: either an array of objects or an object with a {@code bonds} array,
+ * one object per instrument, keys mapped like CSV headers.
+ * <p>
+ * JSON is read with SnakeYAML (already used for the configuration, JSON being a subset
+ * of YAML flow syntax), so no extra dependency is needed.
+ */
+public class JsonFileSource implements BondSource {
+
+    private final SourceConfig config;
+    private final ColumnMapping mapping;
+
+    public JsonFileSource(SourceConfig config) {
+        this.config = config;
+        this.mapping = new ColumnMapping(config, ColumnMapping.FILE, false);
+    }
+
+    @Override
+    public String id() {
+        return config.getId();
+    }
+
+    @Override
+    public RowFilter filter() {
+        return config.getFilters();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<BondRow> rows() throws Exception {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE); // Universe files can exceed the 3 MB default
+
+        Object root;
+        try (Reader in = Files.newBufferedReader(Path.of(config.getPath()), StandardCharsets.UTF_8)) {
+            root = new Yaml(options).load(in);
+        }
+        if (root instanceof Map<?, ?> m) root = m.get("bonds");
+        if (!(root instanceof List<?> items)) return Stream.empty();
+
+        return ((List<Object>) items).stream()
+            .filter(o -> o instanceof Map)
+            .map(o -> toRow((Map<String, Object>) o))
+            .filter(Objects::nonNull);
+    }
+
+    private BondRow toRow(Map<String, Object> item) {
+        try {
+            return mapping.toRow(key -> {
+                Object v = item.get(key);
+                return v == null ? null : v.toString();
+            });
+        } catch (Exception e) {
+            return null; // Incomplete or unparsable object
+        }
+    }
+}
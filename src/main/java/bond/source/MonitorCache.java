@@ -0,0 +1,238 @@
+package bond.source;
+
+import bond.http.HttpTransports;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Change-detection cache of the monitor pages, keyed by URL.
+ * <p>
+ * Each entry keeps the HTTP validators of the last download (ETag / Last-Modified), a
+ * SHA-256 of the raw {@code #YieldTable} markup and the rows parsed from it. A page
+ * answered with 304, or whose table hashes to the same value, is served from the cached
+ * rows without building a DOM.
+ * <p>
+ * The cache is persisted to {@code bond.source.cache} (default
+ * {@code .bond-cache/monitors.bin}, {@code off} to disable) so that periodic runs share
+ * it. Updates stay in memory until {@link #flush()}, called once the sources of a run are
+ * read (and at shutdown for the shared cache), so a run writes the file once rather than
+ * once per page. It is only active in passthrough mode: recorded archives must hold full pages.
+ */
+public final class MonitorCache {
+
+    public static final String CACHE_PROPERTY = "bond.source.cache";
+
+    private static final int MAGIC = 0x424D4331; // "BMC1"
+    private static final byte[] TABLE_ID = "YieldTable".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TABLE_OPEN = "<table".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TABLE_CLOSE = "</table>".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * @param etag         ETag of the last 200 response, or null.
+     * @param lastModified Last-Modified of the last 200 response, or null.
+     * @param tableHash    SHA-256 (hex) of the {@code #YieldTable} markup.
+     * @param rows         Rows parsed from that table.
+     */
+    public record Entry(String etag, String lastModified, String tableHash, List<BondRow> rows) {
+    }
+
+    private static volatile MonitorCache shared;
+
+    private final Path file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    /**
+     * @param file Persistence file (loaded if present), or null for an in-memory cache.
+     */
+    public MonitorCache(Path file) {
+        this.file = file;
+        if (file != null && Files.isRegularFile(file)) {
+            try {
+                load();
+            } catch (IOException e) {
+                // A corrupt or outdated cache only costs one full download
+                System.err.println("⚠️ Ignoring monitor cache " + file + ": " + e.getMessage());
+                entries.clear();
+            }
+        }
+    }
+
+    /** Process-wide cache, or null when disabled (property {@code off} or record / replay mode). */
+    public static MonitorCache shared() {
+        String location = System.getProperty(CACHE_PROPERTY, ".bond-cache/monitors.bin").trim();
+        if (location.equalsIgnoreCase("off") || HttpTransports.mode() != HttpTransports.Mode.PASSTHROUGH) {
+            return null;
+        }
+        MonitorCache c = shared;
+        if (c == null) {
+            synchronized (MonitorCache.class) {
+                c = shared;
+                if (c == null) {
+                    c = new MonitorCache(Path.of(location));
+                    Runtime.getRuntime().addShutdownHook(new Thread(c::flush, "bond-cache-flush"));
+                    shared = c;
+                }
+            }
+        }
+        return c;
+    }
+
+    public Entry get(String url) {
+        return entries.get(url);
+    }
+
+    /** Stores the entry; the persistence file is rewritten on the next {@link #flush()}. */
+    public void put(String url, Entry entry) {
+        entries.put(url, entry);
+        if (file != null) dirty.set(true);
+    }
+
+    /** Rewrites the persistence file if an entry changed since the last flush (failures are only logged). */
+    public void flush() {
+        if (!dirty.getAndSet(false)) return;
+        try {
+            save();
+        } catch (IOException e) {
+            dirty.set(true); // Retried on the next flush
+            System.err.println("⚠️ Failed to save monitor cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    /** Flushes the process-wide cache, if it was created. */
+    public static void flushShared() {
+        MonitorCache c = shared;
+        if (c != null) c.flush();
+    }
+
+    /**
+     * SHA-256 of the raw {@code <table ... YieldTable ...>...</table>} markup of a page,
+     * located with a byte search (no decoding, no DOM). The whole body is hashed when the
+     * table cannot be located.
+     */
+    public static String tableHash(byte[] body) {
+        int from = 0;
+        int to = body.length;
+        int id = indexOf(body, TABLE_ID, 0);
+        if (id >= 0) {
+            int open = lastIndexOf(body, TABLE_OPEN, id);
+            int close = indexOf(body, TABLE_CLOSE, id);
+            if (open >= 0 && close >= 0) {
+                from = open;
+                to = close + TABLE_CLOSE.length;
+            }
+        }
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(body, from, to - from);
+            return HexFormat.of().formatHex(sha.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern, int from) {
+        outer:
+        for (int i = from; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] data, byte[] pattern, int before) {
+        outer:
+        for (int i = Math.min(before, data.length) - pattern.length; i >= 0; i--) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // --- Persistence ---
+
+    private synchronized void save() throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                out.writeUTF(e.getKey());
+                writeNullable(out, entry.etag());
+                writeNullable(out, entry.lastModified());
+                out.writeUTF(entry.tableHash());
+                out.writeInt(entry.rows().size());
+                for (BondRow r : entry.rows()) {
+                    writeNullable(out, r.isin());
+                    writeNullable(out, r.description());
+                    writeNullable(out, r.issuer());
+                    out.writeDouble(r.couponPct() == null ? Double.NaN : r.couponPct());
+                    out.writeLong(r.maturity() == null ? Long.MIN_VALUE : r.maturity().toEpochDay());
+                    writeNullable(out, r.currency());
+                    out.writeDouble(r.price());
+                    out.writeInt(r.minLot() == null ? Integer.MIN_VALUE : r.minLot());
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a monitor cache file");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String url = in.readUTF();
+                String etag = readNullable(in);
+                String lastModified = readNullable(in);
+                String hash = in.readUTF();
+                int size = in.readInt();
+                List<BondRow> rows = new ArrayList<>(size);
+                for (int k = 0; k < size; k++) {
+                    String isin = readNullable(in);
+                    String description = readNullable(in);
+                    String issuer = readNullable(in);
+                    double coupon = in.readDouble();
+                    long maturity = in.readLong();
+                    String currency = readNullable(in);
+                    double price = in.readDouble();
+                    int minLot = in.readInt();
+                    rows.add(new BondRow(isin, description, issuer,
+                        Double.isNaN(coupon) ? null : coupon,
+                        maturity == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(maturity),
+                        currency, price,
+                        minLot == Integer.MIN_VALUE ? null : minLot));
+                }
+                entries.put(url, new Entry(etag, lastModified, hash, List.copyOf(rows)));
+            }
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) out.writeUTF(s);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,47 @@
+package bond.source;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Per-source row filters (the {@code filters} block of a source in bond-sources.yaml).
+ */
+@Getter
+@Setter
+public class RowFilter {
+
+    Integer maxMinLot;                   // Skip rows whose minimum lot is above (avoids large buy constraints)
+    List<String> excludeCurrencies = List.of();
+    boolean skipZeroCoupon = true;       // Zero coupons follow a different yield logic
+
+    public RowFilter() {
+    }
+
+    public RowFilter(Integer maxMinLot, List<String> excludeCurrencies, boolean skipZeroCoupon) {
+        this.maxMinLot = maxMinLot;
+        this.excludeCurrencies = excludeCurrencies;
+        this.skipZeroCoupon = skipZeroCoupon;
+    }
+
+    /**
+     * Rules historically hardcoded for the simpletoolsforinvestors monitors. A new instance on
+     * every call: filters are mutable beans, bound per source from YAML.
+     */
+    public static RowFilter monitorDefaults() {
+        return new RowFilter(5000, List.of("NOK", "SEK"), true);
+    }
+
+    public boolean acceptsLot(Integer minLot) {
+        return maxMinLot == null || minLot == null || minLot <= maxMinLot;
+    }
+
+    public boolean acceptsCoupon(double couponPct) {
+        return !skipZeroCoupon || couponPct != 0;
+    }
+
+    public boolean acceptsCurrency(String currency) {
+        return excludeCurrencies == null || !excludeCurrencies.contains(currency);
+    }
+}
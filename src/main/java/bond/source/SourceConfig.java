@@ -0,0 +1,37 @@
+package bond.source;
+
+import bond.crawl.CrawlConfig;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * One entry of bond-sources.yaml.
+ * <p>
+ * {@code columns} maps logical fields (isin, description, issuer, coupon, maturity, currency,
+ * price, minLot) to the header names used by the source; fields not listed keep the
+ * adapter's defaults.
+ */
+@Getter
+@Setter
+public class SourceConfig {
+    String id;
+    String type;              // html | csv | json | any registered BondSourceFactory type
+    String url;               // html sources, index page of crawl sources
+    String path;              // file sources
+    String delimiter = ",";   // csv sources
+    boolean cache;            // html and crawl sources: skip unchanged pages (see MonitorCache)
+    boolean enabled = true;
+    Map<String, String> columns;
+    RowFilter filters = new RowFilter();
+    CrawlConfig crawl = new CrawlConfig(); // crawl sources
+
+    public SourceConfig() {
+    }
+
+    /** Header name of a logical field: the configured one, or the adapter default. */
+    public String column(String field, String defaultHeader) {
+        return columns != null && columns.containsKey(field) ? columns.get(field) : defaultHeader;
+    }
+}
@@ -0,0 +1,394 @@
+package bond.source;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming extractor of one HTML table: seeks to the {@code <table>} with the requested id
+ * and hands its cell texts to a {@link RowSink} row by row, without building a DOM.
+ * <p>
+ * Memory is bounded by one read buffer and one row of cells. The output matches what
+ * {@link HtmlMonitorSource#parse} reads through Jsoup:
+ * - header = non-empty {@code th} texts of the first row, data rows = {@code td} texts
+ * - cell text with entities decoded and whitespace collapsed, like {@code Element.text()}
+ * - implicit ends of {@code td} / {@code th} / {@code tr} handled as by the HTML parser
+ * <p>
+ * Markup this reader does not model exactly (nested tables, unknown named entities,
+ * UTF-16 pages, unsupported charsets) raises {@link Unsupported}, so the caller can fall
+ * back to the Jsoup path.
+ */
+final class YieldTableTokenizer {
+
+    /** Receives the table; the cell list is reused between calls and must not be retained. */
+    interface RowSink {
+        void header(List<String> names);
+
+        void row(List<String> cells);
+    }
+
+    /** The page uses markup outside the subset handled here. */
+    static final class Unsupported extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        Unsupported(String message) {
+            super(message);
+        }
+    }
+
+    private static final int EOF = -1;
+
+    private final Reader in;
+    private final char[] buf = new char[16 * 1024];
+    private int pos;
+    private int len;
+
+    private final StringBuilder name = new StringBuilder(16);
+    private final StringBuilder cell = new StringBuilder(64);
+    private boolean pendingSpace;
+
+    // Tag just read by readTag()
+    private String tag;
+    private boolean endTag;
+    private String tagId;
+
+    YieldTableTokenizer(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Charset of a page, detected like Jsoup does without a declared charset: UTF-8 BOM,
+     * otherwise the {@code charset=} of a meta tag in the first 5 KB, otherwise UTF-8.
+     */
+    static Charset detectCharset(byte[] body) throws Unsupported {
+        if (body.length >= 2 && ((body[0] == (byte) 0xFE && body[1] == (byte) 0xFF)
+            || (body[0] == (byte) 0xFF && body[1] == (byte) 0xFE))) {
+            throw new Unsupported("UTF-16 page");
+        }
+        if (body.length >= 3 && body[0] == (byte) 0xEF && body[1] == (byte) 0xBB && body[2] == (byte) 0xBF) {
+            return StandardCharsets.UTF_8;
+        }
+
+        String head = new String(body, 0, Math.min(body.length, 5 * 1024), StandardCharsets.ISO_8859_1)
+            .toLowerCase(Locale.ROOT);
+        int meta = head.indexOf("<meta");
+        while (meta >= 0) {
+            int end = head.indexOf('>', meta);
+            if (end < 0) break;
+            int cs = head.indexOf("charset=", meta);
+            if (cs >= 0 && cs < end) {
+                int from = cs + "charset=".length();
+                while (from < end && (head.charAt(from) == '"' || head.charAt(from) == '\'')) from++;
+                int to = from;
+                while (to < end && (Character.isLetterOrDigit(head.charAt(to)) || "-_.:".indexOf(head.charAt(to)) >= 0)) to++;
+                try {
+                    return Charset.forName(head.substring(from, to));
+                } catch (IllegalArgumentException e) {
+                    throw new Unsupported("Unsupported charset " + head.substring(from, to));
+                }
+            }
+            meta = head.indexOf("<meta", end);
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Reads the table whose id is {@code tableId}.
+     *
+     * @return false if the page has no such table
+     */
+    boolean read(String tableId, RowSink sink) throws IOException, Unsupported {
+        if (!seek(tableId)) return false;
+
+        List<String> header = new ArrayList<>();
+        List<String> cells = new ArrayList<>();
+        int rowIndex = -1;       // -1: no row opened yet
+        boolean inRow = false;
+        boolean inCell = false;
+        boolean cellIsTh = false;
+
+        int c;
+        while ((c = next()) != EOF) {
+            if (c != '<') {
+                if (inCell) {
+                    if (c == '&') appendEntity();
+                    else appendText((char) c);
+                }
+                continue;
+            }
+            if (!readTag()) continue; // Comment, doctype or stray '<'
+
+            switch (tag) {
+                case "td", "th" -> {
+                    if (inCell) closeCell(cellIsTh, rowIndex, header, cells);
+                    if (endTag) {
+                        inCell = false;
+                    } else {
+                        if (!inRow) {
+                            // Cell without <tr>: the parser opens the row implicitly
+                            inRow = true;
+                            rowIndex++;
+                        }
+                        inCell = true;
+                        cellIsTh = tag.equals("th");
+                    }
+                }
+                case "tr", "thead", "tbody", "tfoot" -> {
+                    if (inCell) closeCell(cellIsTh, rowIndex, header, cells);
+                    inCell = false;
+                    if (inRow) {
+                        emitRow(rowIndex, header, cells, sink);
+                        inRow = false;
+                    }
+                    if (tag.equals("tr") && !endTag) {
+                        inRow = true;
+                        rowIndex++;
+                    }
+                }
+                case "table" -> {
+                    if (!endTag) throw new Unsupported("Nested table");
+                    if (inCell) closeCell(cellIsTh, rowIndex, header, cells);
+                    if (inRow) emitRow(rowIndex, header, cells, sink);
+                    return true;
+                }
+                case "br", "p", "div", "li" -> {
+                    if (inCell) pendingSpace = cell.length() > 0;
+                }
+                default -> {
+                    // Inline markup inside cells (a, span, b, ...) only contributes its text
+                }
+            }
+        }
+        // Unterminated table: end of input closes everything
+        if (inCell) closeCell(cellIsTh, rowIndex, header, cells);
+        if (inRow) emitRow(rowIndex, header, cells, sink);
+        return true;
+    }
+
+    private void closeCell(boolean th, int rowIndex, List<String> header, List<String> cells) {
+        String text = cell.toString();
+        cell.setLength(0);
+        pendingSpace = false;
+        if (rowIndex == 0) {
+            if (th && !text.isEmpty()) header.add(text);
+        } else if (!th) {
+            cells.add(text);
+        }
+    }
+
+    private void emitRow(int rowIndex, List<String> header, List<String> cells, RowSink sink) {
+        if (rowIndex == 0) sink.header(header);
+        else sink.row(cells);
+        cells.clear();
+    }
+
+    /** Skips everything up to the start tag of the table, false at end of input. */
+    private boolean seek(String tableId) throws IOException {
+        int c;
+        while ((c = next()) != EOF) {
+            if (c == '<' && readTag() && !endTag && tag.equals("table") && tableId.equals(tagId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // --- Tags ---
+
+    /**
+     * Reads a tag after its '<'. Comments, doctypes and processing instructions are skipped;
+     * the raw text of script / style / textarea / title is skipped after their start tag.
+     *
+     * @return true if an element tag was read ({@link #tag}, {@link #endTag}, {@link #tagId})
+     */
+    private boolean readTag() throws IOException {
+        int c = next();
+        if (c == '!') {
+            if (next() == '-' && next() == '-') skipPast("-->");
+            else skipPast(">");
+            return false;
+        }
+        if (c == '?') {
+            skipPast(">");
+            return false;
+        }
+
+        endTag = c == '/';
+        if (endTag) c = next();
+        if (!isLetter(c)) {
+            unread(c);
+            return false; // Plain '<' in text
+        }
+
+        name.setLength(0);
+        while (c != EOF && !isSpace(c) && c != '>' && c != '/') {
+            name.append(Character.toLowerCase((char) c));
+            c = next();
+        }
+        tag = name.toString();
+        tagId = null;
+        boolean table = tag.equals("table") && !endTag;
+
+        // Attributes (values may contain '>' when quoted)
+        while (c != EOF && c != '>') {
+            if (isSpace(c) || c == '/') {
+                c = next();
+                continue;
+            }
+            name.setLength(0);
+            while (c != EOF && !isSpace(c) && c != '=' && c != '>' && c != '/') {
+                name.append(Character.toLowerCase((char) c));
+                c = next();
+            }
+            while (isSpace(c)) c = next();
+            if (c != '=') continue;
+
+            c = next();
+            while (isSpace(c)) c = next();
+            boolean isId = table && name.toString().equals("id");
+            StringBuilder value = isId ? new StringBuilder() : null;
+            if (c == '"' || c == '\'') {
+                int quote = c;
+                while ((c = next()) != EOF && c != quote) {
+                    if (value != null) value.append((char) c);
+                }
+                c = next();
+            } else {
+                while (c != EOF && !isSpace(c) && c != '>') {
+                    if (value != null) value.append((char) c);
+                    c = next();
+                }
+            }
+            if (isId) tagId = value.toString();
+        }
+
+        if (!endTag && (tag.equals("script") || tag.equals("style") || tag.equals("textarea") || tag.equals("title"))) {
+            skipRawText(tag);
+        }
+        return true;
+    }
+
+    private void skipRawText(String element) throws IOException {
+        int c;
+        while ((c = next()) != EOF) {
+            if (c != '<') continue;
+            if ((c = next()) != '/') {
+                unread(c);
+                continue;
+            }
+            int i = 0;
+            while (i < element.length() && (c = next()) != EOF && Character.toLowerCase((char) c) == element.charAt(i)) i++;
+            if (i == element.length()) {
+                skipPast(">");
+                return;
+            }
+            unread(c);
+        }
+    }
+
+    private void skipPast(String terminator) throws IOException {
+        int matched = 0;
+        int c;
+        while ((c = next()) != EOF) {
+            if (c == terminator.charAt(matched)) {
+                if (++matched == terminator.length()) return;
+            } else {
+                matched = c == terminator.charAt(0) ? 1 : 0;
+            }
+        }
+    }
+
+    // --- Cell text ---
+
+    /** Appends a character with whitespace collapsed and leading whitespace dropped. */
+    private void appendText(char c) {
+        if (isSpace(c) || c == '\u00A0') {
+            pendingSpace = cell.length() > 0;
+            return;
+        }
+        if (pendingSpace) {
+            cell.append(' ');
+            pendingSpace = false;
+        }
+        cell.append(c);
+    }
+
+    /** Decodes the entity after '&'; text such as "A & B" is kept literally. */
+    private void appendEntity() throws IOException, Unsupported {
+        int c = next();
+        if (c == '#') {
+            boolean hex = false;
+            c = next();
+            if (c == 'x' || c == 'X') {
+                hex = true;
+                c = next();
+            }
+            int code = 0;
+            int digits = 0;
+            while (c != EOF && Character.digit(c, hex ? 16 : 10) >= 0 && digits < 8) {
+                code = code * (hex ? 16 : 10) + Character.digit(c, hex ? 16 : 10);
+                digits++;
+                c = next();
+            }
+            if (digits == 0 || c != ';' || !Character.isValidCodePoint(code)) {
+                throw new Unsupported("Malformed numeric entity");
+            }
+            for (char ch : Character.toChars(code)) appendText(ch);
+            return;
+        }
+
+        if (!isLetter(c)) {
+            unread(c);
+            appendText('&');
+            return;
+        }
+        name.setLength(0);
+        while (c != EOF && Character.isLetterOrDigit(c) && name.length() < 16) {
+            name.append((char) c);
+            c = next();
+        }
+        if (c != ';') throw new Unsupported("Entity without ';': &" + name);
+        switch (name.toString()) {
+            case "amp" -> appendText('&');
+            case "lt" -> appendText('<');
+            case "gt" -> appendText('>');
+            case "quot" -> appendText('"');
+            case "apos" -> appendText('\'');
+            case "nbsp" -> appendText('\u00A0');
+            case "copy" -> appendText('\u00A9');
+            case "euro" -> appendText('\u20AC');
+            default -> throw new Unsupported("Unknown entity &" + name + ";");
+        }
+    }
+
+    // --- Input ---
+
+    private int next() throws IOException {
+        if (pos == len) {
+            len = in.read(buf, 0, buf.length);
+            pos = 0;
+            if (len <= 0) {
+                len = 0;
+                return EOF;
+            }
+        }
+        return buf[pos++];
+    }
+
+    /** Pushes back the character returned by the last {@link #next()} (no-op at EOF). */
+    private void unread(int c) {
+        if (c != EOF) pos--;
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f';
+    }
+}
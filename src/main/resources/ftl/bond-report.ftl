@@ -5,11 +5,17 @@
     <title>Bond Yield Ranking</title>
     <!-- External CSS -->
     <meta name="viewport" content="width=device-width, initial-scale=1.0, maximum-scale=5.0, user-scalable=yes, viewport-fit=cover">
+<#if assets??>
+    <link rel="stylesheet" href="${assets["css/bond-report.css"]}">
+    <link rel="stylesheet" href="${assets["css/porfolio-analyzer.css"]}">
+    <link rel="stylesheet" href="${assets["css/bond-report-mobile.css"]}">
+<#else>
     <style>
-        <#include "../css/bond-report.css">
-        <#include "../css/porfolio-analyzer.css">
-        <#include "../css/bond-report-mobile.css">
+        <#include "../css/bond-report.css" parse=false>
+        <#include "../css/porfolio-analyzer.css" parse=false>
+        <#include "../css/bond-report-mobile.css" parse=false>
     </style>
+</#if>
 </head>
 
 <body>
@@ -153,6 +159,12 @@
             <input id="filterMinSAY" type="number" step="0.5" placeholder="min %"
                    onclick="event.stopPropagation()" oninput="filterTable()" style="width:80px;">
         </th>
+        <th title="Yield to maturity minus the German curve at the same maturity (EUR bonds)"
+            onclick="sortTable(COL.SPREAD)" data-short="Spr."><span class="column-title">Spread (bp)</span><span class="arrow"></span></th>
+        <th title="Yield to maturity minus the issuer's own fitted curve: positive = cheap, negative = rich"
+            onclick="sortTable(COL.RICH_CHEAP)" data-short="R/C"><span class="column-title">Rich/Cheap (bp)</span><span class="arrow"></span></th>
+        <th title="Pareto depth: 0 = on the frontier (no other bond is as good on every dimension, by default SAY, rating and maturity, and better on one); n = n layers of better bonds above it"
+            onclick="sortTable(COL.DEPTH)" data-short="Dep."><span class="column-title">Depth</span><span class="arrow"></span></th>
     </tr>
     </thead>
 
@@ -165,7 +177,7 @@
             ${b.getPrice()?string["0.00"]}
         </td>
         <td>${b.getCurrency()}</td>
-        <td class="<#if (b.getRating()?starts_with('A'))>good<#elseif (b.getRating()?starts_with('BBB'))>neutral<#else>bad</#if>">
+        <td class="<#if (b.getRating()?starts_with('A'))>good<#elseif (b.getRating()?starts_with('BBB'))>neutral<#else>bad</#if>" data-rank="${b.getRatingRank()?c}">
             <strong>${b.getRating()}</strong>
         </td>
         <td>
@@ -182,6 +194,9 @@
         <td>
             ${b.getSimpleAnnualYield()?string["0.00"]}
         </td>
+        <td><#if b.getSpreadBp()?is_nan>-<#else>${b.getSpreadBp()?string["0"]}</#if></td>
+        <td class="<#if b.getRichCheapBp()?is_nan><#elseif (b.getRichCheapBp() >= 25)>good<#elseif (b.getRichCheapBp() <= -25)>bad</#if>"><#if b.getRichCheapBp()?is_nan>-<#else>${b.getRichCheapBp()?string["0"]}</#if></td>
+        <td class="<#if (b.getSkylineDepth() == 0)>good</#if>"><#if (b.getSkylineDepth() < 0)>-<#else>${b.getSkylineDepth()?c}</#if></td>
     </tr>
     </#list>
     </tbody>
@@ -214,11 +229,75 @@
     </table>
 </div>
 
+<#if portfolio??>
+<!-- =======================
+     PORTFOLIO PROJECTION (precomputed server-side, see PortfolioEngine)
+======================= -->
+<div class="legend" id="portfolioProjection">
+    <div class="legend-title">
+        Portfolio Projection — ${portfolio.positions()?size} positions,
+        market value ${portfolio.marketValueEur()?string["0"]} ${portfolio.reportCurrency()},
+        SAY ${portfolio.weightedSay()?string["0.00"]}%,
+        rating ${(portfolio.weightedRating().label())!'-'}
+    </div>
+    <table class="legend-table">
+        <tr><th>Year</th><th>Coupons (${portfolio.reportCurrency()})</th><th>Redemptions (${portfolio.reportCurrency()})</th><th>Total</th></tr>
+        <#list portfolio.calendar() as y>
+        <tr>
+            <td>${y.year()?c}</td>
+            <td>${y.couponsEur()?string["0.00"]}</td>
+            <td>${y.redemptionsEur()?string["0.00"]}</td>
+            <td><strong>${y.totalEur()?string["0.00"]}</strong></td>
+        </tr>
+        </#list>
+    </table>
+</div>
+</#if>
+
 <#include "portfolio-analyzer.ftl">
 
 <!-- External JavaScript -->
 <script>
-    <#include "../js/bond-report.js">
+    /* =======================
+       PRESET PROFILES (from bond-profiles.yaml)
+    ======================= */
+    const PRESETS = {
+    <#list presets as p>
+      ${p.id}: {
+        name: "${p.label}",
+        description: "${p.description}",
+        profileType: "${p.profileType!'SAY'}",
+        sortedBy: "${p.sortedBy!'SAY'}",
+        filters: {
+        <#list p.filters?keys as k>
+          ${k}: ${p.filters[k]?is_number?then(p.filters[k]?c, '"' + p.filters[k] + '"')}<#if k_has_next>,</#if>
+        </#list>
+        }
+      }<#if p_has_next>,</#if>
+    </#list>
+    };
+
+    /* =======================
+       SORT ORDERS (ascending row indices per column, base64 little-endian)
+    ======================= */
+    const SORT_ORDERS = ${sortOrders};
+
+    /* =======================
+       BOND DATA for the portfolio analyzer (column buffer, base64 little-endian, see BondColumns)
+    ======================= */
+    const BOND_DATA = ${bondData};
+</script>
+<#if assets??>
+<script src="${assets["js/bond-report.js"]}"></script>
+<script src="${assets["js/portfolio-worker.js"]}"></script>
+<script src="${assets["js/portfolio-analyzer.js"]}"></script>
+<script src="${assets["js/bond-report-mobile-adapter.js"]}"></script>
+<#else>
+<script>
+    <#include "../js/bond-report.js" parse=false>
+</script>
+<script>
+    <#include "../js/portfolio-worker.js" parse=false>
 </script>
 <script>
     <#include "../js/portfolio-analyzer.js" parse=false>
@@ -226,5 +305,6 @@
 <script>
     <#include "../js/bond-report-mobile-adapter.js" parse=false>
 </script>
+</#if>
 </body>
 </html>
\ No newline at end of file
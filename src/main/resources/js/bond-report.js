@@ -12,7 +12,10 @@ const COL = {
     MATURITY: 7,
     CURR_YIELD: 8,
     CAPITAL_AT_MAT: 9,
-    SAY: 10
+    SAY: 10,
+    SPREAD: 11,
+    RICH_CHEAP: 12,
+    DEPTH: 13
 };
 
 /* =======================
@@ -58,6 +61,13 @@ function parseValue(v) {
     return isNaN(n) ? v : n;
 }
 
+/** Integer rank of the row's rating (data-rank attribute, falls back to the label lookup). */
+function ratingRankOf(row) {
+    const cell = row.cells[COL.RATING];
+    const rank = parseInt(cell.dataset.rank, 10);
+    return isNaN(rank) ? (RATING_RANK[cell.innerText.trim()] ?? -100) : rank;
+}
+
 function parseNum(s) {
     return parseFloat(s.replace(",", "."));
 }
@@ -65,6 +75,32 @@ function parseNum(s) {
 /* =======================
    SORTING
 ======================= */
+let originalRows = null;      // Rows in rendering order (the indices of SORT_ORDERS)
+const sortOrderCache = {};    // Decoded permutation per column
+
+/** Ascending row indices of a column from SORT_ORDERS, or null to sort with comparators. */
+function precomputedOrder(col, rowCount) {
+    if (typeof SORT_ORDERS === "undefined" || !SORT_ORDERS.columns[col]) return null;
+    if (!originalRows) {
+        originalRows = Array.from(document.getElementById("bondTable").tBodies[0].rows);
+    }
+    if (originalRows.length !== rowCount) return null;
+
+    let order = sortOrderCache[col];
+    if (!order) {
+        const bin = atob(SORT_ORDERS.columns[col]);
+        const view = new DataView(new ArrayBuffer(bin.length));
+        for (let i = 0; i < bin.length; i++) view.setUint8(i, bin.charCodeAt(i));
+        const width = SORT_ORDERS.width;
+        order = width === 2 ? new Uint16Array(bin.length / 2) : new Uint32Array(bin.length / 4);
+        for (let i = 0; i < order.length; i++) {
+            order[i] = width === 2 ? view.getUint16(i * 2, true) : view.getUint32(i * 4, true);
+        }
+        sortOrderCache[col] = order;
+    }
+    return order.length === rowCount ? order : null;
+}
+
 function sortTable(col, initial) {
     const table = document.getElementById("bondTable");
     const tbody = table.tBodies[0];
@@ -90,6 +126,28 @@ function sortTable(col, initial) {
     });
     ths[col].querySelector(".arrow").textContent = dir === "asc" ? "▲" : "▼";
 
+    // Precomputed order: rows are re-appended by index, without comparing them
+    const order = precomputedOrder(col, rows.length);
+    if (order) {
+        const fragment = document.createDocumentFragment();
+        if (dir === "asc") {
+            for (let i = 0; i < order.length; i++) fragment.appendChild(originalRows[order[i]]);
+        } else {
+            for (let i = order.length - 1; i >= 0; i--) fragment.appendChild(originalRows[order[i]]);
+        }
+        tbody.appendChild(fragment);
+        return;
+    }
+
+    if (col === COL.RATING) {
+        // Ratings sort on the integer rank rendered server-side (AAA = 10 ... D = -9)
+        rows.sort((a, b) => dir === "asc"
+            ? ratingRankOf(a) - ratingRankOf(b)
+            : ratingRankOf(b) - ratingRankOf(a));
+        rows.forEach(r => tbody.appendChild(r));
+        return;
+    }
+
     rows.sort((a, b) => {
         const x = parseValue(a.cells[col].innerText);
         const y = parseValue(b.cells[col].innerText);
@@ -119,6 +177,7 @@ function filterTable() {
     const minYield = parseFloat(document.getElementById("filterminYield").value || "0");
     const minCapitalAtMat = parseFloat(document.getElementById("filterMinCapitalAtMat").value || "0");
     const minSAY = parseFloat(document.getElementById("filterMinSAY").value || "0");
+    const minRatingRank = minRating ? (RATING_RANK[minRating] ?? -100) : null;
 
     const rows = document.querySelectorAll("#bondTable tbody tr");
 
@@ -127,7 +186,6 @@ function filterTable() {
         const issuerCell = r.cells[COL.ISSUER].innerText.toLowerCase();
         const priceCell = parseNum(r.cells[COL.PRICE].innerText);
         const currencyCell = r.cells[COL.CURRENCY].innerText;
-        const ratingCell = r.cells[COL.RATING].innerText.trim();
         const mat = r.cells[COL.MATURITY].innerText;
         const currCoupon = parseNum(r.cells[COL.CURR_YIELD].innerText);
         const capitalAtMat = parseNum(r.cells[COL.CAPITAL_AT_MAT].innerText);
@@ -141,11 +199,7 @@ function filterTable() {
         if (currency && currencyCell !== currency) ok = false;
 
         // Rating: minimum rating filter (e.g., "≥ BBB" means rating must be BBB or better)
-        if (minRating) {
-            const ratingRank = RATING_RANK[ratingCell] || -100;
-            const minRatingRank = RATING_RANK[minRating] || -100;
-            if (ratingRank < minRatingRank) ok = false;
-        }
+        if (minRatingRank !== null && ratingRankOf(r) < minRatingRank) ok = false;
 
         if (minMat && mat < minMat) ok = false;
         if (maxMat && mat > maxMat) ok = false;
@@ -373,25 +427,10 @@ function setDefaultMaturityFilters() {
     document.getElementById("filterMaxMat").value = formatDate(max);
 }
 
-        /* =======================
-           PRESET PROFILES
-        ======================= */
-
-        const PRESETS = {
-        <#list presets as p>
-          ${p.id}: {
-            name: "${p.label}",
-            description: "${p.description}",
-            profileType: "${p.profileType!'SAY'}",
-            sortedBy: "${p.sortedBy!'SAY'}",
-            filters: {
-            <#list p.filters?keys as k>
-              ${k}: ${p.filters[k]?is_number?then(p.filters[k]?c, '"' + p.filters[k] + '"')}<#if k_has_next>,</#if>
-            </#list>
-            }
-          }<#if p_has_next>,</#if>
-        </#list>
-        };
+/* =======================
+   PRESET PROFILES
+   PRESETS (server-side profiles from bond-profiles.yaml) is rendered inline by bond-report.ftl
+======================= */
 
 /* =======================
    YAML IMPORT
@@ -633,7 +672,9 @@ function applyPreset(presetName) {
                 "COUPON": COL.COUPON,
                 "RATING": COL.RATING,
                 "PRICE_R": COL.PRICE_R,
-                "CURRENCY": COL.CURRENCY
+                "CURRENCY": COL.CURRENCY,
+                "SPREAD": COL.SPREAD,
+                "RICH_CHEAP": COL.RICH_CHEAP
             };
             sortColumn = sortMap[preset.sortedBy] !== undefined ? sortMap[preset.sortedBy] : COL.SAY;
         }
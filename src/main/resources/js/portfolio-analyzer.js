@@ -2,11 +2,20 @@
 // Fixed version: draggable modal, CSV import/export, corrected weighted calculations
 // Embedded in FreeMarker template via <#include "portfolio-analyzer.js" parse=false>
 // No backend required - uses browser localStorage
+// Searches and statistics run in a Web Worker over the embedded BOND_DATA (portfolio-worker.js);
+// this thread only renders their results.
 
 class PortfolioAnalyzer {
+    static RATING_ORDER = ['AAA', 'AA+', 'AA', 'AA-', 'A+', 'A', 'A-', 'BBB+', 'BBB', 'BBB-', 'BB+', 'BB', 'BB-', 'B+', 'B', 'B-', 'CCC', 'CC', 'C', 'D'];
+
     constructor() {
         this.portfolio = [];
-        this.allBonds = [];
+        this.bondCount = 0;
+        this.worker = null;
+        this.pending = new Map();   // Request id -> {resolve, message}
+        this.requestId = 0;
+        this.searchId = 0;          // Latest search: older answers are dropped
+        this.statsId = 0;
         this.modal = null;
         this.currentBond = null;
         this.highlightedIndex = -1;
@@ -26,8 +35,8 @@ class PortfolioAnalyzer {
             }
         }
 
-        // Extract bonds from the existing table
-        this.loadBondsFromTable();
+        // Hand the bond universe to the worker
+        this.startWorker();
 
         // Create modal interface
         this.createModal();
@@ -41,38 +50,67 @@ class PortfolioAnalyzer {
            this.handleSearchKeydown(e);
        });
 
-       console.log(`📊 Portfolio Analyzer initialized with ${this.allBonds.length} bonds`);
+       this.call('init', {meta: this.bondMeta(), data: BOND_DATA.data}).then(reply => {
+           this.bondCount = reply.count;
+           console.log(`📊 Portfolio Analyzer initialized with ${reply.count} bonds`);
+       });
     }
 
-    loadBondsFromTable() {
-        const table = document.querySelector('table#bondTable');
-        if (!table) {
-            console.error('Bond table not found');
-            return;
+    /** Starts the worker from the source of portfolioWorker(), or runs it here if workers are unavailable. */
+    startWorker() {
+        const source = `const POSITION_FIELDS = ${JSON.stringify(POSITION_FIELDS)};\n(${portfolioWorker})(self);`;
+        try {
+            const url = URL.createObjectURL(new Blob([source], {type: 'text/javascript'}));
+            this.worker = new Worker(url);
+            this.worker.onerror = e => {
+                // Blocked before it started (e.g. a Content-Security-Policy without blob:)
+                if (this.bondCount === 0) {
+                    e.preventDefault();
+                    this.runWorkerLocally();
+                }
+            };
+            setTimeout(() => URL.revokeObjectURL(url), 10000);
+        } catch (e) {
+            this.worker = null;
         }
+        if (!this.worker) this.runWorkerLocally();
+        this.worker.onmessage = e => this.onWorkerMessage(e.data);
+    }
 
-        const rows = table.querySelectorAll('tbody tr');
-        rows.forEach(row => {
-            const cells = row.querySelectorAll('td');
-            if (cells.length >= 10) {
-                this.allBonds.push({
-                    isin: cells[0].textContent.trim(),
-                    issuer: cells[1].textContent.trim(),
-                    price: parseFloat(cells[2].textContent.trim().replace(",",".")),
-                    currency: cells[3].textContent.trim(),
-                    rating: cells[4].textContent.trim(),
-                    priceEur: parseFloat(cells[5].textContent.trim().replace(",",".")),
-                    coupon: parseFloat(cells[6].textContent.trim().replace(",",".")),
-                    maturity: cells[7].textContent.trim(),
-                    currentYield: parseFloat(cells[8].textContent.trim().replace(",",".")),
-                    capitalAtMat: parseFloat(cells[9].textContent.trim()),
-                    say: cells.length > 10 ? parseFloat(cells[10].textContent.trim().replace(",",".")) : 0,
-                    includeInStatistics: true
-                });
-            }
+    /** Fallback: the same handlers on this thread, answering asynchronously like a worker. */
+    runWorkerLocally() {
+        console.warn('Web Worker unavailable, portfolio computations run on the main thread');
+        const scope = {postMessage: msg => setTimeout(() => this.onWorkerMessage(msg))};
+        portfolioWorker(scope);
+        this.worker = {postMessage: msg => setTimeout(() => scope.onmessage({data: msg}))};
+        // Requests already sent to the failed worker are sent again
+        this.pending.forEach(request => this.worker.postMessage(request.message));
+    }
+
+    /** Posts a request to the worker; resolves with its reply. Buffers in {@code transfer} are moved, not copied. */
+    call(type, payload, transfer = []) {
+        const id = ++this.requestId;
+        const message = {id, type, ...payload};
+        return new Promise(resolve => {
+            this.pending.set(id, {resolve, message});
+            // Until the worker has answered once, buffers are copied: a fallback may resend them
+            this.worker.postMessage(message, this.bondCount > 0 ? transfer : []);
         });
     }
 
+    onWorkerMessage(reply) {
+        const request = this.pending.get(reply.id);
+        if (!request) return;
+        this.pending.delete(reply.id);
+        request.resolve(reply);
+    }
+
+    /** BOND_DATA without its base64 payload (the worker decodes that itself). */
+    bondMeta() {
+        const {data, ...meta} = BOND_DATA;
+        return meta;
+    }
+
     createModal() {
         this.modal = document.getElementById('portfolioModal');
 
@@ -212,11 +250,12 @@ class PortfolioAnalyzer {
     }
 
     searchBond() {
-
+        const MAX_RESULTS = 8;
         const input = document.getElementById('isinSearch');
-        const query = input.value.toLowerCase().trim();
+        const query = input.value.trim();
 
         const resultsContainer = document.getElementById('searchResults');
+        const id = ++this.searchId;
 
         if (!query) {
             resultsContainer.innerHTML = '';
@@ -224,75 +263,14 @@ class PortfolioAnalyzer {
             return;
         }
 
-        // --- normalize helper ---
-        const normalize = s =>
-            String(s)
-                .toLowerCase()
-                .replace(',', '.')
-                .replace('%', '')
-                .trim();
-
-        // --- split words ---
-        // --- split tokens ---
-        const tokens = query
-            .split(/\s+/)
-            .map(t => t.trim())
-            .filter(t => t.length > 0);
-
-        // --- classify tokens ---
-        const percentTokens = [];
-        const textTokens = [];
-
-        tokens.forEach(t => {
-            const normalized = t.replace(',', '.');
-            // nombre avec ou sans %
-            if (/^\d+(\.\d*)?%?$/.test(normalized)) {
-                percentTokens.push(parseFloat(normalized));
-            } else {
-                textTokens.push(normalize(t));
-            }
-        });
-
-
-        const matches = this.allBonds.filter(bond => {
-            const coupon = Number(bond.coupon);
-
-            // --- coupon match (optional) ---
-            let couponMatch = true;
-            if (percentTokens.length > 0) {
-                couponMatch = percentTokens.every(p => {
-                    if (Number.isInteger(p)) {
-                        return Math.floor(coupon) === p;
-                    }
-
-                    const decimals = (String(p).split('.')[1] || '').length;
-                    const factor = 10 ** decimals;
-
-                    return Math.floor(coupon * factor) === Math.floor(p * factor);
-                });
-            }
-
-            // --- text match (optional) ---
-            let textMatch = true;
-            if (textTokens.length > 0) {
-                const searchable = normalize([
-                    bond.isin,
-                    bond.issuer
-                ].join(' '));
-
-                textMatch = textTokens.every(t => searchable.includes(t));
-            }
-
-            return couponMatch && textMatch;
+        // Coupon prefixes ("4", "4.5%") and ISIN / issuer substrings, matched by the worker
+        this.call('search', {query, limit: MAX_RESULTS}).then(reply => {
+            if (id === this.searchId) this.showSearchResults(reply.bonds, reply.total);
         });
-
-        this.showSearchResults(matches);
     }
 
-    showSearchResults = function (matches) {
-        const MAX_RESULTS = 8;
-        const newMatches = matches.slice(0, MAX_RESULTS);
-
+    /** Renders the first matches (at most MAX_RESULTS of searchBond) out of {@code total}. */
+    showSearchResults = function (newMatches, total) {
         const sameResults =
             this.currentMatches.length === newMatches.length &&
             this.currentMatches.every((b, i) => b.isin === newMatches[i].isin);
@@ -310,7 +288,7 @@ class PortfolioAnalyzer {
         const container = document.getElementById("searchResults");
         container.innerHTML = "";
 
-        if (!matches || matches.length === 0) {
+        if (total === 0) {
             container.innerHTML = `
                 <div class="search-no-results">
                     No bond found
@@ -320,10 +298,7 @@ class PortfolioAnalyzer {
             return;
         }
 
-        // limit results (important UX)
-        const resultsToShow = matches.slice(0, MAX_RESULTS);
-
-        resultsToShow.forEach(bond => {
+        newMatches.forEach(bond => {
 
             const row = document.createElement("div");
             row.className = "search-result";
@@ -349,8 +324,8 @@ class PortfolioAnalyzer {
         });
 
         // Show message in case the results are too many
-        if (matches.length > MAX_RESULTS) {
-            const remaining = matches.length - MAX_RESULTS;
+        if (total > newMatches.length) {
+            const remaining = total - newMatches.length;
 
             const moreMsg = document.createElement("div");
             moreMsg.className = "search-results-more";
@@ -672,6 +647,7 @@ class PortfolioAnalyzer {
     }
 
     updateStatistics() {
+        const id = ++this.statsId;  // Answers to earlier requests are dropped
         if (this.portfolio.length === 0) {
             document.getElementById('statTotalInvestment').textContent = '€0.00';
             document.getElementById('statAvgPrice').textContent = '€0.00';
@@ -687,91 +663,77 @@ class PortfolioAnalyzer {
             return;
         }
 
-        let totalInvestment = 0;
-        let totalInvestment1 = 0;
-        let weightedSAY = 0;
-        let weightedYield = 0;
-        let weightedCoupon = 0;
-        let weightedRisk = 0;
-        let currencyTotals = {}; // Track investment by currency
-        let totalProfit = 0;
-        let totalCouponIncome = 0;
-
-        const bonds = this.portfolio.filter(b => b.includeInStatistics);
-        bonds.forEach(bond => {
-
-            const currentValue = bond.priceEur * bond.quantity;   // market value
-            const investedAmount = bond.totalEur || 0;            // what you paid
-
-            totalInvestment += investedAmount;
-            totalInvestment1 += currentValue;
-
-            weightedSAY += (bond.say * currentValue);
-            weightedYield += (bond.currentYield * currentValue);
-            weightedCoupon += (bond.coupon * currentValue);
-
-            // TOTAL PROFIT (correct now)
-            totalProfit += (currentValue - investedAmount);
-
-            // TOTAL COUPON INCOME (ANNUAL, IN EUR)
-            const nominal = bond.nominal || 100;
-            const annualCouponOriginal = (bond.coupon / 100) * nominal * bond.quantity;
-
-            const annualCouponEur = bond.currency === 'EUR'
-                ? annualCouponOriginal
-                : annualCouponOriginal * (bond.priceEur / bond.price);
-
-            totalCouponIncome += annualCouponEur;
-
-            // Risk (years to maturity)
-            const maturityDate = new Date(bond.maturity);
-            const today = new Date();
-            const yearsToMaturity =
-                (maturityDate - today) / (365.25 * 24 * 60 * 60 * 1000);
-
-            weightedRisk += (Math.max(0, yearsToMaturity) * currentValue);
-
-            // Currency breakdown
-            if (!currencyTotals[bond.currency]) {
-                currencyTotals[bond.currency] = 0;
-            }
-            currencyTotals[bond.currency] += currentValue;
-
+        const packed = this.packPositions();
+        this.call('stats', packed.message, packed.transfer).then(stats => {
+            if (id === this.statsId) this.showStatistics(stats, packed.currencies);
         });
+    }
 
-        const totalQty = bonds.reduce((sum, b) => sum + b.quantity, 0);
-        const avgPrice = totalInvestment / totalQty;
-
-        const weightedSAYPercent = (weightedSAY / totalInvestment1);
-        const weightedYieldPercent = (weightedYield / totalInvestment1);
-        const weightedCouponPercent = (weightedCoupon / totalInvestment1);
-        const weightedRiskYears = (weightedRisk / totalInvestment1);
-
-        // Calculate weighted average rating (using rating order)
-        const ratingOrder = ['AAA', 'AA+', 'AA', 'AA-', 'A+', 'A', 'A-', 'BBB+', 'BBB', 'BBB-', 'BB+', 'BB', 'BB-', 'B+', 'B', 'B-', 'CCC', 'CC', 'C', 'D'];
-        let weightedRatingScore = 0;
-        bonds.forEach(bond => {
-            const marketValue = bond.priceEur * bond.quantity;
-            const ratingIndex = ratingOrder.indexOf(bond.rating);
-            const ratingScore = ratingIndex >= 0 ? ratingIndex : 20; // Default to lowest if not found
-            weightedRatingScore += (ratingScore * marketValue);
+    /**
+     * Portfolio positions as typed arrays for the worker: one Float64Array row of
+     * POSITION_FIELDS per position, plus currency and ISIN indices (Int32Array).
+     */
+    packPositions() {
+        const F = POSITION_FIELDS;
+        const n = this.portfolio.length;
+        const positions = new Float64Array(n * F.STRIDE);
+        const currencyOf = new Int32Array(n);
+        const isinOf = new Int32Array(n);
+        const currencyIndex = new Map();
+        const isinIndex = new Map();
+
+        const ratingOrder = PortfolioAnalyzer.RATING_ORDER;
+        this.portfolio.forEach((bond, k) => {
+            const p = k * F.STRIDE;
+            positions[p + F.PRICE_EUR] = bond.priceEur;
+            positions[p + F.QUANTITY] = bond.quantity;
+            positions[p + F.INVESTED] = bond.totalEur || 0;  // what you paid
+            positions[p + F.SAY] = bond.say;
+            positions[p + F.YIELD] = bond.currentYield;
+            positions[p + F.COUPON] = bond.coupon;
+            positions[p + F.NOMINAL] = bond.nominal || 100;
+            positions[p + F.FX] = bond.currency === 'EUR' ? 1 : bond.priceEur / bond.price;
+            positions[p + F.MATURITY_MS] = new Date(bond.maturity).getTime();
+            // ratingOrder index = 10 - rank (AAA = 10 → 0); older portfolios without ratingRank use the label
+            const ratingIndex = Number.isInteger(bond.ratingRank) ? 10 - bond.ratingRank : ratingOrder.indexOf(bond.rating);
+            positions[p + F.RATING_SCORE] = ratingIndex >= 0 ? ratingIndex : 20; // Default to lowest if not found
+            positions[p + F.INCLUDED] = bond.includeInStatistics ? 1 : 0;
+
+            if (!currencyIndex.has(bond.currency)) currencyIndex.set(bond.currency, currencyIndex.size);
+            if (!isinIndex.has(bond.isin)) isinIndex.set(bond.isin, isinIndex.size);
+            currencyOf[k] = currencyIndex.get(bond.currency);
+            isinOf[k] = isinIndex.get(bond.isin);
         });
-        const avgRatingScore = weightedRatingScore / totalInvestment1;
-        const weightedRating = ratingOrder[Math.round(avgRatingScore)] || '-';
 
-        totalInvestment = Math.round(totalInvestment);
+        return {
+            currencies: [...currencyIndex.keys()],
+            message: {
+                positions: positions.buffer,
+                currencyOf: currencyOf.buffer,
+                isinOf: isinOf.buffer,
+                currencyCount: currencyIndex.size,
+                now: Date.now()
+            },
+            transfer: [positions.buffer, currencyOf.buffer, isinOf.buffer]
+        };
+    }
+
+    /** Writes the worker's statistics into the dashboard. */
+    showStatistics(stats, currencies) {
+        const totalInvestment = Math.round(stats.totalInvestment);
+        const weightedRating = PortfolioAnalyzer.RATING_ORDER[Math.round(stats.ratingScore)] || '-';
+
         document.getElementById('statTotalInvestment').textContent = `€${totalInvestment}`;
-        document.getElementById('statAvgPrice').textContent = `€${avgPrice.toFixed(2)}`;
-        document.getElementById('statWeightedSAY').textContent = `${weightedSAYPercent.toFixed(2)}%`;
-        document.getElementById('statWeightedYield').textContent = `${weightedYieldPercent.toFixed(2)}%`;
-        document.getElementById('statAvgCoupon').textContent = `${weightedCouponPercent.toFixed(2)}%`;
-        const uniqueISINs = new Set(bonds.map(b => b.isin));
-        document.getElementById('statBondCount').textContent = uniqueISINs.size;
-        document.getElementById('statWeightedRisk').textContent = `${weightedRiskYears.toFixed(2)} yrs`;
+        document.getElementById('statAvgPrice').textContent = `€${stats.avgPrice.toFixed(2)}`;
+        document.getElementById('statWeightedSAY').textContent = `${stats.weightedSAY.toFixed(2)}%`;
+        document.getElementById('statWeightedYield').textContent = `${stats.weightedYield.toFixed(2)}%`;
+        document.getElementById('statAvgCoupon').textContent = `${stats.weightedCoupon.toFixed(2)}%`;
+        document.getElementById('statBondCount').textContent = stats.bondCount;
+        document.getElementById('statWeightedRisk').textContent = `${stats.weightedRiskYears.toFixed(2)} yrs`;
         document.getElementById('statWeightedRating').textContent = weightedRating;
 
         // Total Profit
-        totalProfit = Math.round(totalProfit);
+        const totalProfit = Math.round(stats.totalProfit);
         const profitElement = document.getElementById('statTotalProfit');
         if (profitElement) {
             profitElement.textContent = `€${totalProfit}`;
@@ -779,14 +741,18 @@ class PortfolioAnalyzer {
         }
 
         // Total Coupon Income (Current Year)
-        totalCouponIncome = Math.round(totalCouponIncome);
+        const totalCouponIncome = Math.round(stats.totalCouponIncome);
         const couponElement = document.getElementById('statTotalCouponIncome');
         if (couponElement) {
             couponElement.textContent = `€${totalCouponIncome}`;
         }
 
         // Display currency breakdown
-        this.updateCurrencyBreakdown(currencyTotals, totalInvestment1);
+        const currencyTotals = {};
+        currencies.forEach((currency, i) => {
+            if (stats.currencyTotals[i] > 0) currencyTotals[currency] = stats.currencyTotals[i];
+        });
+        this.updateCurrencyBreakdown(currencyTotals, stats.marketValue);
     }
 
     updateCurrencyBreakdown(currencyTotals, totalInvestment) {
@@ -842,7 +808,7 @@ class PortfolioAnalyzer {
         if (!file) return;
 
         const reader = new FileReader();
-        reader.onload = (e) => {
+        reader.onload = async (e) => {
             try {
                 const csv = e.target.result;
                 const lines = csv.trim().split('\n');
@@ -853,6 +819,7 @@ class PortfolioAnalyzer {
                 }
 
                 // Skip header line
+                const rows = [];
                 const newPortfolio = [];
                 const updatedBonds = [];
                 const notFoundBonds = [];
@@ -872,19 +839,24 @@ class PortfolioAnalyzer {
                             .replace(/[^\d.-]/g, '')
                     ) || 0;
 
-                    // Find bond in allBonds to get CURRENT market data
-                    const currentBondData = this.allBonds.find(b => b.isin === isin);
+                    rows.push({isin, quantity, totalEur});
+                }
+
+                // Find bonds in the report (worker) to get CURRENT market data
+                const found = await this.call('find', {isins: rows.map(r => r.isin)});
+                rows.forEach((row, i) => {
+                    const currentBondData = found.bonds[i];
 
                     if (currentBondData) {
                         newPortfolio.push({
                             ...currentBondData,
-                            quantity: quantity,
-                            totalEur: totalEur
+                            quantity: row.quantity,
+                            totalEur: row.totalEur
                         });
                     } else {
-                        notFoundBonds.push(isin);
+                        notFoundBonds.push(row.isin);
                     }
-                }
+                });
 
                 if (newPortfolio.length === 0) {
                     alert('No valid bonds found in CSV');
@@ -0,0 +1,229 @@
+// Portfolio Analyzer - Worker Side
+// Owns the bond universe (BOND_DATA, see BondColumns.java) as typed arrays and answers the
+// analyzer's searches, ISIN lookups and statistics, off the main thread.
+// portfolio-analyzer.js starts it from this function's source (Blob URL), so it works from
+// file:// pages and with inlined assets; without Worker support it runs on the main thread.
+
+/** Fields of one packed portfolio position (Float64Array, see PortfolioAnalyzer.packPositions). */
+const POSITION_FIELDS = {
+    PRICE_EUR: 0, QUANTITY: 1, INVESTED: 2, SAY: 3, YIELD: 4, COUPON: 5,
+    NOMINAL: 6, FX: 7, MATURITY_MS: 8, RATING_SCORE: 9, INCLUDED: 10, STRIDE: 11
+};
+
+function portfolioWorker(scope) {
+    const F = POSITION_FIELDS;
+    let bonds = null;          // Column views over the transferred buffer
+    let isinText = '';         // Lower-case ISINs, one per (isinWidth + 1) characters
+    let issuerText = null;     // Normalized issuer per dictionary entry
+    let rowOfIsin = null;      // ISIN -> first row, built by the first lookup
+
+    /** Same normalization as the search input: lower case, first ',' -> '.', first '%' dropped. */
+    const normalize = s => String(s).toLowerCase().replace(',', '.').replace('%', '').trim();
+
+    /** Value as rendered in the table ("0.00" or "0" format). */
+    const round = (v, decimals) => {
+        const f = decimals === 2 ? 100 : 1;
+        return Math.round(v * f) / f;
+    };
+
+    function init(meta, buffer) {
+        const n = meta.count;
+        const o = meta.offsets;
+        bonds = {
+            meta,
+            price: new Float32Array(buffer, o.price, n),
+            priceEur: new Float32Array(buffer, o.priceEur, n),
+            coupon: new Float32Array(buffer, o.coupon, n),
+            currentYield: new Float32Array(buffer, o.currentYield, n),
+            capitalAtMat: new Float32Array(buffer, o.capitalAtMat, n),
+            say: new Float32Array(buffer, o.say, n),
+            maturity: new Int32Array(buffer, o.maturity, n),
+            issuer: new Int32Array(buffer, o.issuer, n),
+            currency: new Uint16Array(buffer, o.currency, n),
+            rating: new Uint16Array(buffer, o.rating, n),
+            ratingRank: new Int8Array(buffer, o.ratingRank, n),
+            isin: new Uint8Array(buffer, o.isin, n * meta.isinWidth)
+        };
+
+        // One string for all ISINs: a token is found with indexOf instead of per-row tests.
+        // Rows are separated by '\n', which a token (no whitespace) can never span.
+        const w = meta.isinWidth;
+        const chunks = [];
+        const line = new Array(w + 1);
+        for (let i = 0; i < n; i++) {
+            for (let j = 0; j < w; j++) line[j] = bonds.isin[i * w + j] || 10;
+            line[w] = 10;
+            chunks.push(String.fromCharCode.apply(null, line));
+        }
+        isinText = chunks.join('').toLowerCase();
+        issuerText = meta.issuers.map(normalize);
+        rowOfIsin = null;
+    }
+
+    function isinAt(i) {
+        const w = bonds.meta.isinWidth;
+        let s = '';
+        for (let j = i * w; j < (i + 1) * w && bonds.isin[j]; j++) s += String.fromCharCode(bonds.isin[j]);
+        return s;
+    }
+
+    function maturityAt(i) {
+        const day = bonds.maturity[i];
+        return day === -2147483648 ? '' : new Date(day * 86400000).toISOString().slice(0, 10);
+    }
+
+    /** The bond object the analyzer stores in portfolios (same fields as the table used to give). */
+    function bondAt(i) {
+        const meta = bonds.meta;
+        return {
+            isin: isinAt(i),
+            issuer: meta.issuers[bonds.issuer[i]],
+            price: round(bonds.price[i], 2),
+            currency: meta.currencies[bonds.currency[i]],
+            rating: meta.ratings[bonds.rating[i]],
+            ratingRank: bonds.ratingRank[i],
+            priceEur: round(bonds.priceEur[i], 2),
+            coupon: round(bonds.coupon[i], 2),
+            maturity: maturityAt(i),
+            currentYield: round(bonds.currentYield[i], 2),
+            capitalAtMat: round(bonds.capitalAtMat[i], 0),
+            say: round(bonds.say[i], 2),
+            includeInStatistics: true
+        };
+    }
+
+    /**
+     * Rows matching every token: numbers (with or without %) are coupon prefixes ("4" = 4.xx,
+     * "4.1" = 4.1x), other tokens must appear in the ISIN or the issuer.
+     */
+    function search(query, limit) {
+        const n = bonds.meta.count;
+        const tokens = query.toLowerCase().trim().split(/\s+/).filter(t => t.length > 0);
+        const ok = new Uint8Array(n).fill(1);
+
+        for (const t of tokens) {
+            const normalized = t.replace(',', '.');
+            if (/^\d+(\.\d*)?%?$/.test(normalized)) {
+                const p = parseFloat(normalized);
+                const decimals = Number.isInteger(p) ? 0 : (String(p).split('.')[1] || '').length;
+                const factor = 10 ** decimals;
+                const target = Math.floor(p * factor);
+                for (let i = 0; i < n; i++) {
+                    if (ok[i] && Math.floor(round(bonds.coupon[i], 2) * factor) !== target) ok[i] = 0;
+                }
+                continue;
+            }
+
+            const text = normalize(t);
+            const issuerHit = new Uint8Array(issuerText.length);
+            for (let k = 0; k < issuerText.length; k++) issuerHit[k] = issuerText[k].includes(text) ? 1 : 0;
+            const isinHit = new Uint8Array(n);
+            const stride = bonds.meta.isinWidth + 1;
+            for (let at = isinText.indexOf(text); at >= 0; at = isinText.indexOf(text, at + 1)) {
+                isinHit[(at / stride) | 0] = 1;
+            }
+            for (let i = 0; i < n; i++) {
+                if (ok[i] && !isinHit[i] && !issuerHit[bonds.issuer[i]]) ok[i] = 0;
+            }
+        }
+
+        const found = [];
+        let total = 0;
+        for (let i = 0; i < n; i++) {
+            if (!ok[i]) continue;
+            if (total++ < limit) found.push(bondAt(i));
+        }
+        return {total, bonds: found};
+    }
+
+    /** Current bond of each ISIN (first row with it), or null. */
+    function find(isins) {
+        if (!rowOfIsin) {
+            rowOfIsin = new Map();
+            for (let i = bonds.meta.count - 1; i >= 0; i--) rowOfIsin.set(isinAt(i), i);
+        }
+        return isins.map(isin => rowOfIsin.has(isin) ? bondAt(rowOfIsin.get(isin)) : null);
+    }
+
+    /**
+     * Weighted statistics of the packed positions. Weights are market values (price in EUR ×
+     * quantity); currency totals are returned per index of the caller's currency list.
+     */
+    function stats(positions, currencyOf, isinOf, currencyCount, now) {
+        const count = positions.length / F.STRIDE;
+        const currencyTotals = new Float64Array(currencyCount);
+        const seen = new Uint8Array(count);
+        let invested = 0, market = 0, say = 0, yld = 0, coupon = 0, risk = 0, rating = 0;
+        let profit = 0, couponIncome = 0, quantity = 0, unique = 0;
+
+        for (let k = 0; k < count; k++) {
+            const p = k * F.STRIDE;
+            if (!positions[p + F.INCLUDED]) continue;
+            const value = positions[p + F.PRICE_EUR] * positions[p + F.QUANTITY];
+            const paid = positions[p + F.INVESTED];
+
+            invested += paid;
+            market += value;
+            quantity += positions[p + F.QUANTITY];
+            say += positions[p + F.SAY] * value;
+            yld += positions[p + F.YIELD] * value;
+            coupon += positions[p + F.COUPON] * value;
+            rating += positions[p + F.RATING_SCORE] * value;
+            profit += value - paid;
+            couponIncome += positions[p + F.COUPON] / 100 * positions[p + F.NOMINAL]
+                * positions[p + F.QUANTITY] * positions[p + F.FX];
+
+            const years = (positions[p + F.MATURITY_MS] - now) / (365.25 * 24 * 60 * 60 * 1000);
+            risk += (Math.max(0, years) || 0) * value;
+            currencyTotals[currencyOf[k]] += value;
+            if (!seen[isinOf[k]]) {
+                seen[isinOf[k]] = 1;
+                unique++;
+            }
+        }
+
+        return {
+            totalInvestment: invested,
+            marketValue: market,
+            avgPrice: invested / quantity,
+            weightedSAY: say / market,
+            weightedYield: yld / market,
+            weightedCoupon: coupon / market,
+            weightedRiskYears: risk / market,
+            ratingScore: rating / market,
+            totalProfit: profit,
+            totalCouponIncome: couponIncome,
+            bondCount: unique,
+            currencyTotals
+        };
+    }
+
+    scope.onmessage = e => {
+        const msg = e.data;
+        let reply;
+        let transfer = [];
+        switch (msg.type) {
+            case 'init': {
+                const bin = atob(msg.data);
+                const buffer = new ArrayBuffer(bin.length);
+                const bytes = new Uint8Array(buffer);
+                for (let i = 0; i < bin.length; i++) bytes[i] = bin.charCodeAt(i);
+                init(msg.meta, buffer);
+                reply = {count: msg.meta.count};
+                break;
+            }
+            case 'search':
+                reply = search(msg.query, msg.limit);
+                break;
+            case 'find':
+                reply = {bonds: find(msg.isins)};
+                break;
+            case 'stats':
+                reply = stats(new Float64Array(msg.positions), new Int32Array(msg.currencyOf),
+                    new Int32Array(msg.isinOf), msg.currencyCount, msg.now);
+                transfer = [reply.currencyTotals.buffer];
+                break;
+        }
+        scope.postMessage({id: msg.id, type: msg.type, ...reply}, transfer);
+    };
+}
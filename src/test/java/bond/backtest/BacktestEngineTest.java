@@ -0,0 +1,107 @@
+package bond.backtest;
+
+import bond.config.BondProfile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class BacktestEngineTest {
+
+    private static final LocalDate D0 = LocalDate.of(2025, 1, 2);
+    private static final LocalDate D1 = LocalDate.of(2025, 7, 2);
+    private static final LocalDate D2 = LocalDate.of(2028, 1, 3);
+    private static final LocalDate D3 = LocalDate.of(2028, 7, 3);
+
+    private static final String GERMANY = "DE0001102580"; // Matures 2027-03-01
+    private static final String ITALY = "IT0005580094";   // Matures 2027-09-01
+    private static final String FRANCE = "FR0010070060";  // Matures 2040-10-25
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    // ---------------------------------------------------
+    // 1. Archive : jours, fusion, cotations hors filtres
+    // ---------------------------------------------------
+    @Test
+    public void testLoadArchive() throws Exception {
+        List<DaySnapshot> days = archive().loadAll();
+
+        assertEquals(List.of(D0, D1, D2, D3), days.stream().map(DaySnapshot::date).toList());
+        assertEquals(3, days.get(0).bonds().size());
+        // Germany is within two years of maturity on D1: not selectable, but still quoted
+        assertNull(days.get(1).byIsin().get(GERMANY));
+        assertEquals(85.0, days.get(1).quotes().get(GERMANY), 0);
+        assertEquals(1.0 / 1.1, days.get(0).eurPerUnit("usd"), 1e-12);
+    }
+
+    // ---------------------------------------------------
+    // 2. Sélection, rendements, remboursement, courbe et drawdown
+    // ---------------------------------------------------
+    @Test
+    public void testReplay() throws Exception {
+        List<DaySnapshot> days = archive().loadAll();
+        BondProfile profile = new BondProfile();
+        profile.setId("say");
+        profile.setSortedBy("SAY");
+
+        ProfileResult result = new BacktestEngine(1).run(days, List.of(profile)).get(0);
+
+        // D0: Germany (best SAY), marked on D1 at its quote although filtered out that day
+        double r1 = (85 + 2 * years(D0, D1)) / 90 - 1;
+        // D1: Italy, redeemed at 100 on 2027-09-01 with the coupon accrued until then
+        double r2 = (100 + 3 * years(D1, LocalDate.of(2027, 9, 1))) / 98 - 1;
+        // D2: France, missing from the D3 pages: last price plus coupon, one stale mark
+        double r3 = (100 + 1 * years(D2, D3)) / 100 - 1;
+
+        double[] equity = {1, 1 + r1, (1 + r1) * (1 + r2), (1 + r1) * (1 + r2) * (1 + r3)};
+        assertArrayEquals(equity, result.equity(), 1e-12);
+        assertEquals(equity[3] - 1, result.totalReturn(), 1e-12);
+        assertEquals(-r1, result.maxDrawdown(), 1e-12); // Only loss, recovered afterwards
+        assertEquals(1, result.staleMarks());
+        assertEquals(1.0, result.avgHoldings(), 0);
+        assertEquals(Math.pow(equity[3], 365.25 / ChronoUnit.DAYS.between(D0, D3)) - 1, result.annualisedReturn(), 1e-12);
+    }
+
+    private BacktestArchive archive() throws IOException {
+        Path root = tmp.getRoot().toPath();
+        day(root, D0, row(GERMANY, "GERMANY 2% 2027", "2027-03-01", "90,00"),
+            row(ITALY, "ITALY 3% 2027", "2027-09-01", "100,00"),
+            row(FRANCE, "FRANCE 1% 2040", "2040-10-25", "100,00"));
+        day(root, D1, row(GERMANY, "GERMANY 2% 2027", "2027-03-01", "85,00"),
+            row(ITALY, "ITALY 3% 2027", "2027-09-01", "98,00"),
+            row(FRANCE, "FRANCE 1% 2040", "2040-10-25", "100,00"));
+        day(root, D2, row(FRANCE, "FRANCE 1% 2040", "2040-10-25", "100,00"));
+        day(root, D3, row("XS2555555555", "EIB 3% 2033", "2033-01-01", "98,00"));
+        Files.createDirectories(root.resolve("notes")); // Not a day
+        return new BacktestArchive(root, "EUR");
+    }
+
+    private static void day(Path root, LocalDate date, String... rows) throws IOException {
+        Path dir = Files.createDirectories(root.resolve(date.toString()));
+        Files.writeString(dir.resolve("monitor.html"), """
+            <table id="YieldTable">
+              <tr><th>Codice ISIN</th><th>Descrizione</th><th>Data scadenza</th><th>Divisa</th><th>Prezzo di riferimento</th><th>Lotto minimo</th></tr>
+            """ + String.join("\n", rows) + "\n</table>");
+        Files.writeString(dir.resolve("eurofxref.xml"), """
+            <Envelope><Cube><Cube time="%s"><Cube currency="USD" rate="1.1"/></Cube></Cube></Envelope>
+            """.formatted(date));
+    }
+
+    private static String row(String isin, String description, String maturity, String price) {
+        return "<tr><td>" + isin + "</td><td>" + description + "</td><td>" + maturity + "</td><td>EUR</td><td>"
+            + price + "</td><td>1000</td></tr>";
+    }
+
+    private static double years(LocalDate from, LocalDate to) {
+        return ChronoUnit.DAYS.between(from, to) / 365.25;
+    }
+}
@@ -6,7 +6,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -135,4 +137,32 @@ public class BondCalculatorTest {
         assertEquals(0.0, b.getCurrentYield(), 0.0001);
         assertTrue(b.getFinalCapitalToMat() > 1000);
     }
-}
\ No newline at end of file
+
+    // ---------------------------------------------------
+    // 8. Scoring parallèle = séquentiel
+    // ---------------------------------------------------
+    @Test
+    public void testParallelScoringMatchesSequential() {
+        Map<String, Double> fx = Map.of("EUR", 1.0, "USD", 1.17, "CHF", 0.93, "GBP", 0.87);
+        String[] currencies = {"EUR", "USD", "CHF", "GBP"};
+        LocalDate asOf = LocalDate.of(2025, 10, 17);
+
+        List<Bond> sequential = new ArrayList<>();
+        List<Bond> parallel = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            LocalDate maturity = asOf.plusDays(400 + i % 9000);
+            double price = 80 + i % 40;
+            sequential.add(new Bond("X" + i, "Italia", price, currencies[i % 4], price, i % 7, maturity));
+            parallel.add(new Bond("X" + i, "Italia", price, currencies[i % 4], price, i % 7, maturity));
+        }
+
+        new BondScoreEngine(1).calculateBondScores(sequential, "EUR", fx, asOf);
+        new BondScoreEngine(4).calculateBondScores(parallel, "EUR", fx, asOf);
+
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i).getSimpleAnnualYield(), parallel.get(i).getSimpleAnnualYield(), 0);
+            assertEquals(sequential.get(i).getFinalCapitalToMat(), parallel.get(i).getFinalCapitalToMat(), 0);
+        }
+        assertTrue(parallel.get(9_999).getSimpleAnnualYield() != 0);
+    }
+}
@@ -0,0 +1,109 @@
+package bond.config;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class ProfileRegistryTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    // ---------------------------------------------------
+    // 1. Fichiers livrés
+    // ---------------------------------------------------
+    @Test
+    public void testShippedProfilesAreValid() {
+        ProfileRegistry builtIn = new ProfileRegistry(List.of());
+        ProfileRegistry withCustom = new ProfileRegistry(List.of(Path.of("docs/bond-profiles-custom.yaml")));
+
+        assertEquals(BondProfilesConfig.load().getProfiles().size(), builtIn.profiles().size());
+        assertNotNull(builtIn.matcher("balancedCore"));
+        assertTrue(withCustom.profiles().size() > builtIn.profiles().size());
+        assertNotNull(withCustom.matcher("highFinalCapital"));
+    }
+
+    // ---------------------------------------------------
+    // 2. Validation (fautes de frappe)
+    // ---------------------------------------------------
+    @Test
+    public void testValidationErrors() throws Exception {
+        Path file = write("custom.yaml", """
+            profiles:
+              - id: typo
+                sortedBy: SAYY
+                filters:
+                  minSAL: 4.0
+                  minYield: "3.5"
+                  minRating: XYZ
+                  minMatYears: 10
+                  maxMatYears: 5
+            """);
+        try {
+            new ProfileRegistry(List.of(file));
+            fail("Invalid profile accepted");
+        } catch (IllegalArgumentException e) {
+            String msg = e.getMessage();
+            assertTrue(msg, msg.contains("custom.yaml / typo: unknown filter 'minSAL' (did you mean 'minSAY'?)"));
+            assertTrue(msg, msg.contains("unknown sortedBy column 'SAYY' (did you mean 'SAY'?)"));
+            assertTrue(msg, msg.contains("minYield must be a number"));
+            assertTrue(msg, msg.contains("unknown rating 'XYZ'"));
+            assertTrue(msg, msg.contains("minMatYears (10) is greater than maxMatYears (5)"));
+        }
+    }
+
+    // ---------------------------------------------------
+    // 3. Fusion et rechargement à chaud
+    // ---------------------------------------------------
+    @Test
+    public void testMergeAndHotReload() throws Exception {
+        Path file = write("custom.yaml", profile("balancedCore", 9.0));
+        ProfileRegistry registry = new ProfileRegistry(List.of(file));
+        int builtIn = BondProfilesConfig.load().getProfiles().size();
+
+        // Same id replaces the built-in profile in place
+        assertEquals(builtIn, registry.profiles().size());
+        assertEquals(9.0, registry.matcher("balancedCore").getProfile().getFilters().get("minSAY"));
+
+        CountDownLatch reloaded = new CountDownLatch(1);
+        AtomicReference<ProfileRegistry.Snapshot> seen = new AtomicReference<>();
+        registry.addListener(s -> {
+            seen.set(s);
+            reloaded.countDown();
+        });
+        registry.startWatching();
+        try {
+            Files.writeString(file, profile("balancedCore", 9.0) + profile("newOne", 2.0).replace("profiles:\n", ""));
+            assertTrue("No reload after file change", reloaded.await(15, TimeUnit.SECONDS));
+            assertEquals(builtIn + 1, seen.get().profiles().size());
+            assertNotNull(registry.matcher("newOne"));
+            assertEquals(1, registry.snapshot().version());
+
+            // Broken edit: previous profiles stay active
+            Files.writeString(file, profile("newOne", 2.0).replace("minSAY", "minSAL"));
+            assertFalse(registry.reload());
+            assertNotNull(registry.matcher("newOne"));
+        } finally {
+            registry.close();
+        }
+    }
+
+    private Path write(String name, String yaml) throws Exception {
+        Path file = tmp.getRoot().toPath().resolve(name);
+        Files.writeString(file, yaml);
+        return file;
+    }
+
+    private static String profile(String id, double minSay) {
+        return "profiles:\n  - id: " + id + "\n    sortedBy: SAY\n    filters:\n      minSAY: " + minSay + "\n";
+    }
+}
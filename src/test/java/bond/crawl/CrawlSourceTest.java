@@ -0,0 +1,198 @@
+package bond.crawl;
+
+import bond.calc.BondCalculator;
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+import bond.http.PassthroughTransport;
+import bond.model.Bond;
+import bond.scrape.BondScraper;
+import bond.source.BondSources;
+import bond.source.RowFilter;
+import bond.source.SourceConfig;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class CrawlSourceTest {
+
+    private static final Map<String, Double> FX = Map.of("EUR", 1.0, "USD", 1.10);
+
+    private HttpServer server;
+    private String site;
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> agents = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void startSite() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().toString();
+            requests.add(path);
+            agents.add(exchange.getRequestHeaders().getFirst("User-Agent"));
+            String body = switch (path) {
+                case "/robots.txt" -> """
+                    User-agent: *
+                    Disallow: /
+
+                    User-agent: BondReport
+                    Disallow: /monitor_info.php?monitor=private
+                    Allow: /
+                    """;
+                case "/" -> """
+                    <ul>
+                      <li><a href="monitor_info.php?monitor=1">Governativi</a></li>
+                      <li><a href="/monitor_info.php?monitor=2">Sovranazionali</a></li>
+                      <li><a href="monitor_info.php?monitor=1#top">Governativi (again)</a></li>
+                      <li><a href="monitor_info.php?monitor=private">Private</a></li>
+                      <li><a href="monitor_info.php?monitor=broken">Broken</a></li>
+                      <li><a href="about.html">About</a></li>
+                    </ul>""";
+                case "/monitor_info.php?monitor=1" -> table(
+                    row("IT0005580094", "ITALY 4.05% 2035", "101,20"),
+                    row("DE0001102580", "GERMANY 2.6% 2034", "99,10"));
+                case "/monitor_info.php?monitor=2" -> table(
+                    row("IT0005580094", "ITALY 4.05% 2035", "150,00"),
+                    row("XS2555555555", "EIB 3% 2033", "98,00"));
+                default -> null;
+            };
+            byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(body == null ? (path.contains("broken") ? 500 : 404) : 200, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        site = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @After
+    public void stopSite() {
+        server.stop(0);
+    }
+
+    // ---------------------------------------------------
+    // 1. Cas standard : découverte, robots.txt, fusion par ISIN
+    // ---------------------------------------------------
+    @Test
+    public void testCrawlStubSite() throws Exception {
+        SourceConfig config = new SourceConfig();
+        config.setId("crawl");
+        config.setType("crawl");
+        config.setUrl(site + "/");
+        config.setFilters(RowFilter.monitorDefaults());
+        config.getCrawl().setRequestsPerSecond(50);
+
+        BondScraper scraper = new BondScraper(new BondCalculator(LocalDate.of(2026, 1, 1)));
+        List<Bond> bonds = scraper.scrapeSources(List.of(new CrawlSource(config, new PassthroughTransport(), null)), FX);
+
+        // Broken page skipped, duplicate ISIN from the first page, private page never requested
+        assertEquals(List.of("IT0005580094", "DE0001102580", "XS2555555555"), bonds.stream().map(Bond::getIsin).toList());
+        assertEquals(101.20, bonds.get(0).getPrice(), 1e-9);
+        assertEquals(1, requests.stream().filter("/robots.txt"::equals).count());
+        assertFalse(requests.toString(), requests.stream().anyMatch(p -> p.contains("private") || p.contains("about")));
+        assertEquals(1, requests.stream().filter("/monitor_info.php?monitor=1"::equals).count());
+        assertTrue(agents.toString(), agents.stream().allMatch("BondReport/1.0"::equals));
+        assertNotNull(BondSources.create(config)); // Registered type
+    }
+
+    // ---------------------------------------------------
+    // 2. robots.txt : groupe de l'agent, règle la plus longue, jokers
+    // ---------------------------------------------------
+    @Test
+    public void testRobotsRules() {
+        String robots = """
+            # Comment
+            User-agent: Googlebot
+            User-agent: BondReport/2.0
+            Disallow: /private
+            Allow: /private/public*.html$
+            Disallow: /*?print=
+            Crawl-delay: 2
+
+            User-agent: *
+            Disallow: /
+            """;
+        RobotsRules rules = RobotsRules.parse(robots, "BondReport");
+        assertTrue(rules.allows("https://a.test/monitor_info.php?monitor=1"));
+        assertFalse(rules.allows("https://a.test/private/x"));
+        assertTrue(rules.allows("https://a.test/private/public-list.html"));
+        assertFalse(rules.allows("https://a.test/private/public-list.html?x=1"));
+        assertFalse(rules.allows("https://a.test/monitor_info.php?print=1"));
+        assertEquals(2.0, rules.crawlDelaySeconds(), 0);
+
+        // Other agents fall back to the * group
+        assertFalse(RobotsRules.parse(robots, "OtherBot").allows("https://a.test/"));
+        assertTrue(RobotsRules.parse("User-agent: *\nDisallow:\n", "BondReport").allows("https://a.test/x"));
+    }
+
+    // ---------------------------------------------------
+    // 3. Limite de débit par hôte et budget de temps
+    // ---------------------------------------------------
+    @Test
+    public void testRateLimitAndBudget() throws Exception {
+        List<Long> starts = Collections.synchronizedList(new ArrayList<>());
+        HttpTransport network = request -> {
+            starts.add(System.nanoTime());
+            return new HttpResponse(request.url(), request.url().endsWith("/robots.txt") ? 404 : 200, Map.of(), new byte[0]);
+        };
+        CrawlConfig config = new CrawlConfig();
+        config.setRequestsPerSecond(20);
+        config.setBurst(1);
+        config.setMaxConcurrentPerHost(3);
+        PoliteTransport polite = new PoliteTransport(network, config, System.nanoTime() + 60_000_000_000L);
+
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        List<Future<HttpResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String url = "https://a.test/page" + i;
+            calls.add(pool.submit(() -> polite.get(HttpRequest.get(url))));
+        }
+        for (Future<HttpResponse> f : calls) assertEquals(200, f.get().status());
+        pool.shutdown();
+
+        // robots.txt + 6 pages, one every 50 ms at most: the last starts 300 ms after the bucket
+        assertEquals(7, starts.size());
+        long span = Collections.max(starts) - Collections.min(starts);
+        assertTrue("span " + span / 1_000_000 + " ms", span >= 250_000_000L);
+
+        // A request that could only start after the deadline fails at once
+        config.setBurst(2);
+        PoliteTransport late = new PoliteTransport(network, config, System.nanoTime() + 10_000_000L);
+        late.get(HttpRequest.get("https://b.test/1")); // robots.txt and this one use the burst
+        try {
+            late.get(HttpRequest.get("https://b.test/2"));
+            fail("budget not enforced");
+        } catch (PoliteTransport.BudgetExhausted expected) {
+            // Skipped
+        }
+    }
+
+    private static String table(String... rows) {
+        return """
+            <table id="YieldTable">
+              <tr><th>Codice ISIN</th><th>Descrizione</th><th>Data scadenza</th><th>Divisa</th><th>Prezzo di riferimento</th><th>Lotto minimo</th></tr>
+            """ + String.join("\n", rows) + "\n</table>";
+    }
+
+    private static String row(String isin, String description, String price) {
+        return "<tr><td>" + isin + "</td><td>" + description + "</td><td>2034-10-30</td><td>EUR</td><td>"
+            + price + "</td><td>1000</td></tr>";
+    }
+}
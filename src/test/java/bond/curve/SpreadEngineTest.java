@@ -0,0 +1,123 @@
+package bond.curve;
+
+import bond.model.Bond;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class SpreadEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 15);
+
+    // ---------------------------------------------------
+    // 1. Rendement actuariel : pair, décote, prime
+    // ---------------------------------------------------
+    @Test
+    public void testYieldToMaturity() {
+        assertEquals(4.0, SpreadEngine.yieldToMaturity(100, 4.0, 10), 1e-9);
+        assertTrue(SpreadEngine.yieldToMaturity(90, 4.0, 10) > 4.0);
+        assertTrue(SpreadEngine.yieldToMaturity(110, 4.0, 10) < 4.0);
+        // Zero coupon: (100 / 80)^(1/5) - 1
+        assertEquals((Math.pow(100 / 80.0, 0.2) - 1) * 100, SpreadEngine.yieldToMaturity(80, 0, 5), 1e-9);
+        assertTrue(Double.isNaN(SpreadEngine.yieldToMaturity(0, 4.0, 10)));
+    }
+
+    // ---------------------------------------------------
+    // 2. Ajustement Svensson : paramètres retrouvés
+    // ---------------------------------------------------
+    @Test
+    public void testFitRecoversSvenssonCurve() {
+        YieldCurve truth = new YieldCurve(3.2, -1.4, 1.1, -0.6, 1.8, 9, 0, 0);
+        CurveFitter fitter = new CurveFitter();
+        for (int i = 0; i < 40; i++) {
+            double t = 0.25 + 29.75 * i / 39;
+            fitter.add(t, truth.yieldAt(t));
+        }
+        YieldCurve fit = fitter.fit();
+
+        assertEquals(40, fit.observations());
+        assertTrue("rmse " + fit.rmse(), fit.rmse() < 1e-4);
+        for (double t = 0.5; t <= 30; t += 0.5) {
+            assertEquals(truth.yieldAt(t), fit.yieldAt(t), 1e-3);
+        }
+
+        // Too few points: flat at the mean
+        fitter.reset();
+        fitter.add(2, 3.0);
+        fitter.add(5, 4.0);
+        YieldCurve flat = fitter.fit();
+        assertEquals(3.5, flat.yieldAt(1), 1e-12);
+        assertEquals(3.5, flat.yieldAt(20), 1e-12);
+    }
+
+    // ---------------------------------------------------
+    // 3. Spread contre l'Allemagne et cher / bon marché
+    // ---------------------------------------------------
+    @Test
+    public void testSpreadAndRichCheap() {
+        List<Bond> bonds = new ArrayList<>();
+        for (int y = 2; y <= 20; y += 2) {
+            bonds.add(bond("DE" + y, "GERMANIA", 2.5, 100, y));
+            bonds.add(bond("IT" + y, "ITALIA", 4.0, 100, y));
+        }
+        // One Italian bond 4 points cheaper than its neighbours
+        Bond cheap = bond("IT11", "ITALIA", 4.0, 96, 11);
+        bonds.add(cheap);
+        Bond usd = bond("US5", "STATI UNITI", 4.5, 100, 5);
+        usd.setCurrency("USD");
+        bonds.add(usd);
+
+        Map<String, YieldCurve> curves = new SpreadEngine(1).calculateSpreads(bonds, AS_OF);
+
+        assertEquals(3, curves.size());
+        assertNotNull(curves.get(SpreadEngine.curveKey("GERMANIA", "EUR")));
+
+        Bond it10 = bonds.stream().filter(b -> b.getIsin().equals("IT10")).findFirst().orElseThrow();
+        assertEquals(150, it10.getSpreadBp(), 15);
+        assertEquals(0, bonds.get(0).getSpreadBp(), 5);
+        assertTrue("cheap " + cheap.getRichCheapBp(), cheap.getRichCheapBp() > 30);
+        assertTrue(Double.isNaN(usd.getSpreadBp()));   // Not a EUR bond
+        assertTrue(Double.isNaN(usd.getRichCheapBp())); // Single bond: no curve
+
+        // Fewer German bonds than a fitted curve needs: no benchmark, no spread
+        List<Bond> fewBunds = new ArrayList<>(bonds.stream().filter(b -> !b.getIssuer().equals("GERMANIA")).toList());
+        for (int y = 2; y <= 6; y += 2) fewBunds.add(bond("DE" + y, "GERMANIA", 2.5, 100, y));
+        new SpreadEngine(1).calculateSpreads(fewBunds, AS_OF);
+        assertTrue(fewBunds.stream().allMatch(b -> Double.isNaN(b.getSpreadBp())));
+        assertTrue(cheap.getRichCheapBp() > 30);
+    }
+
+    // ---------------------------------------------------
+    // 4. Parallèle = séquentiel
+    // ---------------------------------------------------
+    @Test
+    public void testParallelMatchesSequential() {
+        List<Bond> seq = new ArrayList<>();
+        List<Bond> par = new ArrayList<>();
+        String[] issuers = {"GERMANIA", "ITALIA", "FRANCIA", "SPAGNA", "AUSTRIA"};
+        for (int i = 0; i < 500; i++) {
+            String issuer = issuers[i % issuers.length];
+            double coupon = 1 + (i % 7) * 0.5;
+            double price = 85 + (i * 37 % 30);
+            int years = 1 + i % 25;
+            seq.add(bond("X" + i, issuer, coupon, price, years));
+            par.add(bond("X" + i, issuer, coupon, price, years));
+        }
+        new SpreadEngine(1).calculateSpreads(seq, AS_OF);
+        new SpreadEngine(4).calculateSpreads(par, AS_OF);
+
+        for (int i = 0; i < seq.size(); i++) {
+            assertEquals(seq.get(i).getSpreadBp(), par.get(i).getSpreadBp(), 0);
+            assertEquals(seq.get(i).getRichCheapBp(), par.get(i).getRichCheapBp(), 0);
+        }
+    }
+
+    private static Bond bond(String isin, String issuer, double coupon, double price, int years) {
+        return new Bond(isin, issuer, price, "EUR", price, coupon, AS_OF.plusYears(years));
+    }
+}
@@ -0,0 +1,161 @@
+package bond.export;
+
+import bond.model.Bond;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class UniverseExporterTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    // ---------------------------------------------------
+    // 1. CSV : guillemets, valeurs manquantes, décimales
+    // ---------------------------------------------------
+    @Test
+    public void testCsv() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("bonds.csv");
+        new UniverseExporter().writeCsv(List.of(italy(), odd()), file);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertTrue(lines.get(0).startsWith("isin,issuer,currency,price,priceEur,couponPct,maturity,"));
+        assertEquals("IT0005,ITALIA,EUR,101.5,101.5,4,2035-02-01,3.940887,1234.5,2.25,BBB,,,", lines.get(1));
+        assertTrue(lines.get(2), lines.get(2).startsWith("XS0001,\"Électricité \"\"de\"\", France\",USD,99.123457,"));
+        assertTrue(lines.get(2), lines.get(2).endsWith(",,-0.000001,"));
+    }
+
+    // ---------------------------------------------------
+    // 2. JSON Lines : échappement et null
+    // ---------------------------------------------------
+    @Test
+    public void testJsonLines() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("bonds.jsonl");
+        new UniverseExporter().writeJsonLines(List.of(odd()), file);
+
+        String line = Files.readString(file, StandardCharsets.UTF_8);
+        assertTrue(line, line.startsWith("{\"isin\":\"XS0001\",\"issuer\":\"Électricité \\\"de\\\", France\",\"currency\":\"USD\","));
+        assertTrue(line, line.contains("\"maturity\":null,"));
+        assertTrue(line, line.contains("\"rating\":null,"));
+        assertTrue(line, line.contains("\"yieldToMat\":null,")); // Infinite: not valid JSON
+        assertTrue(line, line.contains("\"richCheapBp\":null}"));
+        assertTrue(line, line.endsWith("}\n"));
+    }
+
+    // ---------------------------------------------------
+    // 3. Arrow IPC : magic, footer, lots de lignes
+    // ---------------------------------------------------
+    @Test
+    public void testArrowFile() throws Exception {
+        int rows = ArrowFileWriter.BATCH_ROWS + 10; // Two record batches
+        List<Bond> bonds = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Bond b = italy();
+            b.setPrice(i);
+            if (i == 3) b.setMaturity(null);
+            bonds.add(b);
+        }
+        Path dir = tmp.getRoot().toPath();
+        new UniverseExporter().export(bonds, dir, EnumSet.of(UniverseExporter.Format.ARROW));
+
+        ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(dir.resolve("bonds.arrow"))).order(ByteOrder.LITTLE_ENDIAN);
+        int end = file.capacity();
+        assertEquals("ARROW1", ascii(file, 0, 6));
+        assertEquals("ARROW1", ascii(file, end - 6, 6));
+
+        int footer = end - 10 - file.getInt(end - 10);
+        int footerTable = table(file, footer);
+        assertEquals(4, file.getShort(field(file, footerTable, 0)));
+
+        // Schema: one field per column, names in order
+        int schema = reference(file, field(file, footerTable, 1));
+        int fields = reference(file, field(file, schema, 1));
+        assertEquals(ExportColumn.ALL.size(), file.getInt(fields));
+        int third = reference(file, fields + 4 + 4 * 3);
+        assertEquals("price", string(file, reference(file, field(file, third, 0))));
+        assertEquals(3, file.get(field(file, third, 2))); // FloatingPoint
+
+        // Blocks: {offset, metadata length, body length}, 24 bytes each
+        int blocks = reference(file, field(file, footerTable, 3));
+        assertEquals(2, file.getInt(blocks));
+        long total = 0;
+        for (int i = 0; i < 2; i++) {
+            int offset = (int) file.getLong(blocks + 4 + 24 * i);
+            int metadata = file.getInt(blocks + 4 + 24 * i + 8);
+            assertEquals(-1, file.getInt(offset));
+            int message = table(file, offset + 8);
+            assertEquals(3, file.get(field(file, message, 1))); // RecordBatch
+            int batch = reference(file, field(file, message, 2));
+            long length = file.getLong(field(file, batch, 0));
+            total += length;
+
+            // Field nodes {length, nulls}: maturity (column 6) has one null in the first batch
+            int nodes = reference(file, field(file, batch, 1));
+            assertEquals(i == 0 ? 1 : 0, file.getLong(nodes + 4 + 16 * 6 + 8));
+
+            // Price values: buffers 0-8 are the three text columns, then validity/data of price
+            int buffers = reference(file, field(file, batch, 2));
+            long priceData = file.getLong(buffers + 4 + 16 * 10);
+            double last = file.getDouble(offset + metadata + (int) priceData + 8 * ((int) length - 1));
+            assertEquals(i == 0 ? ArrowFileWriter.BATCH_ROWS - 1 : rows - 1, last, 0);
+        }
+        assertEquals(rows, total);
+    }
+
+    private static Bond italy() {
+        Bond b = new Bond("IT0005", "ITALIA", 101.5, "EUR", 101.5, 4.0, LocalDate.of(2035, 2, 1));
+        b.setFinalCapitalToMat(1234.5);
+        b.setSimpleAnnualYield(2.25);
+        b.setRating("BBB");
+        return b;
+    }
+
+    private static Bond odd() {
+        Bond b = new Bond("XS0001", "Électricité \"de\", France", 99.1234567, "USD", 85, 0, null);
+        b.setSpreadBp(-0.000001);
+        b.setYieldToMat(Double.POSITIVE_INFINITY);
+        b.setRichCheapBp(Double.NEGATIVE_INFINITY);
+        return b;
+    }
+
+    // Minimal FlatBuffers reading: root offset, vtable lookup, forward offsets
+
+    private static int table(ByteBuffer b, int root) {
+        return root + b.getInt(root);
+    }
+
+    private static int field(ByteBuffer b, int table, int slot) {
+        int vtable = table - b.getInt(table);
+        assertTrue("slot " + slot + " missing", 4 + 2 * slot < b.getShort(vtable));
+        int offset = b.getShort(vtable + 4 + 2 * slot);
+        assertTrue("slot " + slot + " missing", offset != 0);
+        return table + offset;
+    }
+
+    private static int reference(ByteBuffer b, int at) {
+        return at + b.getInt(at);
+    }
+
+    private static String string(ByteBuffer b, int at) {
+        return ascii(b, at + 4, b.getInt(at));
+    }
+
+    private static String ascii(ByteBuffer b, int from, int length) {
+        byte[] bytes = new byte[length];
+        b.get(from, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,92 @@
+package bond.http;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class HttpArchiveTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static HttpTransport fakeNetwork() {
+        return request -> new HttpResponse(
+            request.url(),
+            200,
+            Map.of("ETag", "\"v1\""),
+            ("<html>" + request.url() + "</html>").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // ---------------------------------------------------
+    // 1. Record puis replay
+    // ---------------------------------------------------
+    @Test
+    public void testRecordThenReplay() throws Exception {
+        Path file = tmp.newFile("run.bin").toPath();
+
+        try (HttpArchiveWriter writer = new HttpArchiveWriter(file)) {
+            HttpTransport recording = new RecordingTransport(fakeNetwork(), writer);
+            recording.get(HttpRequest.get("https://a.example/1"));
+            recording.get(HttpRequest.get("https://a.example/2"));
+        }
+
+        try (HttpArchive archive = HttpArchive.open(file)) {
+            HttpTransport replay = new ReplayTransport(archive);
+            HttpResponse r = replay.get(HttpRequest.get("https://a.example/2"));
+
+            assertEquals(200, r.status());
+            assertEquals("\"v1\"", r.header("etag"));
+            assertEquals("<html>https://a.example/2</html>", r.bodyAsString());
+            assertEquals(2, archive.urls().size());
+        }
+    }
+
+    // ---------------------------------------------------
+    // 2. URL non enregistrée → erreur
+    // ---------------------------------------------------
+    @Test(expected = IOException.class)
+    public void testReplayUnknownUrlFails() throws Exception {
+        Path file = tmp.newFile("empty.bin").toPath();
+        new HttpArchiveWriter(file).close();
+
+        try (HttpArchive archive = HttpArchive.open(file)) {
+            new ReplayTransport(archive).get(HttpRequest.get("https://a.example/missing"));
+        }
+    }
+
+    // ---------------------------------------------------
+    // 3. Archive sans index (process interrompu)
+    // ---------------------------------------------------
+    @Test
+    public void testArchiveWithoutTrailerIsScanned() throws Exception {
+        Path file = tmp.newFile("crashed.bin").toPath();
+
+        try (HttpArchiveWriter writer = new HttpArchiveWriter(file)) {
+            writer.append(fakeNetwork().get(HttpRequest.get("https://a.example/x")));
+            writer.append(fakeNetwork().get(HttpRequest.get("https://a.example/y")));
+        }
+
+        // Simulate a crash: cut the file where the index starts
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer trailer = ByteBuffer.allocate(12);
+            ch.read(trailer, ch.size() - 12);
+            ch.truncate(trailer.getLong(0));
+        }
+
+        try (HttpArchive archive = HttpArchive.open(file)) {
+            assertTrue(archive.contains("https://a.example/x"));
+            assertEquals("<html>https://a.example/y</html>",
+                archive.find("https://a.example/y").orElseThrow().bodyAsString());
+        }
+    }
+}
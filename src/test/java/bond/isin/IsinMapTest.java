@@ -0,0 +1,71 @@
+package bond.isin;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class IsinMapTest {
+
+    // ---------------------------------------------------
+    // 1. Codec : ISIN réels, aller-retour, chiffre de contrôle
+    // ---------------------------------------------------
+    @Test
+    public void testCodecRoundTrip() {
+        for (String isin : List.of("US0378331005", "AU0000XVGZA3", "GB0002634946", "IT0005580094", "XS2010028939", "ZZZZZZZZZZZ6")) {
+            long code = IsinCodec.encode(isin);
+            assertTrue(isin, code >= 0);
+            assertEquals(isin, IsinCodec.decode(code));
+        }
+
+        assertEquals(IsinCodec.INVALID, IsinCodec.encode("US0378331006")); // Wrong check digit
+        assertEquals("US0378331006", IsinCodec.decode(IsinCodec.pack("US0378331006")));
+        assertEquals(IsinCodec.INVALID, IsinCodec.encode("us0378331005")); // Lower case
+        assertEquals(IsinCodec.INVALID, IsinCodec.encode("120378331005")); // Numeric prefix
+        assertEquals(IsinCodec.INVALID, IsinCodec.encode("IT0005"));
+        assertEquals(IsinCodec.INVALID, IsinCodec.encode(null));
+    }
+
+    // ---------------------------------------------------
+    // 2. LongMap : croissance, ordre d'insertion, putIfAbsent
+    // ---------------------------------------------------
+    @Test
+    public void testLongMapGrowsAndKeepsOrder() {
+        LongMap<Integer> map = new LongMap<>(2);
+        for (int i = 0; i < 10_000; i++) assertNull(map.putIfAbsent(i * 36L, i));
+        assertEquals(Integer.valueOf(7), map.putIfAbsent(7 * 36L, -1));
+        assertEquals(Integer.valueOf(8), map.put(8 * 36L, 80));
+
+        assertEquals(10_000, map.size());
+        assertEquals(Integer.valueOf(80), map.get(8 * 36L));
+        assertNull(map.get(1));
+        assertFalse(map.containsKey(-5));
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i * 36L, map.keyAt(i));
+            if (i != 8) assertEquals(Integer.valueOf(i), map.values().get(i));
+        }
+    }
+
+    // ---------------------------------------------------
+    // 3. IsinMap : clés invalides gérées comme des chaînes
+    // ---------------------------------------------------
+    @Test
+    public void testIsinMapFallsBackForInvalidKeys() {
+        IsinMap<String> map = new IsinMap<>();
+        assertNull(map.putIfAbsent("IT0005580094", "btp"));
+        assertNull(map.putIfAbsent("IT0005", "local"));
+        assertNull(map.putIfAbsent("XS0001", "other"));
+        assertEquals("btp", map.putIfAbsent("IT0005580094", "dup"));
+        assertEquals("local", map.putIfAbsent("IT0005", "dup"));
+
+        assertEquals(List.of("btp", "local", "other"), map.values());
+        assertEquals("other", map.get("XS0001"));
+        assertNull(map.get("XS0002"));
+        assertNull(map.get(null));
+        assertFalse(map.containsKey("IT0005580095"));
+        assertNull(map.put("IT0005580095", "typo")); // Wrong check digit: a distinct key
+        assertEquals("btp", map.get("IT0005580094"));
+        assertEquals("typo", map.get("IT0005580095"));
+    }
+}
@@ -0,0 +1,79 @@
+package bond.log;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class EventLogTest {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final AtomicLong clock = new AtomicLong();
+    private final EventLog log = new EventLog(
+        new RingAppender(new PrintStream(bytes, true, StandardCharsets.UTF_8), 64), Level.INFO, clock::get);
+
+    private List<String> lines() {
+        assertTrue(log.flush());
+        return Arrays.asList(bytes.toString(StandardCharsets.UTF_8).split(System.lineSeparator()));
+    }
+
+    // ---------------------------------------------------
+    // 1. Doublons : une ligne, puis un résumé compté
+    // ---------------------------------------------------
+    @Test
+    public void testRepeatsSummarisedAtEndOfStage() {
+        log.stage("scrape");
+        for (int i = 0; i < 200; i++) log.log(Level.WARN, "Unparsable row skipped", "NumberFormatException", "row " + i);
+        log.log(Level.WARN, "Unparsable row skipped", "NullPointerException", null);
+        log.log(Level.DEBUG, "Below threshold", "x", null);
+        log.stage("score");
+
+        assertEquals(List.of(
+            "⚠️ [scrape] Unparsable row skipped: NumberFormatException (row 0)",
+            "⚠️ [scrape] Unparsable row skipped: NullPointerException",
+            "⚠️ [scrape] Unparsable row skipped: NumberFormatException ×200"), lines());
+    }
+
+    // ---------------------------------------------------
+    // 2. Limite par niveau : au plus N lignes par seconde
+    // ---------------------------------------------------
+    @Test
+    public void testRateLimitPerLevel() {
+        log.stage("score");
+        int burst = Level.WARN.linesPerSecond();
+        for (int i = 0; i < burst + 5; i++) log.log(Level.WARN, "Unknown", "issuer" + i, null);
+        log.log(Level.ERROR, "Other level", "ok", null);
+        clock.addAndGet(1_000_000_000L); // One second later: the bucket is full again
+        log.log(Level.WARN, "Unknown", "late", null);
+        log.stage("render");
+
+        List<String> lines = lines();
+        assertEquals(burst + 1 + 1 + 5 + 1, lines.size());
+        assertTrue(lines.contains("❌ [score] Other level: ok"));
+        assertTrue(lines.contains("⚠️ [score] Unknown: late"));
+        assertTrue(lines.contains("⚠️ [score] Unknown: issuer" + (burst + 4) + " ×1"));
+        assertEquals("🔇 [score] 5 WARN lines over " + burst + "/s not printed (counted above)", lines.get(lines.size() - 1));
+    }
+
+    // ---------------------------------------------------
+    // 3. Décomptes du run : une seule ligne, à la fin
+    // ---------------------------------------------------
+    @Test
+    public void testTallyReportedOncePerRun() {
+        for (int stage = 0; stage < 3; stage++) {
+            log.stage("day" + stage);
+            for (int i = 0; i < 200; i++) log.tally(Level.WARN, "Issuers not recognized, defaulted to BBB", "ATLANTIS");
+            log.tally(Level.WARN, "Issuers not recognized, defaulted to BBB", "ELDORADO");
+        }
+        log.endRun();
+        log.endRun();
+
+        assertEquals(List.of("⚠️ Issuers not recognized, defaulted to BBB: ATLANTIS ×600, ELDORADO ×3"), lines());
+    }
+}
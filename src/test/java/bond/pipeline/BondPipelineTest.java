@@ -0,0 +1,143 @@
+package bond.pipeline;
+
+import bond.calc.BondCalculator;
+import bond.model.Bond;
+import bond.scrape.BondScraper;
+import bond.source.BondRow;
+import bond.source.BondSource;
+import bond.source.RowFilter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class BondPipelineTest {
+
+    private static final Map<String, Double> FX = Map.of("EUR", 1.0, "USD", 1.10);
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+
+    // ---------------------------------------------------
+    // 1. Cas standard : priorité des sources, filtres, score
+    // ---------------------------------------------------
+    @Test
+    public void testPriorityAndScores() throws Exception {
+        BondSource first = source("first", new RowFilter(null, List.of("NOK"), true),
+            row("IT0005580094", "ITALY", 4.05, "EUR", 101.2),
+            row("NO0010732555", "NORWAY", 1.75, "NOK", 90),
+            row("US91282CJL54", "USA", 4.5, "USD", 98.5));
+        BondSource second = source("second", RowFilter.monitorDefaults(),
+            row("IT0005580094", "ITALY", 4.05, "EUR", 150),
+            row("ES0000012M51", "SPAIN", 0, "EUR", 80),
+            row("PTOTEYOE0031", "PORTUGAL", 3.5, "EUR", 103));
+        Collector sink = new Collector(0);
+
+        BondPipeline.Result result = pipeline(1024).run(List.of(first, second), List.of(sink));
+
+        // NOK excluded, zero coupon skipped, duplicate ISIN from the first source
+        assertEquals(6, result.rows());
+        assertEquals(3, result.bonds());
+        assertEquals(List.of("IT0005580094", "US91282CJL54", "PTOTEYOE0031"),
+            sink.bonds.stream().map(Bond::getIsin).toList());
+        assertEquals(101.2, sink.bonds.get(0).getPrice(), 1e-9);
+        assertEquals(Integer.valueOf(2), result.index().get("PTOTEYOE0031"));
+        assertTrue(sink.bonds.stream().allMatch(b -> b.getSimpleAnnualYield() != 0));
+        assertTrue(result.firstNanos() >= 0);
+    }
+
+    // ---------------------------------------------------
+    // 2. Contre-pression : un puits lent freine la lecture
+    // ---------------------------------------------------
+    @Test
+    public void testSlowSinkBoundsTheReader() throws Exception {
+        AtomicLong read = new AtomicLong();
+        AtomicLong maxLead = new AtomicLong();
+        Collector sink = new Collector(1) {
+            @Override
+            protected void accept(Bond bond) throws Exception {
+                super.accept(bond);
+                maxLead.accumulateAndGet(read.get() - bonds.size(), Math::max);
+            }
+        };
+        BondSource many = new BondSource() {
+            public String id() { return "many"; }
+            public RowFilter filter() { return RowFilter.monitorDefaults(); }
+            public Stream<BondRow> rows() {
+                return IntStream.range(0, 300)
+                    .mapToObj(i -> row(String.format("XS%010d", i), "ITALY", 3, "EUR", 100))
+                    .peek(r -> read.incrementAndGet());
+            }
+        };
+
+        BondPipeline.Result result = pipeline(4).run(List.of(many), List.of(sink));
+
+        assertEquals(300, result.bonds());
+        // Reader buffer + stage buffer + sink batch + items in hand, whatever the source size
+        assertTrue("lead " + maxLead.get(), maxLead.get() <= 16);
+    }
+
+    // ---------------------------------------------------
+    // 3. Erreur d'un puits remontée par run()
+    // ---------------------------------------------------
+    @Test
+    public void testSinkFailure() throws Exception {
+        Collector failing = new Collector(0) {
+            @Override
+            protected void accept(Bond bond) throws Exception {
+                throw new IOException("disk full");
+            }
+        };
+        Collector other = new Collector(0);
+        BondSource one = source("one", RowFilter.monitorDefaults(), row("IT0005580094", "ITALY", 4.05, "EUR", 101.2));
+
+        try {
+            pipeline(1024).run(List.of(one), List.of(other, failing));
+            fail("sink error not reported");
+        } catch (IOException e) {
+            assertEquals("disk full", e.getMessage());
+        }
+        assertEquals(1, other.bonds.size());
+    }
+
+    private static BondPipeline pipeline(int buffer) {
+        return new BondPipeline(new BondScraper(new BondCalculator(AS_OF)), FX, "EUR", AS_OF, buffer);
+    }
+
+    private static BondRow row(String isin, String issuer, double coupon, String currency, double price) {
+        return new BondRow(isin, issuer + " " + coupon + "% 2035", issuer, coupon, LocalDate.of(2035, 6, 1), currency, price, 1000);
+    }
+
+    private static BondSource source(String id, RowFilter filter, BondRow... rows) {
+        return new BondSource() {
+            public String id() { return id; }
+            public RowFilter filter() { return filter; }
+            public Stream<BondRow> rows() { return Stream.of(rows); }
+        };
+    }
+
+    /** Keeps the bonds it receives, optionally sleeping on each. */
+    private static class Collector extends BondSink {
+
+        final List<Bond> bonds = Collections.synchronizedList(new ArrayList<>());
+        private final long sleepMillis;
+
+        Collector(long sleepMillis) {
+            super(4);
+            this.sleepMillis = sleepMillis;
+        }
+
+        @Override
+        protected void accept(Bond bond) throws Exception {
+            if (sleepMillis > 0) Thread.sleep(sleepMillis);
+            bonds.add(bond);
+        }
+    }
+}
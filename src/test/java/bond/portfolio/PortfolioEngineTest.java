@@ -0,0 +1,117 @@
+package bond.portfolio;
+
+import bond.model.Bond;
+import bond.rating.Rating;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class PortfolioEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 3, 1);
+    private static final Map<String, Double> FX = Map.of("USD", 1.10);
+
+    private PortfolioEngine engine;
+
+    @Before
+    public void setup() {
+        Bond eur = bond("IT0005580094", "ITALIA", 100, "EUR", 100, 4.0, LocalDate.of(2028, 6, 15), Rating.BBB_PLUS);
+        Bond usd = bond("US91282CJL54", "USA", 99, "USD", 90, 5.0, LocalDate.of(2031, 1, 31), Rating.AA_PLUS);
+        engine = new PortfolioEngine(List.of(eur, usd), FX, "EUR", AS_OF);
+    }
+
+    // ---------------------------------------------------
+    // 1. Import CSV (format du Portfolio Analyzer)
+    // ---------------------------------------------------
+    @Test
+    public void testReadExportedCsv() throws Exception {
+        String csv = "﻿ISIN,Issuer,Quantity,Investment EUR,Coupon %,Rating,Currency,Maturity\r\n"
+            + "IT0005580094,\"ITALIA, \"\"REP\"\"\",10,\"1,000.00\",4.0,\"BBB+\",EUR,2028-06-15\r\n"
+            + "\r\n"
+            + "XX0000000000,\"UNKNOWN\",abc,0,0,\"-\",EUR,2030-01-01\r\n"
+            + "US91282CJL54,USA,5,450";
+
+        List<Holding> holdings = new java.util.ArrayList<>();
+        int n = PortfolioCsv.read(new StringReader(csv), holdings::add);
+
+        assertEquals(2, n);
+        assertEquals("ITALIA, \"REP\"", holdings.get(0).issuer());
+        assertEquals(1000.0, holdings.get(0).investedEur(), 1e-9);
+        assertEquals(5.0, holdings.get(1).quantity(), 1e-9);
+    }
+
+    // ---------------------------------------------------
+    // 2. Statistiques et jointure par ISIN
+    // ---------------------------------------------------
+    @Test
+    public void testStatistics() throws Exception {
+        String csv = "ISIN,Quantity,Investment EUR\n"
+            + "IT0005580094,10,950\n"
+            + "US91282CJL54,10,900\n"
+            + "FR0000000000,3,300\n";
+
+        PortfolioProjection p = engine.project(new StringReader(csv));
+
+        assertEquals(2, p.positions().size());
+        assertEquals(List.of("FR0000000000"), p.unmatchedIsins());
+        assertEquals(1850, p.investedEur(), 1e-9);
+        assertEquals(1900, p.marketValueEur(), 1e-9);
+        assertEquals(50, p.profitEur(), 1e-9);
+        // (4 × 1000 + 5 × 900) / 1900
+        assertEquals(8500.0 / 1900, p.weightedCoupon(), 1e-9);
+        // Ranks BBB+ = 3 and AA+ = 9 weighted 1000 / 900 → 5.84 → A+
+        assertEquals(Rating.A_PLUS, p.weightedRating());
+        assertEquals(1000, p.currencyBreakdown().get("EUR"), 1e-9);
+    }
+
+    // ---------------------------------------------------
+    // 3. Calendrier des flux
+    // ---------------------------------------------------
+    @Test
+    public void testCashFlowCalendar() {
+        PortfolioProjection p = engine.project(List.of(
+            new Holding("IT0005580094", "ITALIA", 6, 0),
+            new Holding("IT0005580094", "ITALIA", 4, 0)));
+
+        List<CashFlowYear> calendar = p.calendar();
+        assertEquals(3, calendar.size()); // 2026, 2027, 2028
+        assertEquals(2026, calendar.get(0).year());
+
+        // Coupons on every 15 June after AS_OF, on 10 bonds, no FX haircut for EUR
+        for (CashFlowYear y : calendar) assertEquals(40, y.couponsEur(), 1e-9);
+        assertEquals(0, calendar.get(1).redemptionsEur(), 1e-9);
+        assertEquals(1000, calendar.get(2).redemptionsEur(), 1e-9);
+        assertEquals(1120, p.totalCashFlowEur(), 1e-9);
+    }
+
+    @Test
+    public void testForeignCurrencyHaircut() {
+        PortfolioProjection p = engine.project(List.of(new Holding("US91282CJL54", "USA", 10, 0)));
+
+        // Next coupon date is 31 January 2027: nothing left in 2026
+        assertEquals(0, p.calendar().get(0).couponsEur(), 1e-9);
+        assertEquals(2031, p.calendar().get(5).year());
+
+        // 1 EUR = 1.10 USD, reduced by the USD haircut over ~5 years
+        double spot = 1 / 1.10;
+        double coupon = p.calendar().get(1).couponsEur();
+        double redemption = p.calendar().get(5).redemptionsEur();
+        assertTrue(coupon < 50 * spot && coupon > 40 * spot);
+        assertTrue(redemption < 1000 * spot && redemption > 600 * spot);
+        assertTrue(redemption / 1000 < coupon / 50); // Capital haircut (T) deeper than coupon haircut (T/2)
+    }
+
+    private static Bond bond(String isin, String issuer, double price, String ccy, double priceEur,
+                             double coupon, LocalDate maturity, Rating rating) {
+        Bond b = new Bond(isin, issuer, price, ccy, priceEur, coupon, maturity);
+        b.setRating(rating.label());
+        b.setRatingRank(rating.rank());
+        return b;
+    }
+}
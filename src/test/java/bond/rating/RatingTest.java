@@ -0,0 +1,78 @@
+package bond.rating;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class RatingTest {
+
+    // ---------------------------------------------------
+    // 1. Notation S&P / Fitch
+    // ---------------------------------------------------
+    @Test
+    public void testParseStandardNotation() {
+        assertEquals(Rating.AAA, Rating.parse("AAA"));
+        assertEquals(Rating.BBB_PLUS, Rating.parse(" bbb+ "));
+        assertEquals(Rating.CCC, Rating.parse("CCC-"));
+        assertEquals(Rating.D, Rating.parse("SD"));
+        assertEquals(10, Rating.AAA.rank());
+        assertEquals(2, Rating.BBB.rank());
+    }
+
+    // ---------------------------------------------------
+    // 2. Notation Moody's
+    // ---------------------------------------------------
+    @Test
+    public void testParseMoodysNotation() {
+        assertEquals(Rating.AA_MINUS, Rating.parse("Aa3"));
+        assertEquals(Rating.BBB, Rating.parse("Baa2"));
+        assertEquals(Rating.BB_PLUS, Rating.parse("Ba1"));
+        assertEquals(Rating.A_PLUS, Rating.parse("(P)A1"));
+        assertEquals(Rating.CCC, Rating.parse("Caa1"));
+    }
+
+    // ---------------------------------------------------
+    // 3. Valeurs inconnues
+    // ---------------------------------------------------
+    @Test
+    public void testUnknownNotation() {
+        assertNull(Rating.parse(""));
+        assertNull(Rating.parse("NR"));
+        assertEquals(Rating.DEFAULT, Rating.parseOrDefault(null));
+        assertEquals(2, RatingService.getRatingRank("n/a"));
+    }
+
+    // ---------------------------------------------------
+    // 4. Composite multi-agences
+    // ---------------------------------------------------
+    @Test
+    public void testComposite() {
+        // S&P A-, Moody's Baa2, Fitch BBB+
+        var agencies = Arrays.asList(Rating.A_MINUS, Rating.parse("Baa2"), Rating.BBB_PLUS);
+
+        assertEquals(Rating.BBB, RatingComposite.WORST_OF.combine(agencies));
+        assertEquals(Rating.BBB_PLUS, RatingComposite.MEDIAN.combine(agencies));
+        assertEquals(Rating.A_MINUS, RatingComposite.BEST_OF.combine(agencies));
+    }
+
+    @Test
+    public void testCompositeIgnoresMissingAgencies() {
+        // Deux agences seulement : la médiane retient la plus basse
+        var agencies = Arrays.asList(Rating.AA, null, Rating.AA_MINUS);
+        assertEquals(Rating.AA_MINUS, RatingComposite.MEDIAN.combine(agencies));
+
+        assertNull(RatingComposite.MEDIAN.combine(Arrays.asList(null, null, null)));
+    }
+
+    // ---------------------------------------------------
+    // 5. Comparaisons
+    // ---------------------------------------------------
+    @Test
+    public void testCompareRatings() {
+        assertTrue(RatingService.meetsRatingRequirement("AA", "BBB"));
+        assertFalse(RatingService.meetsRatingRequirement("BB+", "BBB-"));
+        assertTrue(RatingService.compareRatings("Aa1", "AA+") == 0);
+    }
+}
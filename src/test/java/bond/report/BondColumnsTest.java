@@ -0,0 +1,73 @@
+package bond.report;
+
+import bond.model.Bond;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class BondColumnsTest {
+
+    // ---------------------------------------------------
+    // 1. Colonnes : valeurs relues aux offsets annoncés
+    // ---------------------------------------------------
+    @Test
+    public void testColumnsRoundTrip() {
+        Bond a = bond("IT0005580094", "ITALIA", 101.25, "EUR", LocalDate.of(2035, 2, 1), 2);
+        Bond b = bond("US91282CJL54", "USA", 98.5, "USD", null, 9);
+        Bond c = bond("IT0005", "ITALIA", 100, "EUR", LocalDate.of(2030, 1, 1), 2);
+        String js = BondColumns.toJs(List.of(a, b, c));
+
+        assertTrue(js, js.startsWith("{count: 3, isinWidth: 12, offsets: {price: 0, priceEur: 12,"));
+        assertTrue(js, js.contains("issuers: [\"ITALIA\",\"USA\"]"));
+        assertTrue(js, js.contains("currencies: [\"EUR\",\"USD\"]"));
+
+        ByteBuffer buf = data(js);
+        assertEquals(98.5f, buf.getFloat(offset(js, "price") + 4), 0);
+        assertEquals(LocalDate.of(2035, 2, 1).toEpochDay(), buf.getInt(offset(js, "maturity")));
+        assertEquals(BondColumns.NO_MATURITY, buf.getInt(offset(js, "maturity") + 4));
+        assertEquals(1, buf.getInt(offset(js, "issuer") + 4));
+        assertEquals(0, buf.getInt(offset(js, "issuer") + 8));
+        assertEquals(1, buf.getShort(offset(js, "currency") + 2));
+        assertEquals(9, buf.get(offset(js, "ratingRank") + 1));
+
+        byte[] isin = new byte[12];
+        buf.position(offset(js, "isin") + 24).get(isin);
+        assertEquals("IT0005\0\0\0\0\0\0", new String(isin, StandardCharsets.US_ASCII)); // Zero-padded
+    }
+
+    // ---------------------------------------------------
+    // 2. Dictionnaires : chaînes échappées pour un <script>
+    // ---------------------------------------------------
+    @Test
+    public void testStringsAreEscaped() {
+        String js = BondColumns.toJs(List.of(bond("X", "A \"B\" </script>\\", 100, "EUR", null, 0)));
+        assertTrue(js, js.contains("issuers: [\"A \\\"B\\\" \\u003c/script>\\\\\"]"));
+    }
+
+    private static ByteBuffer data(String js) {
+        Matcher m = Pattern.compile("data: \"([^\"]*)\"").matcher(js);
+        assertTrue(js, m.find());
+        return ByteBuffer.wrap(Base64.getDecoder().decode(m.group(1))).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int offset(String js, String column) {
+        Matcher m = Pattern.compile("[{ ]" + column + ": (\\d+)").matcher(js);
+        assertTrue(column, m.find());
+        return Integer.parseInt(m.group(1));
+    }
+
+    private static Bond bond(String isin, String issuer, double price, String currency, LocalDate maturity, int ratingRank) {
+        Bond b = new Bond(isin, issuer, price, currency, price, 4.0, maturity);
+        b.setRatingRank(ratingRank);
+        return b;
+    }
+}
@@ -0,0 +1,42 @@
+package bond.report;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ReportAssetsTest {
+
+    // ---------------------------------------------------
+    // 1. Commentaires et indentation supprimés
+    // ---------------------------------------------------
+    @Test
+    public void testMinifyJsDropsCommentsAndIndentation() {
+        String js = "/* header */\nfunction f(a) {\n    // comment\n    return a  +  1; // trailing\n}\n";
+        assertEquals("function f(a) {\nreturn a + 1;\n}", ReportAssets.minifyJs(js));
+    }
+
+    // ---------------------------------------------------
+    // 2. Littéraux conservés tels quels
+    // ---------------------------------------------------
+    @Test
+    public void testMinifyJsKeepsLiterals() {
+        String js = "const s = \"a // b\";\nconst r = x.replace(/['\"]/g, '');\nconst t = `  ${f({a: 1})} // x  `;\n";
+        assertEquals(js.trim(), ReportAssets.minifyJs(js));
+    }
+
+    // ---------------------------------------------------
+    // 3. CSS
+    // ---------------------------------------------------
+    @Test
+    public void testMinifyCss() {
+        String css = "/* c */\n.a  .b :hover {\n    color : red;\n    margin: 0 auto;\n}\n";
+        assertEquals(".a .b :hover{color :red;margin:0 auto}", ReportAssets.minifyCss(css));
+    }
+
+    @Test
+    public void testHashIsStable() {
+        assertEquals(ReportAssets.hash("x".getBytes()), ReportAssets.hash("x".getBytes()));
+        assertNotEquals(ReportAssets.hash("x".getBytes()), ReportAssets.hash("y".getBytes()));
+        assertEquals(10, ReportAssets.hash("x".getBytes()).length());
+    }
+}
@@ -0,0 +1,69 @@
+package bond.report;
+
+import bond.model.Bond;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SortOrdersTest {
+
+    // ---------------------------------------------------
+    // 1. Ordre croissant par colonne
+    // ---------------------------------------------------
+    @Test
+    public void testColumnOrders() {
+        Bond a = bond("IT0005", "ITALIA", 101.5, 4.0, LocalDate.of(2035, 2, 1), 2);
+        Bond b = bond("DE0001", "GERMANIA", 98.0, 2.5, LocalDate.of(2030, 8, 15), 10);
+        Bond c = bond("FR0014", "Électricité de France", 99.0, 4.0, null, 5);
+        List<Bond> bonds = List.of(a, b, c);
+
+        assertArrayEquals(new int[]{1, 2, 0}, SortOrders.permutation(SortOrders.ranks(bonds, 0)));
+        // Accents collate like their base letter (root collator), not after 'Z'
+        assertArrayEquals(new int[]{2, 1, 0}, SortOrders.permutation(SortOrders.ranks(bonds, 1)));
+        assertArrayEquals(new int[]{1, 2, 0}, SortOrders.permutation(SortOrders.ranks(bonds, 2)));
+        assertArrayEquals(new int[]{0, 2, 1}, SortOrders.permutation(SortOrders.ranks(bonds, 4)));
+        // No maturity sorts first
+        assertArrayEquals(new int[]{2, 1, 0}, SortOrders.permutation(SortOrders.ranks(bonds, 7)));
+    }
+
+    // ---------------------------------------------------
+    // 2. Egalités : ordre de rendu conservé
+    // ---------------------------------------------------
+    @Test
+    public void testTiesKeepRenderingOrder() {
+        assertArrayEquals(new int[]{1, 3, 0, 2, 4}, SortOrders.permutation(new int[]{2, 0, 2, 1, 5}));
+    }
+
+    // ---------------------------------------------------
+    // 3. Encodage base64 sur 2 ou 4 octets
+    // ---------------------------------------------------
+    @Test
+    public void testEncodeWidths() {
+        int[] perm = {2, 0, 70_000};
+        ByteBuffer wide = ByteBuffer.wrap(Base64.getDecoder().decode(SortOrders.encode(perm, 4)))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(2, wide.getInt());
+        assertEquals(0, wide.getInt());
+        assertEquals(70_000, wide.getInt());
+
+        ByteBuffer narrow = ByteBuffer.wrap(Base64.getDecoder().decode(SortOrders.encode(new int[]{65_535, 1}, 2)))
+            .order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(65_535, Short.toUnsignedInt(narrow.getShort()));
+        assertEquals(1, narrow.getShort());
+
+        String js = SortOrders.toJs(List.of(bond("X", "Y", 100, 1, null, 0)));
+        assertTrue(js, js.startsWith("{width: 2, columns: [\"AAA=\","));
+    }
+
+    private static Bond bond(String isin, String issuer, double price, double coupon, LocalDate maturity, int ratingRank) {
+        Bond b = new Bond(isin, issuer, price, "EUR", price, coupon, maturity);
+        b.setRatingRank(ratingRank);
+        return b;
+    }
+}
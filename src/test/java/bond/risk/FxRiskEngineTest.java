@@ -0,0 +1,131 @@
+package bond.risk;
+
+import bond.fx.FxHistory;
+import bond.fx.FxService;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class FxRiskEngineTest {
+
+    // ---------------------------------------------------
+    // 1. Lecture de l'historique BCE
+    // ---------------------------------------------------
+    @Test
+    public void testParseEcbCsv() throws Exception {
+        FxHistory history = FxHistory.parseEcbCsv(new StringReader("""
+            Date,USD,JPY,CYP,
+            2025-10-17,1.1681,175.69,N/A,
+            2025-10-16,1.1700,176.10,N/A,
+            2025-10-15,1.1650,N/A,N/A,
+            """));
+
+        assertEquals(LocalDate.of(2025, 10, 15), history.dates().get(0));
+        assertEquals(Set.of("USD", "JPY"), history.currencies()); // CYP never quoted
+        assertEquals(1.1681, history.series("USD")[2], 1e-12);
+        assertTrue(Double.isNaN(history.series("JPY")[0]));
+        assertEquals(1.0, history.series("EUR")[1], 0);
+    }
+
+    // ---------------------------------------------------
+    // 2. Covariance et facteur de Cholesky
+    // ---------------------------------------------------
+    @Test
+    public void testCholeskyAndFallback() {
+        FxHistory history = history(500, 0.4);
+        FxCovariance cov = FxCovariance.estimate(history, "EUR", List.of("USD", "GBP", "BGN", "EUR", "TRY"), 250);
+
+        assertEquals(List.of("BGN", "GBP", "TRY", "USD"), cov.currencies());
+        assertEquals(250, cov.observations());
+
+        // L·Lᵀ = Σ, including the constant (pegged) BGN column
+        double[][] l = cov.cholesky();
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                double s = 0;
+                for (int k = 0; k < 4; k++) s += l[i][k] * l[j][k];
+                assertEquals(cov.covariance(i, j), s, 1e-15);
+            }
+        }
+        assertEquals(0, cov.annualVol(cov.indexOf("BGN")), 1e-12);
+
+        // TRY is not in the history: profile volatility, uncorrelated
+        int tr = cov.indexOf("TRY");
+        assertEquals(FxService.getRiskProfile("TRY").annualVol(), cov.annualVol(tr), 1e-12);
+        assertEquals(0, cov.covariance(tr, cov.indexOf("USD")), 0);
+
+        // Empty or one-day history: every currency falls back to its profile
+        for (FxHistory few : List.of(new FxHistory(List.of(), Map.of()), history(1, 0))) {
+            FxCovariance fallback = FxCovariance.estimate(few, "EUR", List.of("USD", "TRY"), 250);
+            assertEquals(0, fallback.observations());
+            assertEquals(FxService.getRiskProfile("USD").annualVol(), fallback.annualVol(fallback.indexOf("USD")), 1e-12);
+        }
+    }
+
+    // ---------------------------------------------------
+    // 3. VaR paramétrique et Monte Carlo
+    // ---------------------------------------------------
+    @Test
+    public void testOffsettingCurrencies() {
+        // GBP moves exactly against USD: equal exposures cancel out
+        FxHistory history = history(500, -1.0);
+        FxCovariance cov = FxCovariance.estimate(history, "EUR", List.of("USD", "GBP"), 400);
+        FxRiskEngine engine = new FxRiskEngine(cov, "EUR", 21, 20_000, 7L);
+
+        FxRisk hedged = engine.evaluate(Map.of("USD", 10_000.0, "GBP", 10_000.0, "EUR", 50_000.0), 0.95);
+        assertEquals(20_000, hedged.exposure(), 1e-9);
+        assertTrue(hedged.standaloneVar() > 500);
+        assertEquals(0, hedged.parametricVar(), 1e-6);
+        assertEquals(0, hedged.simulatedVar(), 1e-6);
+        assertEquals(1, hedged.diversification(), 1e-9);
+
+        // Single currency: the simulation agrees with the normal formula
+        FxRisk usd = engine.evaluate(Map.of("USD", 10_000.0), 0.95);
+        assertEquals(usd.standaloneVar(), usd.parametricVar(), 1e-9);
+        assertEquals(usd.parametricVar(), usd.simulatedVar(), usd.parametricVar() * 0.05);
+        assertEquals(usd.parametricEs(), usd.simulatedEs(), usd.parametricEs() * 0.05);
+        assertTrue(usd.parametricEs() > usd.parametricVar());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCurrency() {
+        FxCovariance cov = FxCovariance.estimate(history(100, 0), "EUR", List.of("USD"), 50);
+        new FxRiskEngine(cov, "EUR", 1, 1000, 1L).evaluate(Map.of("JPY", 1.0), 0.95);
+    }
+
+    @Test
+    public void testNormalQuantile() {
+        assertEquals(1.644854, FxRiskEngine.normalQuantile(0.95), 1e-6);
+        assertEquals(-2.326348, FxRiskEngine.normalQuantile(0.01), 1e-6);
+    }
+
+    /** USD random walk (0.6% daily), GBP = beta × USD returns plus noise, BGN pegged. */
+    private static FxHistory history(int days, double beta) {
+        SplittableRandom random = new SplittableRandom(3);
+        List<LocalDate> dates = new ArrayList<>();
+        double[] usd = new double[days];
+        double[] gbp = new double[days];
+        double[] bgn = new double[days];
+        double lu = Math.log(1.10);
+        double lg = Math.log(0.85);
+        for (int t = 0; t < days; t++) {
+            dates.add(LocalDate.of(2024, 1, 1).plusDays(t));
+            double du = 0.006 * random.nextGaussian();
+            double noise = beta == -1.0 ? 0 : 0.004 * random.nextGaussian();
+            lu += du;
+            lg += beta * du + noise;
+            usd[t] = Math.exp(lu);
+            gbp[t] = Math.exp(lg);
+            bgn[t] = 1.95583;
+        }
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        rates.put("USD", usd);
+        rates.put("GBP", gbp);
+        rates.put("BGN", bgn);
+        return new FxHistory(dates, rates);
+    }
+}
@@ -0,0 +1,56 @@
+package bond.scrape;
+
+import bond.rating.Rating;
+import bond.rating.RatingService;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CountryNormalizerTest {
+
+    // ---------------------------------------------------
+    // 1. Alias connus : correspondance exacte
+    // ---------------------------------------------------
+    @Test
+    public void testKnownAliases() {
+        assertEquals("ITALIA", CountryNormalizer.normalize("BTP Italia Green"));
+        assertEquals("ITALIA", CountryNormalizer.normalize("Republic of  Italy"));
+        assertEquals("GERMANIA", CountryNormalizer.normalize("BUNDESREPUBLIK DEUTSCHLAND"));
+        assertEquals("REGNO UNITO", CountryNormalizer.normalize("uk"));
+        assertEquals("AUSTRALIA", CountryNormalizer.normalize("AUSTRALIA")); // Not fuzzy-matched to AUSTRIA
+        assertEquals("", CountryNormalizer.normalize(null));
+    }
+
+    // ---------------------------------------------------
+    // 2. Orthographes inconnues : plus proche nom connu
+    // ---------------------------------------------------
+    @Test
+    public void testFuzzyResolution() {
+        assertEquals("GERMANIA", CountryNormalizer.normalize("GERMNY"));
+        assertEquals("SVIZZERA", CountryNormalizer.normalize("Switzerlnd"));
+        assertEquals("SPAGNA", CountryNormalizer.normalize("Kingdom of Spain"));
+        assertEquals("AUSTRIA", CountryNormalizer.normalize("REPUBLIC OF AUSTRIA")); // Not ITALIA via "REPUBLIC OF ITALY"
+        assertEquals(1.0, CountryNormalizer.closest("Kingdom of Spain").score(), 0);
+
+        // Nothing close enough: kept as is
+        assertEquals("EUROPEAN INVESTMENT BANK", CountryNormalizer.normalize("European Investment Bank"));
+        assertEquals("ICELAND", CountryNormalizer.normalize("ICELAND"));
+
+        // The rating follows the resolved name instead of the BBB default
+        assertEquals(Rating.AAA, RatingService.getRating("GERMNY"));
+    }
+
+    // ---------------------------------------------------
+    // 3. Nouveaux noms connus (table des notations)
+    // ---------------------------------------------------
+    @Test
+    public void testAddKnownNames() {
+        assertEquals("NEW ZEALANDD", CountryNormalizer.normalizeExact("New Zealandd"));
+        CountryNormalizer.addKnownNames(List.of("NEW ZEALAND"));
+
+        assertEquals("NEW ZEALAND", CountryNormalizer.normalize("New Zealandd"));
+        assertEquals("NEW ZEALANDD", CountryNormalizer.normalizeExact("New Zealandd")); // Exact lookup never guesses
+    }
+}
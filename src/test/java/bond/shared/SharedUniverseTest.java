@@ -0,0 +1,195 @@
+package bond.shared;
+
+import bond.model.Bond;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class SharedUniverseTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    // ---------------------------------------------------
+    // 1. Cas standard : publication, lecture, index ISIN
+    // ---------------------------------------------------
+    @Test
+    public void testPublishAndRead() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("universe.bin");
+        Bond btp = new Bond("IT0005580094", "ITALIA", 101.2, "EUR", 101.2, 4.05, LocalDate.of(2035, 10, 1));
+        btp.setRating("BBB+");
+        btp.setRatingRank(3);
+        btp.setYieldToMat(3.91);
+        Bond odd = new Bond("NOT-AN-ISIN", "REPUBBLICA FEDERALE DI GERMANIA (BUND)", 99.1, "USD", 90.1, 2.6, null);
+
+        try (SharedUniverseWriter writer = new SharedUniverseWriter(file);
+             SharedUniverseReader reader = SharedUniverseReader.open(file)) {
+            assertEquals(1, writer.publish(List.of(btp, odd)));
+
+            Bond copy = reader.read(s -> s.bond(s.row("IT0005580094")));
+            assertEquals("ITALIA", copy.getIssuer());
+            assertEquals("BBB+", copy.getRating());
+            assertEquals(3, copy.getRatingRank());
+            assertEquals(LocalDate.of(2035, 10, 1), copy.getMaturity());
+            assertEquals(3.91, copy.getYieldToMat(), 0);
+            assertTrue(Double.isNaN(copy.getSpreadBp()));
+
+            assertEquals(1, (int) reader.read(s -> s.row("NOT-AN-ISIN")));
+            assertEquals("REPUBBLICA FEDERALE DI GERMANIA ", reader.read(s -> s.issuer(1))); // Cut at 32 bytes
+            assertNull(reader.read(s -> s.maturity(1)));
+            assertEquals(-1, (int) reader.read(s -> s.row("DE0001102580")));
+
+            // Only one writer per file
+            try {
+                new SharedUniverseWriter(file).close();
+                fail("second writer accepted");
+            } catch (IOException expected) {
+                // Locked
+            }
+        }
+
+        // A new writer continues the versions of the file
+        try (SharedUniverseWriter writer = new SharedUniverseWriter(file)) {
+            assertEquals(2, writer.publish(List.of(odd)));
+        }
+    }
+
+    // ---------------------------------------------------
+    // 2. Univers plus grand que le fichier : nouveau fichier, lecteurs redirigés
+    // ---------------------------------------------------
+    @Test
+    public void testGrowRetiresOldFile() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("universe.bin");
+        try (SharedUniverseWriter writer = new SharedUniverseWriter(file);
+             SharedUniverseReader reader = SharedUniverseReader.open(file)) {
+            writer.publish(generation(1, 10));
+            assertEquals(10, (int) reader.read(SharedUniverseReader.Snapshot::size));
+
+            writer.publish(generation(2, SharedUniverseWriter.MIN_CAPACITY * 3));
+            assertTrue(writer.capacity() > SharedUniverseWriter.MIN_CAPACITY);
+            assertEquals(SharedUniverseWriter.MIN_CAPACITY * 3, (int) reader.read(SharedUniverseReader.Snapshot::size));
+            assertEquals(2, reader.version());
+            assertEquals(2999, (int) reader.read(s -> s.row(isin(2999))));
+        }
+    }
+
+    // ---------------------------------------------------
+    // 3. Concurrence : chaque lecture voit une seule publication complète
+    // ---------------------------------------------------
+    @Test
+    public void testReadersNeverSeeTornPublications() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("universe.bin");
+        int generations = 400;
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+
+        try (SharedUniverseWriter writer = new SharedUniverseWriter(file)) {
+            writer.publish(generation(0, rows(0)));
+            List<Future<Integer>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    int reads = 0;
+                    long last = 0;
+                    try (SharedUniverseReader reader = SharedUniverseReader.open(file)) { // One mapping per reader
+                        do {
+                            long[] seen = reader.read(s -> {
+                                int gen = (int) s.price(0);
+                                for (int row = 0; row < s.size(); row++) {
+                                    if (s.price(row) != gen || s.couponPct(row) != gen) return new long[]{-1, row};
+                                }
+                                int last0 = s.size() - 1;
+                                return new long[]{gen, s.size(), s.row(isin(last0)) == last0 ? 1 : 0, s.version()};
+                            });
+                            assertNotEquals("mixed generations at row " + seen[1], -1, seen[0]);
+                            assertEquals(rows((int) seen[0]), seen[1]);
+                            assertEquals(1, seen[2]);
+                            assertTrue(seen[3] >= last);
+                            last = seen[3];
+                            reads++;
+                        } while (!done.get());
+                    }
+                    return reads;
+                }));
+            }
+
+            for (int gen = 1; gen <= generations; gen++) {
+                writer.publish(generation(gen, rows(gen)));
+                if (gen % 50 == 0) Thread.yield();
+            }
+            done.set(true);
+            for (Future<Integer> f : readers) assertTrue(f.get() > 0);
+            assertTrue(writer.capacity() > SharedUniverseWriter.MIN_CAPACITY); // Grew while being read
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // ---------------------------------------------------
+    // 4. Écrivain mort en pleine publication : attente bornée, reprise par le suivant
+    // ---------------------------------------------------
+    @Test
+    public void testDeadWriterTimesOut() throws Exception {
+        Path file = tmp.getRoot().toPath().resolve("universe.bin");
+        try (SharedUniverseWriter writer = new SharedUniverseWriter(file)) {
+            writer.publish(generation(1, 10));
+        }
+        // Sequence left odd, as by a writer killed between the two updates
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, ch.size()).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putLong(SharedLayout.H_SEQUENCE, buf.getLong(SharedLayout.H_SEQUENCE) + 1);
+        }
+
+        try (SharedUniverseReader reader = SharedUniverseReader.open(file, Duration.ofMillis(50))) {
+            long start = System.nanoTime();
+            try {
+                reader.version();
+                fail("read of a half-written file returned");
+            } catch (IllegalStateException expected) {
+                assertTrue(expected.getMessage().startsWith("publication in progress for > 50 ms"));
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+
+            // The next writer ends the half-done publication; the reader follows it
+            try (SharedUniverseWriter writer = new SharedUniverseWriter(file)) {
+                writer.publish(generation(2, 20));
+                assertEquals(20, (int) reader.read(SharedUniverseReader.Snapshot::size));
+            }
+        }
+    }
+
+    /** Rows of a generation: varying sizes, and one publication beyond the first file. */
+    private static int rows(int gen) {
+        return gen == 300 ? 1500 : 50 + gen % 200;
+    }
+
+    private static List<Bond> generation(int gen, int rows) {
+        List<Bond> bonds = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Bond b = new Bond(isin(i), "ISSUER " + i, gen, "EUR", gen, gen, LocalDate.of(2030, 1, 1));
+            bonds.add(b);
+        }
+        return bonds;
+    }
+
+    private static String isin(int i) {
+        return String.format("XS%010d", i);
+    }
+}
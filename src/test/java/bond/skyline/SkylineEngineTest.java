@@ -0,0 +1,102 @@
+package bond.skyline;
+
+import bond.model.Bond;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static bond.skyline.SkylineDimension.*;
+import static org.junit.Assert.*;
+
+public class SkylineEngineTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2026, 1, 1);
+
+    // ---------------------------------------------------
+    // 1. Cas standard : frontière, couches, égalités
+    // ---------------------------------------------------
+    @Test
+    public void testFrontierAndDepths() {
+        Bond best = bond(5.0, 8, 2030);     // Frontier
+        Bond longer = bond(5.0, 8, 2035);   // Same SAY and rating, longer: depth 1
+        Bond twin = bond(5.0, 8, 2030);     // Identical to best: not dominated
+        Bond riskier = bond(6.0, 2, 2035);  // Higher yield, lower rating: frontier
+        Bond worst = bond(4.0, 2, 2040);    // Below longer and riskier: depth 2
+        Bond unknown = bond(7.0, 8, 0);     // No maturity: not ranked
+        List<Bond> bonds = List.of(best, longer, twin, riskier, worst, unknown);
+
+        SkylineEngine.Result result = new SkylineEngine(List.of(SAY, RATING, MATURITY)).calculateDepths(bonds, AS_OF);
+        assertEquals(new SkylineEngine.Result(5, 3, 3), result);
+        assertEquals(List.of(0, 1, 0, 0, 2, -1), bonds.stream().map(Bond::getSkylineDepth).toList());
+
+        // Without maturity, the last bond is ranked and beats all others; best, longer and twin tie
+        new SkylineEngine(List.of(SAY, RATING)).calculateDepths(bonds, AS_OF);
+        assertEquals(List.of(1, 1, 1, 1, 2, 0), bonds.stream().map(Bond::getSkylineDepth).toList());
+
+        assertEquals(List.of(PRICE, CURRENT_YIELD), SkylineEngine.parseDimensions("price, current-yield"));
+        assertEquals(SkylineEngine.DEFAULT_DIMENSIONS, SkylineEngine.parseDimensions(null));
+    }
+
+    // ---------------------------------------------------
+    // 2. Comparaison avec l'épluchage naïf en O(n²) par couche
+    // ---------------------------------------------------
+    @Test
+    public void testMatchesNaivePeeling() {
+        Random random = new Random(42);
+        List<Bond> bonds = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            // Coarse values so that ties are frequent
+            bonds.add(bond(random.nextInt(12) / 2.0, random.nextInt(8) - 2, 2027 + random.nextInt(15)));
+        }
+        for (List<SkylineDimension> dims : List.of(List.of(SAY, MATURITY), List.of(SAY, RATING, MATURITY),
+            List.of(SAY, RATING, MATURITY, CURRENT_YIELD))) {
+            new SkylineEngine(dims).calculateDepths(bonds, AS_OF);
+            int[] expected = peel(bonds, dims);
+            for (int i = 0; i < bonds.size(); i++) {
+                assertEquals(dims + " bond " + i, expected[i], bonds.get(i).getSkylineDepth());
+            }
+        }
+    }
+
+    /** Removes the non-dominated bonds layer by layer. */
+    private static int[] peel(List<Bond> bonds, List<SkylineDimension> dims) {
+        int[] depth = new int[bonds.size()];
+        Arrays.fill(depth, -1);
+        for (int layer = 0, left = bonds.size(); left > 0; layer++) {
+            List<Integer> front = new ArrayList<>();
+            for (int p = 0; p < bonds.size(); p++) {
+                if (depth[p] >= 0) continue;
+                boolean dominated = false;
+                for (int q = 0; q < bonds.size() && !dominated; q++) {
+                    dominated = depth[q] < 0 && dominates(bonds.get(q), bonds.get(p), dims);
+                }
+                if (!dominated) front.add(p);
+            }
+            for (int p : front) depth[p] = layer;
+            left -= front.size();
+        }
+        return depth;
+    }
+
+    private static boolean dominates(Bond a, Bond b, List<SkylineDimension> dims) {
+        boolean better = false;
+        for (SkylineDimension d : dims) {
+            double x = d.score(a, AS_OF);
+            double y = d.score(b, AS_OF);
+            if (x < y) return false;
+            if (x > y) better = true;
+        }
+        return better;
+    }
+
+    private static Bond bond(double say, int ratingRank, int maturityYear) {
+        Bond b = new Bond("XS0000000000", "ISSUER", 100, "EUR", 100, say, maturityYear == 0 ? null : LocalDate.of(maturityYear, 6, 1));
+        b.setSimpleAnnualYield(say);
+        b.setRatingRank(ratingRank);
+        return b;
+    }
+}
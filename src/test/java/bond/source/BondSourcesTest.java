@@ -0,0 +1,247 @@
+package bond.source;
+
+import bond.calc.BondCalculator;
+import bond.http.HttpRequest;
+import bond.http.HttpResponse;
+import bond.http.HttpTransport;
+import bond.model.Bond;
+import bond.scrape.BondScraper;
+import org.jsoup.Jsoup;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class BondSourcesTest {
+
+    private static final Map<String, Double> FX = Map.of("EUR", 1.0, "USD", 1.10);
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    // ---------------------------------------------------
+    // 1. Configuration par défaut
+    // ---------------------------------------------------
+    @Test
+    public void testDefaultConfig() {
+        List<SourceConfig> sources = BondSourcesConfig.load().enabled();
+
+        assertEquals(3, sources.size());
+        assertEquals("html", sources.get(0).getType());
+        assertEquals(Integer.valueOf(5000), sources.get(1).getFilters().getMaxMinLot());
+        assertEquals(List.of("NOK", "SEK"), sources.get(2).getFilters().getExcludeCurrencies());
+    }
+
+    // ---------------------------------------------------
+    // 2. Adaptateurs CSV et JSON
+    // ---------------------------------------------------
+    @Test
+    public void testCsvSource() throws Exception {
+        Path csv = tmp.newFile("universe.csv").toPath();
+        Files.writeString(csv, """
+            ISIN;Name;Maturity;Currency;Price;Lot
+            IT0005580094;"BTP 4,05% 2035";2035-10-30;EUR;101,20 €;1000
+            US91282CJL54;USA 4.5% 2033;2033-11-15;USD;98.5;10.000
+            DE0001102580;BUND 2% 2030;2030-01-01;EUR;99;
+            broken;line
+            """);
+
+        SourceConfig config = config("local", "csv", csv);
+        config.setDelimiter(";");
+        config.setColumns(Map.of("isin", "ISIN", "description", "Name", "maturity", "Maturity",
+            "currency", "Currency", "price", "Price", "minLot", "Lot"));
+
+        List<BondRow> rows;
+        try (Stream<BondRow> s = BondSources.create(config).rows()) {
+            rows = s.toList();
+        }
+        assertEquals(3, rows.size());
+        assertEquals("BTP 4,05% 2035", rows.get(0).description());
+        assertEquals(101.20, rows.get(0).price(), 1e-9);
+        assertEquals(Integer.valueOf(1000), rows.get(0).minLot());
+        assertEquals(Integer.valueOf(10000), rows.get(1).minLot()); // Thousands separator, not a decimal point
+        assertNull(rows.get(2).minLot()); // Optional in files
+        assertEquals(50000, ColumnMapping.parseLot("50'000"));
+        assertEquals(1000, ColumnMapping.parseLot("1\u00A0000"));
+
+        // Monitor pages: a blank or decimal lot rejects the row
+        HtmlMonitorSource monitor = (HtmlMonitorSource) BondSources.monitor("https://monitor.test", null);
+        List<BondRow> monitorRows = monitor.parse(Jsoup.parse("""
+            <table id="YieldTable">
+              <tr><th>Codice ISIN</th><th>Descrizione</th><th>Data scadenza</th><th>Divisa</th><th>Prezzo di riferimento</th><th>Lotto minimo</th></tr>
+              <tr><td>IT0005580094</td><td>BTP 4,05% 2035</td><td>2035-10-30</td><td>EUR</td><td>101,20</td><td>1.000</td></tr>
+              <tr><td>DE0001102580</td><td>BUND 2% 2030</td><td>2030-01-01</td><td>EUR</td><td>99,00</td><td> </td></tr>
+              <tr><td>FR0010070060</td><td>OAT 1% 2040</td><td>2040-10-25</td><td>EUR</td><td>99,00</td><td>1000,5</td></tr>
+            </table>"""));
+        assertEquals(1, monitorRows.size());
+        assertEquals(Integer.valueOf(1000), monitorRows.get(0).minLot());
+    }
+
+    @Test
+    public void testJsonSource() throws Exception {
+        Path json = tmp.newFile("universe.json").toPath();
+        Files.writeString(json, """
+            {"bonds": [
+              {"isin": "DE0001102580", "issuer": "GERMANY", "coupon": 2.6, "maturity": "2034-08-15", "currency": "EUR", "price": 99.1},
+              {"isin": "FR0014007L00", "issuer": "FRANCE", "maturity": "2033-05-25", "currency": "EUR", "price": 97.0}
+            ]}
+            """);
+
+        List<BondRow> rows;
+        try (Stream<BondRow> s = BondSources.create(config("json", "json", json)).rows()) {
+            rows = s.toList();
+        }
+        assertEquals(2, rows.size());
+        assertEquals("GERMANY", rows.get(0).issuer());
+        assertEquals(2.6, rows.get(0).couponPct(), 1e-9);
+        assertNull(rows.get(1).couponPct());
+    }
+
+    // ---------------------------------------------------
+    // 3. Filtres par source et fusion par ISIN
+    // ---------------------------------------------------
+    @Test
+    public void testFiltersAndPriority() throws Exception {
+        Path first = tmp.newFile("first.csv").toPath();
+        Files.writeString(first, """
+            isin,issuer,coupon,maturity,currency,price,minLot
+            IT0005580094,ITALY,4.05,2035-10-30,EUR,101.2,1000
+            NO0010732555,NORWAY,1.75,2035-02-17,NOK,90,1000
+            ES0000012M51,SPAIN,0,2035-01-31,EUR,80,1000
+            """);
+        Path second = tmp.newFile("second.csv").toPath();
+        Files.writeString(second, """
+            isin,issuer,coupon,maturity,currency,price,minLot
+            IT0005580094,ITALY,4.05,2035-10-30,EUR,150,1000
+            PTOTEYOE0031,PORTUGAL,3.5,2038-06-18,EUR,103,100000
+            """);
+
+        SourceConfig a = config("first", "csv", first);
+        a.setFilters(new RowFilter(null, List.of("NOK"), true));
+        SourceConfig b = config("second", "csv", second);
+        b.setFilters(new RowFilter(5000, List.of(), true));
+
+        BondScraper scraper = new BondScraper(new BondCalculator(LocalDate.of(2026, 1, 1)));
+        List<Bond> bonds = scraper.scrapeSources(List.of(BondSources.create(a), BondSources.create(b)), FX);
+
+        // NOK excluded, zero coupon skipped, lot 100000 > 5000 skipped, duplicate ISIN from the first source
+        assertEquals(1, bonds.size());
+        assertEquals(101.2, bonds.get(0).getPrice(), 1e-9);
+        assertEquals("ITALIA", bonds.get(0).getIssuer());
+    }
+
+    // ---------------------------------------------------
+    // 4. Détection de changement des pages monitor
+    // ---------------------------------------------------
+    @Test
+    public void testMonitorCache() throws Exception {
+        String url = "https://monitor.test/europa";
+        String table = """
+            <table id="YieldTable">
+              <tr><th>Codice ISIN</th><th>Descrizione</th><th>Data scadenza</th><th>Divisa</th><th>Prezzo di riferimento</th><th>Lotto minimo</th></tr>
+              <tr><td>IT0005580094</td><td>ITALY 4.05% 2035</td><td>2035-10-30</td><td>EUR</td><td>101,20</td><td>1000</td></tr>
+            </table>""";
+        List<HttpRequest> requests = new ArrayList<>();
+        List<HttpResponse> responses = new ArrayList<>(List.of(
+            page(url, 200, "\"v1\"", "<p>10:00</p>" + table),
+            page(url, 304, "\"v1\"", ""),
+            page(url, 200, "\"v2\"", "<p>10:05</p>" + table),
+            page(url, 200, "\"v3\"", "<p>10:10</p>" + table.replace("101,20", "99,80"))));
+        HttpTransport transport = request -> {
+            requests.add(request);
+            return responses.remove(0);
+        };
+
+        Path file = tmp.getRoot().toPath().resolve("cache/monitors.bin");
+        SourceConfig config = config("monitor", "html", Path.of(""));
+        config.setUrl(url);
+        MonitorCache cache = new MonitorCache(file);
+        HtmlMonitorSource source = new HtmlMonitorSource(config, transport, cache);
+
+        List<BondRow> first = source.rows().toList();
+        assertEquals(1, first.size());
+        assertEquals("gzip", requests.get(0).headers().get("Accept-Encoding"));
+        assertNull(requests.get(0).headers().get("If-None-Match"));
+
+        // 304: validators sent, cached rows returned
+        assertEquals(first, source.rows().toList());
+        assertEquals("\"v1\"", requests.get(1).headers().get("If-None-Match"));
+
+        // Written once per run, not on every page
+        assertFalse(Files.exists(file));
+        cache.flush();
+        assertTrue(Files.exists(file));
+
+        // New page but identical table: rows reused from a cache reloaded from disk
+        MonitorCache reloaded = new MonitorCache(file);
+        assertEquals(first, reloaded.get(url).rows());
+        source = new HtmlMonitorSource(config, transport, reloaded);
+        assertEquals(first, source.rows().toList());
+        assertEquals("\"v2\"", reloaded.get(url).etag());
+
+        // Table changed: parsed again
+        assertEquals(99.80, source.rows().toList().get(0).price(), 1e-9);
+    }
+
+    // ---------------------------------------------------
+    // 5. Extraction en flux = extraction Jsoup
+    // ---------------------------------------------------
+    @Test
+    public void testStreamingMatchesJsoup() {
+        String html = """
+            <html><head><meta charset="UTF-8"><title><table id="YieldTable"></title>
+            <script>if (a < b) document.write('<table id="YieldTable">');</script></head>
+            <body><!-- <table id="YieldTable"><tr><th>x</th></tr> -->
+            <table class='tablesorter' id=YieldTable>
+              <thead><tr><th>Codice ISIN</th><th>Descrizione</th><th></th><th>Data scadenza</th><th>Divisa</th>
+                <th>Prezzo di riferimento</th><th>Lotto minimo</th></tr></thead>
+              <tbody>
+              <tr><td><a href="scheda.php?isin=IT0005580094&amp;x=1">IT0005580094</a><td>  BTP&nbsp;4,05%
+                  2035 </td><td>2035-10-30<td>EUR</td><td><b>101,20</b></td><td>1.000</td>
+              <tr class="odd"><td>US91282CJL54</td><td>USA &amp; CO 4.5%<br>2033</td><td>2033-11-15</td><td>USD</td><td>98,50</td><td>100</td></tr>
+              <tr><td>short</td><td>row</td></tr>
+              <tr><td>XS0000000000</td><td>A &lt;B&gt; 1% 2030</td><td>not a date</td><td>EUR</td><td>1</td><td>1</td></tr>
+              </tbody>
+            </table></body></html>
+            """;
+        byte[] body = html.getBytes(StandardCharsets.UTF_8);
+        HtmlMonitorSource source = (HtmlMonitorSource) BondSources.monitor("https://monitor.test", null);
+
+        List<BondRow> streamed = source.parseStreaming(body);
+        assertEquals(source.parse(Jsoup.parse(html)), streamed);
+        assertEquals(2, streamed.size());
+        assertEquals("BTP 4,05% 2035", streamed.get(0).description());
+        assertEquals("USA & CO 4.5% 2033", streamed.get(1).description());
+
+        // Markup outside the tokenizer subset: null, the caller falls back to Jsoup
+        assertNull(source.parseStreaming(html.replace("&amp; CO", "&hellip; CO").getBytes(StandardCharsets.UTF_8)));
+        assertNull(source.parseStreaming("<html><body>maintenance</body></html>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownType() {
+        BondSources.create(config("x", "ftp", Path.of("x")));
+    }
+
+    private static HttpResponse page(String url, int status, String etag, String body) {
+        return new HttpResponse(url, status, Map.of("ETag", etag), body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static SourceConfig config(String id, String type, Path path) {
+        SourceConfig c = new SourceConfig();
+        c.setId(id);
+        c.setType(type);
+        c.setPath(path.toString());
+        return c;
+    }
+}